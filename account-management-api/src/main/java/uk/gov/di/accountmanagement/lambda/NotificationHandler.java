@@ -20,7 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static uk.gov.di.authentication.shared.helpers.ConstructUriHelper.buildURI;
-import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 
 public class NotificationHandler implements RequestHandler<SQSEvent, Void> {
 
@@ -56,7 +56,7 @@ public class NotificationHandler implements RequestHandler<SQSEvent, Void> {
 
     @Override
     public Void handleRequest(SQSEvent event, Context context) {
-        return segmentedFunctionCall(
+        return segmentedHandlerCall(
                 "account-management-api::" + getClass().getSimpleName(),
                 () -> notificationRequestHandler(event, context));
     }
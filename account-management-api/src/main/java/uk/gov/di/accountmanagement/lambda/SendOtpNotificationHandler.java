@@ -42,7 +42,7 @@ import static uk.gov.di.authentication.shared.entity.ErrorResponse.ERROR_1002;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateEmptySuccessApiGatewayResponse;
-import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 import static uk.gov.di.authentication.shared.helpers.LocaleHelper.getUserLanguageFromRequestHeaders;
 import static uk.gov.di.authentication.shared.helpers.LocaleHelper.matchSupportedLanguage;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
@@ -85,12 +85,13 @@ public class SendOtpNotificationHandler
         this.configurationService = configurationService;
         this.sqsClient =
                 new AwsSqsClient(
+                        configurationService,
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
         this.codeGeneratorService = new CodeGeneratorService();
         this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
+                new CodeStorageService(RedisConnectionService.getInstance(configurationService));
         this.dynamoService = new DynamoService(configurationService);
         this.auditService = new AuditService(configurationService);
         this.clientService = new DynamoClientService(configurationService);
@@ -104,7 +105,7 @@ public class SendOtpNotificationHandler
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
         ThreadContext.clearMap();
-        return segmentedFunctionCall(
+        return segmentedHandlerCall(
                 "account-management-api::" + getClass().getSimpleName(),
                 () -> sendOtpRequestHandler(input, context));
     }
@@ -1,14 +1,11 @@
 package uk.gov.di.accountmanagement.services;
 
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkClientException;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.SqsClientBuilder;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import uk.gov.di.authentication.shared.services.AwsClientFactory;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
 
-import java.net.URI;
 import java.util.Optional;
 
 public class AwsSqsClient {
@@ -16,17 +13,14 @@ public class AwsSqsClient {
     private final SqsClient client;
     private final String queueUrl;
 
-    public AwsSqsClient(String region, String queueUrl, Optional<String> sqsEndpoint) {
-        SqsClientBuilder amazonSqsBuilder = SqsClient.builder().region(Region.of(region));
-
-        if (sqsEndpoint.isPresent()) {
-            amazonSqsBuilder
-                    .endpointOverride(URI.create(sqsEndpoint.get()))
-                    .credentialsProvider(
-                            StaticCredentialsProvider.create(
-                                    AwsBasicCredentials.create("FAKEACCESSKEY", "FAKESECRETKEY")));
-        }
-        this.client = amazonSqsBuilder.build();
+    public AwsSqsClient(
+            ConfigurationService configurationService,
+            String region,
+            String queueUrl,
+            Optional<String> sqsEndpoint) {
+        this.client =
+                AwsClientFactory.getInstance(configurationService)
+                        .getSqsClient(region, sqsEndpoint);
         this.queueUrl = queueUrl;
     }
 
@@ -1,12 +1,11 @@
 package uk.gov.di.authentication.audit.services;
 
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import uk.gov.di.authentication.shared.services.AwsClientFactory;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
-import java.net.URI;
 import java.time.Clock;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -23,17 +22,11 @@ public class S3Service {
 
     public S3Service(ConfigurationService configService) {
         this.bucket = configService.getAuditStorageS3Bucket();
-        var awsRegion = configService.getAwsRegion();
         this.s3Client =
-                configService
-                        .getLocalstackEndpointUri()
-                        .map(
-                                endpoint ->
-                                        S3Client.builder()
-                                                .endpointOverride(URI.create(endpoint))
-                                                .region(Region.of(awsRegion)))
-                        .orElse(S3Client.builder().region(Region.of(awsRegion)))
-                        .build();
+                AwsClientFactory.getInstance(configService)
+                        .getS3Client(
+                                configService.getAwsRegion(),
+                                configService.getLocalstackEndpointUri());
 
         this.clock = Clock.systemUTC();
     }
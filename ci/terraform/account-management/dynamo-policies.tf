@@ -10,6 +10,10 @@ data "aws_dynamodb_table" "client_registry_table" {
   name = "${var.environment}-client-registry"
 }
 
+data "aws_dynamodb_table" "client_registry_version_table" {
+  name = "${var.environment}-client-registry-version"
+}
+
 data "aws_dynamodb_table" "common_passwords_table" {
   name = "${var.environment}-common-passwords"
 }
@@ -86,6 +90,7 @@ data "aws_iam_policy_document" "dynamo_client_registration_read_policy_document"
     ]
     resources = [
       data.aws_dynamodb_table.client_registry_table.arn,
+      data.aws_dynamodb_table.client_registry_version_table.arn,
     ]
   }
 }
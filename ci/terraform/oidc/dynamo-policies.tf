@@ -10,6 +10,10 @@ data "aws_dynamodb_table" "client_registry_table" {
   name = "${var.environment}-client-registry"
 }
 
+data "aws_dynamodb_table" "client_registry_version_table" {
+  name = "${var.environment}-client-registry-version"
+}
+
 data "aws_dynamodb_table" "identity_credentials_table" {
   name = "${var.environment}-identity-credentials"
 }
@@ -81,6 +85,7 @@ data "aws_iam_policy_document" "dynamo_client_registration_write_policy_document
     ]
     resources = [
       data.aws_dynamodb_table.client_registry_table.arn,
+      data.aws_dynamodb_table.client_registry_version_table.arn,
     ]
   }
 }
@@ -99,6 +104,7 @@ data "aws_iam_policy_document" "dynamo_client_registration_read_policy_document"
     ]
     resources = [
       data.aws_dynamodb_table.client_registry_table.arn,
+      data.aws_dynamodb_table.client_registry_version_table.arn,
     ]
   }
 }
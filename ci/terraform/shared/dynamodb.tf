@@ -178,6 +178,30 @@ resource "aws_dynamodb_table" "client_registry_table" {
   tags = local.default_tags
 }
 
+resource "aws_dynamodb_table" "client_registry_version_table" {
+  name         = "${var.environment}-client-registry-version"
+  billing_mode = var.provision_dynamo ? "PROVISIONED" : "PAY_PER_REQUEST"
+  hash_key     = "Name"
+
+  read_capacity  = var.provision_dynamo ? var.dynamo_default_read_capacity : null
+  write_capacity = var.provision_dynamo ? var.dynamo_default_write_capacity : null
+
+  attribute {
+    name = "Name"
+    type = "S"
+  }
+
+  point_in_time_recovery {
+    enabled = !var.use_localstack
+  }
+
+  server_side_encryption {
+    enabled = !var.use_localstack
+  }
+
+  tags = local.default_tags
+}
+
 resource "aws_dynamodb_table" "identity_credentials_table" {
   name         = "${var.environment}-identity-credentials"
   billing_mode = var.provision_dynamo ? "PROVISIONED" : "PAY_PER_REQUEST"
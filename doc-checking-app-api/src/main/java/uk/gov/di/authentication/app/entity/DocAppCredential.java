@@ -1,14 +1,43 @@
 package uk.gov.di.authentication.app.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 
 import java.util.List;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
 @DynamoDbBean
 public class DocAppCredential {
 
+    public static final TableSchema<DocAppCredential> TABLE_SCHEMA =
+            StaticTableSchema.builder(DocAppCredential.class)
+                    .newItemSupplier(DocAppCredential::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("SubjectID")
+                                            .getter(DocAppCredential::getSubjectID)
+                                            .setter(DocAppCredential::setSubjectID)
+                                            .tags(primaryPartitionKey()))
+                    .addAttribute(
+                            EnhancedType.listOf(String.class),
+                            a ->
+                                    a.name("Credential")
+                                            .getter(DocAppCredential::getCredential)
+                                            .setter(DocAppCredential::setCredential))
+                    .addAttribute(
+                            Long.class,
+                            a ->
+                                    a.name("TimeToExist")
+                                            .getter(DocAppCredential::getTimeToExist)
+                                            .setter(DocAppCredential::setTimeToExist))
+                    .build();
+
     private String subjectID;
     private List<String> credential;
     private long timeToExist;
@@ -9,7 +9,6 @@ import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.Payload;
 import com.nimbusds.jose.crypto.RSAEncrypter;
-import com.nimbusds.jose.crypto.impl.ECDSA;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.EncryptedJWT;
@@ -22,10 +21,6 @@ import com.nimbusds.oauth2.sdk.id.State;
 import com.nimbusds.oauth2.sdk.id.Subject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
-import software.amazon.awssdk.services.kms.model.SignRequest;
-import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
@@ -33,6 +28,7 @@ import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.JwksService;
+import uk.gov.di.authentication.shared.services.JwsSigner;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
 import uk.gov.di.authentication.shared.services.SerializationService;
@@ -51,7 +47,7 @@ public class DocAppAuthorisationService {
     private static final Logger LOG = LogManager.getLogger(DocAppAuthorisationService.class);
     private final ConfigurationService configurationService;
     private final RedisConnectionService redisConnectionService;
-    private final KmsConnectionService kmsConnectionService;
+    private final JwsSigner signer;
     private final JwksService jwksService;
     public static final String STATE_STORAGE_PREFIX = "state:";
     private static final JWSAlgorithm SIGNING_ALGORITHM = JWSAlgorithm.ES256;
@@ -65,7 +61,7 @@ public class DocAppAuthorisationService {
             JwksService jwksService) {
         this.configurationService = configurationService;
         this.redisConnectionService = redisConnectionService;
-        this.kmsConnectionService = kmsConnectionService;
+        this.signer = JwsSigner.create(configurationService, kmsConnectionService);
         this.jwksService = jwksService;
     }
 
@@ -145,13 +141,7 @@ public class DocAppAuthorisationService {
             State state, Subject subject, ClientRegistry clientRegistry, String clientSessionId) {
         LOG.info("Generating request JWT");
         var docAppTokenSigningKeyAlias = configurationService.getDocAppTokenSigningKeyAlias();
-        var signingKeyId =
-                kmsConnectionService
-                        .getPublicKey(
-                                GetPublicKeyRequest.builder()
-                                        .keyId(docAppTokenSigningKeyAlias)
-                                        .build())
-                        .keyId();
+        var signingKeyId = signer.getKeyId(docAppTokenSigningKeyAlias);
         var jwsHeader =
                 new JWSHeader.Builder(SIGNING_ALGORITHM)
                         .keyID(hashSha256String(signingKeyId))
@@ -183,27 +173,16 @@ public class DocAppAuthorisationService {
         var encodedHeader = jwsHeader.toBase64URL();
         var encodedClaims = Base64URL.encode(claimsBuilder.build().toString());
         var message = encodedHeader + "." + encodedClaims;
-        var signRequest =
-                SignRequest.builder()
-                        .message(SdkBytes.fromByteArray(message.getBytes()))
-                        .keyId(docAppTokenSigningKeyAlias)
-                        .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
-                        .build();
         try {
             LOG.info("Signing request JWT");
-            var signResponse = kmsConnectionService.sign(signRequest);
-            LOG.info("Request JWT has been signed successfully");
             var signature =
-                    Base64URL.encode(
-                                    ECDSA.transcodeSignatureToConcat(
-                                            signResponse.signature().asByteArray(),
-                                            ECDSA.getSignatureByteArrayLength(SIGNING_ALGORITHM)))
-                            .toString();
+                    signer.sign(docAppTokenSigningKeyAlias, SIGNING_ALGORITHM, message.getBytes());
+            LOG.info("Request JWT has been signed successfully");
             var signedJWT = SignedJWT.parse(message + "." + signature);
             var encryptedJWT = encryptJWT(signedJWT);
             LOG.info("Encrypted request JWT has been generated");
             return encryptedJWT;
-        } catch (ParseException | JOSEException e) {
+        } catch (ParseException e) {
             LOG.error("Error when generating SignedJWT", e);
             throw new RuntimeException(e);
         }
@@ -1,10 +1,8 @@
 package uk.gov.di.authentication.app.services;
 
-import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSObject;
-import com.nimbusds.jose.crypto.impl.ECDSA;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.oauth2.sdk.AuthorizationCode;
@@ -21,17 +19,13 @@ import com.nimbusds.oauth2.sdk.id.ClientID;
 import com.nimbusds.oauth2.sdk.id.JWTID;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
-import software.amazon.awssdk.services.kms.model.SignRequest;
-import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 import uk.gov.di.authentication.shared.exceptions.UnsuccessfulCredentialResponseException;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.JwsSigner;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,7 +42,7 @@ import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256Strin
 public class DocAppCriService {
 
     private final ConfigurationService configurationService;
-    private final KmsConnectionService kmsService;
+    private final JwsSigner signer;
     private static final JWSAlgorithm TOKEN_ALGORITHM = JWSAlgorithm.ES256;
     private static final Long PRIVATE_KEY_JWT_EXPIRY = 5L;
     private static final Logger LOG = LogManager.getLogger(DocAppCriService.class);
@@ -56,7 +50,7 @@ public class DocAppCriService {
     public DocAppCriService(
             ConfigurationService configurationService, KmsConnectionService kmsService) {
         this.configurationService = configurationService;
-        this.kmsService = kmsService;
+        this.signer = JwsSigner.create(configurationService, kmsService);
     }
 
     public TokenRequest constructTokenRequest(String authCode) {
@@ -169,13 +163,7 @@ public class DocAppCriService {
         try {
             LOG.info("Generating PrivateKeyJWT");
             var docAppTokenSigningKeyAlias = configurationService.getDocAppTokenSigningKeyAlias();
-            var signingKeyId =
-                    kmsService
-                            .getPublicKey(
-                                    GetPublicKeyRequest.builder()
-                                            .keyId(docAppTokenSigningKeyAlias)
-                                            .build())
-                            .keyId();
+            var signingKeyId = signer.getKeyId(docAppTokenSigningKeyAlias);
             var jwsHeader =
                     new JWSHeader.Builder(TOKEN_ALGORITHM)
                             .keyID(hashSha256String(signingKeyId))
@@ -183,23 +171,11 @@ public class DocAppCriService {
             var encodedHeader = jwsHeader.toBase64URL();
             var encodedClaims = Base64URL.encode(claimsSet.toJWTClaimsSet().toString());
             var message = encodedHeader + "." + encodedClaims;
-            var messageToSign = ByteBuffer.wrap(message.getBytes());
-            var signRequest =
-                    SignRequest.builder()
-                            .message(SdkBytes.fromByteBuffer(messageToSign))
-                            .keyId(docAppTokenSigningKeyAlias)
-                            .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
-                            .build();
-            var signResponse = kmsService.sign(signRequest);
-            LOG.info("PrivateKeyJWT has been signed successfully");
             var signature =
-                    Base64URL.encode(
-                                    ECDSA.transcodeSignatureToConcat(
-                                            signResponse.signature().asByteArray(),
-                                            ECDSA.getSignatureByteArrayLength(TOKEN_ALGORITHM)))
-                            .toString();
+                    signer.sign(docAppTokenSigningKeyAlias, TOKEN_ALGORITHM, message.getBytes());
+            LOG.info("PrivateKeyJWT has been signed successfully");
             return new PrivateKeyJWT(SignedJWT.parse(message + "." + signature));
-        } catch (JOSEException | java.text.ParseException e) {
+        } catch (java.text.ParseException e) {
             LOG.error("Exception thrown when trying to parse SignedJWT or JWTClaimSet", e);
             throw new RuntimeException(e);
         }
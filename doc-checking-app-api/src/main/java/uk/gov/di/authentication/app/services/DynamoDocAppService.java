@@ -2,7 +2,6 @@ package uk.gov.di.authentication.app.services;
 
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import uk.gov.di.authentication.app.entity.DocAppCredential;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
@@ -25,8 +24,7 @@ public class DynamoDocAppService {
         this.timeToExist = configurationService.getAccessTokenExpiry();
         var dynamoDbEnhancedClient = createDynamoEnhancedClient(configurationService);
         dynamoDocAppCredentialTable =
-                dynamoDbEnhancedClient.table(
-                        tableName, TableSchema.fromBean(DocAppCredential.class));
+                dynamoDbEnhancedClient.table(tableName, DocAppCredential.TABLE_SCHEMA);
         warmUp();
     }
 
@@ -0,0 +1,22 @@
+package uk.gov.di.authentication.app.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static uk.gov.di.authentication.sharedtest.helper.TableSchemaAssertions.assertMatchesBeanSchema;
+
+class DocAppCredentialTest {
+
+    @Test
+    void tableSchemaShouldMatchBeanSchema() {
+        var docAppCredential =
+                new DocAppCredential()
+                        .withSubjectID("subject-id")
+                        .withCredential(List.of("serialized-credential"))
+                        .withTimeToExist(1700000000L);
+
+        assertMatchesBeanSchema(
+                DocAppCredential.TABLE_SCHEMA, DocAppCredential.class, docAppCredential);
+    }
+}
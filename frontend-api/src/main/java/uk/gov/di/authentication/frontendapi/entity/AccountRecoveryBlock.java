@@ -1,12 +1,34 @@
 package uk.gov.di.authentication.frontendapi.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
 @DynamoDbBean
 public class AccountRecoveryBlock {
 
+    public static final TableSchema<AccountRecoveryBlock> TABLE_SCHEMA =
+            StaticTableSchema.builder(AccountRecoveryBlock.class)
+                    .newItemSupplier(AccountRecoveryBlock::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("Email")
+                                            .getter(AccountRecoveryBlock::getEmail)
+                                            .setter(AccountRecoveryBlock::setEmail)
+                                            .tags(primaryPartitionKey()))
+                    .addAttribute(
+                            Long.class,
+                            a ->
+                                    a.name("TimeToExist")
+                                            .getter(AccountRecoveryBlock::getTimeToExist)
+                                            .setter(AccountRecoveryBlock::setTimeToExist))
+                    .build();
+
     private String email;
     private Long timeToExist;
 
@@ -57,6 +57,7 @@ public class CheckUserExistsHandler extends BaseFrontendHandler<CheckUserExistsR
                 authenticationService);
         this.auditService = auditService;
         this.codeStorageService = codeStorageService;
+        this.loadUserProfileFromRequest = false;
     }
 
     public CheckUserExistsHandler() {
@@ -67,6 +68,7 @@ public class CheckUserExistsHandler extends BaseFrontendHandler<CheckUserExistsR
         super(CheckUserExistsRequest.class, configurationService);
         this.auditService = new AuditService(configurationService);
         this.codeStorageService = new CodeStorageService(configurationService);
+        this.loadUserProfileFromRequest = false;
     }
 
     @Override
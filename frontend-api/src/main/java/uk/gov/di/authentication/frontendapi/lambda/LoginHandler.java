@@ -47,6 +47,8 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.INTERNAL_COMMON_SUBJECT_IDENTIFIER;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.IS_NEW_ACCOUNT;
 
 public class LoginHandler extends BaseFrontendHandler<LoginRequest>
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -115,7 +117,9 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
             var clientId = userContext.getClientId();
             Optional<UserProfile> userProfileMaybe =
                     authenticationService.getUserProfileByEmailMaybe(request.getEmail());
-            if (userProfileMaybe.isEmpty() || userContext.getUserCredentials().isEmpty()) {
+            Optional<UserCredentials> userCredentialsMaybe =
+                    getUserCredentials(request, userContext);
+            if (userProfileMaybe.isEmpty() || userCredentialsMaybe.isEmpty()) {
 
                 auditService.submitAuditEvent(
                         FrontendAuditableEvent.NO_ACCOUNT_WITH_EMAIL,
@@ -132,7 +136,7 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
             }
 
             UserProfile userProfile = userProfileMaybe.get();
-            UserCredentials userCredentials = userContext.getUserCredentials().get();
+            UserCredentials userCredentials = userCredentialsMaybe.get();
 
             int incorrectPasswordCount =
                     codeStorageService.getIncorrectPasswordCount(request.getEmail());
@@ -144,7 +148,12 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
                             configurationService.getInternalSectorUri(),
                             authenticationService);
 
-            if (incorrectPasswordCount >= configurationService.getMaxPasswordRetries()) {
+            // The attempt is counted before the password is checked, so concurrent guesses that
+            // all read the same count cannot get past the limit between them.
+            var maxPasswordRetries = configurationService.getMaxPasswordRetries();
+            if (incorrectPasswordCount >= maxPasswordRetries
+                    || codeStorageService.increaseIncorrectPasswordCount(request.getEmail())
+                            > maxPasswordRetries) {
                 LOG.info("User has exceeded max password retries");
 
                 auditService.submitAuditEvent(
@@ -162,9 +171,7 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
                 return generateApiGatewayProxyErrorResponse(400, ErrorResponse.ERROR_1028);
             }
 
-            if (!credentialsAreValid(request, userProfile)) {
-                codeStorageService.increaseIncorrectPasswordCount(request.getEmail());
-
+            if (!credentialsAreValid(request, userProfile, userCredentials)) {
                 auditService.submitAuditEvent(
                         FrontendAuditableEvent.INVALID_CREDENTIALS,
                         userContext.getClientSessionId(),
@@ -180,16 +187,12 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
                 return generateApiGatewayProxyErrorResponse(401, ErrorResponse.ERROR_1008);
             }
 
-            if (incorrectPasswordCount != 0) {
-                codeStorageService.deleteIncorrectPasswordCount(request.getEmail());
-            }
+            codeStorageService.deleteIncorrectPasswordCount(request.getEmail());
 
             LOG.info("Setting internal common subject identifier in user session");
-            sessionService.save(
-                    userContext
-                            .getSession()
-                            .setInternalCommonSubjectIdentifier(
-                                    internalCommonSubjectIdentifier.getValue()));
+            userContext
+                    .getSession()
+                    .setInternalCommonSubjectIdentifier(internalCommonSubjectIdentifier.getValue());
 
             var isPhoneNumberVerified = userProfile.isPhoneNumberVerified();
             String redactedPhoneNumber = null;
@@ -204,7 +207,10 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
                                 userProfile.getTermsAndConditions(),
                                 configurationService.getTermsAndConditionsVersion());
             }
-            sessionService.save(userContext.getSession().setNewAccount(EXISTING));
+            userContext.getSession().setNewAccount(EXISTING);
+            userContext
+                    .getSessionUnitOfWork()
+                    .updateSession(INTERNAL_COMMON_SUBJECT_IDENTIFIER, IS_NEW_ACCOUNT);
             var isMfaRequired =
                     MfaHelper.mfaRequired(userContext.getClientSession().getAuthRequestParams());
             var consentRequired = ConsentHelper.userHasNotGivenConsent(userContext);
@@ -257,9 +263,20 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
         }
     }
 
-    private boolean credentialsAreValid(LoginRequest request, UserProfile userProfile) {
-        var userCredentials = authenticationService.getUserCredentialsFromEmail(request.getEmail());
+    private Optional<UserCredentials> getUserCredentials(
+            LoginRequest request, UserContext userContext) {
+        var sessionEmail = userContext.getSession().getEmailAddress();
+        if (userContext.getUserCredentials().isEmpty()
+                || request.getEmail().equalsIgnoreCase(sessionEmail)) {
+            return userContext.getUserCredentials();
+        }
+        LOG.info("Request email differs from session email, loading credentials for request email");
+        return Optional.ofNullable(
+                authenticationService.getUserCredentialsFromEmail(request.getEmail()));
+    }
 
+    private boolean credentialsAreValid(
+            LoginRequest request, UserProfile userProfile, UserCredentials userCredentials) {
         var userIsAMigratedUser =
                 userHasBeenPartlyMigrated(userProfile.getLegacySubjectID(), userCredentials);
 
@@ -43,6 +43,7 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.services.CodeStorageService.CODE_BLOCKED_KEY_PREFIX;
 import static uk.gov.di.authentication.shared.services.CodeStorageService.CODE_REQUEST_BLOCKED_KEY_PREFIX;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.CODE_REQUEST_COUNT;
 
 public class MfaHandler extends BaseFrontendHandler<MfaRequest>
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -84,6 +85,7 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
         this.auditService = new AuditService(configurationService);
         this.sqsClient =
                 new AwsSqsClient(
+                        configurationService,
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
@@ -96,6 +98,7 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
         this.auditService = new AuditService(configurationService);
         this.sqsClient =
                 new AwsSqsClient(
+                        configurationService,
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
@@ -192,7 +195,7 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
                                         return newCode;
                                     });
 
-            sessionService.save(userContext.getSession().incrementCodeRequestCount());
+            sessionService.incrementCodeRequestCount(userContext.getSession());
             NotifyRequest notifyRequest =
                     new NotifyRequest(
                             phoneNumber, notificationType, code, userContext.getUserLanguage());
@@ -240,7 +243,8 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
                     email,
                     CODE_REQUEST_BLOCKED_KEY_PREFIX,
                     configurationService.getBlockedEmailDuration());
-            sessionService.save(session.resetCodeRequestCount());
+            session.resetCodeRequestCount();
+            userContext.getSessionUnitOfWork().updateSession(CODE_REQUEST_COUNT);
             return Optional.of(ErrorResponse.ERROR_1025);
         }
         if (codeStorageService.isBlockedForEmail(email, CODE_REQUEST_BLOCKED_KEY_PREFIX)) {
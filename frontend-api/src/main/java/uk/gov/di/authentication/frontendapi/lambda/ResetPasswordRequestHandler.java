@@ -81,6 +81,7 @@ public class ResetPasswordRequestHandler extends BaseFrontendHandler<ResetPasswo
         super(ResetPasswordRequest.class, configurationService);
         this.sqsClient =
                 new AwsSqsClient(
+                        configurationService,
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
@@ -153,7 +154,7 @@ public class ResetPasswordRequestHandler extends BaseFrontendHandler<ResetPasswo
                                             RESET_PASSWORD_WITH_CODE);
                                     return newCode;
                                 });
-        sessionService.save(userContext.getSession().incrementPasswordResetCount());
+        sessionService.incrementPasswordResetCount(userContext.getSession());
 
         if (!isTestClient) {
             LOG.info("Placing message on queue");
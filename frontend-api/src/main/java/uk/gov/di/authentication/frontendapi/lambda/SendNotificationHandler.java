@@ -28,6 +28,7 @@ import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
+import uk.gov.di.authentication.shared.services.CodeStorageService.EmailSecurityState;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.state.UserContext;
@@ -96,6 +97,7 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
         super(SendNotificationRequest.class, ConfigurationService.getInstance());
         this.sqsClient =
                 new AwsSqsClient(
+                        configurationService,
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
@@ -130,11 +132,13 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
                 }
                 return generateEmptySuccessApiGatewayResponse();
             }
+            var emailSecurityState = codeStorageService.getEmailSecurityState(request.getEmail());
             Optional<ErrorResponse> codeRequestValid =
                     isCodeRequestAttemptValid(
                             request.getEmail(),
                             userContext.getSession(),
-                            request.getNotificationType());
+                            request.getNotificationType(),
+                            emailSecurityState);
             if (codeRequestValid.isPresent()) {
                 auditService.submitAuditEvent(
                         getInvalidCodeAuditEventFromNotificationType(request.getNotificationType()),
@@ -161,7 +165,8 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
                             userContext,
                             request.isRequestNewCode(),
                             request,
-                            input);
+                            input,
+                            emailSecurityState);
                 case VERIFY_PHONE_NUMBER:
                     if (request.getPhoneNumber() == null) {
                         return generateApiGatewayProxyResponse(400, ERROR_1011);
@@ -174,7 +179,8 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
                             userContext,
                             request.isRequestNewCode(),
                             request,
-                            input);
+                            input,
+                            emailSecurityState);
             }
             return generateApiGatewayProxyErrorResponse(400, ERROR_1002);
         } catch (SdkClientException ex) {
@@ -194,14 +200,15 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
             UserContext userContext,
             Boolean requestNewCode,
             SendNotificationRequest request,
-            APIGatewayProxyRequestEvent input)
+            APIGatewayProxyRequestEvent input,
+            EmailSecurityState emailSecurityState)
             throws JsonException, ClientNotFoundException {
 
         String code =
                 requestNewCode != null && requestNewCode
                         ? generateAndSaveNewCode(session.getEmailAddress(), notificationType)
-                        : codeStorageService
-                                .getOtpCode(session.getEmailAddress(), notificationType)
+                        : emailSecurityState
+                                .getOtpCode(notificationType)
                                 .orElseGet(
                                         () ->
                                                 generateAndSaveNewCode(
@@ -212,7 +219,7 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
                 new NotifyRequest(
                         destination, notificationType, code, userContext.getUserLanguage());
 
-        sessionService.save(session.incrementCodeRequestCount());
+        sessionService.incrementCodeRequestCount(session);
         var testClientWithAllowedEmail =
                 isTestClientWithAllowedEmail(userContext, configurationService);
         if (!testClientWithAllowedEmail) {
@@ -262,7 +269,10 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
     }
 
     private Optional<ErrorResponse> isCodeRequestAttemptValid(
-            String email, Session session, NotificationType notificationType) {
+            String email,
+            Session session,
+            NotificationType notificationType,
+            EmailSecurityState emailSecurityState) {
         if (session.getCodeRequestCount() == configurationService.getCodeMaxRetries()) {
             LOG.info("User has requested too many OTP codes");
             codeStorageService.saveBlockedForEmail(
@@ -272,11 +282,11 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
             sessionService.save(session.resetCodeRequestCount());
             return Optional.of(getErrorResponseForCodeRequestLimitReached(notificationType));
         }
-        if (codeStorageService.isBlockedForEmail(email, CODE_REQUEST_BLOCKED_KEY_PREFIX)) {
+        if (emailSecurityState.isBlocked(CODE_REQUEST_BLOCKED_KEY_PREFIX)) {
             LOG.info("User is blocked from requesting any OTP codes");
             return Optional.of(getErrorResponseForMaxCodeRequests(notificationType));
         }
-        if (codeStorageService.isBlockedForEmail(email, CODE_BLOCKED_KEY_PREFIX)) {
+        if (emailSecurityState.isBlocked(CODE_BLOCKED_KEY_PREFIX)) {
             LOG.info("User is blocked from requesting any OTP codes");
             return Optional.of(getErrorResponseForMaxCodeAttempts(notificationType));
         }
@@ -48,6 +48,8 @@ import static uk.gov.di.authentication.shared.helpers.PersistentIdHelper.extract
 import static uk.gov.di.authentication.shared.helpers.TestClientHelper.isTestClientWithAllowedEmail;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
 import static uk.gov.di.authentication.shared.services.CodeStorageService.CODE_BLOCKED_KEY_PREFIX;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.CURRENT_CREDENTIAL_STRENGTH;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.VERIFIED_MFA_METHOD_TYPE;
 
 public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -108,8 +110,10 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
             LOG.info("Processing request");
 
             var session = userContext.getSession();
+            var emailSecurityState =
+                    codeStorageService.getEmailSecurityState(session.getEmailAddress());
 
-            if (isCodeBlockedForSession(session)) {
+            if (emailSecurityState.isBlocked(CODE_BLOCKED_KEY_PREFIX)) {
                 ErrorResponse errorResponse = blockedCodeBehaviour(codeRequest);
                 return generateApiGatewayProxyErrorResponse(400, errorResponse);
             }
@@ -118,8 +122,7 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
             var code =
                     isTestClient
                             ? getOtpCodeForTestClient(codeRequest.getNotificationType())
-                            : codeStorageService.getOtpCode(
-                                    session.getEmailAddress(), codeRequest.getNotificationType());
+                            : emailSecurityState.getOtpCode(codeRequest.getNotificationType());
 
             var errorResponse =
                     ValidationHelper.validateVerificationCode(
@@ -134,7 +137,7 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                 return generateApiGatewayProxyErrorResponse(400, errorResponse.get());
             }
 
-            sessionService.save(session);
+            userContext.getSessionUnitOfWork().touchSession();
 
             if (errorResponse.isPresent()) {
                 processBlockedCodeSession(
@@ -162,17 +165,13 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                 .get(codeRequest.getNotificationType());
     }
 
-    private boolean isCodeBlockedForSession(Session session) {
-        return codeStorageService.isBlockedForEmail(
-                session.getEmailAddress(), CODE_BLOCKED_KEY_PREFIX);
-    }
-
-    private void blockCodeForSession(Session session) {
-        codeStorageService.saveBlockedForEmail(
+    private void blockCodeForSessionAndResetCount(Session session) {
+        codeStorageService.saveBlockedForEmailAndResetIncorrectMfaCodeAttemptsCount(
                 session.getEmailAddress(),
                 CODE_BLOCKED_KEY_PREFIX,
                 configurationService.getBlockedEmailDuration());
         LOG.info("Email is blocked");
+        LOG.info("IncorrectMfaCodeAttemptsCount reset");
     }
 
     private void resetIncorrectMfaCodeAttemptsCount(Session session) {
@@ -214,12 +213,13 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                 vectorOfTrust = userContext.getClientSession().getEffectiveVectorOfTrust();
             }
 
-            clientSessionService.saveClientSession(
-                    userContext.getClientSessionId(),
-                    userContext.getClientSession().setEffectiveVectorOfTrust(vectorOfTrust));
-            sessionService.save(
-                    session.setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL)
-                            .setVerifiedMfaMethodType(MFAMethodType.SMS));
+            userContext.getClientSession().setEffectiveVectorOfTrust(vectorOfTrust);
+            session.setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL)
+                    .setVerifiedMfaMethodType(MFAMethodType.SMS);
+            userContext
+                    .getSessionUnitOfWork()
+                    .updateClientSession()
+                    .updateSession(CURRENT_CREDENTIAL_STRENGTH, VERIFIED_MFA_METHOD_TYPE);
             metadataPairs =
                     new AuditService.MetadataPair[] {
                         pair("notification-type", notificationType.name()),
@@ -240,7 +240,8 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                     "MFA code has been successfully verified for MFA type: {}. RegistrationJourney: {}",
                     MFAMethodType.SMS.getValue(),
                     false);
-            sessionService.save(session.setVerifiedMfaMethodType(MFAMethodType.SMS));
+            session.setVerifiedMfaMethodType(MFAMethodType.SMS);
+            userContext.getSessionUnitOfWork().updateSession(VERIFIED_MFA_METHOD_TYPE);
             metadataPairs =
                     new AuditService.MetadataPair[] {
                         pair("notification-type", notificationType.name()),
@@ -294,9 +295,10 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                 .contains(errorResponse)) {
             if (!notificationType.equals(VERIFY_EMAIL)
                     && !errorResponse.equals(ErrorResponse.ERROR_1033)) {
-                blockCodeForSession(session);
+                blockCodeForSessionAndResetCount(session);
+            } else {
+                resetIncorrectMfaCodeAttemptsCount(session);
             }
-            resetIncorrectMfaCodeAttemptsCount(session);
             auditableEvent = FrontendAuditableEvent.CODE_MAX_RETRIES_REACHED;
         } else {
             auditableEvent = FrontendAuditableEvent.INVALID_CODE_SENT;
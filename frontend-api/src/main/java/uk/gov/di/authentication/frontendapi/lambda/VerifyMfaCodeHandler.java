@@ -42,6 +42,8 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.PersistentIdHelper.extractPersistentIdFromHeaders;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
 import static uk.gov.di.authentication.shared.services.CodeStorageService.CODE_BLOCKED_KEY_PREFIX;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.CURRENT_CREDENTIAL_STRENGTH;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.VERIFIED_MFA_METHOD_TYPE;
 
 public class VerifyMfaCodeHandler extends BaseFrontendHandler<VerifyMfaCodeRequest>
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -127,7 +129,7 @@ public class VerifyMfaCodeHandler extends BaseFrontendHandler<VerifyMfaCodeReque
             processCodeSession(
                     errorResponse, session, mfaMethodType, input, userContext, isRegistration);
 
-            sessionService.save(session);
+            userContext.getSessionUnitOfWork().touchSession();
 
             return errorResponse
                     .map(response -> generateApiGatewayProxyErrorResponse(400, response))
@@ -150,10 +152,14 @@ public class VerifyMfaCodeHandler extends BaseFrontendHandler<VerifyMfaCodeReque
                                         codeRequest.isRegistration());
                                 accountRecoveryBlockService.deleteBlockIfPresent(
                                         session.getEmailAddress());
-                                sessionService.save(
-                                        session.setCurrentCredentialStrength(
-                                                        CredentialTrustLevel.MEDIUM_LEVEL)
-                                                .setVerifiedMfaMethodType(MFAMethodType.AUTH_APP));
+                                session.setCurrentCredentialStrength(
+                                                CredentialTrustLevel.MEDIUM_LEVEL)
+                                        .setVerifiedMfaMethodType(MFAMethodType.AUTH_APP);
+                                userContext
+                                        .getSessionUnitOfWork()
+                                        .updateSession(
+                                                CURRENT_CREDENTIAL_STRENGTH,
+                                                VERIFIED_MFA_METHOD_TYPE);
                                 cloudwatchMetricsService.incrementAuthenticationSuccess(
                                         session.isNewAccount(),
                                         clientId,
@@ -227,10 +233,9 @@ public class VerifyMfaCodeHandler extends BaseFrontendHandler<VerifyMfaCodeReque
     }
 
     private void blockCodeForSessionAndResetCount(Session session) {
-        codeStorageService.saveBlockedForEmail(
+        codeStorageService.saveBlockedForEmailAndResetIncorrectMfaCodeAttemptsCount(
                 session.getEmailAddress(),
                 CODE_BLOCKED_KEY_PREFIX,
                 configurationService.getBlockedEmailDuration());
-        codeStorageService.deleteIncorrectMfaCodeAttemptsCount(session.getEmailAddress());
     }
 }
@@ -2,7 +2,6 @@ package uk.gov.di.authentication.frontendapi.services;
 
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
 import uk.gov.di.authentication.frontendapi.entity.AccountRecoveryBlock;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
@@ -25,8 +24,7 @@ public class DynamoAccountRecoveryBlockService {
         var dynamoDbEnhancedClient = createDynamoEnhancedClient(configurationService);
         timeToExist = configurationService.getAccountRecoveryBlockTTL();
         dynamoAccountRecoveryBlockTable =
-                dynamoDbEnhancedClient.table(
-                        tableName, TableSchema.fromBean(AccountRecoveryBlock.class));
+                dynamoDbEnhancedClient.table(tableName, AccountRecoveryBlock.TABLE_SCHEMA);
         warmUp();
     }
 
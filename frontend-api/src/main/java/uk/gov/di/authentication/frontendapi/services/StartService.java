@@ -85,16 +85,14 @@ public class StartService {
             var clientRegistry = clientService.getClient(clientId).orElseThrow();
             Optional.of(session)
                     .map(Session::getEmailAddress)
-                    .flatMap(dynamoService::getUserProfileByEmailMaybe)
+                    .flatMap(email -> dynamoService.getUserByEmail(email, true))
+                    .filter(user -> Objects.nonNull(user.getUserProfile()))
                     .ifPresent(
-                            t ->
-                                    builder.withUserProfile(t)
+                            user ->
+                                    builder.withUserProfile(user.getUserProfile())
                                             .withUserCredentials(
-                                                    Optional.of(
-                                                            dynamoService
-                                                                    .getUserCredentialsFromEmail(
-                                                                            session
-                                                                                    .getEmailAddress()))));
+                                                    Optional.ofNullable(
+                                                            user.getUserCredentials())));
             userContext = builder.withClient(clientRegistry).build();
         } catch (NoSuchElementException e) {
             LOG.error("Error creating UserContext");
@@ -0,0 +1,25 @@
+package uk.gov.di.authentication.frontendapi.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static uk.gov.di.authentication.sharedtest.helper.TableSchemaAssertions.assertMatchesBeanSchema;
+
+class AccountRecoveryBlockTest {
+
+    @Test
+    void tableSchemaShouldMatchBeanSchema() {
+        var accountRecoveryBlock =
+                new AccountRecoveryBlock()
+                        .withEmail("joe.bloggs@digital.cabinet-office.gov.uk")
+                        .withTimeToExist(1700000000L);
+
+        assertMatchesBeanSchema(
+                AccountRecoveryBlock.TABLE_SCHEMA,
+                AccountRecoveryBlock.class,
+                accountRecoveryBlock);
+        assertMatchesBeanSchema(
+                AccountRecoveryBlock.TABLE_SCHEMA,
+                AccountRecoveryBlock.class,
+                new AccountRecoveryBlock());
+    }
+}
@@ -14,6 +14,7 @@ import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -101,7 +102,7 @@ class AccountRecoveryHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
     }
 }
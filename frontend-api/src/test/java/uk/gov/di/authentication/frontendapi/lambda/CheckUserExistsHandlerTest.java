@@ -22,6 +22,7 @@ import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.util.HashMap;
@@ -34,9 +35,11 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -114,6 +117,7 @@ class CheckUserExistsHandlerTest {
         assertEquals(
                 "joe.bloggs@digital.cabinet-office.gov.uk", checkUserExistsResponse.getEmail());
         assertTrue(checkUserExistsResponse.doesUserExist());
+        verify(authenticationService, never()).getUserProfileFromEmail(any());
 
         verify(auditService)
                 .submitAuditEvent(
@@ -185,6 +189,8 @@ class CheckUserExistsHandlerTest {
     void shouldReturn400IfRequestIsMissingSessionId() {
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         event.setBody("{ \"email\": \"joe.bloggs@digital.cabinet-office.gov.uk\" }");
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(any()))
+                .thenReturn(new SessionAndClientSession(Optional.empty(), Optional.empty()));
 
         APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
 
@@ -260,7 +266,7 @@ class CheckUserExistsHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
     }
 }
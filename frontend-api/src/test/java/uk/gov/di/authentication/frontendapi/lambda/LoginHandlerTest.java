@@ -29,6 +29,7 @@ import uk.gov.di.authentication.shared.entity.MFAMethod;
 import uk.gov.di.authentication.shared.entity.MFAMethodType;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.entity.TermsAndConditions;
+import uk.gov.di.authentication.shared.entity.User;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
@@ -48,6 +49,8 @@ import uk.gov.di.authentication.shared.services.CommonPasswordsService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
+import uk.gov.di.authentication.shared.services.SessionService.SessionField;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.net.URI;
@@ -66,7 +69,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -77,6 +80,8 @@ import static uk.gov.di.authentication.frontendapi.lambda.StartHandlerTest.CLIEN
 import static uk.gov.di.authentication.shared.entity.CredentialTrustLevel.LOW_LEVEL;
 import static uk.gov.di.authentication.shared.entity.MFAMethodType.SMS;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.INTERNAL_COMMON_SUBJECT_IDENTIFIER;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.IS_NEW_ACCOUNT;
 import static uk.gov.di.authentication.sharedtest.helper.JsonArrayHelper.jsonArrayOf;
 import static uk.gov.di.authentication.sharedtest.helper.RequestEventHelper.contextWithSourceIp;
 import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.withMessageContaining;
@@ -141,8 +146,6 @@ class LoginHandlerTest {
     void setUp() {
         when(configurationService.getMaxPasswordRetries()).thenReturn(5);
         when(configurationService.getTermsAndConditionsVersion()).thenReturn("1.0");
-        when(clientSessionService.getClientSessionFromRequestHeaders(any()))
-                .thenReturn(Optional.of(clientSession));
         when(context.getAwsRequestId()).thenReturn("aws-session-id");
         when(clientService.getClient(CLIENT_ID.getValue()))
                 .thenReturn(Optional.of(generateClientRegistry()));
@@ -220,14 +223,16 @@ class LoginHandlerTest {
                         false,
                         false);
 
-        verify(sessionService, atLeastOnce())
-                .save(
+        verify(sessionService)
+                .saveFields(
                         argThat(
                                 t ->
                                         t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
-        verify(sessionService, atLeastOnce())
-                .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
+                                                        .equals(expectedCommonSubject)
+                                                && t.isNewAccount()
+                                                        == Session.AccountState.EXISTING),
+                        eq(IS_NEW_ACCOUNT),
+                        eq(INTERNAL_COMMON_SUBJECT_IDENTIFIER));
     }
 
     @ParameterizedTest
@@ -278,14 +283,16 @@ class LoginHandlerTest {
                         pair("internalSubjectId", INTERNAL_SUBJECT_ID.getValue()));
         verifyNoInteractions(cloudwatchMetricsService);
 
-        verify(sessionService, atLeastOnce())
-                .save(
+        verify(sessionService)
+                .saveFields(
                         argThat(
                                 t ->
                                         t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
-        verify(sessionService, atLeastOnce())
-                .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
+                                                        .equals(expectedCommonSubject)
+                                                && t.isNewAccount()
+                                                        == Session.AccountState.EXISTING),
+                        eq(IS_NEW_ACCOUNT),
+                        eq(INTERNAL_COMMON_SUBJECT_IDENTIFIER));
     }
 
     @ParameterizedTest
@@ -337,14 +344,16 @@ class LoginHandlerTest {
                         pair("internalSubjectId", INTERNAL_SUBJECT_ID.getValue()));
 
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, atLeastOnce())
-                .save(
+        verify(sessionService)
+                .saveFields(
                         argThat(
                                 t ->
                                         t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
-        verify(sessionService, atLeastOnce())
-                .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
+                                                        .equals(expectedCommonSubject)
+                                                && t.isNewAccount()
+                                                        == Session.AccountState.EXISTING),
+                        eq(IS_NEW_ACCOUNT),
+                        eq(INTERNAL_COMMON_SUBJECT_IDENTIFIER));
     }
 
     @ParameterizedTest
@@ -373,14 +382,16 @@ class LoginHandlerTest {
         LoginResponse response = objectMapper.readValue(result.getBody(), LoginResponse.class);
         assertThat(response.isPasswordChangeRequired(), equalTo(true));
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, atLeastOnce())
-                .save(
+        verify(sessionService)
+                .saveFields(
                         argThat(
                                 t ->
                                         t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
-        verify(sessionService, atLeastOnce())
-                .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
+                                                        .equals(expectedCommonSubject)
+                                                && t.isNewAccount()
+                                                        == Session.AccountState.EXISTING),
+                        eq(IS_NEW_ACCOUNT),
+                        eq(INTERNAL_COMMON_SUBJECT_IDENTIFIER));
     }
 
     @ParameterizedTest
@@ -414,14 +425,16 @@ class LoginHandlerTest {
                 equalTo(RedactPhoneNumberHelper.redactPhoneNumber(PHONE_NUMBER)));
 
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, atLeastOnce())
-                .save(
+        verify(sessionService)
+                .saveFields(
                         argThat(
                                 t ->
                                         t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
-        verify(sessionService, atLeastOnce())
-                .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
+                                                        .equals(expectedCommonSubject)
+                                                && t.isNewAccount()
+                                                        == Session.AccountState.EXISTING),
+                        eq(IS_NEW_ACCOUNT),
+                        eq(INTERNAL_COMMON_SUBJECT_IDENTIFIER));
     }
 
     @ParameterizedTest
@@ -450,14 +463,16 @@ class LoginHandlerTest {
                 equalTo(RedactPhoneNumberHelper.redactPhoneNumber(PHONE_NUMBER)));
 
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, atLeastOnce())
-                .save(
+        verify(sessionService)
+                .saveFields(
                         argThat(
                                 t ->
                                         t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
-        verify(sessionService, atLeastOnce())
-                .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
+                                                        .equals(expectedCommonSubject)
+                                                && t.isNewAccount()
+                                                        == Session.AccountState.EXISTING),
+                        eq(IS_NEW_ACCOUNT),
+                        eq(INTERNAL_COMMON_SUBJECT_IDENTIFIER));
     }
 
     @ParameterizedTest
@@ -481,12 +496,29 @@ class LoginHandlerTest {
 
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1028));
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, never())
-                .save(
-                        argThat(
-                                t ->
-                                        t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
+        verify(sessionService, never()).saveFields(any(Session.class), any(SessionField[].class));
+    }
+
+    @Test
+    void shouldLockAccountWithoutCheckingPasswordWhenConcurrentAttemptsReachTheLimit() {
+        UserProfile userProfile = generateUserProfile(null);
+        when(authenticationService.getUserProfileByEmailMaybe(EMAIL))
+                .thenReturn(Optional.of(userProfile));
+        when(codeStorageService.getIncorrectPasswordCount(EMAIL)).thenReturn(4);
+        when(codeStorageService.increaseIncorrectPasswordCount(EMAIL)).thenReturn(6);
+        usingValidSession();
+        var applicableUserCredentials = usingApplicableUserCredentialsWithLogin(SMS, false);
+        usingDefaultVectorOfTrust();
+
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHeaders(Map.of("Session-Id", session.getSessionId()));
+        event.setBody(format("{ \"password\": \"%s\", \"email\": \"%s\" }", PASSWORD, EMAIL));
+        APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
+
+        assertThat(result, hasStatus(400));
+        assertThat(result, hasJsonBody(ErrorResponse.ERROR_1028));
+        verify(authenticationService, never()).login(applicableUserCredentials, PASSWORD);
+        verify(codeStorageService, never()).deleteIncorrectPasswordCount(EMAIL);
     }
 
     @ParameterizedTest
@@ -528,12 +560,7 @@ class LoginHandlerTest {
                         PersistentIdHelper.PERSISTENT_ID_UNKNOWN_VALUE,
                         pair("internalSubjectId", INTERNAL_SUBJECT_ID.getValue()));
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, never())
-                .save(
-                        argThat(
-                                t ->
-                                        t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
+        verify(sessionService, never()).saveFields(any(Session.class), any(SessionField[].class));
     }
 
     @ParameterizedTest
@@ -562,14 +589,16 @@ class LoginHandlerTest {
 
         objectMapper.readValue(result2.getBody(), LoginResponse.class);
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, atLeastOnce())
-                .save(
+        verify(sessionService)
+                .saveFields(
                         argThat(
                                 t ->
                                         t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
-        verify(sessionService, atLeastOnce())
-                .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
+                                                        .equals(expectedCommonSubject)
+                                                && t.isNewAccount()
+                                                        == Session.AccountState.EXISTING),
+                        eq(IS_NEW_ACCOUNT),
+                        eq(INTERNAL_COMMON_SUBJECT_IDENTIFIER));
     }
 
     @ParameterizedTest
@@ -612,12 +641,40 @@ class LoginHandlerTest {
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1008));
         verifyNoInteractions(cloudwatchMetricsService);
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, never())
-                .save(
-                        argThat(
-                                t ->
-                                        t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
+        verify(sessionService, never()).saveFields(any(Session.class), any(SessionField[].class));
+    }
+
+    @Test
+    void shouldCheckPasswordAgainstCredentialsForRequestEmailWhenItDiffersFromSessionEmail() {
+        var otherEmail = "jane.doe@test.com";
+        var otherUserCredentials =
+                new UserCredentials().withEmail(otherEmail).withPassword("other-password");
+        when(authenticationService.getUserProfileByEmailMaybe(otherEmail))
+                .thenReturn(Optional.of(generateUserProfile(null)));
+        when(authenticationService.getUserCredentialsFromEmail(otherEmail))
+                .thenReturn(otherUserCredentials);
+        when(authenticationService.login(otherUserCredentials, PASSWORD)).thenReturn(false);
+        usingApplicableUserCredentialsWithLogin(SMS, true);
+
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setRequestContext(contextWithSourceIp("123.123.123.123"));
+        event.setHeaders(
+                Map.of(
+                        "Session-Id",
+                        session.getSessionId(),
+                        CLIENT_SESSION_ID_HEADER,
+                        CLIENT_SESSION_ID));
+        event.setBody(format("{ \"password\": \"%s\", \"email\": \"%s\" }", PASSWORD, otherEmail));
+
+        usingValidSession();
+        usingDefaultVectorOfTrust();
+
+        APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
+
+        assertThat(result, hasStatus(401));
+        assertThat(result, hasJsonBody(ErrorResponse.ERROR_1008));
+        verify(authenticationService, never()).login(userCredentials, PASSWORD);
+        verify(sessionService, never()).saveFields(any(Session.class), any(SessionField[].class));
     }
 
     @ParameterizedTest
@@ -648,12 +705,7 @@ class LoginHandlerTest {
         assertThat(result, hasStatus(401));
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1008));
         verifyNoInteractions(cloudwatchMetricsService);
-        verify(sessionService, never())
-                .save(
-                        argThat(
-                                t ->
-                                        t.getInternalCommonSubjectIdentifier()
-                                                .equals(expectedCommonSubject)));
+        verify(sessionService, never()).saveFields(any(Session.class), any(SessionField[].class));
     }
 
     @Test
@@ -688,8 +740,9 @@ class LoginHandlerTest {
                         CLIENT_SESSION_ID));
         event.setBody(format("{ \"password\": \"%s\"}", PASSWORD));
 
-        when(sessionService.getSessionFromRequestHeaders(event.getHeaders()))
-                .thenReturn(Optional.empty());
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(event.getHeaders()))
+                .thenReturn(
+                        new SessionAndClientSession(Optional.empty(), Optional.of(clientSession)));
 
         APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
 
@@ -756,15 +809,17 @@ class LoginHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(clientSession)));
     }
 
     private UserCredentials usingApplicableUserCredentials(MFAMethodType mfaMethodType) {
         UserCredentials applicableUserCredentials =
                 mfaMethodType.equals(SMS) ? userCredentials : userCredentialsAuthApp;
-        when(authenticationService.getUserCredentialsFromEmail(EMAIL))
-                .thenReturn(applicableUserCredentials);
+        when(authenticationService.getUserByEmail(EMAIL, true))
+                .thenReturn(Optional.of(new User(null, applicableUserCredentials)));
         return applicableUserCredentials;
     }
 
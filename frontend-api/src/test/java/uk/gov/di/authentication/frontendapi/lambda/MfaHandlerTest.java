@@ -37,6 +37,7 @@ import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.net.URI;
@@ -558,13 +559,15 @@ public class MfaHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
     }
 
     private void usingValidClientSession(String clientId) {
-        when(clientSessionService.getClientSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(clientSession));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(clientSession)));
         when(clientSession.getAuthRequestParams())
                 .thenReturn(withAuthenticationRequest(clientId).toParameters());
     }
@@ -40,6 +40,7 @@ import uk.gov.di.authentication.shared.services.CommonPasswordsService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.shared.validation.PasswordValidator;
 
 import java.net.URI;
@@ -354,7 +355,9 @@ class ResetPasswordHandlerTest {
 
     @Test
     void shouldReturn400WhenUserHasInvalidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap())).thenReturn(Optional.empty());
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(Optional.empty(), Optional.of(clientSession)));
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         event.setHeaders(Map.of("Session-Id", session.getSessionId()));
         event.setBody(format("{ \"password\": \"%s\"}", NEW_PASSWORD));
@@ -453,8 +456,10 @@ class ResetPasswordHandlerTest {
                         .state(new State())
                         .nonce(new Nonce())
                         .build();
-        when(clientSessionService.getClientSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(clientSession));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(clientSession)));
         when(clientSession.getAuthRequestParams()).thenReturn(authRequest.toParameters());
     }
 
@@ -492,7 +497,7 @@ class ResetPasswordHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
     }
 }
@@ -38,6 +38,7 @@ import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.net.URI;
@@ -174,7 +175,7 @@ class ResetPasswordRequestHandlerTest {
                         TEST_SIX_DIGIT_CODE,
                         CODE_EXPIRY_TIME,
                         RESET_PASSWORD_WITH_CODE);
-        verify(sessionService).save(argThat(this::isSessionWithEmailSent));
+        verify(sessionService).incrementPasswordResetCount(argThat(this::isSessionWithEmailSent));
 
         verify(auditService)
                 .submitAuditEvent(
@@ -218,7 +219,7 @@ class ResetPasswordRequestHandlerTest {
                         TEST_SIX_DIGIT_CODE,
                         CODE_EXPIRY_TIME,
                         RESET_PASSWORD_WITH_CODE);
-        verify(sessionService).save(argThat(this::isSessionWithEmailSent));
+        verify(sessionService).incrementPasswordResetCount(argThat(this::isSessionWithEmailSent));
 
         verify(auditService)
                 .submitAuditEvent(
@@ -281,7 +282,8 @@ class ResetPasswordRequestHandlerTest {
         verify(awsSqsClient, never()).send(anyString());
         verify(codeStorageService, never())
                 .saveOtpCode(anyString(), anyString(), anyLong(), any(NotificationType.class));
-        verify(sessionService, never()).save(argThat(this::isSessionWithEmailSent));
+        verify(sessionService, never())
+                .incrementPasswordResetCount(argThat(this::isSessionWithEmailSent));
     }
 
     @Test
@@ -334,8 +336,8 @@ class ResetPasswordRequestHandlerTest {
         when(session.validateSession(TEST_EMAIL_ADDRESS)).thenReturn(true);
         when(session.getPasswordResetCount()).thenReturn(5);
 
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
 
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         event.setHeaders(Map.of("Session-Id", sessionId));
@@ -365,8 +367,8 @@ class ResetPasswordRequestHandlerTest {
         when(codeStorageService.isBlockedForEmail(
                         TEST_EMAIL_ADDRESS, PASSWORD_RESET_BLOCKED_KEY_PREFIX))
                 .thenReturn(true);
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
 
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         event.setHeaders(Map.of("Session-Id", sessionId));
@@ -378,8 +380,8 @@ class ResetPasswordRequestHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
     }
 
     private boolean isSessionWithEmailSent(Session session) {
@@ -396,8 +398,10 @@ class ResetPasswordRequestHandlerTest {
                         .state(new State())
                         .nonce(new Nonce())
                         .build();
-        when(clientSessionService.getClientSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(clientSession));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(clientSession)));
         when(clientSession.getAuthRequestParams()).thenReturn(authRequest.toParameters());
     }
 }
@@ -39,9 +39,11 @@ import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
+import uk.gov.di.authentication.shared.services.CodeStorageService.EmailSecurityState;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.net.URI;
@@ -49,6 +51,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -59,6 +62,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -170,8 +174,8 @@ class SendNotificationHandlerTest {
         when(configurationService.getEnvironment()).thenReturn("unit-test");
         when(clientService.getClient(CLIENT_ID)).thenReturn(Optional.of(clientRegistry));
         when(clientService.getClient(TEST_CLIENT_ID)).thenReturn(Optional.of(testClientRegistry));
-        when(clientSessionService.getClientSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(clientSession));
+        when(codeStorageService.getEmailSecurityState(anyString()))
+                .thenReturn(new EmailSecurityState(Set.of(), Map.of(), 0, 0));
     }
 
     @ParameterizedTest
@@ -199,14 +203,14 @@ class SendNotificationHandlerTest {
                                         TEST_SIX_DIGIT_CODE,
                                         SupportedLanguage.EN)));
         verify(codeGeneratorService).sixDigitCode();
-        verify(codeStorageService).getOtpCode(TEST_EMAIL_ADDRESS, notificationType);
+        verify(codeStorageService).getEmailSecurityState(TEST_EMAIL_ADDRESS);
         verify(codeStorageService)
                 .saveOtpCode(
                         TEST_EMAIL_ADDRESS,
                         TEST_SIX_DIGIT_CODE,
                         CODE_EXPIRY_TIME,
                         notificationType);
-        verify(sessionService).save(argThat(this::isSessionWithEmailSent));
+        verify(sessionService).incrementCodeRequestCount(argThat(this::isSessionWithEmailSent));
         verify(auditService)
                 .submitAuditEvent(
                         notificationType.equals(VERIFY_EMAIL)
@@ -274,8 +278,10 @@ class SendNotificationHandlerTest {
             throws Json.JsonException {
         usingValidSession();
         usingValidClientSession(CLIENT_ID);
-        when(codeStorageService.getOtpCode(any(String.class), any(NotificationType.class)))
-                .thenReturn(Optional.of(TEST_SIX_DIGIT_CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(
+                        new EmailSecurityState(
+                                Set.of(), Map.of(VERIFY_PHONE_NUMBER, TEST_SIX_DIGIT_CODE), 0, 0));
 
         var result =
                 sendRequest(
@@ -330,14 +336,14 @@ class SendNotificationHandlerTest {
 
         assertEquals(204, result.getStatusCode());
         verifyNoInteractions(awsSqsClient);
-        verify(codeStorageService).getOtpCode(TEST_EMAIL_ADDRESS, notificationType);
+        verify(codeStorageService).getEmailSecurityState(TEST_EMAIL_ADDRESS);
         verify(codeStorageService)
                 .saveOtpCode(
                         TEST_EMAIL_ADDRESS,
                         TEST_SIX_DIGIT_CODE,
                         CODE_EXPIRY_TIME,
                         notificationType);
-        verify(sessionService).save(argThat(this::isSessionWithEmailSent));
+        verify(sessionService).incrementCodeRequestCount(argThat(this::isSessionWithEmailSent));
         verify(auditService)
                 .submitAuditEvent(
                         notificationType.equals(VERIFY_EMAIL)
@@ -367,7 +373,8 @@ class SendNotificationHandlerTest {
         assertEquals(400, result.getStatusCode());
         verifyNoInteractions(awsSqsClient);
         verifyNoInteractions(codeStorageService);
-        verify(sessionService, never()).save(argThat(this::isSessionWithEmailSent));
+        verify(sessionService, never())
+                .incrementCodeRequestCount(argThat(this::isSessionWithEmailSent));
         verifyNoInteractions(auditService);
     }
 
@@ -446,7 +453,7 @@ class SendNotificationHandlerTest {
 
         assertEquals(204, result.getStatusCode());
         verify(codeGeneratorService).sixDigitCode();
-        verify(codeStorageService).getOtpCode(TEST_EMAIL_ADDRESS, VERIFY_PHONE_NUMBER);
+        verify(codeStorageService).getEmailSecurityState(TEST_EMAIL_ADDRESS);
         verify(codeStorageService)
                 .saveOtpCode(
                         TEST_EMAIL_ADDRESS,
@@ -586,9 +593,10 @@ class SendNotificationHandlerTest {
             names = {"VERIFY_EMAIL", "VERIFY_CHANGE_HOW_GET_SECURITY_CODES"})
     void shouldReturn400IfUserIsBlockedFromRequestingAnyMoreEmailOtpCodes(
             NotificationType notificationType) {
-        when(codeStorageService.isBlockedForEmail(
-                        TEST_EMAIL_ADDRESS, CODE_REQUEST_BLOCKED_KEY_PREFIX))
-                .thenReturn(true);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(
+                        new EmailSecurityState(
+                                Set.of(CODE_REQUEST_BLOCKED_KEY_PREFIX), Map.of(), 0, 0));
         usingValidSession();
         usingValidClientSession(CLIENT_ID);
 
@@ -623,9 +631,10 @@ class SendNotificationHandlerTest {
 
     @Test
     void shouldReturn400IfUserIsBlockedFromRequestingAnyMorePhoneOtpCodes() {
-        when(codeStorageService.isBlockedForEmail(
-                        TEST_EMAIL_ADDRESS, CODE_REQUEST_BLOCKED_KEY_PREFIX))
-                .thenReturn(true);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(
+                        new EmailSecurityState(
+                                Set.of(CODE_REQUEST_BLOCKED_KEY_PREFIX), Map.of(), 0, 0));
         usingValidSession();
         usingValidClientSession(CLIENT_ID);
 
@@ -660,8 +669,9 @@ class SendNotificationHandlerTest {
             NotificationType notificationType) {
         usingValidSession();
         usingValidClientSession(CLIENT_ID);
-        when(codeStorageService.isBlockedForEmail(TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX))
-                .thenReturn(true);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(
+                        new EmailSecurityState(Set.of(CODE_BLOCKED_KEY_PREFIX), Map.of(), 0, 0));
 
         var result =
                 sendRequest(
@@ -695,8 +705,9 @@ class SendNotificationHandlerTest {
 
     @Test
     void shouldReturn400IfUserIsBlockedFromEnteringPhoneOtpCodes() {
-        when(codeStorageService.isBlockedForEmail(TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX))
-                .thenReturn(true);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(
+                        new EmailSecurityState(Set.of(CODE_BLOCKED_KEY_PREFIX), Map.of(), 0, 0));
         usingValidSession();
         usingValidClientSession(CLIENT_ID);
 
@@ -784,8 +795,10 @@ class SendNotificationHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(clientSession)));
     }
 
     private void usingValidClientSession(String clientId) {
@@ -798,13 +811,14 @@ class SendNotificationHandlerTest {
                         .state(new State())
                         .nonce(new Nonce())
                         .build();
-        when(clientSessionService.getClientSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(clientSession));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(clientSession)));
         when(clientSession.getAuthRequestParams()).thenReturn(authRequest.toParameters());
     }
 
     private boolean isSessionWithEmailSent(Session session) {
-        return session.getEmailAddress().equals(TEST_EMAIL_ADDRESS)
-                && session.getCodeRequestCount() == 1;
+        return session.getEmailAddress().equals(TEST_EMAIL_ADDRESS);
     }
 }
@@ -39,6 +39,7 @@ import uk.gov.di.authentication.shared.services.CommonPasswordsService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.shared.validation.PasswordValidator;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
@@ -147,13 +148,11 @@ class SignUpHandlerTest {
         when(authenticationService.userExists(EMAIL)).thenReturn(false);
         when(clientService.getClient(CLIENT_ID.getValue()))
                 .thenReturn(Optional.of(generateClientRegistry(consentRequired)));
-        when(clientSessionService.getClientSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(clientSession));
         when(authenticationService.signUp(
                         eq(EMAIL), eq(PASSWORD), any(Subject.class), any(TermsAndConditions.class)))
                 .thenReturn(user);
         when(userProfile.getSubjectID()).thenReturn(INTERNAL_SUBJECT_ID.getValue());
-        usingValidSession();
+        usingValidSession(Optional.of(clientSession));
         usingValidClientSession();
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         event.setRequestContext(contextWithSourceIp("123.123.123.123"));
@@ -208,6 +207,8 @@ class SignUpHandlerTest {
                 format(
                         "{ \"password\": \"%s\", \"email\": \"%s\" }",
                         PASSWORD, EMAIL.toUpperCase()));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(any()))
+                .thenReturn(new SessionAndClientSession(Optional.empty(), Optional.empty()));
         APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
 
         assertThat(result, hasStatus(400));
@@ -281,8 +282,12 @@ class SignUpHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        usingValidSession(Optional.empty());
+    }
+
+    private void usingValidSession(Optional<ClientSession> clientSession) {
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), clientSession));
     }
 
     public static AuthenticationRequest generateAuthRequest() {
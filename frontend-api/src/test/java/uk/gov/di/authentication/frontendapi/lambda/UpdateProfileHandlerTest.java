@@ -23,6 +23,7 @@ import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.User;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
@@ -35,6 +36,7 @@ import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.net.URI;
@@ -208,8 +210,8 @@ class UpdateProfileHandlerTest {
             String phoneNumber, String environment, boolean isSmokeTest) {
         usingValidSession();
         usingValidClientSession();
-        when(authenticationService.getUserProfileFromEmail(TEST_EMAIL_ADDRESS))
-                .thenReturn(Optional.of(generateUserProfileWithConsent()));
+        when(authenticationService.getUserByEmail(TEST_EMAIL_ADDRESS, false))
+                .thenReturn(Optional.of(new User(generateUserProfileWithConsent(), null)));
         when(clientRegistry.getClientID()).thenReturn(CLIENT_ID.getValue());
         when(clientService.getClient(CLIENT_ID.getValue())).thenReturn(Optional.of(clientRegistry));
         when(clientRegistry.isSmokeTest()).thenReturn(isSmokeTest);
@@ -249,8 +251,8 @@ class UpdateProfileHandlerTest {
     void shouldReturn204WhenUpdatingTermsAndConditions() {
         usingValidSession();
         usingValidClientSession();
-        when(authenticationService.getUserProfileFromEmail(TEST_EMAIL_ADDRESS))
-                .thenReturn(Optional.of(generateUserProfileWithConsent()));
+        when(authenticationService.getUserByEmail(TEST_EMAIL_ADDRESS, false))
+                .thenReturn(Optional.of(new User(generateUserProfileWithConsent(), null)));
         when(clientService.getClient(CLIENT_ID.getValue())).thenReturn(Optional.of(clientRegistry));
         when(clientRegistry.getClientID()).thenReturn(CLIENT_ID.getValue());
 
@@ -289,8 +291,8 @@ class UpdateProfileHandlerTest {
     void shouldReturn204WhenUpdatingProfileWithConsent() {
         usingValidSession();
         usingValidClientSession();
-        when(authenticationService.getUserProfileFromEmail(TEST_EMAIL_ADDRESS))
-                .thenReturn(Optional.of(generateUserProfileWithoutConsent()));
+        when(authenticationService.getUserByEmail(TEST_EMAIL_ADDRESS, false))
+                .thenReturn(Optional.of(new User(generateUserProfileWithoutConsent(), null)));
 
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         event.setHeaders(
@@ -364,8 +366,8 @@ class UpdateProfileHandlerTest {
     void shouldReturn204WhenUpdatingAuthAppSecret() {
         usingValidSession();
         usingValidClientSession();
-        when(authenticationService.getUserProfileFromEmail(TEST_EMAIL_ADDRESS))
-                .thenReturn(Optional.of(generateUserProfileWithConsent()));
+        when(authenticationService.getUserByEmail(TEST_EMAIL_ADDRESS, false))
+                .thenReturn(Optional.of(new User(generateUserProfileWithConsent(), null)));
         when(clientRegistry.getClientID()).thenReturn(CLIENT_ID.getValue());
         when(clientService.getClient(CLIENT_ID.getValue())).thenReturn(Optional.of(clientRegistry));
 
@@ -403,8 +405,8 @@ class UpdateProfileHandlerTest {
     void shouldReturn400WhenAuthAppSecretIsNotBase32EncodedString() {
         usingValidSession();
         usingValidClientSession();
-        when(authenticationService.getUserProfileFromEmail(TEST_EMAIL_ADDRESS))
-                .thenReturn(Optional.of(generateUserProfileWithConsent()));
+        when(authenticationService.getUserByEmail(TEST_EMAIL_ADDRESS, false))
+                .thenReturn(Optional.of(new User(generateUserProfileWithConsent(), null)));
         when(clientRegistry.getClientID()).thenReturn(CLIENT_ID.getValue());
         when(clientService.getClient(CLIENT_ID.getValue())).thenReturn(Optional.of(clientRegistry));
 
@@ -442,8 +444,8 @@ class UpdateProfileHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
     }
 
     private void usingValidClientSession() {
@@ -462,8 +464,10 @@ class UpdateProfileHandlerTest {
                         LocalDateTime.now(),
                         mock(VectorOfTrust.class),
                         CLIENT_NAME);
-        when(clientSessionService.getClientSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(clientSession));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(clientSession)));
     }
 
     private APIGatewayProxyResponseEvent makeHandlerRequest(APIGatewayProxyRequestEvent event) {
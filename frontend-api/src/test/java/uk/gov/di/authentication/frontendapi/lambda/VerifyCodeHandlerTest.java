@@ -25,7 +25,9 @@ import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.NotificationType;
 import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.User;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
@@ -37,14 +39,17 @@ import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
+import uk.gov.di.authentication.shared.services.CodeStorageService.EmailSecurityState;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
@@ -52,9 +57,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -66,6 +72,8 @@ import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_EMA
 import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_PHONE_NUMBER;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
 import static uk.gov.di.authentication.shared.services.CodeStorageService.CODE_BLOCKED_KEY_PREFIX;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.CURRENT_CREDENTIAL_STRENGTH;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.VERIFIED_MFA_METHOD_TYPE;
 import static uk.gov.di.authentication.sharedtest.helper.RequestEventHelper.contextWithSourceIp;
 import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.withMessageContaining;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasJsonBody;
@@ -158,29 +166,33 @@ class VerifyCodeHandlerTest {
                         cloudwatchMetricsService,
                         accountRecoveryBlockService);
 
-        when(authenticationService.getUserProfileFromEmail(TEST_EMAIL_ADDRESS))
-                .thenReturn(Optional.of(userProfile));
+        when(authenticationService.getUserByEmail(TEST_EMAIL_ADDRESS, false))
+                .thenReturn(Optional.of(new User(userProfile, null)));
 
-        when(authenticationService.getUserProfileFromEmail(TEST_CLIENT_EMAIL))
-                .thenReturn(Optional.of(userProfile));
+        when(authenticationService.getUserByEmail(TEST_CLIENT_EMAIL, false))
+                .thenReturn(Optional.of(new User(userProfile, null)));
 
         when(configurationService.getDefaultOtpCodeExpiry()).thenReturn(CODE_EXPIRY_TIME);
 
         when(userProfile.getSubjectID()).thenReturn("test-subject-id");
 
         when(configurationService.getEnvironment()).thenReturn("unit-test");
+
+        when(codeStorageService.getEmailSecurityState(anyString()))
+                .thenReturn(new EmailSecurityState(Set.of(), Map.of(), 0, 0));
     }
 
     @Test
     void shouldReturn204ForValidVerifyEmailRequest() {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, VERIFY_EMAIL))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(VERIFY_EMAIL));
         APIGatewayProxyResponseEvent result = makeCallWithCode(CODE, VERIFY_EMAIL.toString());
 
         verify(codeStorageService).deleteOtpCode(TEST_EMAIL_ADDRESS, VERIFY_EMAIL);
         assertThat(result, hasStatus(204));
-        verify(sessionService).save(session);
+        verify(sessionService).refreshExpiry(session.getSessionId());
+        verify(sessionService, never()).save(any(Session.class));
 
         verify(auditService)
                 .submitAuditEvent(
@@ -205,8 +217,8 @@ class VerifyCodeHandlerTest {
     void shouldReturn204ForValidVerifyPhoneNumberRequest(
             CredentialTrustLevel credentialTrustLevel) {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, VERIFY_PHONE_NUMBER))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(VERIFY_PHONE_NUMBER));
         session.setNewAccount(Session.AccountState.NEW);
         session.setCurrentCredentialStrength(credentialTrustLevel);
 
@@ -220,7 +232,9 @@ class VerifyCodeHandlerTest {
         assertThat(session.getCurrentCredentialStrength(), equalTo(MEDIUM_LEVEL));
         assertThat(session.getVerifiedMfaMethodType(), equalTo(MFAMethodType.SMS));
 
-        verify(sessionService, times(2)).save(session);
+        verify(sessionService)
+                .saveFields(session, CURRENT_CREDENTIAL_STRENGTH, VERIFIED_MFA_METHOD_TYPE);
+        verify(sessionService, never()).refreshExpiry(anyString());
         verify(auditService)
                 .submitAuditEvent(
                         FrontendAuditableEvent.CODE_VERIFIED,
@@ -242,8 +256,8 @@ class VerifyCodeHandlerTest {
     @Test
     void shouldReturnEmailCodeNotValidStateIfRequestCodeDoesNotMatchStoredCode() {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, VERIFY_EMAIL))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(VERIFY_EMAIL));
 
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(INVALID_CODE, VERIFY_EMAIL.toString());
@@ -255,8 +269,8 @@ class VerifyCodeHandlerTest {
     @Test
     void shouldReturnPhoneNumberCodeNotValidStateIfRequestCodeDoesNotMatchStoredCode() {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, VERIFY_PHONE_NUMBER))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(VERIFY_PHONE_NUMBER));
 
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(INVALID_CODE, VERIFY_PHONE_NUMBER.toString());
@@ -272,8 +286,8 @@ class VerifyCodeHandlerTest {
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         event.setHeaders(Map.of("Session-Id", "a-session-id"));
         event.setBody(format("{ \"code\": \"%s\"}", CODE));
-        when(sessionService.getSessionFromRequestHeaders(event.getHeaders()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(event.getHeaders()))
+                .thenReturn(new SessionAndClientSession(Optional.of(session), Optional.empty()));
 
         APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
         assertThat(result, hasStatus(400));
@@ -301,9 +315,10 @@ class VerifyCodeHandlerTest {
     void shouldUpdateRedisWhenUserHasReachedMaxPhoneNumberCodeAttempts() {
         when(configurationService.getCodeMaxRetries()).thenReturn(0);
         when(configurationService.getBlockedEmailDuration()).thenReturn(BLOCKED_EMAIL_DURATION);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, VERIFY_PHONE_NUMBER))
-                .thenReturn(Optional.of(CODE));
-        when(codeStorageService.getIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS)).thenReturn(1);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(VERIFY_PHONE_NUMBER));
+        when(codeStorageService.increaseIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS))
+                .thenReturn(1);
 
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(INVALID_CODE, VERIFY_PHONE_NUMBER.toString());
@@ -314,9 +329,8 @@ class VerifyCodeHandlerTest {
         verify(authenticationService, never())
                 .updatePhoneNumberAndAccountVerifiedStatus(TEST_EMAIL_ADDRESS, true);
         verify(codeStorageService)
-                .saveBlockedForEmail(
+                .saveBlockedForEmailAndResetIncorrectMfaCodeAttemptsCount(
                         TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX, BLOCKED_EMAIL_DURATION);
-        verify(codeStorageService).deleteIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS);
         verify(auditService)
                 .submitAuditEvent(
                         FrontendAuditableEvent.CODE_MAX_RETRIES_REACHED,
@@ -334,8 +348,8 @@ class VerifyCodeHandlerTest {
 
     @Test
     void shouldReturnMaxReachedWhenPhoneNumberCodeIsBlocked() {
-        when(codeStorageService.isBlockedForEmail(TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX))
-                .thenReturn(true);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withCodeBlocked());
 
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(CODE, VERIFY_PHONE_NUMBER.toString());
@@ -343,7 +357,7 @@ class VerifyCodeHandlerTest {
         assertThat(result, hasStatus(400));
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1034));
         verify(codeStorageService, never())
-                .getOtpCode(session.getEmailAddress(), VERIFY_PHONE_NUMBER);
+                .increaseIncorrectMfaCodeAttemptsCount(session.getEmailAddress());
     }
 
     @Test
@@ -351,10 +365,11 @@ class VerifyCodeHandlerTest {
         when(configurationService.getCodeMaxRetries()).thenReturn(0);
 
         when(configurationService.getBlockedEmailDuration()).thenReturn(BLOCKED_EMAIL_DURATION);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, VERIFY_EMAIL))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(VERIFY_EMAIL));
 
-        when(codeStorageService.getIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS)).thenReturn(1);
+        when(codeStorageService.increaseIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS))
+                .thenReturn(1);
 
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(INVALID_CODE, VERIFY_EMAIL.toString());
@@ -363,7 +378,7 @@ class VerifyCodeHandlerTest {
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1033));
         assertThat(session.getRetryCount(), equalTo(0));
         verify(codeStorageService, never())
-                .saveBlockedForEmail(
+                .saveBlockedForEmailAndResetIncorrectMfaCodeAttemptsCount(
                         TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX, BLOCKED_EMAIL_DURATION);
         verify(codeStorageService).deleteIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS);
         verify(auditService)
@@ -382,8 +397,8 @@ class VerifyCodeHandlerTest {
 
     @Test
     void shouldReturnMaxReachedWhenEmailCodeIsBlocked() {
-        when(codeStorageService.isBlockedForEmail(TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX))
-                .thenReturn(true);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withCodeBlocked());
 
         APIGatewayProxyResponseEvent result = makeCallWithCode(CODE, VERIFY_EMAIL.toString());
 
@@ -394,8 +409,8 @@ class VerifyCodeHandlerTest {
     @Test
     void shouldReturn204ForValidMfaSmsRequest() {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, MFA_SMS))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(MFA_SMS));
         session.setNewAccount(Session.AccountState.EXISTING);
 
         APIGatewayProxyResponseEvent result = makeCallWithCode(CODE, MFA_SMS.toString());
@@ -404,7 +419,8 @@ class VerifyCodeHandlerTest {
         assertThat(result, hasStatus(204));
         assertThat(session.getVerifiedMfaMethodType(), equalTo(MFAMethodType.SMS));
         verify(accountRecoveryBlockService).deleteBlockIfPresent(TEST_EMAIL_ADDRESS);
-        verify(sessionService, times(2)).save(session);
+        verify(sessionService).saveFields(session, VERIFIED_MFA_METHOD_TYPE);
+        verify(sessionService, never()).refreshExpiry(anyString());
         verify(auditService)
                 .submitAuditEvent(
                         FrontendAuditableEvent.CODE_VERIFIED,
@@ -426,8 +442,8 @@ class VerifyCodeHandlerTest {
     @Test
     void shouldReturnMfaCodeNotValidStateIfRequestCodeDoesNotMatchStoredCode() {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, MFA_SMS))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(MFA_SMS));
         verifyNoInteractions(accountRecoveryBlockService);
 
         APIGatewayProxyResponseEvent result = makeCallWithCode(INVALID_CODE, MFA_SMS.toString());
@@ -440,9 +456,10 @@ class VerifyCodeHandlerTest {
     void shouldUpdateRedisWhenUserHasReachedMaxMfaCodeAttempts() {
         when(configurationService.getCodeMaxRetries()).thenReturn(0);
         when(configurationService.getBlockedEmailDuration()).thenReturn(BLOCKED_EMAIL_DURATION);
-        when(codeStorageService.getOtpCode(TEST_EMAIL_ADDRESS, MFA_SMS))
-                .thenReturn(Optional.of(CODE));
-        when(codeStorageService.getIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS)).thenReturn(1);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withOtpCode(MFA_SMS));
+        when(codeStorageService.increaseIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS))
+                .thenReturn(1);
 
         APIGatewayProxyResponseEvent result = makeCallWithCode(INVALID_CODE, MFA_SMS.toString());
 
@@ -450,10 +467,9 @@ class VerifyCodeHandlerTest {
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1027));
         assertThat(session.getRetryCount(), equalTo(0));
         verify(codeStorageService)
-                .saveBlockedForEmail(
+                .saveBlockedForEmailAndResetIncorrectMfaCodeAttemptsCount(
                         TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX, BLOCKED_EMAIL_DURATION);
         verifyNoInteractions(accountRecoveryBlockService);
-        verify(codeStorageService).deleteIncorrectMfaCodeAttemptsCount(TEST_EMAIL_ADDRESS);
         verify(auditService)
                 .submitAuditEvent(
                         FrontendAuditableEvent.CODE_MAX_RETRIES_REACHED,
@@ -471,8 +487,8 @@ class VerifyCodeHandlerTest {
 
     @Test
     void shouldReturnMaxReachedWhenMfaCodeIsBlocked() {
-        when(codeStorageService.isBlockedForEmail(TEST_EMAIL_ADDRESS, CODE_BLOCKED_KEY_PREFIX))
-                .thenReturn(true);
+        when(codeStorageService.getEmailSecurityState(TEST_EMAIL_ADDRESS))
+                .thenReturn(withCodeBlocked());
 
         APIGatewayProxyResponseEvent result = makeCallWithCode(CODE, MFA_SMS.toString());
 
@@ -480,7 +496,9 @@ class VerifyCodeHandlerTest {
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1027));
 
         verifyNoInteractions(accountRecoveryBlockService);
-        verify(codeStorageService, never()).getOtpCode(session.getEmailAddress(), MFA_SMS);
+        verify(codeStorageService).getEmailSecurityState(session.getEmailAddress());
+        verify(codeStorageService, never())
+                .increaseIncorrectMfaCodeAttemptsCount(session.getEmailAddress());
     }
 
     @ParameterizedTest
@@ -496,7 +514,7 @@ class VerifyCodeHandlerTest {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
         when(configurationService.getTestClientVerifyEmailOTP())
                 .thenReturn(Optional.of(TEST_CLIENT_CODE));
-        when(codeStorageService.getOtpCode(email, VERIFY_EMAIL)).thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(email)).thenReturn(withOtpCode(VERIFY_EMAIL));
         testClientSession.setEmailAddress(email);
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(
@@ -524,7 +542,7 @@ class VerifyCodeHandlerTest {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
         when(configurationService.getTestClientVerifyEmailOTP())
                 .thenReturn(Optional.of(TEST_CLIENT_CODE));
-        when(codeStorageService.getOtpCode(email, VERIFY_EMAIL)).thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(email)).thenReturn(withOtpCode(VERIFY_EMAIL));
         testClientSession.setEmailAddress(email);
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(
@@ -543,8 +561,8 @@ class VerifyCodeHandlerTest {
         when(configurationService.getCodeMaxRetries()).thenReturn(5);
         when(configurationService.getTestClientVerifyEmailOTP())
                 .thenReturn(Optional.of(TEST_CLIENT_CODE));
-        when(codeStorageService.getOtpCode(TEST_CLIENT_EMAIL, RESET_PASSWORD_WITH_CODE))
-                .thenReturn(Optional.of(CODE));
+        when(codeStorageService.getEmailSecurityState(TEST_CLIENT_EMAIL))
+                .thenReturn(withOtpCode(RESET_PASSWORD_WITH_CODE));
         APIGatewayProxyResponseEvent result =
                 makeCallWithCode(
                         TEST_CLIENT_CODE,
@@ -574,15 +592,12 @@ class VerifyCodeHandlerTest {
                 format(
                         "{ \"code\": \"%s\", \"notificationType\": \"%s\" }",
                         code, notificationType));
-        when(sessionService.getSessionFromRequestHeaders(event.getHeaders())).thenReturn(session);
-        when(clientSessionService.getClientSessionFromRequestHeaders(event.getHeaders()))
-                .thenReturn(Optional.of(clientSession));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(event.getHeaders()))
+                .thenReturn(new SessionAndClientSession(session, Optional.of(clientSession)));
         when(clientSession.getAuthRequestParams())
                 .thenReturn(withAuthenticationRequest(clientId).toParameters());
         when(clientService.getClient(CLIENT_ID)).thenReturn(Optional.of(clientRegistry));
         when(clientService.getClient(TEST_CLIENT_ID)).thenReturn(Optional.of(testClientRegistry));
-        when(clientSessionService.getClientSessionFromRequestHeaders(event.getHeaders()))
-                .thenReturn(Optional.of(clientSession));
         when(clientSessionService.getClientSession(CLIENT_SESSION_ID))
                 .thenReturn(Optional.of(clientSession));
         when(clientSession.getEffectiveVectorOfTrust()).thenReturn(VectorOfTrust.getDefaults());
@@ -602,4 +617,12 @@ class VerifyCodeHandlerTest {
                 .nonce(new Nonce())
                 .build();
     }
+
+    private static EmailSecurityState withOtpCode(NotificationType notificationType) {
+        return new EmailSecurityState(Set.of(), Map.of(notificationType, CODE), 0, 0);
+    }
+
+    private static EmailSecurityState withCodeBlocked() {
+        return new EmailSecurityState(Set.of(CODE_BLOCKED_KEY_PREFIX), Map.of(), 0, 0);
+    }
 }
@@ -28,6 +28,7 @@ import uk.gov.di.authentication.shared.entity.CustomScopeValue;
 import uk.gov.di.authentication.shared.entity.MFAMethod;
 import uk.gov.di.authentication.shared.entity.MFAMethodType;
 import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.User;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
@@ -137,10 +138,10 @@ class StartServiceTest {
                         Optional.of(
                                 generateClientRegistry(
                                         REDIRECT_URI.toString(), CLIENT_ID.getValue(), false)));
-        when(dynamoService.getUserProfileByEmailMaybe(EMAIL))
-                .thenReturn(Optional.of(mock(UserProfile.class)));
-        when(dynamoService.getUserCredentialsFromEmail(EMAIL))
-                .thenReturn((mock(UserCredentials.class)));
+        when(dynamoService.getUserByEmail(EMAIL, true))
+                .thenReturn(
+                        Optional.of(
+                                new User(mock(UserProfile.class), mock(UserCredentials.class))));
         var authRequest =
                 new AuthenticationRequest.Builder(
                                 new ResponseType(ResponseType.Value.CODE),
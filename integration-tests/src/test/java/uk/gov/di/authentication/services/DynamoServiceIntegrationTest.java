@@ -17,6 +17,7 @@ import uk.gov.di.authentication.shared.services.DynamoService;
 import uk.gov.di.authentication.sharedtest.extensions.UserStoreExtension;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -148,6 +149,21 @@ class DynamoServiceIntegrationTest {
         assertThat(userProfile.getClientConsent(), equalTo(null));
     }
 
+    @Test
+    void shouldReadSingleAttributesWithoutLoadingWholeProfile() {
+        setUpDynamo();
+        userStore.addPhoneNumber(TEST_EMAIL, "+447700900000");
+        userStore.updateConsent(TEST_EMAIL, CLIENT_CONSENT);
+
+        assertThat(dynamoService.userExists(TEST_EMAIL), equalTo(true));
+        assertThat(dynamoService.userExists(UPDATED_TEST_EMAIL), equalTo(false));
+        assertThat(dynamoService.getPhoneNumber(TEST_EMAIL), equalTo(Optional.of("+447700900000")));
+        assertThat(dynamoService.getPhoneNumber(UPDATED_TEST_EMAIL), equalTo(Optional.empty()));
+        assertThat(
+                dynamoService.getUserConsents(TEST_EMAIL).orElseThrow().get(0).getClientId(),
+                equalTo(CLIENT_ID));
+    }
+
     @Test
     void shouldAddAuthAppMFAMethod() {
         setUpDynamo();
@@ -1,13 +1,17 @@
 package uk.gov.di.authentication.shared.services;
 
+import io.lettuce.core.ScriptOutputType;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNull.nullValue;
@@ -72,6 +76,19 @@ class RedisConnectionServiceIntegrationTest {
         }
     }
 
+    @Test
+    void shouldSaveAndPopBinaryValuesWithoutAlteringBytes() {
+        var value = new byte[] {(byte) 0xB1, 0x01, 0x00, (byte) 0xFF, 0x7B};
+        try (RedisConnectionService redis =
+                new RedisConnectionService(REDIS_HOST, 6379, false, REDIS_PASSWORD, false)) {
+            redis.saveBinaryWithExpiry(testKey, value, TEN_SECOND_EXPIRY);
+
+            assertThat(redis.getBinaryValue(testKey), equalTo(value));
+            assertThat(redis.popBinaryValue(testKey), equalTo(value));
+            assertThat(redis.keyExists(testKey), is(false));
+        }
+    }
+
     @Test
     void getValueReturnsNullIfKeyDoesNotExist() {
         try (RedisConnectionService redis =
@@ -80,6 +97,88 @@ class RedisConnectionServiceIntegrationTest {
         }
     }
 
+    @Test
+    void getValuesReturnsValuesInKeyOrderWithNullForMissingKeys() {
+        try (RedisConnectionService redis =
+                new RedisConnectionService(REDIS_HOST, 6379, false, REDIS_PASSWORD, false)) {
+            redis.saveWithExpiry(testKey, TEST_VALUE, TEN_SECOND_EXPIRY);
+
+            assertThat(
+                    redis.getValues("missing-" + testKey, testKey),
+                    contains(nullValue(), equalTo(TEST_VALUE)));
+        }
+    }
+
+    @Test
+    void getValueAsyncCompletesWithStoredValue() throws Exception {
+        try (RedisConnectionService redis =
+                new RedisConnectionService(REDIS_HOST, 6379, false, REDIS_PASSWORD, false)) {
+            redis.saveWithExpiry(testKey, TEST_VALUE, TEN_SECOND_EXPIRY);
+
+            assertThat(redis.getValueAsync(testKey).get(), equalTo(TEST_VALUE));
+            assertThat(
+                    redis.getValuesAsync("missing-" + testKey, testKey).get(),
+                    contains(nullValue(), equalTo(TEST_VALUE)));
+        }
+    }
+
+    @Test
+    void popValueAsyncShouldReturnValueAndClearKeyWhenItExists() throws Exception {
+        try (RedisConnectionService redis =
+                new RedisConnectionService(REDIS_HOST, 6379, false, REDIS_PASSWORD, false)) {
+            redis.saveWithExpiry(testKey, TEST_VALUE, TEN_SECOND_EXPIRY);
+
+            assertThat(redis.popValueAsync(testKey).get(), equalTo(TEST_VALUE));
+            assertThat(redis.keyExists(testKey), is(false));
+        }
+    }
+
+    @Test
+    void saveAllWithExpiryStoresEveryValueInPipeline() {
+        try (RedisConnectionService redis =
+                new RedisConnectionService(REDIS_HOST, 6379, false, REDIS_PASSWORD, false)) {
+            var otherKey = "other-" + testKey;
+            redis.saveAllWithExpiry(
+                    Map.of(testKey, TEST_VALUE, otherKey, "other-value"), TEN_SECOND_EXPIRY);
+
+            assertThat(
+                    redis.getValues(List.of(testKey, otherKey)),
+                    contains(equalTo(TEST_VALUE), equalTo("other-value")));
+        }
+    }
+
+    @Test
+    void deleteValuesRemovesAllValuesInSingleCall() {
+        try (RedisConnectionService redis =
+                new RedisConnectionService(REDIS_HOST, 6379, false, REDIS_PASSWORD, false)) {
+            var otherKey = "other-" + testKey;
+            redis.saveWithExpiry(testKey, TEST_VALUE, TEN_SECOND_EXPIRY);
+            redis.saveWithExpiry(otherKey, TEST_VALUE, TEN_SECOND_EXPIRY);
+
+            assertThat(redis.deleteValues(List.of(testKey, otherKey)), is(2L));
+            assertThat(redis.keyExists(testKey), is(false));
+            assertThat(redis.keyExists(otherKey), is(false));
+        }
+    }
+
+    @Test
+    void executeScriptRunsScriptAndReusesLoadedDigest() {
+        try (RedisConnectionService redis =
+                new RedisConnectionService(REDIS_HOST, 6379, false, REDIS_PASSWORD, false)) {
+            var script = "return redis.call('INCR', KEYS[1])";
+            Long first =
+                    redis.executeScript(
+                            script, ScriptOutputType.INTEGER, List.of(testKey), List.of());
+            Long second =
+                    redis.executeScript(
+                            script, ScriptOutputType.INTEGER, List.of(testKey), List.of());
+
+            assertThat(first, is(1L));
+            assertThat(second, is(2L));
+            redis.deleteValue(testKey);
+        }
+    }
+
     @Test
     void deleteValueRemovesValueFromRedisIfExists() {
         try (RedisConnectionService redis =
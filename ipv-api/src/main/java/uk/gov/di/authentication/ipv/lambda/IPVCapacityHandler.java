@@ -12,6 +12,7 @@ import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 
 public class IPVCapacityHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -37,6 +38,13 @@ public class IPVCapacityHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return segmentedHandlerCall(
+                "ipv-api::" + getClass().getSimpleName(),
+                () -> ipvCapacityRequestHandler(input, context));
+    }
+
+    public APIGatewayProxyResponseEvent ipvCapacityRequestHandler(
+            APIGatewayProxyRequestEvent input, Context context) {
 
         LOG.info("Request received to IPVCapacityHandler");
         auditService.submitAuditEvent(
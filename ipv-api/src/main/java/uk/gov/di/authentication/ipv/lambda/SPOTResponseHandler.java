@@ -21,6 +21,7 @@ import uk.gov.di.authentication.shared.services.SerializationService;
 
 import java.util.NoSuchElementException;
 
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.CLIENT_ID;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.PERSISTENT_SESSION_ID;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachLogFieldToLogs;
@@ -51,6 +52,12 @@ public class SPOTResponseHandler implements RequestHandler<SQSEvent, Object> {
 
     @Override
     public Object handleRequest(SQSEvent event, Context context) {
+        return segmentedHandlerCall(
+                "ipv-api::" + getClass().getSimpleName(),
+                () -> spotResponseRequestHandler(event, context));
+    }
+
+    public Object spotResponseRequestHandler(SQSEvent event, Context context) {
         for (SQSMessage msg : event.getRecords()) {
             try {
                 ThreadContext.clearMap();
@@ -9,7 +9,6 @@ import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.Payload;
 import com.nimbusds.jose.crypto.RSAEncrypter;
-import com.nimbusds.jose.crypto.impl.ECDSA;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.util.Base64URL;
@@ -24,14 +23,12 @@ import com.nimbusds.oauth2.sdk.id.State;
 import com.nimbusds.oauth2.sdk.id.Subject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.kms.model.SignRequest;
-import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.JwsSigner;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
 import uk.gov.di.authentication.shared.services.SerializationService;
@@ -48,7 +45,7 @@ public class IPVAuthorisationService {
     private static final Logger LOG = LogManager.getLogger(IPVAuthorisationService.class);
     private final ConfigurationService configurationService;
     private final RedisConnectionService redisConnectionService;
-    private final KmsConnectionService kmsConnectionService;
+    private final JwsSigner signer;
     public static final String STATE_STORAGE_PREFIX = "state:";
     private static final JWSAlgorithm SIGNING_ALGORITHM = JWSAlgorithm.ES256;
     private static final Json objectMapper = SerializationService.getInstance();
@@ -59,7 +56,7 @@ public class IPVAuthorisationService {
             KmsConnectionService kmsConnectionService) {
         this.configurationService = configurationService;
         this.redisConnectionService = redisConnectionService;
-        this.kmsConnectionService = kmsConnectionService;
+        this.signer = JwsSigner.create(configurationService, kmsConnectionService);
     }
 
     public Optional<ErrorObject> validateResponse(Map<String, String> headers, String sessionId) {
@@ -167,27 +164,19 @@ public class IPVAuthorisationService {
         var encodedHeader = jwsHeader.toBase64URL();
         var encodedClaims = Base64URL.encode(claimsBuilder.build().toString());
         var message = encodedHeader + "." + encodedClaims;
-        var signRequest =
-                SignRequest.builder()
-                        .message(SdkBytes.fromByteArray(message.getBytes()))
-                        .keyId(configurationService.getIPVTokenSigningKeyAlias())
-                        .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
-                        .build();
         try {
             LOG.info("Signing request JWT");
-            var signResult = kmsConnectionService.sign(signRequest);
-            LOG.info("Request JWT has been signed successfully");
             var signature =
-                    Base64URL.encode(
-                                    ECDSA.transcodeSignatureToConcat(
-                                            signResult.signature().asByteArray(),
-                                            ECDSA.getSignatureByteArrayLength(SIGNING_ALGORITHM)))
-                            .toString();
+                    signer.sign(
+                            configurationService.getIPVTokenSigningKeyAlias(),
+                            SIGNING_ALGORITHM,
+                            message.getBytes());
+            LOG.info("Request JWT has been signed successfully");
             var signedJWT = SignedJWT.parse(message + "." + signature);
             var encryptedJWT = encryptJWT(signedJWT);
             LOG.info("Encrypted request JWT has been generated");
             return encryptedJWT;
-        } catch (ParseException | JOSEException e) {
+        } catch (ParseException e) {
             LOG.error("Error when generating SignedJWT", e);
             throw new RuntimeException(e);
         }
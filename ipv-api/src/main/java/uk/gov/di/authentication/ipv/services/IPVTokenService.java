@@ -1,9 +1,7 @@
 package uk.gov.di.authentication.ipv.services;
 
-import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.crypto.impl.ECDSA;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.oauth2.sdk.AuthorizationCode;
@@ -21,13 +19,11 @@ import com.nimbusds.openid.connect.sdk.UserInfoResponse;
 import com.nimbusds.openid.connect.sdk.claims.UserInfo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.kms.model.SignRequest;
-import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 import uk.gov.di.authentication.shared.exceptions.UnsuccessfulCredentialResponseException;
 import uk.gov.di.authentication.shared.helpers.ConstructUriHelper;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.JwsSigner;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
 
 import java.io.IOException;
@@ -39,7 +35,7 @@ import static java.util.Collections.singletonList;
 public class IPVTokenService {
 
     private final ConfigurationService configurationService;
-    private final KmsConnectionService kmsService;
+    private final JwsSigner signer;
     private static final JWSAlgorithm TOKEN_ALGORITHM = JWSAlgorithm.ES256;
     private static final Long PRIVATE_KEY_JWT_EXPIRY = 5L;
     private static final Logger LOG = LogManager.getLogger(IPVTokenService.class);
@@ -47,7 +43,7 @@ public class IPVTokenService {
     public IPVTokenService(
             ConfigurationService configurationService, KmsConnectionService kmsService) {
         this.configurationService = configurationService;
-        this.kmsService = kmsService;
+        this.signer = JwsSigner.create(configurationService, kmsService);
     }
 
     public TokenRequest constructTokenRequest(String authCode) {
@@ -139,23 +135,14 @@ public class IPVTokenService {
             var encodedHeader = jwsHeader.toBase64URL();
             var encodedClaims = Base64URL.encode(claimsSet.toJWTClaimsSet().toString());
             var message = encodedHeader + "." + encodedClaims;
-            var signRequest =
-                    SignRequest.builder()
-                            .message(SdkBytes.fromByteArray(message.getBytes()))
-                            .keyId(configurationService.getIPVTokenSigningKeyAlias())
-                            .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
-                            .build();
-
-            var signResponse = kmsService.sign(signRequest);
-            LOG.info("PrivateKeyJWT has been signed successfully");
             var signature =
-                    Base64URL.encode(
-                                    ECDSA.transcodeSignatureToConcat(
-                                            signResponse.signature().asByteArray(),
-                                            ECDSA.getSignatureByteArrayLength(TOKEN_ALGORITHM)))
-                            .toString();
+                    signer.sign(
+                            configurationService.getIPVTokenSigningKeyAlias(),
+                            TOKEN_ALGORITHM,
+                            message.getBytes());
+            LOG.info("PrivateKeyJWT has been signed successfully");
             return new PrivateKeyJWT(SignedJWT.parse(message + "." + signature));
-        } catch (JOSEException | java.text.ParseException e) {
+        } catch (java.text.ParseException e) {
             LOG.error("Exception thrown when trying to parse SignedJWT or JWTClaimSet", e);
             throw new RuntimeException(e);
         }
@@ -30,6 +30,7 @@ import uk.gov.di.authentication.shared.services.DynamoIdentityService;
 import uk.gov.di.authentication.shared.services.DynamoService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionAndClientSession;
 
 import java.net.URI;
 import java.nio.ByteBuffer;
@@ -120,6 +121,9 @@ class ProcessingIdentityHandlerTest {
 
     @Test
     void shouldReturnErrorIfSessionIsNotFound() throws Json.JsonException {
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(any()))
+                .thenReturn(new SessionAndClientSession(Optional.empty(), Optional.empty()));
+
         var result = handler.handleRequest(event, context);
 
         assertThat(result, hasStatus(400));
@@ -137,8 +141,6 @@ class ProcessingIdentityHandlerTest {
                         .withCoreIdentityJWT("a-core-identity");
         when(dynamoIdentityService.getIdentityCredentials(anyString()))
                 .thenReturn(Optional.of(identityCredentials));
-        when(clientSessionService.getClientSessionFromRequestHeaders(any()))
-                .thenReturn(Optional.of(getClientSession()));
 
         var result = handler.handleRequest(event, context);
 
@@ -169,8 +171,6 @@ class ProcessingIdentityHandlerTest {
                         .withAdditionalClaims(Collections.emptyMap());
         when(dynamoIdentityService.getIdentityCredentials(anyString()))
                 .thenReturn(Optional.of(identityCredentials));
-        when(clientSessionService.getClientSessionFromRequestHeaders(any()))
-                .thenReturn(Optional.of(getClientSession()));
 
         var result = handler.handleRequest(event, context);
 
@@ -198,8 +198,6 @@ class ProcessingIdentityHandlerTest {
         usingValidSession();
         when(dynamoIdentityService.getIdentityCredentials(PAIRWISE_SUBJECT.getValue()))
                 .thenReturn(Optional.empty());
-        when(clientSessionService.getClientSessionFromRequestHeaders(any()))
-                .thenReturn(Optional.of(getClientSession()));
 
         var result = handler.handleRequest(event, context);
 
@@ -225,8 +223,6 @@ class ProcessingIdentityHandlerTest {
         usingValidSession();
         when(dynamoIdentityService.getIdentityCredentials(PAIRWISE_SUBJECT.getValue()))
                 .thenReturn(Optional.empty());
-        when(clientSessionService.getClientSessionFromRequestHeaders(any()))
-                .thenReturn(Optional.of(getClientSession()));
 
         var result = handler.handleRequest(event, context);
 
@@ -265,8 +261,10 @@ class ProcessingIdentityHandlerTest {
     }
 
     private void usingValidSession() {
-        when(sessionService.getSessionFromRequestHeaders(anyMap()))
-                .thenReturn(Optional.of(session));
+        when(sessionService.getSessionAndClientSessionFromRequestHeaders(anyMap()))
+                .thenReturn(
+                        new SessionAndClientSession(
+                                Optional.of(session), Optional.of(getClientSession())));
     }
 
     private ClientRegistry generateClientRegistry() {
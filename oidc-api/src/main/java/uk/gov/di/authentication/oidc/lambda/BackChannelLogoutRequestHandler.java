@@ -27,7 +27,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static java.util.Collections.emptyMap;
-import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachLogFieldToLogs;
 
 public class BackChannelLogoutRequestHandler implements RequestHandler<SQSEvent, Object> {
@@ -59,7 +59,7 @@ public class BackChannelLogoutRequestHandler implements RequestHandler<SQSEvent,
     @Override
     public Object handleRequest(SQSEvent event, Context context) {
         ThreadContext.clearMap();
-        return segmentedFunctionCall(
+        return segmentedHandlerCall(
                 "oidc-api::" + getClass().getSimpleName(),
                 () -> backChannelLogoutRequestHandler(event, context));
     }
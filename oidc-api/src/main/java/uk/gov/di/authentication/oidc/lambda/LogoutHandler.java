@@ -14,6 +14,7 @@ import org.apache.logging.log4j.ThreadContext;
 import uk.gov.di.authentication.oidc.domain.OidcAuditableEvent;
 import uk.gov.di.authentication.oidc.services.BackChannelLogoutService;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
+import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.ResponseHeaders;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
@@ -36,6 +37,7 @@ import java.util.Optional;
 
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.CLIENT_SESSION_ID;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.GOVUK_SIGNIN_JOURNEY_ID;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachLogFieldToLogs;
@@ -97,7 +99,7 @@ public class LogoutHandler
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
         ThreadContext.clearMap();
-        return segmentedFunctionCall(
+        return segmentedHandlerCall(
                 "oidc-api::" + getClass().getSimpleName(),
                 () -> logoutRequestHandler(input, context));
     }
@@ -370,31 +372,26 @@ public class LogoutHandler
     }
 
     private void destroySessions(Session session) {
-        for (String clientSessionId : session.getClientSessions()) {
-            clientSessionService
-                    .getClientSession(clientSessionId)
-                    .flatMap(
-                            t ->
-                                    t.getAuthRequestParams().get("client_id").stream()
-                                            .findFirst()
-                                            .flatMap(dynamoClientService::getClient))
+        for (ClientSession clientSession :
+                clientSessionService.getClientSessions(session.getClientSessions())) {
+            clientSession.getAuthRequestParams().get("client_id").stream()
+                    .findFirst()
+                    .flatMap(dynamoClientService::getClient)
                     .ifPresent(
                             clientRegistry ->
                                     backChannelLogoutService.sendLogoutMessage(
                                             clientRegistry,
                                             session.getEmailAddress(),
                                             configurationService.getInternalSectorUri()));
-            LOG.info("Deleting Client Session");
-            clientSessionService.deleteClientSessionFromRedis(clientSessionId);
         }
+        LOG.info("Deleting Client Sessions");
+        clientSessionService.deleteClientSessionsFromRedis(session.getClientSessions());
         LOG.info("Deleting Session");
         sessionService.deleteSessionFromRedis(session.getSessionId());
     }
 
     private boolean doesIDTokenExistInSession(String idTokenHint, Session session) {
-        return session.getClientSessions().stream()
-                .map(clientSessionService::getClientSession)
-                .flatMap(Optional::stream)
+        return clientSessionService.getClientSessions(session.getClientSessions()).stream()
                 .anyMatch(cs -> idTokenHint.equals(cs.getIdTokenHint()));
     }
 }
@@ -29,6 +29,7 @@ import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 import uk.gov.di.authentication.shared.services.AuthorisationCodeService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
+import uk.gov.di.authentication.shared.services.CompactSerializationService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.DynamoService;
@@ -52,6 +53,7 @@ import static uk.gov.di.authentication.shared.conditions.DocAppUserHelper.isDocC
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.addAnnotation;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.CLIENT_SESSION_ID;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.GOVUK_SIGNIN_JOURNEY_ID;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.updateAttachedLogFieldToLogs;
@@ -71,6 +73,7 @@ public class TokenHandler
     private final RedisConnectionService redisConnectionService;
     private final TokenClientAuthValidatorFactory tokenClientAuthValidatorFactory;
     private final Json objectMapper = SerializationService.getInstance();
+    private final CompactSerializationService compactSerializer;
 
     private static final String REFRESH_TOKEN_PREFIX = "REFRESH_TOKEN:";
 
@@ -91,13 +94,14 @@ public class TokenHandler
         this.tokenValidationService = tokenValidationService;
         this.redisConnectionService = redisConnectionService;
         this.tokenClientAuthValidatorFactory = tokenClientAuthValidatorFactory;
+        this.compactSerializer = new CompactSerializationService(configurationService);
     }
 
     public TokenHandler(ConfigurationService configurationService) {
         var kms = new KmsConnectionService(configurationService);
 
         this.configurationService = configurationService;
-        this.redisConnectionService = new RedisConnectionService(configurationService);
+        this.redisConnectionService = RedisConnectionService.getInstance(configurationService);
         this.tokenService =
                 new TokenService(configurationService, this.redisConnectionService, kms);
         this.dynamoService = new DynamoService(configurationService);
@@ -112,6 +116,7 @@ public class TokenHandler
         this.tokenClientAuthValidatorFactory =
                 new TokenClientAuthValidatorFactory(
                         configurationService, new DynamoClientService(configurationService));
+        this.compactSerializer = new CompactSerializationService(configurationService);
     }
 
     public TokenHandler() {
@@ -121,7 +126,7 @@ public class TokenHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
-        return segmentedFunctionCall(
+        return segmentedHandlerCall(
                 "oidc-api::" + getClass().getSimpleName(),
                 () -> tokenRequestHandler(input, context));
     }
@@ -329,11 +334,12 @@ public class TokenHandler
         }
 
         String redisKey = REFRESH_TOKEN_PREFIX + jti;
-        Optional<String> refreshToken =
-                Optional.ofNullable(redisConnectionService.popValue(redisKey));
+        Optional<byte[]> refreshToken =
+                Optional.ofNullable(redisConnectionService.popBinaryValue(redisKey));
         RefreshTokenStore tokenStore;
         try {
-            tokenStore = objectMapper.readValue(refreshToken.get(), RefreshTokenStore.class);
+            tokenStore =
+                    compactSerializer.readValue(refreshToken.get(), RefreshTokenStore.class);
         } catch (JsonException | NoSuchElementException | IllegalArgumentException e) {
             LOG.warn("Refresh token not found with given key");
             return generateApiGatewayProxyResponse(
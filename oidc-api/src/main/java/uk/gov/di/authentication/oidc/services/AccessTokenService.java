@@ -17,12 +17,13 @@ import uk.gov.di.authentication.shared.entity.ValidClaims;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.exceptions.AccessTokenException;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
-import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+import uk.gov.di.authentication.shared.services.CompactSerializationService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
-import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
+import uk.gov.di.authentication.shared.services.VerifiedAccessTokenCache;
 
 import java.text.ParseException;
 import java.util.List;
@@ -39,17 +40,35 @@ public class AccessTokenService {
     private final RedisConnectionService redisConnectionService;
     private final DynamoClientService clientService;
     private final TokenValidationService tokenValidationService;
-    private final Json objectMapper = SerializationService.getInstance();
+    private final VerifiedAccessTokenCache<AccessTokenInfo> verifiedAccessTokens;
+    private final CompactSerializationService compactSerializer;
     private static final String ACCESS_TOKEN_PREFIX = "ACCESS_TOKEN:";
     private static final String INVALID_ACCESS_TOKEN = "Invalid Access Token";
 
     public AccessTokenService(
             RedisConnectionService redisConnectionService,
             DynamoClientService clientService,
-            TokenValidationService tokenValidationService) {
+            TokenValidationService tokenValidationService,
+            ConfigurationService configurationService) {
+        this(
+                redisConnectionService,
+                clientService,
+                tokenValidationService,
+                configurationService,
+                null);
+    }
+
+    public AccessTokenService(
+            RedisConnectionService redisConnectionService,
+            DynamoClientService clientService,
+            TokenValidationService tokenValidationService,
+            ConfigurationService configurationService,
+            VerifiedAccessTokenCache<AccessTokenInfo> verifiedAccessTokens) {
         this.redisConnectionService = redisConnectionService;
         this.clientService = clientService;
         this.tokenValidationService = tokenValidationService;
+        this.verifiedAccessTokens = verifiedAccessTokens;
+        this.compactSerializer = new CompactSerializationService(configurationService);
     }
 
     public AccessTokenInfo parse(String authorizationHeader, boolean identityEnabled)
@@ -62,8 +81,29 @@ public class AccessTokenService {
             throw new AccessTokenException(
                     "Unable to parse AccessToken", BearerTokenError.INVALID_TOKEN);
         }
+        var cacheKey = identityEnabled + "." + accessToken.getValue();
         SignedJWT signedJWT;
         try {
+            var verified = getVerifiedAccessToken(cacheKey);
+            if (verified.isPresent()) {
+                attachLogFieldToLogs(CLIENT_ID, verified.get().getClientID());
+                try {
+                    var accessTokenStore =
+                            getCurrentAccessTokenStore(
+                                    accessToken,
+                                    verified.get().getClientID(),
+                                    verified.get().getSubject());
+                    return new AccessTokenInfo(
+                            accessTokenStore,
+                            verified.get().getSubject(),
+                            verified.get().getScopes(),
+                            verified.get().getIdentityClaims(),
+                            verified.get().getClientID());
+                } catch (AccessTokenException e) {
+                    verifiedAccessTokens.invalidate(cacheKey);
+                    throw e;
+                }
+            }
             signedJWT = SignedJWT.parse(accessToken.getValue());
 
             var currentDateTime = NowHelper.now();
@@ -107,32 +147,19 @@ public class AccessTokenService {
                 identityClaims = getIdentityClaims(signedJWT.getJWTClaimsSet());
             }
             var subject = signedJWT.getJWTClaimsSet().getSubject();
-            var accessTokenStore = getAccessTokenStore(clientID, subject);
-            if (accessTokenStore.isEmpty()) {
-                LOG.warn(
-                        "Access Token Store is empty. Access Token expires at: {}. CurrentDateTime is: {}. JWTID in Access Token sent in request: {}",
-                        signedJWT.getJWTClaimsSet().getExpirationTime(),
-                        currentDateTime,
-                        signedJWT.getJWTClaimsSet().getJWTID());
-                throw new AccessTokenException(
-                        INVALID_ACCESS_TOKEN, BearerTokenError.INVALID_TOKEN);
+            var accessTokenStore = getCurrentAccessTokenStore(accessToken, clientID, subject);
+            var accessTokenInfo =
+                    new AccessTokenInfo(
+                            accessTokenStore,
+                            subject,
+                            scopes,
+                            identityClaims,
+                            client.getClientID());
+            if (Objects.nonNull(verifiedAccessTokens)) {
+                verifiedAccessTokens.put(
+                        cacheKey, signedJWT.getJWTClaimsSet().getExpirationTime(), accessTokenInfo);
             }
-            if (!accessTokenStore.get().getToken().equals(accessToken.getValue())) {
-                LOG.warn(
-                        "Access Token in Access Token Store is different to Access Token sent in request");
-                var storeJwtId =
-                        SignedJWT.parse(accessTokenStore.get().getToken())
-                                .getJWTClaimsSet()
-                                .getJWTID();
-                LOG.warn(
-                        "JWTID in AccessTokenStore: {} compared to JWTID in Access Token sent in request: {}",
-                        storeJwtId,
-                        signedJWT.getJWTClaimsSet().getJWTID());
-                throw new AccessTokenException(
-                        INVALID_ACCESS_TOKEN, BearerTokenError.INVALID_TOKEN);
-            }
-            return new AccessTokenInfo(
-                    accessTokenStore.get(), subject, scopes, identityClaims, client.getClientID());
+            return accessTokenInfo;
         } catch (ParseException e) {
             LOG.warn("Unable to parse AccessToken to SignedJWT");
             throw new AccessTokenException(
@@ -144,11 +171,50 @@ public class AccessTokenService {
         }
     }
 
+    private Optional<AccessTokenInfo> getVerifiedAccessToken(String cacheKey) {
+        if (Objects.isNull(verifiedAccessTokens)) {
+            return Optional.empty();
+        }
+        return verifiedAccessTokens.get(cacheKey);
+    }
+
+    private AccessTokenStore getCurrentAccessTokenStore(
+            AccessToken accessToken, String clientId, String subjectId)
+            throws AccessTokenException, ParseException {
+        var accessTokenStore = getAccessTokenStore(clientId, subjectId);
+        if (accessTokenStore.isEmpty()) {
+            var claimsSet = SignedJWT.parse(accessToken.getValue()).getJWTClaimsSet();
+            LOG.warn(
+                    "Access Token Store is empty. Access Token expires at: {}. CurrentDateTime is: {}. JWTID in Access Token sent in request: {}",
+                    claimsSet.getExpirationTime(),
+                    NowHelper.now(),
+                    claimsSet.getJWTID());
+            throw new AccessTokenException(INVALID_ACCESS_TOKEN, BearerTokenError.INVALID_TOKEN);
+        }
+        if (!accessTokenStore.get().getToken().equals(accessToken.getValue())) {
+            LOG.warn(
+                    "Access Token in Access Token Store is different to Access Token sent in request");
+            var storeJwtId =
+                    SignedJWT.parse(accessTokenStore.get().getToken()).getJWTClaimsSet().getJWTID();
+            LOG.warn(
+                    "JWTID in AccessTokenStore: {} compared to JWTID in Access Token sent in request: {}",
+                    storeJwtId,
+                    SignedJWT.parse(accessToken.getValue()).getJWTClaimsSet().getJWTID());
+            throw new AccessTokenException(INVALID_ACCESS_TOKEN, BearerTokenError.INVALID_TOKEN);
+        }
+        return accessTokenStore.get();
+    }
+
     private Optional<AccessTokenStore> getAccessTokenStore(String clientId, String subjectId) {
-        String result =
-                redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + clientId + "." + subjectId);
+        byte[] result =
+                redisConnectionService.getBinaryValue(
+                        ACCESS_TOKEN_PREFIX + clientId + "." + subjectId);
+        if (result == null) {
+            return Optional.empty();
+        }
         try {
-            return Optional.ofNullable(objectMapper.readValue(result, AccessTokenStore.class));
+            return Optional.ofNullable(
+                    compactSerializer.readValue(result, AccessTokenStore.class));
         } catch (JsonException | IllegalArgumentException e) {
             LOG.error("Error getting AccessToken from Redis", e);
             return Optional.empty();
@@ -23,6 +23,7 @@ public class BackChannelLogoutService {
     public BackChannelLogoutService(ConfigurationService configurationService) {
         this(
                 new AwsSqsClient(
+                        configurationService,
                         configurationService.getAwsRegion(),
                         configurationService.getBackChannelLogoutQueueUri(),
                         configurationService.getSqsEndpointUri()),
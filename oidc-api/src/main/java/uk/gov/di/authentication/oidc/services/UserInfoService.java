@@ -10,6 +10,7 @@ import uk.gov.di.authentication.app.services.DynamoDocAppService;
 import uk.gov.di.authentication.oidc.entity.AccessTokenInfo;
 import uk.gov.di.authentication.oidc.exceptions.UserInfoException;
 import uk.gov.di.authentication.shared.entity.CustomScopeValue;
+import uk.gov.di.authentication.shared.entity.IdentityCredentials;
 import uk.gov.di.authentication.shared.entity.ValidClaims;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
@@ -21,6 +22,10 @@ import uk.gov.di.authentication.shared.services.SerializationService;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.join;
 
 public class UserInfoService {
 
@@ -70,6 +75,14 @@ public class UserInfoService {
         if (accessTokenInfo.getScopes().contains(CustomScopeValue.DOC_CHECKING_APP.getValue())) {
             return populateDocAppUserInfo(accessTokenInfo, userInfo);
         }
+        var identityClaimsRequested =
+                configurationService.isIdentityEnabled()
+                        && Objects.nonNull(accessTokenInfo.getIdentityClaims());
+        // Start the identity read first so that it overlaps with the user profile read.
+        var identityCredentials =
+                identityClaimsRequested
+                        ? identityService.getIdentityCredentialsAsync(accessTokenInfo.getSubject())
+                        : CompletableFuture.completedFuture(Optional.<IdentityCredentials>empty());
         var userProfile =
                 authenticationService.getUserProfileFromSubject(
                         accessTokenInfo.getAccessTokenStore().getInternalSubjectId());
@@ -88,23 +101,24 @@ public class UserInfoService {
         if (accessTokenInfo.getScopes().contains(CustomScopeValue.ACCOUNT_MANAGEMENT.getValue())) {
             userInfo.setClaim("public_subject_id", userProfile.getPublicSubjectID());
         }
-        if (configurationService.isIdentityEnabled()
-                && Objects.nonNull(accessTokenInfo.getIdentityClaims())) {
-            return populateIdentityInfo(accessTokenInfo, userInfo);
+        if (identityClaimsRequested) {
+            return populateIdentityInfo(accessTokenInfo, userInfo, join(identityCredentials));
         } else {
             LOG.info("No identity claims present");
             return userInfo;
         }
     }
 
-    private UserInfo populateIdentityInfo(AccessTokenInfo accessTokenInfo, UserInfo userInfo) {
+    private UserInfo populateIdentityInfo(
+            AccessTokenInfo accessTokenInfo,
+            UserInfo userInfo,
+            Optional<IdentityCredentials> storedIdentityCredentials) {
         LOG.info("Populating IdentityInfo");
-        var identityCredentials =
-                identityService.getIdentityCredentials(accessTokenInfo.getSubject()).orElse(null);
-        if (Objects.isNull(identityCredentials)) {
+        if (storedIdentityCredentials.isEmpty()) {
             LOG.info("No identity credentials present");
             return userInfo;
         }
+        var identityCredentials = storedIdentityCredentials.get();
         var coreIdentityClaimIsPresent =
                 accessTokenInfo.getIdentityClaims().stream()
                         .anyMatch(t -> t.equals(ValidClaims.CORE_IDENTITY_JWT.getValue()));
@@ -63,7 +63,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -171,7 +170,7 @@ class AuthorisationHandlerTest {
                 response.getMultiValueHeaders()
                         .get(ResponseHeaders.SET_COOKIE)
                         .contains(EXPECTED_PERSISTENT_COOKIE_STRING));
-        verify(sessionService).save(eq(session));
+        verify(sessionService).addClientSession(session, CLIENT_SESSION_ID);
         verify(clientSessionService).storeClientSession(CLIENT_SESSION_ID, clientSession);
 
         inOrder.verify(auditService)
@@ -240,7 +239,7 @@ class AuthorisationHandlerTest {
                             .contains("lng="));
         }
 
-        verify(sessionService).save(session);
+        verify(sessionService).addClientSession(session, CLIENT_SESSION_ID);
         verify(clientSessionService).storeClientSession(CLIENT_SESSION_ID, clientSession);
 
         inOrder.verify(auditService)
@@ -282,7 +281,7 @@ class AuthorisationHandlerTest {
                         .get(ResponseHeaders.SET_COOKIE)
                         .contains(EXPECTED_PERSISTENT_COOKIE_STRING));
 
-        verify(sessionService).save(eq(session));
+        verify(sessionService).addClientSession(session, CLIENT_SESSION_ID);
         verify(clientSessionService).storeClientSession(CLIENT_SESSION_ID, clientSession);
 
         inOrder.verify(auditService)
@@ -325,7 +324,7 @@ class AuthorisationHandlerTest {
                         .get(ResponseHeaders.SET_COOKIE)
                         .contains(EXPECTED_PERSISTENT_COOKIE_STRING));
 
-        verify(sessionService).save(eq(session));
+        verify(sessionService).addClientSession(session, CLIENT_SESSION_ID);
         verify(clientSessionService).storeClientSession(CLIENT_SESSION_ID, clientSession);
 
         inOrder.verify(auditService)
@@ -367,7 +366,7 @@ class AuthorisationHandlerTest {
                         .get(ResponseHeaders.SET_COOKIE)
                         .contains(EXPECTED_PERSISTENT_COOKIE_STRING));
 
-        verify(sessionService).save(eq(session));
+        verify(sessionService).addClientSession(session, CLIENT_SESSION_ID);
         verify(clientSessionService).storeClientSession(CLIENT_SESSION_ID, clientSession);
 
         inOrder.verify(auditService)
@@ -609,7 +608,7 @@ class AuthorisationHandlerTest {
                 response.getMultiValueHeaders()
                         .get(ResponseHeaders.SET_COOKIE)
                         .contains(EXPECTED_PERSISTENT_COOKIE_STRING));
-        verify(sessionService).save(session);
+        verify(sessionService).addClientSession(session, CLIENT_SESSION_ID);
 
         inOrder.verify(auditService)
                 .submitAuditEvent(
@@ -42,9 +42,12 @@ import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
@@ -52,6 +55,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -90,6 +94,7 @@ class LogoutHandlerTest {
     private static final Subject SUBJECT = new Subject();
     private static final String EMAIL = "joe.bloggs@test.com";
     private Session session;
+    private final Map<String, ClientSession> clientSessionsInRedis = new HashMap<>();
 
     @RegisterExtension
     public final CaptureLoggingExtension logging = new CaptureLoggingExtension(LogoutHandler.class);
@@ -127,6 +132,13 @@ class LogoutHandlerTest {
                         "client-id", SUBJECT, "http://localhost-rp", ecSigningKey);
         session = generateSession().setEmailAddress(EMAIL);
         when(context.getAwsRequestId()).thenReturn("aws-session-id");
+        when(clientSessionService.getClientSessions(anyList()))
+                .thenAnswer(
+                        invocation ->
+                                invocation.<List<String>>getArgument(0).stream()
+                                        .map(clientSessionsInRedis::get)
+                                        .filter(Objects::nonNull)
+                                        .collect(Collectors.toList()));
     }
 
     @Test
@@ -312,7 +324,7 @@ class LogoutHandlerTest {
         APIGatewayProxyResponseEvent response = handler.handleRequest(event, context);
 
         verify(sessionService, times(1)).deleteSessionFromRedis(SESSION_ID);
-        verify(clientSessionService).deleteClientSessionFromRedis(CLIENT_SESSION_ID);
+        verify(clientSessionService).deleteClientSessionsFromRedis(List.of(CLIENT_SESSION_ID));
         assertThat(response, hasStatus(302));
         assertThat(
                 response.getHeaders().get(ResponseHeaders.LOCATION),
@@ -598,8 +610,7 @@ class LogoutHandlerTest {
                         mock(VectorOfTrust.class),
                         "client_name");
         clientSession.setIdTokenHint(idToken.serialize());
-        when(clientSessionService.getClientSession(CLIENT_SESSION_ID))
-                .thenReturn(Optional.of(clientSession));
+        clientSessionsInRedis.put(CLIENT_SESSION_ID, clientSession);
     }
 
     private Session generateSession() {
@@ -652,14 +663,13 @@ class LogoutHandlerTest {
 
     private void setUpClientSession(String clientSessionId, String clientId) {
         session.getClientSessions().add(clientSessionId);
-        when(clientSessionService.getClientSession(clientSessionId))
-                .thenReturn(
-                        Optional.of(
-                                new ClientSession(
-                                        Map.of("client_id", List.of(clientId)),
-                                        LocalDateTime.now(),
-                                        VectorOfTrust.getDefaults(),
-                                        "client_name")));
+        clientSessionsInRedis.put(
+                clientSessionId,
+                new ClientSession(
+                        Map.of("client_id", List.of(clientId)),
+                        LocalDateTime.now(),
+                        VectorOfTrust.getDefaults(),
+                        "client_name"));
         when(dynamoClientService.getClient(clientId))
                 .thenReturn(Optional.of(new ClientRegistry().withClientID(clientId)));
     }
@@ -677,9 +687,15 @@ class LogoutHandlerTest {
                 .sendLogoutMessage(
                         argThat(withClientId("client-id-3")), eq(EMAIL), eq(INTERNAL_SECTOR_URI));
 
-        verify(clientSessionService).deleteClientSessionFromRedis(CLIENT_SESSION_ID);
-        verify(clientSessionService).deleteClientSessionFromRedis("client-session-id-2");
-        verify(clientSessionService).deleteClientSessionFromRedis("client-session-id-3");
+        verify(clientSessionService)
+                .deleteClientSessionsFromRedis(
+                        argThat(
+                                clientSessionIds ->
+                                        clientSessionIds.containsAll(
+                                                List.of(
+                                                        CLIENT_SESSION_ID,
+                                                        "client-session-id-2",
+                                                        "client-session-id-3"))));
     }
 
     public static ArgumentMatcher<ClientRegistry> withClientId(String clientId) {
@@ -83,6 +83,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -340,12 +341,12 @@ public class TokenHandlerTest {
                 .thenReturn(true);
         RefreshTokenStore tokenStore =
                 new RefreshTokenStore(refreshToken.getValue(), INTERNAL_SUBJECT.getValue());
-        String tokenStoreString = objectMapper.writeValueAsString(tokenStore);
-        when(redisConnectionService.popValue(
+        byte[] tokenStoreBytes = objectMapper.writeValueAsString(tokenStore).getBytes(UTF_8);
+        when(redisConnectionService.popBinaryValue(
                         REFRESH_TOKEN_PREFIX + CLIENT_ID + "." + PUBLIC_SUBJECT.getValue()))
                 .thenReturn(null);
         String redisKey = REFRESH_TOKEN_PREFIX + signedRefreshToken.getJWTClaimsSet().getJWTID();
-        when(redisConnectionService.popValue(redisKey)).thenReturn(tokenStoreString);
+        when(redisConnectionService.popBinaryValue(redisKey)).thenReturn(tokenStoreBytes);
         when(tokenService.generateRefreshTokenResponse(
                         eq(CLIENT_ID),
                         eq(INTERNAL_SUBJECT),
@@ -392,12 +393,12 @@ public class TokenHandlerTest {
                 .thenReturn(true);
         RefreshTokenStore tokenStore =
                 new RefreshTokenStore(refreshToken.getValue(), INTERNAL_SUBJECT.getValue());
-        String tokenStoreString = objectMapper.writeValueAsString(tokenStore);
-        when(redisConnectionService.popValue(
+        byte[] tokenStoreBytes = objectMapper.writeValueAsString(tokenStore).getBytes(UTF_8);
+        when(redisConnectionService.popBinaryValue(
                         REFRESH_TOKEN_PREFIX + CLIENT_ID + "." + PUBLIC_SUBJECT.getValue()))
                 .thenReturn(null);
         String redisKey = REFRESH_TOKEN_PREFIX + signedRefreshToken.getJWTClaimsSet().getJWTID();
-        when(redisConnectionService.popValue(redisKey)).thenReturn(tokenStoreString);
+        when(redisConnectionService.popBinaryValue(redisKey)).thenReturn(tokenStoreBytes);
         when(tokenService.generateRefreshTokenResponse(
                         eq(CLIENT_ID),
                         eq(INTERNAL_SUBJECT),
@@ -25,10 +25,12 @@ import uk.gov.di.authentication.shared.entity.ValidClaims;
 import uk.gov.di.authentication.shared.exceptions.AccessTokenException;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
+import uk.gov.di.authentication.shared.services.VerifiedAccessTokenCache;
 import uk.gov.di.authentication.sharedtest.helper.TokenGeneratorHelper;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
@@ -38,6 +40,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -45,6 +48,8 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.withMessageContaining;
 
@@ -94,7 +99,10 @@ class AccessTokenServiceTest {
     void setUp() {
         validationService =
                 new AccessTokenService(
-                        redisConnectionService, clientService, tokenValidationService);
+                        redisConnectionService,
+                        clientService,
+                        tokenValidationService,
+                        mock(ConfigurationService.class));
     }
 
     private static Stream<Boolean> identityEnabled() {
@@ -116,11 +124,13 @@ class AccessTokenServiceTest {
         when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
         when(clientService.getClient(CLIENT_ID))
                 .thenReturn(Optional.of(generateClientRegistry(SCOPES, true)));
-        when(redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+        when(redisConnectionService.getBinaryValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
                 .thenReturn(
                         objectMapper.writeValueAsString(
                                 new AccessTokenStore(
-                                        accessToken.getValue(), INTERNAL_SUBJECT.getValue())));
+                                                accessToken.getValue(),
+                                                INTERNAL_SUBJECT.getValue()))
+                                .getBytes(UTF_8));
 
         var accessTokenInfo =
                 validationService.parse(accessToken.toAuthorizationHeader(), identityEnabled);
@@ -142,11 +152,13 @@ class AccessTokenServiceTest {
         when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
         when(clientService.getClient(CLIENT_ID))
                 .thenReturn(Optional.of(generateClientRegistry(SCOPES, false)));
-        when(redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+        when(redisConnectionService.getBinaryValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
                 .thenReturn(
                         objectMapper.writeValueAsString(
                                 new AccessTokenStore(
-                                        accessToken.getValue(), INTERNAL_SUBJECT.getValue())));
+                                                accessToken.getValue(),
+                                                INTERNAL_SUBJECT.getValue()))
+                                .getBytes(UTF_8));
 
         var accessTokenInfo = validationService.parse(accessToken.toAuthorizationHeader(), true);
 
@@ -243,11 +255,13 @@ class AccessTokenServiceTest {
         when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
         when(clientService.getClient(CLIENT_ID))
                 .thenReturn(Optional.of(generateClientRegistry(SCOPES, true)));
-        when(redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+        when(redisConnectionService.getBinaryValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
                 .thenReturn(
                         objectMapper.writeValueAsString(
                                 new AccessTokenStore(
-                                        accessToken.getValue(), INTERNAL_SUBJECT.getValue())));
+                                                accessToken.getValue(),
+                                                INTERNAL_SUBJECT.getValue()))
+                                .getBytes(UTF_8));
 
         var accessTokenException =
                 assertThrows(
@@ -268,7 +282,7 @@ class AccessTokenServiceTest {
         when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
         when(clientService.getClient(CLIENT_ID))
                 .thenReturn(Optional.of(generateClientRegistry(SCOPES, true)));
-        when(redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+        when(redisConnectionService.getBinaryValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
                 .thenReturn(null);
 
         var accessTokenException =
@@ -293,12 +307,14 @@ class AccessTokenServiceTest {
         when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
         when(clientService.getClient(CLIENT_ID))
                 .thenReturn(Optional.of(generateClientRegistry(SCOPES, true)));
-        when(redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+        when(redisConnectionService.getBinaryValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
                 .thenReturn(
-                        objectMapper.writeValueAsString(
-                                new AccessTokenStore(
-                                        createSignedAccessToken(null, false).getValue(),
-                                        INTERNAL_SUBJECT.getValue())));
+                        objectMapper
+                                .writeValueAsString(
+                                        new AccessTokenStore(
+                                                createSignedAccessToken(null, false).getValue(),
+                                                INTERNAL_SUBJECT.getValue()))
+                                .getBytes(UTF_8));
 
         var accessTokenException =
                 assertThrows(
@@ -325,6 +341,72 @@ class AccessTokenServiceTest {
         assertThat(accessTokenException.getError(), equalTo(BearerTokenError.INVALID_TOKEN));
     }
 
+    @Test
+    void shouldNotVerifyAccessTokenAgainWhenItHasAlreadyBeenVerified()
+            throws Json.JsonException, AccessTokenException {
+        var cachingValidationService = createCachingAccessTokenService();
+        when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
+        when(clientService.getClient(CLIENT_ID))
+                .thenReturn(Optional.of(generateClientRegistry(SCOPES, false)));
+        when(redisConnectionService.getBinaryValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+                .thenReturn(accessTokenStore(accessToken));
+
+        cachingValidationService.parse(accessToken.toAuthorizationHeader(), false);
+        var accessTokenInfo =
+                cachingValidationService.parse(accessToken.toAuthorizationHeader(), false);
+
+        assertThat(
+                accessTokenInfo.getAccessTokenStore().getToken(), equalTo(accessToken.getValue()));
+        assertThat(accessTokenInfo.getSubject(), equalTo(SUBJECT.getValue()));
+        assertThat(accessTokenInfo.getScopes(), equalTo(SCOPES));
+        verify(tokenValidationService).validateAccessTokenSignature(accessToken);
+        verify(clientService).getClient(CLIENT_ID);
+    }
+
+    @Test
+    void shouldVerifyAccessTokenAgainWhenItHasBeenRemovedFromTheStore()
+            throws Json.JsonException, AccessTokenException {
+        var cachingValidationService = createCachingAccessTokenService();
+        when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
+        when(clientService.getClient(CLIENT_ID))
+                .thenReturn(Optional.of(generateClientRegistry(SCOPES, false)));
+        when(redisConnectionService.getBinaryValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+                .thenReturn(accessTokenStore(accessToken))
+                .thenReturn(null)
+                .thenReturn(accessTokenStore(accessToken));
+
+        cachingValidationService.parse(accessToken.toAuthorizationHeader(), false);
+        var accessTokenException =
+                assertThrows(
+                        AccessTokenException.class,
+                        () ->
+                                cachingValidationService.parse(
+                                        accessToken.toAuthorizationHeader(), false),
+                        "Expected to throw AccessTokenException");
+        cachingValidationService.parse(accessToken.toAuthorizationHeader(), false);
+
+        assertThat(accessTokenException.getMessage(), equalTo("Invalid Access Token"));
+        verify(tokenValidationService, times(2)).validateAccessTokenSignature(accessToken);
+    }
+
+    private AccessTokenService createCachingAccessTokenService() {
+        var configurationService = mock(ConfigurationService.class);
+        when(configurationService.getVerifiedAccessTokenCacheTtl()).thenReturn(60L);
+        when(configurationService.getVerifiedAccessTokenCacheMaxEntries()).thenReturn(10);
+        return new AccessTokenService(
+                redisConnectionService,
+                clientService,
+                tokenValidationService,
+                configurationService,
+                new VerifiedAccessTokenCache<>(configurationService));
+    }
+
+    private byte[] accessTokenStore(AccessToken accessToken) throws Json.JsonException {
+        return objectMapper.writeValueAsString(
+                        new AccessTokenStore(accessToken.getValue(), INTERNAL_SUBJECT.getValue()))
+                .getBytes(UTF_8);
+    }
+
     private ClientRegistry generateClientRegistry(List<String> scopes, boolean identitySupported) {
         return new ClientRegistry()
                 .withRedirectUrls(singletonList("http://localhost/redirect"))
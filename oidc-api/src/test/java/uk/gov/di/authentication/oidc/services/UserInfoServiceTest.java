@@ -42,6 +42,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -208,8 +209,8 @@ class UserInfoServiceTest {
         accessToken = createSignedAccessToken(oidcValidClaimsRequest);
         when(authenticationService.getUserProfileFromSubject(INTERNAL_SUBJECT.getValue()))
                 .thenReturn(generateUserprofile());
-        when(identityService.getIdentityCredentials(SUBJECT.getValue()))
-                .thenReturn(Optional.of(identityCredentials));
+        when(identityService.getIdentityCredentialsAsync(SUBJECT.getValue()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(identityCredentials)));
 
         var accessTokenStore =
                 new AccessTokenStore(accessToken.getValue(), INTERNAL_SUBJECT.getValue());
@@ -252,8 +253,8 @@ class UserInfoServiceTest {
         accessToken = createSignedAccessToken(oidcValidClaimsRequest);
         when(authenticationService.getUserProfileFromSubject(INTERNAL_SUBJECT.getValue()))
                 .thenReturn(generateUserprofile());
-        when(identityService.getIdentityCredentials(SUBJECT.getValue()))
-                .thenReturn(Optional.of(identityCredentials));
+        when(identityService.getIdentityCredentialsAsync(SUBJECT.getValue()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(identityCredentials)));
 
         var accessTokenStore =
                 new AccessTokenStore(accessToken.getValue(), INTERNAL_SUBJECT.getValue());
@@ -24,6 +24,8 @@ public class ClientStoreExtension extends DynamoExtension implements AfterEachCa
     public static final String CLIENT_ID_FIELD = "ClientID";
     public static final String CLIENT_NAME_FIELD = "ClientName";
     public static final String CLIENT_NAME_INDEX = "ClientNameIndex";
+    public static final String CLIENT_REGISTRY_VERSION_TABLE = "local-client-registry-version";
+    public static final String VERSION_NAME_FIELD = "Name";
 
     private DynamoClientService dynamoClientService;
 
@@ -174,6 +176,7 @@ public class ClientStoreExtension extends DynamoExtension implements AfterEachCa
     @Override
     public void afterEach(ExtensionContext context) throws Exception {
         clearDynamoTable(dynamoDB, CLIENT_REGISTRY_TABLE, CLIENT_ID_FIELD);
+        clearDynamoTable(dynamoDB, CLIENT_REGISTRY_VERSION_TABLE, VERSION_NAME_FIELD);
     }
 
     @Override
@@ -181,6 +184,9 @@ public class ClientStoreExtension extends DynamoExtension implements AfterEachCa
         if (!tableExists(CLIENT_REGISTRY_TABLE)) {
             createClientRegistryTable(CLIENT_REGISTRY_TABLE);
         }
+        if (!tableExists(CLIENT_REGISTRY_VERSION_TABLE)) {
+            createClientRegistryVersionTable(CLIENT_REGISTRY_VERSION_TABLE);
+        }
     }
 
     private void createClientRegistryTable(String tableName) {
@@ -215,4 +221,23 @@ public class ClientStoreExtension extends DynamoExtension implements AfterEachCa
                         .build();
         dynamoDB.createTable(request);
     }
+
+    private void createClientRegistryVersionTable(String tableName) {
+        CreateTableRequest request =
+                CreateTableRequest.builder()
+                        .tableName(tableName)
+                        .keySchema(
+                                KeySchemaElement.builder()
+                                        .keyType(KeyType.HASH)
+                                        .attributeName(VERSION_NAME_FIELD)
+                                        .build())
+                        .billingMode(BillingMode.PAY_PER_REQUEST)
+                        .attributeDefinitions(
+                                AttributeDefinition.builder()
+                                        .attributeName(VERSION_NAME_FIELD)
+                                        .attributeType(ScalarAttributeType.S)
+                                        .build())
+                        .build();
+        dynamoDB.createTable(request);
+    }
 }
@@ -20,8 +20,10 @@ import uk.gov.di.authentication.shared.helpers.IdGenerator;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
+import uk.gov.di.authentication.shared.services.CompactSerializationService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.SessionService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -43,6 +45,8 @@ public class RedisExtension
     private final Json objectMapper;
 
     private RedisConnectionService redis;
+    private SessionService sessionService;
+    private CompactSerializationService compactSerializer;
     private RedisClient client;
 
     public RedisExtension(Json objectMapper, ConfigurationService configurationService) {
@@ -59,17 +63,15 @@ public class RedisExtension
             throws Json.JsonException {
         Session session = new Session(sessionId).setAuthenticated(isAuthenticated);
         email.ifPresent(session::setEmailAddress);
-        redis.saveWithExpiry(
-                session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
+        sessionService.save(session);
         return session.getSessionId();
     }
 
     public void setVerifiedMfaMethodType(String sessionId, MFAMethodType mfaMethodType)
             throws Json.JsonException {
-        var session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        var session = readSession(sessionId);
         session.setVerifiedMfaMethodType(mfaMethodType);
-        redis.saveWithExpiry(
-                session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
+        sessionService.save(session);
     }
 
     public String createSession() throws Json.JsonException {
@@ -87,13 +89,13 @@ public class RedisExtension
     public void addDocAppSubjectIdToClientSession(Subject subject, String clientSessionId)
             throws Json.JsonException {
         var clientSession =
-                objectMapper.readValue(
-                        redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)),
+                compactSerializer.readValue(
+                        redis.getBinaryValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)),
                         ClientSession.class);
         clientSession.setDocAppSubjectId(subject);
-        redis.saveWithExpiry(
+        redis.saveBinaryWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                objectMapper.writeValueAsString(clientSession),
+                compactSerializer.writeValueAsBytes(clientSession),
                 3600);
     }
 
@@ -107,18 +109,16 @@ public class RedisExtension
 
     public void addClientSessionIdToSession(String clientSessionId, String sessionId)
             throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = readSession(sessionId);
         session.addClientSession(clientSessionId);
-        redis.saveWithExpiry(
-                session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
+        sessionService.save(session);
     }
 
     public void incrementInitialProcessingIdentityAttemptsInSession(String sessionId)
             throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = readSession(sessionId);
         session.incrementProcessingIdentityAttempts();
-        redis.saveWithExpiry(
-                session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
+        sessionService.save(session);
     }
 
     public void incrementPasswordCount(String email) {
@@ -131,13 +131,12 @@ public class RedisExtension
             Map<String, List<String>> authRequest,
             String clientName)
             throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = readSession(sessionId);
         session.addClientSession(clientSessionId);
-        redis.saveWithExpiry(
-                session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
-        redis.saveWithExpiry(
+        sessionService.save(session);
+        redis.saveBinaryWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                objectMapper.writeValueAsString(
+                compactSerializer.writeValueAsBytes(
                         new ClientSession(
                                 authRequest,
                                 LocalDateTime.now(),
@@ -149,41 +148,40 @@ public class RedisExtension
     public void addIDTokenToSession(String clientSessionId, String idTokenHint)
             throws Json.JsonException {
         ClientSession clientSession =
-                objectMapper.readValue(
-                        redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)),
+                compactSerializer.readValue(
+                        redis.getBinaryValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)),
                         ClientSession.class);
         clientSession.setIdTokenHint(idTokenHint);
-        redis.saveWithExpiry(
+        redis.saveBinaryWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                objectMapper.writeValueAsString(clientSession),
+                compactSerializer.writeValueAsBytes(clientSession),
                 3600);
     }
 
     public void addEmailToSession(String sessionId, String emailAddress) throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = readSession(sessionId);
         session.setEmailAddress(emailAddress);
-        redis.saveWithExpiry(
-                session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
+        sessionService.save(session);
     }
 
     public void setSessionCredentialTrustLevel(
             String sessionId, CredentialTrustLevel credentialTrustLevel) throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = readSession(sessionId);
         session.setCurrentCredentialStrength(credentialTrustLevel);
-        redis.saveWithExpiry(
-                session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
+        sessionService.save(session);
     }
 
     public Session getSession(String sessionId) throws Json.JsonException {
-        return objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        return readSession(sessionId);
+    }
+
+    private Session readSession(String sessionId) {
+        return sessionService.readSessionFromRedis(sessionId).orElseThrow();
     }
 
     public void incrementSessionCodeRequestCount(String sessionId) throws Json.JsonException {
-        var session =
-                objectMapper
-                        .readValue(redis.getValue(sessionId), Session.class)
-                        .incrementCodeRequestCount();
-        redis.saveWithExpiry(sessionId, objectMapper.writeValueAsString(session), 3600);
+        var session = readSession(sessionId).incrementCodeRequestCount();
+        sessionService.save(session);
     }
 
     public String generateAndSaveEmailCode(String email, long codeExpiryTime) {
@@ -234,26 +232,26 @@ public class RedisExtension
             String clientName)
             throws Json.JsonException {
         var clientSession = new ClientSession(authRequest, LocalDateTime.now(), vtr, clientName);
-        redis.saveWithExpiry(
+        redis.saveBinaryWithExpiry(
                 AUTH_CODE_PREFIX.concat(authCode),
-                objectMapper.writeValueAsString(
+                compactSerializer.writeValueAsBytes(
                         new AuthCodeExchangeData()
                                 .setClientSessionId(clientSessionId)
                                 .setEmail(email)
                                 .setClientSession(clientSession)),
                 300);
-        redis.saveWithExpiry(
+        redis.saveBinaryWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                objectMapper.writeValueAsString(clientSession),
+                compactSerializer.writeValueAsBytes(clientSession),
                 300);
     }
 
     public void createClientSession(
             String clientSessionId, String clientName, Map<String, List<String>> authRequest)
             throws Json.JsonException {
-        redis.saveWithExpiry(
+        redis.saveBinaryWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                objectMapper.writeValueAsString(
+                compactSerializer.writeValueAsBytes(
                         new ClientSession(
                                 authRequest,
                                 LocalDateTime.now(),
@@ -264,8 +262,8 @@ public class RedisExtension
 
     public ClientSession getClientSession(String clientSessionId) {
         try {
-            var result = redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId));
-            return objectMapper.readValue(result, ClientSession.class);
+            var result = redis.getBinaryValue(CLIENT_SESSION_PREFIX.concat(clientSessionId));
+            return compactSerializer.readValue(result, ClientSession.class);
         } catch (Json.JsonException e) {
             throw new RuntimeException(e);
         }
@@ -273,9 +271,9 @@ public class RedisExtension
 
     public void createClientSession(String clientSessionId, ClientSession clientSession)
             throws Json.JsonException {
-        redis.saveWithExpiry(
+        redis.saveBinaryWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                objectMapper.writeValueAsString(clientSession),
+                compactSerializer.writeValueAsBytes(clientSession),
                 300);
     }
 
@@ -288,6 +286,12 @@ public class RedisExtension
     @Override
     public void beforeAll(ExtensionContext context) throws Exception {
         redis = new RedisConnectionService(configurationService);
+        sessionService = new SessionService(configurationService, redis);
+        compactSerializer =
+                new CompactSerializationService(
+                        objectMapper,
+                        configurationService.isRedisBinaryEncodingEnabled(),
+                        configurationService.getRedisCompressionThreshold());
         RedisURI.Builder builder =
                 RedisURI.builder()
                         .withHost(configurationService.getRedisHost())
@@ -0,0 +1,42 @@
+package uk.gov.di.authentication.sharedtest.helper;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.util.HashSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class TableSchemaAssertions {
+
+    public static <T> void assertMatchesBeanSchema(
+            TableSchema<T> tableSchema, Class<T> beanClass, T item) {
+        var beanSchema = TableSchema.fromBean(beanClass);
+
+        assertThat(
+                new HashSet<>(tableSchema.attributeNames()),
+                equalTo(new HashSet<>(beanSchema.attributeNames())));
+        assertThat(
+                new HashSet<>(tableSchema.tableMetadata().allKeys()),
+                equalTo(new HashSet<>(beanSchema.tableMetadata().allKeys())));
+        assertThat(
+                tableSchema.tableMetadata().primaryPartitionKey(),
+                equalTo(beanSchema.tableMetadata().primaryPartitionKey()));
+
+        var beanItem = beanSchema.itemToMap(item, false);
+        assertThat(tableSchema.itemToMap(item, false), equalTo(beanItem));
+        assertThat(tableSchema.itemToMap(item, true), equalTo(beanSchema.itemToMap(item, true)));
+        assertThat(
+                beanSchema.itemToMap(tableSchema.mapToItem(beanItem), false), equalTo(beanItem));
+        assertThat(
+                tableSchema.itemToMap(beanSchema.mapToItem(beanItem), false), equalTo(beanItem));
+    }
+
+    public static <T> void assertMatchesBeanSchemaIndex(
+            TableSchema<T> tableSchema, Class<T> beanClass, String indexName) {
+        var beanMetadata = TableSchema.fromBean(beanClass).tableMetadata();
+        assertThat(
+                tableSchema.tableMetadata().indexPartitionKey(indexName),
+                equalTo(beanMetadata.indexPartitionKey(indexName)));
+    }
+}
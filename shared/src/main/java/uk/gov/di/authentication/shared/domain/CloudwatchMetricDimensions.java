@@ -7,7 +7,13 @@ public enum CloudwatchMetricDimensions {
     IS_TEST("IsTest"),
     REQUESTED_LEVEL_OF_CONFIDENCE("RequestedLevelOfConfidence"),
     MFA_REQUIRED("MfaRequired"),
-    CLIENT_NAME("ClientName");
+    CLIENT_NAME("ClientName"),
+    REDIS_OPERATION("RedisOperation"),
+    REDIS_KEY_PREFIX("RedisKeyPrefix"),
+    HANDLER("Handler"),
+    DYNAMO_TABLE("DynamoTable"),
+    DYNAMO_INDEX("DynamoIndex"),
+    DYNAMO_OPERATION("DynamoOperation");
 
     private String value;
 
@@ -6,7 +6,22 @@ public enum CloudwatchMetrics {
     AUTHENTICATION_SUCCESS_EXISTING_ACCOUNT_BY_CLIENT(
             "AuthenticationSuccessExistingAccountByClient"),
     SIGN_IN_NEW_ACCOUNT_BY_CLIENT("SignInNewAccountByClient"),
-    SIGN_IN_EXISTING_ACCOUNT_BY_CLIENT("SignInExistingAccountByClient");
+    SIGN_IN_EXISTING_ACCOUNT_BY_CLIENT("SignInExistingAccountByClient"),
+    REDIS_COMMAND_LATENCY("RedisCommandLatency"),
+    REDIS_COMMAND_TIMEOUT("RedisCommandTimeout"),
+    REDIS_CONNECTION_WAIT_TIME("RedisConnectionWaitTime"),
+    REDIS_ACTIVE_CONNECTIONS("RedisActiveConnections"),
+    REDIS_IDLE_CONNECTIONS("RedisIdleConnections"),
+    DYNAMO_CONSUMED_CAPACITY("DynamoConsumedCapacity"),
+    DYNAMO_CONSUMED_READ_CAPACITY("DynamoConsumedReadCapacity"),
+    DYNAMO_CONSUMED_WRITE_CAPACITY("DynamoConsumedWriteCapacity"),
+    DYNAMO_ITEM_SIZE("DynamoItemSize"),
+    DYNAMO_OPERATION_LATENCY("DynamoOperationLatency"),
+    DYNAMO_OPERATION_FAILURE("DynamoOperationFailure"),
+    DYNAMO_HEDGE_BUDGET_EXHAUSTED("DynamoHedgeBudgetExhausted"),
+    DYNAMO_HEDGE_SENT("DynamoHedgeSent"),
+    DYNAMO_HEDGE_WON("DynamoHedgeWon"),
+    DYNAMO_READ_DEADLINE_EXCEEDED("DynamoReadDeadlineExceeded");
 
     private String value;
 
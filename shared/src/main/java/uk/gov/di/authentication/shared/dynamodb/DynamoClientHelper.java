@@ -1,30 +1,69 @@
 package uk.gov.di.authentication.shared.dynamodb;
 
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import uk.gov.di.authentication.shared.services.AwsClientFactory;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
-import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class DynamoClientHelper {
 
     public static DynamoDbClient createDynamoClient(ConfigurationService configurationService) {
-        var dynamoDbClientBuilder =
-                DynamoDbClient.builder()
-                        .credentialsProvider(DefaultCredentialsProvider.create())
-                        .region(Region.of(configurationService.getAwsRegion()));
-        configurationService
-                .getDynamoEndpointUri()
-                .ifPresent(
-                        endpoint -> dynamoDbClientBuilder.endpointOverride(URI.create(endpoint)));
-        return dynamoDbClientBuilder.build();
+        return AwsClientFactory.getInstance(configurationService).getDynamoDbClient();
+    }
+
+    public static DynamoDbAsyncClient createDynamoAsyncClient(
+            ConfigurationService configurationService) {
+        return AwsClientFactory.getInstance(configurationService).getDynamoDbAsyncClient();
     }
 
     public static DynamoDbEnhancedClient createDynamoEnhancedClient(
             ConfigurationService configurationService) {
-        var dynamoDbClient = createDynamoClient(configurationService);
-        return DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
+        return AwsClientFactory.getInstance(configurationService).getDynamoDbEnhancedClient();
+    }
+
+    public static DynamoDbEnhancedAsyncClient createDynamoEnhancedAsyncClient(
+            ConfigurationService configurationService) {
+        return AwsClientFactory.getInstance(configurationService)
+                .getDynamoDbEnhancedAsyncClient();
+    }
+
+    /**
+     * The async client completes its futures with a CompletionException wrapping the SDK
+     * exception. Unwrapping it means exception handlers on the returned future see the same
+     * exception types as callers of the synchronous client.
+     */
+    public static <T> CompletableFuture<T> withSdkExceptions(CompletableFuture<T> future) {
+        var result = new CompletableFuture<T>();
+        future.whenComplete(
+                (value, error) -> {
+                    if (error == null) {
+                        result.complete(value);
+                    } else if (error instanceof CompletionException && error.getCause() != null) {
+                        result.completeExceptionally(error.getCause());
+                    } else {
+                        result.completeExceptionally(error);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Waits for an async Dynamo call, throwing the SDK exception the synchronous client would have
+     * thrown rather than the CompletionException wrapping it.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 }
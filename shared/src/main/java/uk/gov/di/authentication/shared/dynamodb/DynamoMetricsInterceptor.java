@@ -0,0 +1,294 @@
+package uk.gov.di.authentication.shared.dynamodb;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Asks DynamoDB to return the capacity consumed by every request made through the client, and
+ * emits it per table and index together with the latency and item size of the request. Metrics
+ * carry the Lambda function name so that capacity can be attributed to the handler driving it.
+ * Values are only recorded here, since async requests complete on SDK threads; the handler writes
+ * them when its invocation ends.
+ */
+public class DynamoMetricsInterceptor implements ExecutionInterceptor {
+
+    private static final Logger LOG = LogManager.getLogger(DynamoMetricsInterceptor.class);
+    private static final ExecutionAttribute<Long> START_TIME =
+            new ExecutionAttribute<>("DynamoMetricsStartTime");
+    static final String BASE_TABLE = "base-table";
+    static final String MULTIPLE_TABLES = "multiple";
+
+    private final CloudwatchMetricsService metricsService;
+    private final String handler;
+
+    public DynamoMetricsInterceptor(CloudwatchMetricsService metricsService, String handler) {
+        this.metricsService = metricsService;
+        this.handler = handler;
+    }
+
+    @Override
+    public void beforeExecution(
+            Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(START_TIME, System.nanoTime());
+    }
+
+    @Override
+    public SdkRequest modifyRequest(
+            Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        return withConsumedCapacity(context.request());
+    }
+
+    @Override
+    public void afterExecution(
+            Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        try {
+            var operation = operation(executionAttributes);
+            consumedCapacity(context.response())
+                    .forEach(capacity -> putCapacityMetrics(operation, capacity));
+            metricsService.putDynamoOperationMetrics(
+                    handler,
+                    operation,
+                    tableName(context.request()),
+                    latencyMillis(executionAttributes),
+                    itemBytes(context.request(), context.response()),
+                    false);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to record Dynamo metrics", e);
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(
+            Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        try {
+            metricsService.putDynamoOperationMetrics(
+                    handler,
+                    operation(executionAttributes),
+                    tableName(context.request()),
+                    latencyMillis(executionAttributes),
+                    0,
+                    true);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to record Dynamo metrics", e);
+        }
+    }
+
+    static SdkRequest withConsumedCapacity(SdkRequest request) {
+        var indexes = ReturnConsumedCapacity.INDEXES;
+        if (request instanceof GetItemRequest) {
+            return ((GetItemRequest) request).toBuilder().returnConsumedCapacity(indexes).build();
+        } else if (request instanceof PutItemRequest) {
+            return ((PutItemRequest) request).toBuilder().returnConsumedCapacity(indexes).build();
+        } else if (request instanceof UpdateItemRequest) {
+            return ((UpdateItemRequest) request)
+                    .toBuilder()
+                    .returnConsumedCapacity(indexes)
+                    .build();
+        } else if (request instanceof DeleteItemRequest) {
+            return ((DeleteItemRequest) request)
+                    .toBuilder()
+                    .returnConsumedCapacity(indexes)
+                    .build();
+        } else if (request instanceof QueryRequest) {
+            return ((QueryRequest) request).toBuilder().returnConsumedCapacity(indexes).build();
+        } else if (request instanceof ScanRequest) {
+            return ((ScanRequest) request).toBuilder().returnConsumedCapacity(indexes).build();
+        } else if (request instanceof BatchGetItemRequest) {
+            return ((BatchGetItemRequest) request)
+                    .toBuilder()
+                    .returnConsumedCapacity(indexes)
+                    .build();
+        } else if (request instanceof BatchWriteItemRequest) {
+            return ((BatchWriteItemRequest) request)
+                    .toBuilder()
+                    .returnConsumedCapacity(indexes)
+                    .build();
+        } else if (request instanceof TransactGetItemsRequest) {
+            return ((TransactGetItemsRequest) request)
+                    .toBuilder()
+                    .returnConsumedCapacity(indexes)
+                    .build();
+        } else if (request instanceof TransactWriteItemsRequest) {
+            return ((TransactWriteItemsRequest) request)
+                    .toBuilder()
+                    .returnConsumedCapacity(indexes)
+                    .build();
+        }
+        return request;
+    }
+
+    static List<ConsumedCapacity> consumedCapacity(SdkResponse response) {
+        var consumedCapacity = response.getValueForField("ConsumedCapacity", Object.class);
+        if (consumedCapacity.isEmpty()) {
+            return List.of();
+        }
+        if (consumedCapacity.get() instanceof ConsumedCapacity) {
+            return List.of((ConsumedCapacity) consumedCapacity.get());
+        }
+        if (consumedCapacity.get() instanceof Collection) {
+            var capacities = (Collection<?>) consumedCapacity.get();
+            return capacities.stream()
+                    .filter(ConsumedCapacity.class::isInstance)
+                    .map(ConsumedCapacity.class::cast)
+                    .collect(Collectors.toList());
+        }
+        return List.of();
+    }
+
+    static String tableName(SdkRequest request) {
+        var tableName = request.getValueForField("TableName", String.class);
+        if (tableName.isPresent()) {
+            return tableName.get();
+        }
+        var requestItems = request.getValueForField("RequestItems", Map.class);
+        if (requestItems.isPresent() && requestItems.get().size() == 1) {
+            return String.valueOf(requestItems.get().keySet().iterator().next());
+        }
+        return MULTIPLE_TABLES;
+    }
+
+    static long itemBytes(SdkRequest request, SdkResponse response) {
+        if (request instanceof PutItemRequest) {
+            return itemSize(((PutItemRequest) request).item());
+        } else if (response instanceof GetItemResponse) {
+            return itemSize(((GetItemResponse) response).item());
+        } else if (response instanceof UpdateItemResponse) {
+            return itemSize(((UpdateItemResponse) response).attributes());
+        } else if (response instanceof QueryResponse) {
+            return itemsSize(((QueryResponse) response).items());
+        } else if (response instanceof ScanResponse) {
+            return itemsSize(((ScanResponse) response).items());
+        } else if (response instanceof BatchGetItemResponse) {
+            var responses = ((BatchGetItemResponse) response).responses().values();
+            return responses.stream().mapToLong(DynamoMetricsInterceptor::itemsSize).sum();
+        }
+        return 0;
+    }
+
+    /**
+     * Approximates the stored size of an item using DynamoDB's sizing rules: attribute names and
+     * values count their UTF-8 length, with a small overhead for numbers and documents.
+     */
+    static long itemSize(Map<String, AttributeValue> item) {
+        return item.entrySet().stream()
+                .mapToLong(entry -> utf8Length(entry.getKey()) + valueSize(entry.getValue()))
+                .sum();
+    }
+
+    private static long itemsSize(List<Map<String, AttributeValue>> items) {
+        return items.stream().mapToLong(DynamoMetricsInterceptor::itemSize).sum();
+    }
+
+    private static long valueSize(AttributeValue value) {
+        if (value.s() != null) {
+            return utf8Length(value.s());
+        } else if (value.n() != null) {
+            return value.n().length() / 2 + 1;
+        } else if (value.b() != null) {
+            return value.b().asByteArrayUnsafe().length;
+        } else if (value.hasSs()) {
+            return value.ss().stream().mapToLong(DynamoMetricsInterceptor::utf8Length).sum();
+        } else if (value.hasNs()) {
+            return value.ns().stream().mapToLong(n -> n.length() / 2 + 1).sum();
+        } else if (value.hasBs()) {
+            return value.bs().stream().mapToLong(b -> b.asByteArrayUnsafe().length).sum();
+        } else if (value.hasM()) {
+            return 3 + itemSize(value.m());
+        } else if (value.hasL()) {
+            return 3
+                    + value.l().size()
+                    + value.l().stream().mapToLong(DynamoMetricsInterceptor::valueSize).sum();
+        }
+        return 1;
+    }
+
+    private static long utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void putCapacityMetrics(String operation, ConsumedCapacity consumedCapacity) {
+        var table = consumedCapacity.tableName();
+        var baseTable = consumedCapacity.table();
+        if (baseTable == null) {
+            baseTable =
+                    Capacity.builder()
+                            .capacityUnits(consumedCapacity.capacityUnits())
+                            .readCapacityUnits(consumedCapacity.readCapacityUnits())
+                            .writeCapacityUnits(consumedCapacity.writeCapacityUnits())
+                            .build();
+        }
+        putCapacityMetrics(operation, table, BASE_TABLE, baseTable);
+        consumedCapacity
+                .globalSecondaryIndexes()
+                .forEach(
+                        (index, capacity) ->
+                                putCapacityMetrics(operation, table, index, capacity));
+        consumedCapacity
+                .localSecondaryIndexes()
+                .forEach(
+                        (index, capacity) ->
+                                putCapacityMetrics(operation, table, index, capacity));
+    }
+
+    private void putCapacityMetrics(
+            String operation, String table, String index, Capacity capacity) {
+        metricsService.putDynamoCapacityMetrics(
+                handler,
+                operation,
+                table,
+                index,
+                orZero(capacity.capacityUnits()),
+                orZero(capacity.readCapacityUnits()),
+                orZero(capacity.writeCapacityUnits()));
+    }
+
+    private static double orZero(Double value) {
+        return value == null ? 0 : value;
+    }
+
+    private static String operation(ExecutionAttributes executionAttributes) {
+        return Optional.ofNullable(
+                        executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME))
+                .orElse("Unknown");
+    }
+
+    private static double latencyMillis(ExecutionAttributes executionAttributes) {
+        return Optional.ofNullable(executionAttributes.getAttribute(START_TIME))
+                .map(start -> (System.nanoTime() - start) / 1_000_000.0)
+                .orElse(0.0);
+    }
+}
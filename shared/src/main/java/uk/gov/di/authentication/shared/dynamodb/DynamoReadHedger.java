@@ -0,0 +1,176 @@
+package uk.gov.di.authentication.shared.dynamodb;
+
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.DYNAMO_OPERATION;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.ENVIRONMENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_HEDGE_BUDGET_EXHAUSTED;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_HEDGE_SENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_HEDGE_WON;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_READ_DEADLINE_EXCEEDED;
+
+/**
+ * Bounds a single Dynamo read by a deadline and, when hedging is enabled, sends a duplicate read
+ * if the first has not completed within the configured percentile of recent latencies. The first
+ * read to complete wins and the other is cancelled. Latencies are measured from the start of the
+ * read to the first completion, so cancelled attempts cannot pull the percentile down, and hedges
+ * are limited to the configured percentage of reads. When neither is configured reads go through
+ * the synchronous client unchanged.
+ */
+public class DynamoReadHedger {
+
+    private static final int SAMPLE_SIZE = 128;
+    private static final int RECALCULATE_EVERY = 16;
+    private static final double MAX_HEDGE_TOKENS = 10;
+
+    private final CloudwatchMetricsService metricsService;
+    private final String environment;
+    private final String operation;
+    private final boolean hedgingEnabled;
+    private final int hedgePercentile;
+    private final long minHedgeDelayMillis;
+    private final long deadlineMillis;
+    private final double hedgeTokensPerRead;
+    private final long[] latencySamples = new long[SAMPLE_SIZE];
+    private int sampleCount = 0;
+    private long hedgeDelayMillis;
+    private double hedgeTokens;
+
+    public DynamoReadHedger(
+            ConfigurationService configurationService,
+            CloudwatchMetricsService metricsService,
+            String operation) {
+        this.metricsService = metricsService;
+        this.environment = configurationService.getEnvironment();
+        this.operation = operation;
+        this.hedgingEnabled = configurationService.isDynamoHedgedReadsEnabled();
+        this.hedgePercentile =
+                Math.min(100, Math.max(1, configurationService.getDynamoHedgeDelayPercentile()));
+        this.minHedgeDelayMillis = Math.max(1, configurationService.getDynamoHedgeMinDelay());
+        this.deadlineMillis = configurationService.getDynamoReadDeadline();
+        this.hedgeDelayMillis = minHedgeDelayMillis;
+        var hedgeBudgetPercent =
+                Math.min(100, Math.max(0, configurationService.getDynamoHedgeBudgetPercent()));
+        this.hedgeTokensPerRead = hedgeBudgetPercent / 100.0;
+        this.hedgeTokens = hedgeBudgetPercent > 0 ? 1 : 0;
+    }
+
+    public boolean isEnabled() {
+        return hedgingEnabled || deadlineMillis > 0;
+    }
+
+    public <T> T read(Supplier<T> syncRead, Supplier<CompletableFuture<T>> asyncRead) {
+        if (!isEnabled()) {
+            return syncRead.get();
+        }
+        var start = System.nanoTime();
+        var result = new CompletableFuture<T>();
+        var winner = new AtomicBoolean();
+        attempt(asyncRead, result, winner, false);
+        result.whenComplete(
+                (value, error) -> {
+                    if (error == null) {
+                        recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                });
+        if (hedgingEnabled) {
+            depositHedgeToken();
+            CompletableFuture.runAsync(
+                    () -> {
+                        if (result.isDone()) {
+                            return;
+                        }
+                        if (!tryAcquireHedgeToken()) {
+                            incrementCounter(DYNAMO_HEDGE_BUDGET_EXHAUSTED.getValue());
+                            return;
+                        }
+                        incrementCounter(DYNAMO_HEDGE_SENT.getValue());
+                        attempt(asyncRead, result, winner, true);
+                    },
+                    CompletableFuture.delayedExecutor(currentHedgeDelay(), TimeUnit.MILLISECONDS));
+        }
+        if (deadlineMillis > 0) {
+            result.orTimeout(deadlineMillis, TimeUnit.MILLISECONDS);
+        }
+        try {
+            return DynamoClientHelper.join(DynamoClientHelper.withSdkExceptions(result));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                recordLatency(deadlineMillis);
+                incrementCounter(DYNAMO_READ_DEADLINE_EXCEEDED.getValue());
+                throw ApiCallTimeoutException.create(deadlineMillis);
+            }
+            throw e;
+        }
+    }
+
+    synchronized long currentHedgeDelay() {
+        return hedgeDelayMillis;
+    }
+
+    private synchronized void depositHedgeToken() {
+        hedgeTokens = Math.min(MAX_HEDGE_TOKENS, hedgeTokens + hedgeTokensPerRead);
+    }
+
+    private synchronized boolean tryAcquireHedgeToken() {
+        if (hedgeTokens < 1) {
+            return false;
+        }
+        hedgeTokens--;
+        return true;
+    }
+
+    synchronized void recordLatency(long latencyMillis) {
+        latencySamples[sampleCount % SAMPLE_SIZE] = latencyMillis;
+        sampleCount++;
+        if (sampleCount % RECALCULATE_EVERY == 0) {
+            var samples = Arrays.copyOf(latencySamples, Math.min(sampleCount, SAMPLE_SIZE));
+            Arrays.sort(samples);
+            var index = (int) Math.ceil(hedgePercentile / 100.0 * samples.length) - 1;
+            hedgeDelayMillis = Math.max(minHedgeDelayMillis, samples[Math.max(0, index)]);
+        }
+    }
+
+    private <T> void attempt(
+            Supplier<CompletableFuture<T>> asyncRead,
+            CompletableFuture<T> result,
+            AtomicBoolean winner,
+            boolean hedged) {
+        var future = asyncRead.get();
+        future.whenComplete(
+                (value, error) -> {
+                    if (winner.compareAndSet(false, true)) {
+                        if (hedged) {
+                            incrementCounter(DYNAMO_HEDGE_WON.getValue());
+                        }
+                        if (error == null) {
+                            result.complete(value);
+                        } else {
+                            result.completeExceptionally(error);
+                        }
+                    }
+                });
+        result.whenComplete((value, error) -> future.cancel(true));
+    }
+
+    private void incrementCounter(String name) {
+        metricsService.incrementCounter(
+                name,
+                Map.of(
+                        ENVIRONMENT.getValue(),
+                        environment,
+                        DYNAMO_OPERATION.getValue(),
+                        operation));
+    }
+}
@@ -0,0 +1,187 @@
+package uk.gov.di.authentication.shared.dynamodb;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a single UpdateItem request that touches only the named attributes of an item, instead
+ * of reading the whole item and writing it back.
+ *
+ * <p>Every update is conditional on the item already existing unless {@link #upsert()} is used.
+ */
+public class DynamoUpdate {
+
+    private final String partitionKeyName;
+    private final String partitionKeyValue;
+    private final List<String> setClauses = new ArrayList<>();
+    private final List<String> removeClauses = new ArrayList<>();
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<String, AttributeValue> values = new HashMap<>();
+    private boolean upsert = false;
+
+    private DynamoUpdate(String partitionKeyName, String partitionKeyValue) {
+        this.partitionKeyName = partitionKeyName;
+        this.partitionKeyValue = partitionKeyValue;
+    }
+
+    public static DynamoUpdate forKey(String partitionKeyName, String partitionKeyValue) {
+        return new DynamoUpdate(partitionKeyName, partitionKeyValue);
+    }
+
+    public DynamoUpdate upsert() {
+        this.upsert = true;
+        return this;
+    }
+
+    public DynamoUpdate set(String attribute, String value) {
+        return set(attribute, AttributeValue.fromS(value));
+    }
+
+    public DynamoUpdate set(String attribute, boolean value) {
+        return set(attribute, AttributeValue.fromN(value ? "1" : "0"));
+    }
+
+    public DynamoUpdate set(String attribute, long value) {
+        return set(attribute, AttributeValue.fromN(String.valueOf(value)));
+    }
+
+    public DynamoUpdate set(String attribute, ByteBuffer value) {
+        return set(attribute, AttributeValue.fromB(SdkBytes.fromByteBuffer(value)));
+    }
+
+    public <T> DynamoUpdate set(String attribute, TableSchema<T> schema, T bean) {
+        return set(attribute, beanValue(schema, bean));
+    }
+
+    public DynamoUpdate set(String attribute, AttributeValue value) {
+        setClauses.add(name(attribute) + " = " + value(value));
+        return this;
+    }
+
+    public <T> DynamoUpdate setListElement(
+            String attribute, int index, TableSchema<T> schema, T bean) {
+        setClauses.add(listElement(attribute, index) + " = " + value(beanValue(schema, bean)));
+        return this;
+    }
+
+    public DynamoUpdate setListElementAttribute(
+            String attribute, int index, String nestedAttribute, AttributeValue value) {
+        setClauses.add(
+                listElement(attribute, index) + "." + name(nestedAttribute) + " = " + value(value));
+        return this;
+    }
+
+    public <T> DynamoUpdate appendToList(String attribute, TableSchema<T> schema, T bean) {
+        var list = AttributeValue.fromL(List.of(beanValue(schema, bean)));
+        var attributeName = name(attribute);
+        setClauses.add(
+                String.format(
+                        "%s = list_append(if_not_exists(%s, %s), %s)",
+                        attributeName,
+                        attributeName,
+                        value(AttributeValue.fromL(List.of())),
+                        value(list)));
+        return this;
+    }
+
+    public DynamoUpdate remove(String attribute) {
+        removeClauses.add(name(attribute));
+        return this;
+    }
+
+    public DynamoUpdate whenAttributeMissingOrEmpty(String attribute) {
+        var attributeName = name(attribute);
+        conditions.add(
+                String.format(
+                        "(attribute_not_exists(%s) OR size(%s) = %s)",
+                        attributeName, attributeName, value(AttributeValue.fromN("0"))));
+        return this;
+    }
+
+    public DynamoUpdate whenListSize(String attribute, int size) {
+        if (size == 0) {
+            return whenAttributeMissingOrEmpty(attribute);
+        }
+        conditions.add(
+                String.format(
+                        "size(%s) = %s",
+                        name(attribute), value(AttributeValue.fromN(String.valueOf(size)))));
+        return this;
+    }
+
+    public DynamoUpdate whenListElementAttributeEquals(
+            String attribute, int index, String nestedAttribute, String expected) {
+        var path = listElement(attribute, index) + "." + name(nestedAttribute);
+        conditions.add(path + " = " + value(AttributeValue.fromS(expected)));
+        return this;
+    }
+
+    public UpdateItemRequest toRequest(String tableName) {
+        if (setClauses.isEmpty() && removeClauses.isEmpty()) {
+            throw new IllegalStateException("Update has no SET or REMOVE actions");
+        }
+        var expression = new StringBuilder();
+        if (!setClauses.isEmpty()) {
+            expression.append("SET ").append(String.join(", ", setClauses));
+        }
+        if (!removeClauses.isEmpty()) {
+            if (expression.length() > 0) {
+                expression.append(' ');
+            }
+            expression.append("REMOVE ").append(String.join(", ", removeClauses));
+        }
+        var allConditions = new ArrayList<String>();
+        if (!upsert) {
+            allConditions.add("attribute_exists(" + name(partitionKeyName) + ")");
+        }
+        allConditions.addAll(conditions);
+
+        var builder =
+                UpdateItemRequest.builder()
+                        .tableName(tableName)
+                        .key(Map.of(partitionKeyName, AttributeValue.fromS(partitionKeyValue)))
+                        .updateExpression(expression.toString())
+                        .expressionAttributeNames(Map.copyOf(names));
+        if (!allConditions.isEmpty()) {
+            builder.conditionExpression(String.join(" AND ", allConditions));
+        }
+        if (!values.isEmpty()) {
+            builder.expressionAttributeValues(Map.copyOf(values));
+        }
+        return builder.build();
+    }
+
+    private static <T> AttributeValue beanValue(TableSchema<T> schema, T bean) {
+        return AttributeValue.fromM(schema.itemToMap(bean, true));
+    }
+
+    private String listElement(String attribute, int index) {
+        return name(attribute) + "[" + index + "]";
+    }
+
+    private String name(String attribute) {
+        for (var entry : names.entrySet()) {
+            if (entry.getValue().equals(attribute)) {
+                return entry.getKey();
+            }
+        }
+        var placeholder = "#a" + names.size();
+        names.put(placeholder, attribute);
+        return placeholder;
+    }
+
+    private String value(AttributeValue value) {
+        var placeholder = ":v" + values.size();
+        values.put(placeholder, value);
+        return placeholder;
+    }
+}
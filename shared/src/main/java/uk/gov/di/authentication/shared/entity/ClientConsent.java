@@ -1,5 +1,8 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -11,6 +14,33 @@ import java.util.Set;
 @DynamoDbBean
 public class ClientConsent {
 
+    public static final String ATTRIBUTE_CLIENT_ID = "ClientId";
+    public static final String ATTRIBUTE_UPDATED_TIMESTAMP = "UpdatedTimestamp";
+    public static final String ATTRIBUTE_CLAIMS = "Claims";
+
+    public static final TableSchema<ClientConsent> TABLE_SCHEMA =
+            StaticTableSchema.builder(ClientConsent.class)
+                    .newItemSupplier(ClientConsent::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_CLIENT_ID)
+                                            .getter(ClientConsent::getClientId)
+                                            .setter(ClientConsent::setClientId))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_UPDATED_TIMESTAMP)
+                                            .getter(ClientConsent::getUpdatedTimestamp)
+                                            .setter(ClientConsent::setUpdatedTimestamp))
+                    .addAttribute(
+                            EnhancedType.setOf(String.class),
+                            a ->
+                                    a.name(ATTRIBUTE_CLAIMS)
+                                            .getter(ClientConsent::getClaims)
+                                            .setter(ClientConsent::setClaims))
+                    .build();
+
     private String clientId;
     private String updatedTimestamp;
     private Set<String> claims;
@@ -23,7 +53,7 @@ public class ClientConsent {
         this.updatedTimestamp = updatedTimestamp;
     }
 
-    @DynamoDbAttribute("ClientId")
+    @DynamoDbAttribute(ATTRIBUTE_CLIENT_ID)
     public String getClientId() {
         return clientId;
     }
@@ -37,7 +67,7 @@ public class ClientConsent {
         return this;
     }
 
-    @DynamoDbAttribute("UpdatedTimestamp")
+    @DynamoDbAttribute(ATTRIBUTE_UPDATED_TIMESTAMP)
     public String getUpdatedTimestamp() {
         return updatedTimestamp;
     }
@@ -51,7 +81,7 @@ public class ClientConsent {
         return this;
     }
 
-    @DynamoDbAttribute("Claims")
+    @DynamoDbAttribute(ATTRIBUTE_CLAIMS)
     public Set<String> getClaims() {
         return claims;
     }
@@ -1,5 +1,8 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
@@ -8,9 +11,164 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecon
 import java.util.ArrayList;
 import java.util.List;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+
 @DynamoDbBean
 public class ClientRegistry {
 
+    public static final TableSchema<ClientRegistry> TABLE_SCHEMA =
+            StaticTableSchema.builder(ClientRegistry.class)
+                    .newItemSupplier(ClientRegistry::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("ClientID")
+                                            .getter(ClientRegistry::getClientID)
+                                            .setter(ClientRegistry::setClientID)
+                                            .tags(primaryPartitionKey()))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("ClientName")
+                                            .getter(ClientRegistry::getClientName)
+                                            .setter(ClientRegistry::setClientName)
+                                            .tags(secondaryPartitionKey("ClientNameIndex")))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("PublicKey")
+                                            .getter(ClientRegistry::getPublicKey)
+                                            .setter(ClientRegistry::setPublicKey))
+                    .addAttribute(
+                            EnhancedType.listOf(String.class),
+                            a ->
+                                    a.name("Scopes")
+                                            .getter(ClientRegistry::getScopes)
+                                            .setter(ClientRegistry::setScopes))
+                    .addAttribute(
+                            EnhancedType.listOf(String.class),
+                            a ->
+                                    a.name("RedirectUrls")
+                                            .getter(ClientRegistry::getRedirectUrls)
+                                            .setter(ClientRegistry::setRedirectUrls))
+                    .addAttribute(
+                            EnhancedType.listOf(String.class),
+                            a ->
+                                    a.name("Contacts")
+                                            .getter(ClientRegistry::getContacts)
+                                            .setter(ClientRegistry::setContacts))
+                    .addAttribute(
+                            EnhancedType.listOf(String.class),
+                            a ->
+                                    a.name("PostLogoutRedirectUrls")
+                                            .getter(ClientRegistry::getPostLogoutRedirectUrls)
+                                            .setter(ClientRegistry::setPostLogoutRedirectUrls))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("BackChannelLogoutUri")
+                                            .getter(ClientRegistry::getBackChannelLogoutUri)
+                                            .setter(ClientRegistry::setBackChannelLogoutUri))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("ServiceType")
+                                            .getter(ClientRegistry::getServiceType)
+                                            .setter(ClientRegistry::setServiceType))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("SectorIdentifierUri")
+                                            .getter(ClientRegistry::getSectorIdentifierUri)
+                                            .setter(ClientRegistry::setSectorIdentifierUri))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("SubjectType")
+                                            .getter(ClientRegistry::getSubjectType)
+                                            .setter(ClientRegistry::setSubjectType))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name("CookieConsentShared")
+                                            .getter(ClientRegistry::isCookieConsentShared)
+                                            .setter(ClientRegistry::setCookieConsentShared))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name("TestClient")
+                                            .getter(ClientRegistry::isTestClient)
+                                            .setter(ClientRegistry::setTestClient))
+                    .addAttribute(
+                            EnhancedType.listOf(String.class),
+                            a ->
+                                    a.name("TestClientEmailAllowlist")
+                                            .getter(ClientRegistry::getTestClientEmailAllowlist)
+                                            .setter(ClientRegistry::setTestClientEmailAllowlist))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name("ConsentRequired")
+                                            .getter(ClientRegistry::isConsentRequired)
+                                            .setter(ClientRegistry::setConsentRequired))
+                    .addAttribute(
+                            EnhancedType.listOf(String.class),
+                            a ->
+                                    a.name("Claims")
+                                            .getter(ClientRegistry::getClaims)
+                                            .setter(ClientRegistry::setClaims))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("ClientType")
+                                            .getter(ClientRegistry::getClientType)
+                                            .setter(ClientRegistry::setClientType))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name("IdentityVerificationSupported")
+                                            .getter(ClientRegistry::isIdentityVerificationSupported)
+                                            .setter(
+                                                    ClientRegistry::setIdentityVerificationSupported))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name("OneLoginService")
+                                            .getter(ClientRegistry::isOneLoginService)
+                                            .setter(ClientRegistry::setOneLoginService))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("IdTokenSigningAlgorithm")
+                                            .getter(ClientRegistry::getIdTokenSigningAlgorithm)
+                                            .setter(ClientRegistry::setIdTokenSigningAlgorithm))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("TokenAuthMethod")
+                                            .getter(ClientRegistry::getTokenAuthMethod)
+                                            .setter(ClientRegistry::setTokenAuthMethod))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("ClientSecret")
+                                            .getter(ClientRegistry::getClientSecret)
+                                            .setter(ClientRegistry::setClientSecret))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name("SmokeTest")
+                                            .getter(ClientRegistry::isSmokeTest)
+                                            .setter(ClientRegistry::setSmokeTest))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("LandingPageUrl")
+                                            .getter(ClientRegistry::getLandingPageUrl)
+                                            .setter(ClientRegistry::setLandingPageUrl))
+                    .build();
+
     private String clientID;
     private String clientName;
     private String publicKey;
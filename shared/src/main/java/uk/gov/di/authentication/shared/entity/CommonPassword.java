@@ -1,12 +1,28 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
 @DynamoDbBean
 public class CommonPassword {
 
+    public static final TableSchema<CommonPassword> TABLE_SCHEMA =
+            StaticTableSchema.builder(CommonPassword.class)
+                    .newItemSupplier(CommonPassword::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("Password")
+                                            .getter(CommonPassword::getPassword)
+                                            .setter(CommonPassword::setPassword)
+                                            .tags(primaryPartitionKey()))
+                    .build();
+
     private String password;
 
     public CommonPassword() {}
@@ -1,14 +1,68 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 
 import java.util.Map;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
 @DynamoDbBean
 public class IdentityCredentials {
 
+    public static final String ATTRIBUTE_SUBJECT_ID = "SubjectID";
+    public static final String ATTRIBUTE_CORE_IDENTITY_JWT = "CoreIdentityJWT";
+    public static final String ATTRIBUTE_TIME_TO_EXIST = "TimeToExist";
+    public static final String ATTRIBUTE_ADDITIONAL_CLAIMS = "AdditionalClaims";
+    public static final String ATTRIBUTE_IPV_VOT = "IpvVot";
+    public static final String ATTRIBUTE_IPV_CORE_IDENTITY = "IpvCoreIdentity";
+
+    public static final TableSchema<IdentityCredentials> TABLE_SCHEMA =
+            StaticTableSchema.builder(IdentityCredentials.class)
+                    .newItemSupplier(IdentityCredentials::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_SUBJECT_ID)
+                                            .getter(IdentityCredentials::getSubjectID)
+                                            .setter(IdentityCredentials::setSubjectID)
+                                            .tags(primaryPartitionKey()))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_CORE_IDENTITY_JWT)
+                                            .getter(IdentityCredentials::getCoreIdentityJWT)
+                                            .setter(IdentityCredentials::setCoreIdentityJWT))
+                    .addAttribute(
+                            Long.class,
+                            a ->
+                                    a.name(ATTRIBUTE_TIME_TO_EXIST)
+                                            .getter(IdentityCredentials::getTimeToExist)
+                                            .setter(IdentityCredentials::setTimeToExist))
+                    .addAttribute(
+                            EnhancedType.mapOf(String.class, String.class),
+                            a ->
+                                    a.name(ATTRIBUTE_ADDITIONAL_CLAIMS)
+                                            .getter(IdentityCredentials::getAdditionalClaims)
+                                            .setter(IdentityCredentials::setAdditionalClaims))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_IPV_VOT)
+                                            .getter(IdentityCredentials::getIpvVot)
+                                            .setter(IdentityCredentials::setIpvVot))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_IPV_CORE_IDENTITY)
+                                            .getter(IdentityCredentials::getIpvCoreIdentity)
+                                            .setter(IdentityCredentials::setIpvCoreIdentity))
+                    .build();
+
     private String subjectID;
     private String coreIdentityJWT;
     private long timeToExist;
@@ -19,7 +73,7 @@ public class IdentityCredentials {
     public IdentityCredentials() {}
 
     @DynamoDbPartitionKey
-    @DynamoDbAttribute("SubjectID")
+    @DynamoDbAttribute(ATTRIBUTE_SUBJECT_ID)
     public String getSubjectID() {
         return subjectID;
     }
@@ -33,7 +87,7 @@ public class IdentityCredentials {
         return this;
     }
 
-    @DynamoDbAttribute("CoreIdentityJWT")
+    @DynamoDbAttribute(ATTRIBUTE_CORE_IDENTITY_JWT)
     public String getCoreIdentityJWT() {
         return coreIdentityJWT;
     }
@@ -47,7 +101,7 @@ public class IdentityCredentials {
         return this;
     }
 
-    @DynamoDbAttribute("TimeToExist")
+    @DynamoDbAttribute(ATTRIBUTE_TIME_TO_EXIST)
     public long getTimeToExist() {
         return timeToExist;
     }
@@ -61,7 +115,7 @@ public class IdentityCredentials {
         return this;
     }
 
-    @DynamoDbAttribute("AdditionalClaims")
+    @DynamoDbAttribute(ATTRIBUTE_ADDITIONAL_CLAIMS)
     public Map<String, String> getAdditionalClaims() {
         return additionalClaims;
     }
@@ -75,7 +129,7 @@ public class IdentityCredentials {
         return this;
     }
 
-    @DynamoDbAttribute("IpvVot")
+    @DynamoDbAttribute(ATTRIBUTE_IPV_VOT)
     public String getIpvVot() {
         return ipvVot;
     }
@@ -89,7 +143,7 @@ public class IdentityCredentials {
         return this;
     }
 
-    @DynamoDbAttribute("IpvCoreIdentity")
+    @DynamoDbAttribute(ATTRIBUTE_IPV_CORE_IDENTITY)
     public String getIpvCoreIdentity() {
         return ipvCoreIdentity;
     }
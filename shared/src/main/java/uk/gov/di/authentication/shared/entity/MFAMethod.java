@@ -1,5 +1,7 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbConvertedBy;
@@ -18,6 +20,45 @@ public class MFAMethod {
     public static final String ATTRIBUTE_METHOD_VERIFIED = "MethodVerified";
     public static final String ATTRIBUTE_UPDATED = "Updated";
 
+    public static final TableSchema<MFAMethod> TABLE_SCHEMA =
+            StaticTableSchema.builder(MFAMethod.class)
+                    .newItemSupplier(MFAMethod::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_MFA_METHOD_TYPE)
+                                            .getter(MFAMethod::getMfaMethodType)
+                                            .setter(MFAMethod::setMfaMethodType))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_CREDENTIAL_VALUE)
+                                            .getter(MFAMethod::getCredentialValue)
+                                            .setter(MFAMethod::setCredentialValue))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name(ATTRIBUTE_METHOD_VERIFIED)
+                                            .getter(MFAMethod::isMethodVerified)
+                                            .setter(MFAMethod::setMethodVerified)
+                                            .attributeConverter(
+                                                    new BooleanToIntAttributeConverter()))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name(ATTRIBUTE_ENABLED)
+                                            .getter(MFAMethod::isEnabled)
+                                            .setter(MFAMethod::setEnabled)
+                                            .attributeConverter(
+                                                    new BooleanToIntAttributeConverter()))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_UPDATED)
+                                            .getter(MFAMethod::getUpdated)
+                                            .setter(MFAMethod::setUpdated))
+                    .build();
+
     private String mfaMethodType;
     private String credentialValue;
     private boolean methodVerified;
@@ -86,10 +86,20 @@ public class Session {
         return retryCount;
     }
 
+    public Session setRetryCount(int retryCount) {
+        this.retryCount = retryCount;
+        return this;
+    }
+
     public int getPasswordResetCount() {
         return passwordResetCount;
     }
 
+    public Session setPasswordResetCount(int passwordResetCount) {
+        this.passwordResetCount = passwordResetCount;
+        return this;
+    }
+
     public Session incrementPasswordResetCount() {
         this.passwordResetCount = passwordResetCount + 1;
         return this;
@@ -104,6 +114,11 @@ public class Session {
         return codeRequestCount;
     }
 
+    public Session setCodeRequestCount(int codeRequestCount) {
+        this.codeRequestCount = codeRequestCount;
+        return this;
+    }
+
     public Session incrementCodeRequestCount() {
         this.codeRequestCount = codeRequestCount + 1;
         return this;
@@ -145,6 +160,11 @@ public class Session {
         return processingIdentityAttempts;
     }
 
+    public Session setProcessingIdentityAttempts(int processingIdentityAttempts) {
+        this.processingIdentityAttempts = processingIdentityAttempts;
+        return this;
+    }
+
     public void resetProcessingIdentityAttempts() {
         this.processingIdentityAttempts = 0;
     }
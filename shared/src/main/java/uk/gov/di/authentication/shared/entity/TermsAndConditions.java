@@ -1,5 +1,7 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
@@ -9,6 +11,23 @@ import java.util.Objects;
 @DynamoDbBean
 public class TermsAndConditions {
 
+    public static final TableSchema<TermsAndConditions> TABLE_SCHEMA =
+            StaticTableSchema.builder(TermsAndConditions.class)
+                    .newItemSupplier(TermsAndConditions::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("version")
+                                            .getter(TermsAndConditions::getVersion)
+                                            .setter(TermsAndConditions::setVersion))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name("timestamp")
+                                            .getter(TermsAndConditions::getTimestamp)
+                                            .setter(TermsAndConditions::setTimestamp))
+                    .build();
+
     private String version;
     private String timestamp;
 
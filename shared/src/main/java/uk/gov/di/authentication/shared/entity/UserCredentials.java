@@ -1,5 +1,8 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
@@ -7,6 +10,9 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecon
 
 import java.util.List;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+
 @DynamoDbBean
 public class UserCredentials {
 
@@ -19,6 +25,64 @@ public class UserCredentials {
     public static final String ATTRIBUTE_MFA_METHODS = "MfaMethods";
     public static final String ATTRIBUTE_TEST_USER = "testUser";
 
+    public static final TableSchema<UserCredentials> TABLE_SCHEMA =
+            StaticTableSchema.builder(UserCredentials.class)
+                    .newItemSupplier(UserCredentials::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_EMAIL)
+                                            .getter(UserCredentials::getEmail)
+                                            .setter(UserCredentials::setEmail)
+                                            .tags(primaryPartitionKey()))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_SUBJECT_ID)
+                                            .getter(UserCredentials::getSubjectID)
+                                            .setter(UserCredentials::setSubjectID)
+                                            .tags(secondaryPartitionKey("SubjectIDIndex")))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_PASSWORD)
+                                            .getter(UserCredentials::getPassword)
+                                            .setter(UserCredentials::setPassword))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_CREATED)
+                                            .getter(UserCredentials::getCreated)
+                                            .setter(UserCredentials::setCreated))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_UPDATED)
+                                            .getter(UserCredentials::getUpdated)
+                                            .setter(UserCredentials::setUpdated))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_MIGRATED_PASSWORD)
+                                            .getter(UserCredentials::getMigratedPassword)
+                                            .setter(UserCredentials::setMigratedPassword))
+                    .addAttribute(
+                            EnhancedType.listOf(
+                                    EnhancedType.documentOf(
+                                            MFAMethod.class, MFAMethod.TABLE_SCHEMA)),
+                            a ->
+                                    a.name(ATTRIBUTE_MFA_METHODS)
+                                            .getter(UserCredentials::getMfaMethods)
+                                            .setter(UserCredentials::setMfaMethods))
+                    .addAttribute(
+                            Integer.class,
+                            a ->
+                                    a.name(ATTRIBUTE_TEST_USER)
+                                            .getter(UserCredentials::getTestUser)
+                                            .setter(UserCredentials::setTestUser)
+                                            .tags(secondaryPartitionKey("TestUserIndex")))
+                    .build();
+
     private String email;
     private String subjectID;
     private String password;
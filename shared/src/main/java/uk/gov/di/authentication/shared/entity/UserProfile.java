@@ -1,5 +1,8 @@
 package uk.gov.di.authentication.shared.entity;
 
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbConvertedBy;
@@ -10,6 +13,9 @@ import uk.gov.di.authentication.shared.dynamodb.BooleanToIntAttributeConverter;
 import java.nio.ByteBuffer;
 import java.util.List;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+
 @DynamoDbBean
 public class UserProfile {
 
@@ -28,6 +34,106 @@ public class UserProfile {
     public static final String ATTRIBUTE_ACCOUNT_VERIFIED = "accountVerified";
     public static final String ATTRIBUTE_TEST_USER = "testUser";
 
+    public static final TableSchema<UserProfile> TABLE_SCHEMA =
+            StaticTableSchema.builder(UserProfile.class)
+                    .newItemSupplier(UserProfile::new)
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_EMAIL)
+                                            .getter(UserProfile::getEmail)
+                                            .setter(UserProfile::setEmail)
+                                            .tags(primaryPartitionKey()))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_SUBJECT_ID)
+                                            .getter(UserProfile::getSubjectID)
+                                            .setter(UserProfile::setSubjectID)
+                                            .tags(secondaryPartitionKey("SubjectIDIndex")))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name(ATTRIBUTE_EMAIL_VERIFIED)
+                                            .getter(UserProfile::isEmailVerified)
+                                            .setter(UserProfile::setEmailVerified)
+                                            .attributeConverter(
+                                                    new BooleanToIntAttributeConverter()))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_PHONE_NUMBER)
+                                            .getter(UserProfile::getPhoneNumber)
+                                            .setter(UserProfile::setPhoneNumber))
+                    .addAttribute(
+                            Boolean.class,
+                            a ->
+                                    a.name(ATTRIBUTE_PHONE_NUMBER_VERIFIED)
+                                            .getter(UserProfile::isPhoneNumberVerified)
+                                            .setter(UserProfile::setPhoneNumberVerified)
+                                            .attributeConverter(
+                                                    new BooleanToIntAttributeConverter()))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_CREATED)
+                                            .getter(UserProfile::getCreated)
+                                            .setter(UserProfile::setCreated))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_UPDATED)
+                                            .getter(UserProfile::getUpdated)
+                                            .setter(UserProfile::setUpdated))
+                    .addAttribute(
+                            EnhancedType.documentOf(
+                                    TermsAndConditions.class, TermsAndConditions.TABLE_SCHEMA),
+                            a ->
+                                    a.name(ATTRIBUTE_TERMS_AND_CONDITIONS)
+                                            .getter(UserProfile::getTermsAndConditions)
+                                            .setter(UserProfile::setTermsAndConditions))
+                    .addAttribute(
+                            EnhancedType.listOf(
+                                    EnhancedType.documentOf(
+                                            ClientConsent.class, ClientConsent.TABLE_SCHEMA)),
+                            a ->
+                                    a.name(ATTRIBUTE_CLIENT_CONSENT)
+                                            .getter(UserProfile::getClientConsent)
+                                            .setter(UserProfile::setClientConsent))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_PUBLIC_SUBJECT_ID)
+                                            .getter(UserProfile::getPublicSubjectID)
+                                            .setter(UserProfile::setPublicSubjectID)
+                                            .tags(secondaryPartitionKey("PublicSubjectIDIndex")))
+                    .addAttribute(
+                            String.class,
+                            a ->
+                                    a.name(ATTRIBUTE_LEGACY_SUBJECT_ID)
+                                            .getter(UserProfile::getLegacySubjectID)
+                                            .setter(UserProfile::setLegacySubjectID))
+                    .addAttribute(
+                            ByteBuffer.class,
+                            a ->
+                                    a.name(ATTRIBUTE_SALT)
+                                            .getter(UserProfile::getSalt)
+                                            .setter(UserProfile::setSalt))
+                    .addAttribute(
+                            Integer.class,
+                            a ->
+                                    a.name(ATTRIBUTE_ACCOUNT_VERIFIED)
+                                            .getter(UserProfile::getAccountVerified)
+                                            .setter(UserProfile::setAccountVerified))
+                    .addAttribute(
+                            Integer.class,
+                            a ->
+                                    a.name(ATTRIBUTE_TEST_USER)
+                                            .getter(UserProfile::getTestUser)
+                                            .setter(UserProfile::setTestUser)
+                                            .tags(secondaryPartitionKey("TestUserIndex")))
+                    .build();
+
     private String email;
     private String subjectID;
     private boolean emailVerified;
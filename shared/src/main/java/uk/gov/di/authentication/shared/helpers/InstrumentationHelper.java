@@ -3,8 +3,12 @@ package uk.gov.di.authentication.shared.helpers;
 import com.amazonaws.xray.AWSXRay;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.nonNull;
 
@@ -39,6 +43,24 @@ public class InstrumentationHelper {
         }
     }
 
+    /**
+     * Runs a lambda invocation in its own subsegment and then writes the Redis and Dynamo metrics
+     * aggregated while it ran. Every handler entry point goes through here, so that each
+     * invocation's metrics are written by that invocation and before the container can be frozen.
+     * A failure to write them is logged and never replaces the handler's result or exception.
+     */
+    public static <T> T segmentedHandlerCall(String segmentName, Callable<T> callable) {
+        try {
+            return segmentedFunctionCall(segmentName, callable);
+        } finally {
+            try {
+                CloudwatchMetricsService.flushSharedAggregatedMetrics();
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to write aggregated metrics", e);
+            }
+        }
+    }
+
     public static void segmentedFunctionCall(String segmentName, Runnable runnable) {
         if (tracingEnabled) {
             var subSegment = AWSXRay.beginSubsegment(segmentName);
@@ -58,6 +80,38 @@ public class InstrumentationHelper {
         }
     }
 
+    /**
+     * Runs the callable in its own subsegment on the given executor, carrying the caller's trace
+     * entity and logging context over to the executing thread and restoring that thread's own
+     * context afterwards, so it is safe with executors that may run tasks on the caller.
+     */
+    public static <T> CompletableFuture<T> segmentedFunctionCallAsync(
+            String segmentName, Callable<T> callable, Executor executor) {
+        var traceEntity = tracingEnabled ? AWSXRay.getTraceEntity() : null;
+        var loggingContext = ThreadContext.getImmutableContext();
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    var callerTraceEntity = nonNull(traceEntity) ? AWSXRay.getTraceEntity() : null;
+                    var callerLoggingContext = ThreadContext.getImmutableContext();
+                    if (nonNull(traceEntity)) {
+                        AWSXRay.setTraceEntity(traceEntity);
+                    }
+                    ThreadContext.putAll(loggingContext);
+                    try {
+                        return segmentedFunctionCall(segmentName, callable);
+                    } finally {
+                        ThreadContext.clearMap();
+                        ThreadContext.putAll(callerLoggingContext);
+                        if (nonNull(callerTraceEntity)) {
+                            AWSXRay.setTraceEntity(callerTraceEntity);
+                        } else if (nonNull(traceEntity)) {
+                            AWSXRay.clearTraceEntity();
+                        }
+                    }
+                },
+                executor);
+    }
+
     public static void addAnnotation(final String key, final String value) {
         if (tracingEnabled && nonNull(value)) {
             AWSXRay.getCurrentSubsegmentOptional()
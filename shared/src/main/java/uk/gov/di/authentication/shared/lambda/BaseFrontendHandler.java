@@ -11,6 +11,7 @@ import uk.gov.di.authentication.shared.entity.BaseFrontendRequest;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.User;
 import uk.gov.di.authentication.shared.helpers.LogLineHelper;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
@@ -23,6 +24,7 @@ import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.DynamoService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.state.SessionUnitOfWork;
 import uk.gov.di.authentication.shared.state.UserContext;
 
 import java.util.Locale;
@@ -30,7 +32,7 @@ import java.util.Optional;
 
 import static uk.gov.di.authentication.shared.domain.RequestHeaders.CLIENT_SESSION_ID_HEADER;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
-import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 import static uk.gov.di.authentication.shared.helpers.LocaleHelper.getUserLanguageFromRequestHeaders;
 import static uk.gov.di.authentication.shared.helpers.LocaleHelper.matchSupportedLanguage;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.PERSISTENT_SESSION_ID;
@@ -52,6 +54,7 @@ public abstract class BaseFrontendHandler<T>
     protected final AuthenticationService authenticationService;
     protected final Json objectMapper = SerializationService.getInstance();
     protected boolean loadUserCredentials = false;
+    protected boolean loadUserProfileFromRequest = true;
 
     protected BaseFrontendHandler(
             Class<T> clazz,
@@ -106,9 +109,13 @@ public abstract class BaseFrontendHandler<T>
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
-        return segmentedFunctionCall(
+        return segmentedHandlerCall(
                 "frontend-api::" + getClass().getSimpleName(),
-                () -> validateAndHandleRequest(input, context));
+                () -> {
+                    try (var requestScope = authenticationService.openRequestScope()) {
+                        return validateAndHandleRequest(input, context);
+                    }
+                });
     }
 
     public void onRequestReceived(String clientSessionId) {}
@@ -132,9 +139,10 @@ public abstract class BaseFrontendHandler<T>
                         configurationService.getHeadersCaseInsensitive());
 
         onRequestReceived(clientSessionId);
-        Optional<Session> session = sessionService.getSessionFromRequestHeaders(input.getHeaders());
-        Optional<ClientSession> clientSession =
-                clientSessionService.getClientSessionFromRequestHeaders(input.getHeaders());
+        var sessions =
+                sessionService.getSessionAndClientSessionFromRequestHeaders(input.getHeaders());
+        Optional<Session> session = sessions.getSession();
+        Optional<ClientSession> clientSession = sessions.getClientSession();
         if (session.isEmpty()) {
             LOG.warn("Session cannot be found");
             return generateApiGatewayProxyErrorResponse(400, ErrorResponse.ERROR_1000);
@@ -173,14 +181,21 @@ public abstract class BaseFrontendHandler<T>
         clientSession.ifPresent(userContextBuilder::withClientSession);
 
         session.map(Session::getEmailAddress)
-                .map(authenticationService::getUserProfileFromEmail)
+                .map(email -> authenticationService.getUserByEmail(email, loadUserCredentials))
                 .ifPresentOrElse(
-                        userProfile ->
-                                userContextBuilder
-                                        .withUserProfile(userProfile)
-                                        .withUserAuthenticated(true),
+                        user -> {
+                            userContextBuilder
+                                    .withUserProfile(user.map(User::getUserProfile))
+                                    .withUserAuthenticated(true);
+                            user.map(User::getUserCredentials)
+                                    .ifPresent(
+                                            userCredentials ->
+                                                    userContextBuilder.withUserCredentials(
+                                                            Optional.of(userCredentials)));
+                        },
                         () -> {
-                            if (request instanceof BaseFrontendRequest)
+                            if (loadUserProfileFromRequest
+                                    && request instanceof BaseFrontendRequest)
                                 userContextBuilder
                                         .withUserProfile(
                                                 authenticationService.getUserProfileFromEmail(
@@ -190,17 +205,24 @@ public abstract class BaseFrontendHandler<T>
                                         .withUserAuthenticated(false);
                         });
 
-        if (loadUserCredentials) {
-            session.map(Session::getEmailAddress)
-                    .map(authenticationService::getUserCredentialsFromEmail)
-                    .ifPresent(
-                            userCredentials ->
-                                    userContextBuilder.withUserCredentials(
-                                            Optional.of(userCredentials)));
-        }
-
         userContextBuilder.withUserLanguage(matchSupportedLanguage(userLanguage));
 
-        return handleRequestWithUserContext(input, context, request, userContextBuilder.build());
+        var sessionUnitOfWork =
+                new SessionUnitOfWork(
+                        sessionService,
+                        clientSessionService,
+                        session.get(),
+                        clientSessionId,
+                        clientSession.orElse(null));
+        userContextBuilder.withSessionUnitOfWork(sessionUnitOfWork);
+
+        // Session changes are only persisted once the handler has returned, so a handler that
+        // throws leaves the stored session untouched and its exception is the one reported.
+        var response =
+                handleRequestWithUserContext(input, context, request, userContextBuilder.build());
+        if (sessionUnitOfWork.isDirty()) {
+            sessionUnitOfWork.flush();
+        }
+        return response;
     }
 }
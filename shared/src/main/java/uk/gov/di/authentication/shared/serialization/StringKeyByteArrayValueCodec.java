@@ -0,0 +1,33 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+
+import java.nio.ByteBuffer;
+
+public class StringKeyByteArrayValueCodec implements RedisCodec<String, byte[]> {
+
+    public static final StringKeyByteArrayValueCodec INSTANCE =
+            new StringKeyByteArrayValueCodec();
+
+    @Override
+    public String decodeKey(ByteBuffer bytes) {
+        return StringCodec.UTF8.decodeKey(bytes);
+    }
+
+    @Override
+    public byte[] decodeValue(ByteBuffer bytes) {
+        return ByteArrayCodec.INSTANCE.decodeValue(bytes);
+    }
+
+    @Override
+    public ByteBuffer encodeKey(String key) {
+        return StringCodec.UTF8.encodeKey(key);
+    }
+
+    @Override
+    public ByteBuffer encodeValue(byte[] value) {
+        return ByteArrayCodec.INSTANCE.encodeValue(value);
+    }
+}
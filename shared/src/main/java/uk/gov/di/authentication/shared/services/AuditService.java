@@ -32,6 +32,7 @@ public class AuditService {
         this.clock = Clock.systemUTC();
         this.txmaQueueClient =
                 new AwsSqsClient(
+                        configurationService,
                         configurationService.getAwsRegion(),
                         configurationService.getTxmaAuditQueueUrl(),
                         configurationService.getLocalstackEndpointUri());
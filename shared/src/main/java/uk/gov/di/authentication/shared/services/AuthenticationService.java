@@ -11,6 +11,7 @@ import uk.gov.di.authentication.shared.entity.UserProfile;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface AuthenticationService {
     boolean userExists(String email);
@@ -36,6 +37,13 @@ public interface AuthenticationService {
 
     Optional<UserProfile> getUserProfileByEmailMaybe(String email);
 
+    /**
+     * Reads the user profile without blocking the calling thread, so that it can overlap with
+     * other I/O. A profile already held by the request scope is returned without a read, but
+     * results of async reads are not added to it.
+     */
+    CompletableFuture<Optional<UserProfile>> getUserProfileByEmailAsync(String email);
+
     Optional<List<ClientConsent>> getUserConsents(String email);
 
     void updatePhoneNumberAndAccountVerifiedStatus(String email, boolean verifiedStatus);
@@ -62,8 +70,19 @@ public interface AuthenticationService {
 
     Optional<UserProfile> getUserProfileFromEmail(String email);
 
+    Optional<User> getUserByEmail(String email, boolean includeCredentials);
+
+    /**
+     * Loads only the named attributes of the user profile and credentials in a single request. An
+     * empty attribute list skips that table entirely.
+     */
+    Optional<User> getUserByEmail(
+            String email, List<String> profileAttributes, List<String> credentialsAttributes);
+
     UserCredentials getUserCredentialsFromEmail(String email);
 
+    CompletableFuture<Optional<UserCredentials>> getUserCredentialsFromEmailAsync(String email);
+
     void migrateLegacyPassword(String email, String password);
 
     byte[] getOrGenerateSalt(UserProfile userProfile);
@@ -76,4 +95,19 @@ public interface AuthenticationService {
             String credentialValue);
 
     void setMFAMethodVerifiedTrue(String email, MFAMethodType mfaMethodType);
+
+    /**
+     * Until the returned scope is closed, users read by email on this thread are remembered and
+     * reused, and writes replace the remembered copies. The scope belongs to the thread rather
+     * than to this instance, so helpers that create their own service share it. Each read returns
+     * a separate copy of the remembered item.
+     */
+    default RequestScope openRequestScope() {
+        return () -> {};
+    }
+
+    interface RequestScope extends AutoCloseable {
+        @Override
+        void close();
+    }
 }
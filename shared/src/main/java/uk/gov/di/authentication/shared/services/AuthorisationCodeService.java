@@ -9,6 +9,7 @@ import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class AuthorisationCodeService {
 
@@ -17,7 +18,7 @@ public class AuthorisationCodeService {
 
     private final RedisConnectionService redisConnectionService;
     private final long authorisationCodeExpiry;
-    private final Json objectMapper;
+    private final CompactSerializationService compactSerializer;
 
     public AuthorisationCodeService(
             ConfigurationService configurationService,
@@ -25,18 +26,17 @@ public class AuthorisationCodeService {
             Json objectMapper) {
         this.redisConnectionService = redisConnectionService;
         this.authorisationCodeExpiry = configurationService.getAuthCodeExpiry();
-        this.objectMapper = objectMapper;
+        this.compactSerializer =
+                new CompactSerializationService(
+                        objectMapper,
+                        configurationService.isRedisBinaryEncodingEnabled(),
+                        configurationService.getRedisCompressionThreshold());
     }
 
     public AuthorisationCodeService(ConfigurationService configurationService) {
-        this.redisConnectionService =
-                new RedisConnectionService(
-                        configurationService.getRedisHost(),
-                        configurationService.getRedisPort(),
-                        configurationService.getUseRedisTLS(),
-                        configurationService.getRedisPassword());
+        this.redisConnectionService = RedisConnectionService.getInstance(configurationService);
         this.authorisationCodeExpiry = configurationService.getAuthCodeExpiry();
-        this.objectMapper = SerializationService.getInstance();
+        this.compactSerializer = new CompactSerializationService(configurationService);
     }
 
     public AuthorizationCode generateAuthorisationCode(
@@ -44,9 +44,9 @@ public class AuthorisationCodeService {
         LOG.info("Generating and saving AuthorisationCode");
         AuthorizationCode authorizationCode = new AuthorizationCode();
         try {
-            redisConnectionService.saveWithExpiry(
+            redisConnectionService.saveBinaryWithExpiry(
                     AUTH_CODE_PREFIX.concat(authorizationCode.getValue()),
-                    objectMapper.writeValueAsString(
+                    compactSerializer.writeValueAsBytes(
                             new AuthCodeExchangeData()
                                     .setEmail(email)
                                     .setClientSessionId(clientSessionId)
@@ -60,15 +60,24 @@ public class AuthorisationCodeService {
     }
 
     public Optional<AuthCodeExchangeData> getExchangeDataForCode(String code) {
-        return Optional.ofNullable(redisConnectionService.popValue(AUTH_CODE_PREFIX.concat(code)))
-                .map(
-                        s -> {
-                            try {
-                                return objectMapper.readValue(s, AuthCodeExchangeData.class);
-                            } catch (JsonException e) {
-                                LOG.error("Error deserialising auth code data from cache");
-                                throw new RuntimeException(e);
-                            }
-                        });
+        return Optional.ofNullable(
+                        redisConnectionService.popBinaryValue(AUTH_CODE_PREFIX.concat(code)))
+                .map(this::deserialiseExchangeData);
+    }
+
+    public CompletableFuture<Optional<AuthCodeExchangeData>> getExchangeDataForCodeAsync(
+            String code) {
+        return redisConnectionService
+                .popBinaryValueAsync(AUTH_CODE_PREFIX.concat(code))
+                .thenApply(value -> Optional.ofNullable(value).map(this::deserialiseExchangeData));
+    }
+
+    private AuthCodeExchangeData deserialiseExchangeData(byte[] exchangeData) {
+        try {
+            return compactSerializer.readValue(exchangeData, AuthCodeExchangeData.class);
+        } catch (JsonException e) {
+            LOG.error("Error deserialising auth code data from cache");
+            throw new RuntimeException(e);
+        }
     }
 }
@@ -0,0 +1,306 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.client.builder.AwsAsyncClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsSyncClientBuilder;
+import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import uk.gov.di.authentication.shared.dynamodb.DynamoMetricsInterceptor;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class AwsClientFactory {
+
+    private static final Logger LOG = LogManager.getLogger(AwsClientFactory.class);
+    private static final Duration CONNECTION_MAX_IDLE_TIME = Duration.ofSeconds(60);
+    private static final int DEFAULT_MAX_CONNECTIONS = 50;
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 2000;
+    private static final long DEFAULT_SOCKET_TIMEOUT_MS = 5000;
+    private static final Map<List<Object>, AwsClientFactory> SHARED_INSTANCES =
+            new ConcurrentHashMap<>();
+
+    private final ConfigurationService configurationService;
+    private final SdkHttpClient httpClient;
+    private final ClientOverrideConfiguration overrideConfiguration;
+    private final ClientOverrideConfiguration dynamoOverrideConfiguration;
+    private final Map<String, Object> clients = new ConcurrentHashMap<>();
+    private SdkAsyncHttpClient asyncHttpClient;
+
+    public AwsClientFactory(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+        this.httpClient =
+                ApacheHttpClient.builder()
+                        .maxConnections(
+                                positiveOrDefault(
+                                        configurationService.getAwsHttpMaxConnections(),
+                                        DEFAULT_MAX_CONNECTIONS))
+                        .connectionTimeout(
+                                Duration.ofMillis(
+                                        positiveOrDefault(
+                                                configurationService.getAwsHttpConnectionTimeout(),
+                                                DEFAULT_CONNECTION_TIMEOUT_MS)))
+                        .socketTimeout(
+                                Duration.ofMillis(
+                                        positiveOrDefault(
+                                                configurationService.getAwsHttpSocketTimeout(),
+                                                DEFAULT_SOCKET_TIMEOUT_MS)))
+                        .connectionMaxIdleTime(CONNECTION_MAX_IDLE_TIME)
+                        .tcpKeepAlive(true)
+                        .build();
+        this.overrideConfiguration =
+                ClientOverrideConfiguration.builder()
+                        .retryPolicy(
+                                RetryPolicy.builder(RetryMode.STANDARD)
+                                        .numRetries(
+                                                Math.max(
+                                                        0,
+                                                        configurationService
+                                                                .getAwsSdkMaxRetries()))
+                                        .build())
+                        .build();
+        this.dynamoOverrideConfiguration =
+                configurationService.isDynamoMetricsEnabled()
+                        ? overrideConfiguration
+                                .toBuilder()
+                                .addExecutionInterceptor(
+                                        new DynamoMetricsInterceptor(
+                                                new CloudwatchMetricsService(configurationService),
+                                                configurationService.getLambdaFunctionName()))
+                                .build()
+                        : overrideConfiguration;
+    }
+
+    /**
+     * Returns the factory shared by every caller in this JVM whose configuration has the same
+     * region, endpoints, HTTP pool, retry and Dynamo metrics settings. Those are the only values
+     * the factory reads, so callers with different settings get separate factories rather than
+     * whichever one happened to be created first.
+     */
+    public static AwsClientFactory getInstance(ConfigurationService configurationService) {
+        return SHARED_INSTANCES.computeIfAbsent(
+                settingsOf(configurationService),
+                key -> new AwsClientFactory(configurationService));
+    }
+
+    private static List<Object> settingsOf(ConfigurationService configurationService) {
+        return Arrays.asList(
+                configurationService.getAwsRegion(),
+                configurationService.getDynamoEndpointUri(),
+                configurationService.getLocalstackEndpointUri(),
+                configurationService.getAwsHttpMaxConnections(),
+                configurationService.getAwsHttpConnectionTimeout(),
+                configurationService.getAwsHttpSocketTimeout(),
+                configurationService.getAwsSdkMaxRetries(),
+                configurationService.isDynamoMetricsEnabled(),
+                configurationService.getEnvironment(),
+                configurationService.getLambdaFunctionName());
+    }
+
+    public DynamoDbClient getDynamoDbClient() {
+        var region = configurationService.getAwsRegion();
+        var endpoint = configurationService.getDynamoEndpointUri();
+        return getOrCreate(
+                "dynamodb",
+                region,
+                endpoint,
+                () ->
+                        configure(
+                                DynamoDbClient.builder(),
+                                region,
+                                endpoint,
+                                dynamoOverrideConfiguration));
+    }
+
+    public DynamoDbEnhancedClient getDynamoDbEnhancedClient() {
+        var region = configurationService.getAwsRegion();
+        var endpoint = configurationService.getDynamoEndpointUri();
+        var dynamoDbClient = getDynamoDbClient();
+        return getOrCreate(
+                "dynamodb-enhanced",
+                region,
+                endpoint,
+                () -> DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build());
+    }
+
+    public DynamoDbAsyncClient getDynamoDbAsyncClient() {
+        var region = configurationService.getAwsRegion();
+        var endpoint = configurationService.getDynamoEndpointUri();
+        return getOrCreate(
+                "dynamodb-async",
+                region,
+                endpoint,
+                () -> configureAsync(DynamoDbAsyncClient.builder(), region, endpoint));
+    }
+
+    public DynamoDbEnhancedAsyncClient getDynamoDbEnhancedAsyncClient() {
+        var region = configurationService.getAwsRegion();
+        var endpoint = configurationService.getDynamoEndpointUri();
+        var dynamoDbAsyncClient = getDynamoDbAsyncClient();
+        return getOrCreate(
+                "dynamodb-enhanced-async",
+                region,
+                endpoint,
+                () ->
+                        DynamoDbEnhancedAsyncClient.builder()
+                                .dynamoDbClient(dynamoDbAsyncClient)
+                                .build());
+    }
+
+    public KmsClient getKmsClient() {
+        return getKmsClient(
+                configurationService.getAwsRegion(),
+                configurationService.getLocalstackEndpointUri());
+    }
+
+    public KmsClient getKmsClient(String region, Optional<String> endpoint) {
+        return getOrCreate(
+                "kms", region, endpoint, () -> configure(KmsClient.builder(), region, endpoint));
+    }
+
+    public SqsClient getSqsClient(String region, Optional<String> endpoint) {
+        return getOrCreate(
+                "sqs", region, endpoint, () -> configure(SqsClient.builder(), region, endpoint));
+    }
+
+    public SnsClient getSnsClient() {
+        var region = configurationService.getAwsRegion();
+        var endpoint = configurationService.getLocalstackEndpointUri();
+        return getOrCreate(
+                "sns", region, endpoint, () -> configure(SnsClient.builder(), region, endpoint));
+    }
+
+    public SsmClient getSsmClient() {
+        var region = configurationService.getAwsRegion();
+        var endpoint = configurationService.getLocalstackEndpointUri();
+        return getOrCreate(
+                "ssm", region, endpoint, () -> configure(SsmClient.builder(), region, endpoint));
+    }
+
+    public S3Client getS3Client() {
+        return getS3Client(configurationService.getAwsRegion(), Optional.empty());
+    }
+
+    public S3Client getS3Client(String region, Optional<String> endpoint) {
+        return getOrCreate(
+                "s3", region, endpoint, () -> configure(S3Client.builder(), region, endpoint));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getOrCreate(
+            String service, String region, Optional<String> endpoint, Supplier<T> factory) {
+        var key = service + ":" + region + ":" + endpoint.orElse("");
+        return (T) clients.computeIfAbsent(key, k -> factory.get());
+    }
+
+    private <B extends AwsClientBuilder<B, C> & AwsSyncClientBuilder<B, C>, C extends SdkClient>
+            C configure(B builder, String region, Optional<String> endpoint) {
+        return configure(builder, region, endpoint, overrideConfiguration);
+    }
+
+    private <B extends AwsClientBuilder<B, C> & AwsSyncClientBuilder<B, C>, C extends SdkClient>
+            C configure(
+                    B builder,
+                    String region,
+                    Optional<String> endpoint,
+                    ClientOverrideConfiguration clientOverrideConfiguration) {
+        return configureCommon(
+                builder.httpClient(httpClient), region, endpoint, clientOverrideConfiguration);
+    }
+
+    private <B extends AwsClientBuilder<B, C> & AwsAsyncClientBuilder<B, C>, C extends SdkClient>
+            C configureAsync(B builder, String region, Optional<String> endpoint) {
+        return configureCommon(
+                builder.httpClient(asyncHttpClient()),
+                region,
+                endpoint,
+                dynamoOverrideConfiguration);
+    }
+
+    private <B extends AwsClientBuilder<B, C>, C extends SdkClient> C configureCommon(
+            B builder,
+            String region,
+            Optional<String> endpoint,
+            ClientOverrideConfiguration clientOverrideConfiguration) {
+        builder.region(Region.of(region))
+                .overrideConfiguration(clientOverrideConfiguration)
+                .credentialsProvider(credentialsProvider(endpoint));
+        endpoint.ifPresent(
+                uri -> {
+                    LOG.info("Endpoint override is present: {}", uri);
+                    builder.endpointOverride(URI.create(uri));
+                });
+        return builder.build();
+    }
+
+    private synchronized SdkAsyncHttpClient asyncHttpClient() {
+        if (asyncHttpClient == null) {
+            var socketTimeout =
+                    Duration.ofMillis(
+                            positiveOrDefault(
+                                    configurationService.getAwsHttpSocketTimeout(),
+                                    DEFAULT_SOCKET_TIMEOUT_MS));
+            asyncHttpClient =
+                    NettyNioAsyncHttpClient.builder()
+                            .maxConcurrency(
+                                    positiveOrDefault(
+                                            configurationService.getAwsHttpMaxConnections(),
+                                            DEFAULT_MAX_CONNECTIONS))
+                            .connectionTimeout(
+                                    Duration.ofMillis(
+                                            positiveOrDefault(
+                                                    configurationService
+                                                            .getAwsHttpConnectionTimeout(),
+                                                    DEFAULT_CONNECTION_TIMEOUT_MS)))
+                            .readTimeout(socketTimeout)
+                            .writeTimeout(socketTimeout)
+                            .connectionMaxIdleTime(CONNECTION_MAX_IDLE_TIME)
+                            .build();
+        }
+        return asyncHttpClient;
+    }
+
+    private static AwsCredentialsProvider credentialsProvider(Optional<String> endpoint) {
+        if (endpoint.isPresent()) {
+            return StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create("FAKEACCESSKEY", "FAKESECRETKEY"));
+        }
+        return DefaultCredentialsProvider.create();
+    }
+
+    private static int positiveOrDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    private static long positiveOrDefault(long value, long defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+}
@@ -0,0 +1,150 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.entity.ClientRegistry;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ClientRegistryCache {
+
+    private static final Logger LOG = LogManager.getLogger(ClientRegistryCache.class);
+
+    private final Supplier<String> versionLookup;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final long versionCheckIntervalMillis;
+    private final Map<String, CacheEntry> entries;
+    private String knownVersion;
+    private long nextVersionCheck = 0;
+
+    public ClientRegistryCache(
+            ConfigurationService configurationService, Supplier<String> versionLookup) {
+        this(configurationService, versionLookup, Clock.systemUTC());
+    }
+
+    public ClientRegistryCache(
+            ConfigurationService configurationService,
+            Supplier<String> versionLookup,
+            Clock clock) {
+        this.versionLookup = versionLookup;
+        this.clock = clock;
+        this.ttlMillis = configurationService.getClientRegistryCacheTtl() * 1000;
+        this.negativeTtlMillis = configurationService.getClientRegistryCacheNegativeTtl() * 1000;
+        this.versionCheckIntervalMillis =
+                configurationService.getClientRegistryVersionCheckInterval() * 1000;
+        var maxEntries = Math.max(1, configurationService.getClientRegistryCacheMaxEntries());
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+    }
+
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    public Optional<ClientRegistry> get(
+            String clientId, Function<String, Optional<ClientRegistry>> loader) {
+        if (!isEnabled()) {
+            return loader.apply(clientId);
+        }
+        var now = clock.millis();
+        checkVersion(now);
+        var entry = freshEntry(clientId, now);
+        if (entry != null) {
+            return entry.client;
+        }
+        var client = loader.apply(clientId);
+        put(clientId, client, now);
+        return client;
+    }
+
+    public CompletableFuture<Optional<ClientRegistry>> getAsync(
+            String clientId,
+            Function<String, CompletableFuture<Optional<ClientRegistry>>> loader) {
+        if (!isEnabled()) {
+            return loader.apply(clientId);
+        }
+        var now = clock.millis();
+        checkVersion(now);
+        var entry = freshEntry(clientId, now);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(entry.client);
+        }
+        return loader.apply(clientId)
+                .thenApply(
+                        client -> {
+                            put(clientId, client, now);
+                            return client;
+                        });
+    }
+
+    public void invalidate(String clientId) {
+        synchronized (entries) {
+            entries.remove(clientId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private CacheEntry freshEntry(String clientId, long now) {
+        synchronized (entries) {
+            var entry = entries.get(clientId);
+            return entry != null && entry.expiresAt > now ? entry : null;
+        }
+    }
+
+    private void put(String clientId, Optional<ClientRegistry> client, long now) {
+        var expiresAt = now + (client.isPresent() ? ttlMillis : negativeTtlMillis);
+        synchronized (entries) {
+            entries.put(clientId, new CacheEntry(client, expiresAt));
+        }
+    }
+
+    private synchronized void checkVersion(long now) {
+        if (now < nextVersionCheck) {
+            return;
+        }
+        nextVersionCheck = now + versionCheckIntervalMillis;
+        String version;
+        try {
+            version = versionLookup.get();
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to read client registry version, clearing cache", e);
+            invalidateAll();
+            knownVersion = null;
+            return;
+        }
+        if (knownVersion != null && !Objects.equals(knownVersion, version)) {
+            LOG.info("Client registry version changed, clearing cache");
+            invalidateAll();
+        }
+        knownVersion = version;
+    }
+
+    private static class CacheEntry {
+        private final Optional<ClientRegistry> client;
+        private final long expiresAt;
+
+        private CacheEntry(Optional<ClientRegistry> client, long expiresAt) {
+            this.client = client;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import uk.gov.di.authentication.shared.entity.UpdateClientConfigRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface ClientService {
 
@@ -32,6 +33,12 @@ public interface ClientService {
 
     Optional<ClientRegistry> getClient(String clientId);
 
+    /**
+     * Looks up the client without blocking the calling thread, so that it can overlap with other
+     * I/O. Failures complete the future with the exception getClient would have thrown.
+     */
+    CompletableFuture<Optional<ClientRegistry>> getClientAsync(String clientId);
+
     ClientID generateClientID();
 
     ClientRegistry updateClient(String clientId, UpdateClientConfigRequest updateRequest);
@@ -5,13 +5,15 @@ import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
-import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static uk.gov.di.authentication.shared.domain.RequestHeaders.CLIENT_SESSION_ID_HEADER;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.CLIENT_SESSION_ID;
@@ -27,17 +29,12 @@ public class ClientSessionService {
 
     private final RedisConnectionService redisConnectionService;
     private final ConfigurationService configurationService;
-    private final Json objectMapper;
+    private final CompactSerializationService compactSerializer;
 
     public ClientSessionService(ConfigurationService configurationService) {
         this.configurationService = configurationService;
-        this.redisConnectionService =
-                new RedisConnectionService(
-                        configurationService.getRedisHost(),
-                        configurationService.getRedisPort(),
-                        configurationService.getUseRedisTLS(),
-                        configurationService.getRedisPassword());
-        objectMapper = SerializationService.getInstance();
+        this.redisConnectionService = RedisConnectionService.getInstance(configurationService);
+        compactSerializer = new CompactSerializationService(configurationService);
     }
 
     public ClientSessionService(
@@ -45,7 +42,7 @@ public class ClientSessionService {
             RedisConnectionService redisConnectionService) {
         this.configurationService = configurationService;
         this.redisConnectionService = redisConnectionService;
-        objectMapper = SerializationService.getInstance();
+        compactSerializer = new CompactSerializationService(configurationService);
     }
 
     public ClientSession generateClientSession(
@@ -59,9 +56,9 @@ public class ClientSessionService {
 
     public void storeClientSession(String clientSessionId, ClientSession clientSession) {
         try {
-            redisConnectionService.saveWithExpiry(
+            redisConnectionService.saveBinaryWithExpiry(
                     CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                    objectMapper.writeValueAsString(clientSession),
+                    compactSerializer.writeValueAsBytes(clientSession),
                     configurationService.getSessionExpiry());
         } catch (JsonException e) {
             LOG.error("Error saving client session to Redis");
@@ -79,12 +76,12 @@ public class ClientSessionService {
         attachLogFieldToLogs(GOVUK_SIGNIN_JOURNEY_ID, clientSessionId);
 
         try {
-            if (redisConnectionService.keyExists(CLIENT_SESSION_PREFIX.concat(clientSessionId))) {
+            var clientSession =
+                    redisConnectionService.getBinaryValue(
+                            CLIENT_SESSION_PREFIX.concat(clientSessionId));
+            if (clientSession != null) {
                 return Optional.of(
-                        objectMapper.readValue(
-                                redisConnectionService.getValue(
-                                        CLIENT_SESSION_PREFIX.concat(clientSessionId)),
-                                ClientSession.class));
+                        compactSerializer.readValue(clientSession, ClientSession.class));
             } else {
                 LOG.warn("Client session with given key is not present in redis");
                 return Optional.empty();
@@ -95,14 +92,59 @@ public class ClientSessionService {
         }
     }
 
+    public CompletableFuture<Optional<ClientSession>> getClientSessionAsync(
+            String clientSessionId) {
+        attachLogFieldToLogs(CLIENT_SESSION_ID, clientSessionId);
+        attachLogFieldToLogs(GOVUK_SIGNIN_JOURNEY_ID, clientSessionId);
+
+        return redisConnectionService
+                .getBinaryValueAsync(CLIENT_SESSION_PREFIX.concat(clientSessionId))
+                .thenApply(
+                        value -> {
+                            if (value == null) {
+                                LOG.warn("Client session with given key is not present in redis");
+                                return Optional.empty();
+                            }
+                            try {
+                                return Optional.of(
+                                        compactSerializer.readValue(value, ClientSession.class));
+                            } catch (JsonException e) {
+                                LOG.error("Unable to deserialize client session from redis");
+                                throw new RuntimeException(e);
+                            }
+                        });
+    }
+
+    public List<ClientSession> getClientSessions(List<String> clientSessionIds) {
+        var clientSessions = new ArrayList<ClientSession>();
+        var values =
+                redisConnectionService.getBinaryValues(
+                        clientSessionIds.stream()
+                                .map(CLIENT_SESSION_PREFIX::concat)
+                                .collect(Collectors.toList()));
+        for (byte[] value : values) {
+            if (value == null) {
+                LOG.warn("Client session with given key is not present in redis");
+                continue;
+            }
+            try {
+                clientSessions.add(compactSerializer.readValue(value, ClientSession.class));
+            } catch (JsonException e) {
+                LOG.error("Unable to deserialize client session from redis");
+                throw new RuntimeException(e);
+            }
+        }
+        return clientSessions;
+    }
+
     public void saveClientSession(String clientSessionId, ClientSession clientSession) {
         attachLogFieldToLogs(CLIENT_SESSION_ID, clientSessionId);
         attachLogFieldToLogs(GOVUK_SIGNIN_JOURNEY_ID, clientSessionId);
 
         try {
-            redisConnectionService.saveWithExpiry(
+            redisConnectionService.saveBinaryWithExpiry(
                     CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                    objectMapper.writeValueAsString(clientSession),
+                    compactSerializer.writeValueAsBytes(clientSession),
                     configurationService.getSessionExpiry());
         } catch (JsonException e) {
             LOG.error("Error saving client session to Redis");
@@ -114,6 +156,13 @@ public class ClientSessionService {
         redisConnectionService.deleteValue(clientSessionId);
     }
 
+    public void deleteClientSessionsFromRedis(List<String> clientSessionIds) {
+        redisConnectionService.deleteValues(
+                clientSessionIds.stream()
+                        .map(CLIENT_SESSION_PREFIX::concat)
+                        .collect(Collectors.toList()));
+    }
+
     public Optional<ClientSession> getClientSessionFromRequestHeaders(Map<String, String> headers) {
         if (!headersContainValidHeader(
                 headers,
@@ -5,18 +5,37 @@ import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
 import software.amazon.cloudwatchlogs.emf.model.Unit;
 import uk.gov.di.authentication.shared.entity.Session;
 
+import java.time.Clock;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.ACCOUNT;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.CLIENT;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.CLIENT_NAME;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.DYNAMO_INDEX;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.DYNAMO_OPERATION;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.DYNAMO_TABLE;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.ENVIRONMENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.HANDLER;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.IS_TEST;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.MFA_REQUIRED;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.REDIS_KEY_PREFIX;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.REDIS_OPERATION;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.REQUESTED_LEVEL_OF_CONFIDENCE;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.AUTHENTICATION_SUCCESS;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.AUTHENTICATION_SUCCESS_EXISTING_ACCOUNT_BY_CLIENT;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.AUTHENTICATION_SUCCESS_NEW_ACCOUNT_BY_CLIENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_CONSUMED_CAPACITY;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_CONSUMED_READ_CAPACITY;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_CONSUMED_WRITE_CAPACITY;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_ITEM_SIZE;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_OPERATION_FAILURE;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_OPERATION_LATENCY;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.REDIS_ACTIVE_CONNECTIONS;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.REDIS_COMMAND_LATENCY;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.REDIS_COMMAND_TIMEOUT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.REDIS_CONNECTION_WAIT_TIME;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.REDIS_IDLE_CONNECTIONS;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.SIGN_IN_EXISTING_ACCOUNT_BY_CLIENT;
 import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.SIGN_IN_NEW_ACCOUNT_BY_CLIENT;
 import static uk.gov.di.authentication.shared.entity.Session.AccountState.EXISTING;
@@ -25,14 +44,28 @@ import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segm
 
 public class CloudwatchMetricsService {
 
+    private static final long AGGREGATED_METRICS_FLUSH_INTERVAL_MILLIS = 1000;
+    private static final MetricsAggregator SHARED_AGGREGATED_METRICS =
+            new MetricsAggregator(
+                    Clock.systemUTC(),
+                    AGGREGATED_METRICS_FLUSH_INTERVAL_MILLIS,
+                    MetricsLogger::new);
+
     private final ConfigurationService configurationService;
+    private final MetricsAggregator aggregatedMetrics;
 
     public CloudwatchMetricsService() {
-        configurationService = ConfigurationService.getInstance();
+        this(ConfigurationService.getInstance());
     }
 
     public CloudwatchMetricsService(ConfigurationService configurationService) {
+        this(configurationService, SHARED_AGGREGATED_METRICS);
+    }
+
+    CloudwatchMetricsService(
+            ConfigurationService configurationService, MetricsAggregator aggregatedMetrics) {
         this.configurationService = configurationService;
+        this.aggregatedMetrics = aggregatedMetrics;
     }
 
     public void putEmbeddedValue(String name, double value, Map<String, String> dimensions) {
@@ -51,6 +84,112 @@ public class CloudwatchMetricsService {
                 });
     }
 
+    /**
+     * Records the metrics for one Redis command without writing them. This is called from Lettuce
+     * threads completing async commands, so the values are only written from the request thread.
+     */
+    public void putRedisCommandMetrics(
+            String operation,
+            String keyPrefix,
+            double connectionWaitMillis,
+            double commandMillis,
+            boolean timedOut,
+            int activeConnections,
+            int idleConnections) {
+        var dimensions = new LinkedHashMap<String, String>();
+        dimensions.put(ENVIRONMENT.getValue(), configurationService.getEnvironment());
+        dimensions.put(REDIS_OPERATION.getValue(), operation);
+        dimensions.put(REDIS_KEY_PREFIX.getValue(), keyPrefix);
+        aggregatedMetrics.put(
+                dimensions,
+                REDIS_CONNECTION_WAIT_TIME.getValue(),
+                connectionWaitMillis,
+                Unit.MILLISECONDS);
+        aggregatedMetrics.put(
+                dimensions, REDIS_COMMAND_LATENCY.getValue(), commandMillis, Unit.MILLISECONDS);
+        aggregatedMetrics.put(
+                dimensions, REDIS_COMMAND_TIMEOUT.getValue(), timedOut ? 1 : 0, Unit.COUNT);
+        aggregatedMetrics.put(
+                dimensions, REDIS_ACTIVE_CONNECTIONS.getValue(), activeConnections, Unit.COUNT);
+        aggregatedMetrics.put(
+                dimensions, REDIS_IDLE_CONNECTIONS.getValue(), idleConnections, Unit.COUNT);
+    }
+
+    /**
+     * Writes the recorded Redis and Dynamo metrics if a second has passed since the first of them
+     * was recorded, so that a long invocation does not hold them all until it ends.
+     */
+    public void flushAggregatedMetricsIfDue() {
+        aggregatedMetrics.flushIfDue();
+    }
+
+    public void flushAggregatedMetrics() {
+        aggregatedMetrics.flush();
+    }
+
+    /**
+     * Writes the Redis and Dynamo metrics recorded by every instance in this JVM, one log line per
+     * dimension set. Handlers call this once at the end of each invocation, through {@link
+     * uk.gov.di.authentication.shared.helpers.InstrumentationHelper#segmentedHandlerCall}, so the
+     * values are written with the invocation that produced them and before the container can be
+     * frozen.
+     */
+    public static void flushSharedAggregatedMetrics() {
+        SHARED_AGGREGATED_METRICS.flush();
+    }
+
+    /**
+     * Records the capacity consumed by one Dynamo request without writing it. This is called for
+     * every Dynamo request, including from SDK threads completing async calls, so the values are
+     * only written from the request thread.
+     */
+    public void putDynamoCapacityMetrics(
+            String handler,
+            String operation,
+            String table,
+            String index,
+            double capacityUnits,
+            double readCapacityUnits,
+            double writeCapacityUnits) {
+        var dimensions = new LinkedHashMap<String, String>();
+        dimensions.put(ENVIRONMENT.getValue(), configurationService.getEnvironment());
+        dimensions.put(HANDLER.getValue(), handler);
+        dimensions.put(DYNAMO_OPERATION.getValue(), operation);
+        dimensions.put(DYNAMO_TABLE.getValue(), table);
+        dimensions.put(DYNAMO_INDEX.getValue(), index);
+        aggregatedMetrics.put(
+                dimensions, DYNAMO_CONSUMED_CAPACITY.getValue(), capacityUnits, Unit.COUNT);
+        aggregatedMetrics.put(
+                dimensions,
+                DYNAMO_CONSUMED_READ_CAPACITY.getValue(),
+                readCapacityUnits,
+                Unit.COUNT);
+        aggregatedMetrics.put(
+                dimensions,
+                DYNAMO_CONSUMED_WRITE_CAPACITY.getValue(),
+                writeCapacityUnits,
+                Unit.COUNT);
+    }
+
+    public void putDynamoOperationMetrics(
+            String handler,
+            String operation,
+            String table,
+            double latencyMillis,
+            long itemBytes,
+            boolean failed) {
+        var dimensions = new LinkedHashMap<String, String>();
+        dimensions.put(ENVIRONMENT.getValue(), configurationService.getEnvironment());
+        dimensions.put(HANDLER.getValue(), handler);
+        dimensions.put(DYNAMO_OPERATION.getValue(), operation);
+        dimensions.put(DYNAMO_TABLE.getValue(), table);
+        aggregatedMetrics.put(
+                dimensions, DYNAMO_OPERATION_LATENCY.getValue(), latencyMillis, Unit.MILLISECONDS);
+        aggregatedMetrics.put(dimensions, DYNAMO_ITEM_SIZE.getValue(), itemBytes, Unit.BYTES);
+        aggregatedMetrics.put(
+                dimensions, DYNAMO_OPERATION_FAILURE.getValue(), failed ? 1 : 0, Unit.COUNT);
+    }
+
     public void incrementCounter(String name, Map<String, String> dimensions) {
         putEmbeddedValue(name, 1, dimensions);
     }
@@ -1,13 +1,27 @@
 package uk.gov.di.authentication.shared.services;
 
+import io.lettuce.core.ScriptOutputType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.NotificationType;
 import uk.gov.di.authentication.shared.helpers.HashHelper;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static java.lang.String.format;
+import static uk.gov.di.authentication.shared.entity.NotificationType.MFA_SMS;
+import static uk.gov.di.authentication.shared.entity.NotificationType.RESET_PASSWORD_WITH_CODE;
+import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_CHANGE_HOW_GET_SECURITY_CODES;
+import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_EMAIL;
+import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_PHONE_NUMBER;
 
 public class CodeStorageService {
 
@@ -18,29 +32,83 @@ public class CodeStorageService {
     private static final Logger LOG = LogManager.getLogger(CodeStorageService.class);
 
     private final RedisConnectionService redisConnectionService;
-    private static final String EMAIL_KEY_PREFIX = "email-code:";
-    private static final String PHONE_NUMBER_KEY_PREFIX = "phone-number-code:";
-    private static final String MFA_KEY_PREFIX = "mfa-code:";
+    static final String EMAIL_KEY_PREFIX = "email-code:";
+    static final String PHONE_NUMBER_KEY_PREFIX = "phone-number-code:";
+    static final String MFA_KEY_PREFIX = "mfa-code:";
 
-    private static final String MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX =
+    static final String MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX =
             "multiple-incorrect-mfa-codes:";
     private static final String CODE_BLOCKED_VALUE = "blocked";
-    private static final String RESET_PASSWORD_KEY_PREFIX = "reset-password-code:";
-    private static final String MULTIPLE_INCORRECT_PASSWORDS_PREFIX =
+    static final String RESET_PASSWORD_KEY_PREFIX = "reset-password-code:";
+    static final String MULTIPLE_INCORRECT_PASSWORDS_PREFIX =
             "multiple-incorrect-passwords:";
 
-    private static final String VERIFY_CHANGE_HOW_GET_SECURITY_CODES_KEY_PREFIX =
+    static final String VERIFY_CHANGE_HOW_GET_SECURITY_CODES_KEY_PREFIX =
             "change-how-get-security-codes";
     private static final long MFA_ATTEMPTS_COUNTER_TIME_TO_LIVE_SECONDS = 900;
+    private static final long INCORRECT_PASSWORD_COUNTER_TIME_TO_LIVE_SECONDS = 900;
+
+    private static final List<String> BLOCKED_KEY_PREFIXES =
+            List.of(
+                    CODE_REQUEST_BLOCKED_KEY_PREFIX,
+                    CODE_BLOCKED_KEY_PREFIX,
+                    PASSWORD_RESET_BLOCKED_KEY_PREFIX);
+    private static final List<NotificationType> OTP_NOTIFICATION_TYPES =
+            List.of(
+                    VERIFY_EMAIL,
+                    VERIFY_PHONE_NUMBER,
+                    MFA_SMS,
+                    RESET_PASSWORD_WITH_CODE,
+                    VERIFY_CHANGE_HOW_GET_SECURITY_CODES);
+
+    private static final String INCREMENT_WITH_EXPIRY_SCRIPT =
+            "local count = redis.call('INCR', KEYS[1]) "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+                    + "return count";
+    private static final String BLOCK_AND_RESET_COUNTER_SCRIPT =
+            "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) "
+                    + "return redis.call('DEL', KEYS[2])";
 
     public CodeStorageService(ConfigurationService configurationService) {
-        this(new RedisConnectionService(configurationService));
+        this(RedisConnectionService.getInstance(configurationService));
     }
 
     public CodeStorageService(RedisConnectionService redisConnectionService) {
         this.redisConnectionService = redisConnectionService;
     }
 
+    public EmailSecurityState getEmailSecurityState(String email) {
+        String encodedHash = HashHelper.hashSha256String(email);
+        var keys = new ArrayList<String>();
+        BLOCKED_KEY_PREFIXES.forEach(prefix -> keys.add(prefix + encodedHash));
+        OTP_NOTIFICATION_TYPES.forEach(
+                type -> keys.add(getPrefixForNotificationType(type) + encodedHash));
+        keys.add(MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX + encodedHash);
+        keys.add(MULTIPLE_INCORRECT_PASSWORDS_PREFIX + encodedHash);
+
+        var values = redisConnectionService.getValues(keys);
+
+        var index = 0;
+        var blockedKeyPrefixes = new HashSet<String>();
+        for (String prefix : BLOCKED_KEY_PREFIXES) {
+            if (values.get(index++) != null) {
+                blockedKeyPrefixes.add(prefix);
+            }
+        }
+        var otpCodes = new EnumMap<NotificationType, String>(NotificationType.class);
+        for (NotificationType notificationType : OTP_NOTIFICATION_TYPES) {
+            var code = values.get(index++);
+            if (code != null) {
+                otpCodes.put(notificationType, code);
+            }
+        }
+        var incorrectMfaCodeAttemptsCount = parseCount(values.get(index++));
+        var incorrectPasswordCount = parseCount(values.get(index));
+
+        return new EmailSecurityState(
+                blockedKeyPrefixes, otpCodes, incorrectMfaCodeAttemptsCount, incorrectPasswordCount);
+    }
+
     public int getIncorrectMfaCodeAttemptsCount(String email) {
         Optional<String> count =
                 Optional.ofNullable(
@@ -50,20 +118,18 @@ public class CodeStorageService {
         return count.map(Integer::parseInt).orElse(0);
     }
 
-    public void increaseIncorrectMfaCodeAttemptsCount(String email) {
+    public CompletableFuture<Integer> getIncorrectMfaCodeAttemptsCountAsync(String email) {
+        return redisConnectionService
+                .getValueAsync(
+                        MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX
+                                + HashHelper.hashSha256String(email))
+                .thenApply(count -> Optional.ofNullable(count).map(Integer::parseInt).orElse(0));
+    }
+
+    public int increaseIncorrectMfaCodeAttemptsCount(String email) {
         String encodedHash = HashHelper.hashSha256String(email);
         String key = MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX + encodedHash;
-        Optional<String> count =
-                Optional.ofNullable(
-                        redisConnectionService.getValue(
-                                MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX + encodedHash));
-        int newCount = count.map(t -> Integer.parseInt(t) + 1).orElse(1);
-        try {
-            redisConnectionService.saveWithExpiry(
-                    key, String.valueOf(newCount), MFA_ATTEMPTS_COUNTER_TIME_TO_LIVE_SECONDS);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return incrementWithExpiry(key, MFA_ATTEMPTS_COUNTER_TIME_TO_LIVE_SECONDS);
     }
 
     public void deleteIncorrectMfaCodeAttemptsCount(String email) {
@@ -77,19 +143,10 @@ public class CodeStorageService {
         }
     }
 
-    public void increaseIncorrectPasswordCount(String email) {
+    public int increaseIncorrectPasswordCount(String email) {
         String encodedHash = HashHelper.hashSha256String(email);
         String key = MULTIPLE_INCORRECT_PASSWORDS_PREFIX + encodedHash;
-        Optional<String> count =
-                Optional.ofNullable(
-                        redisConnectionService.getValue(
-                                MULTIPLE_INCORRECT_PASSWORDS_PREFIX + encodedHash));
-        int newCount = count.map(t -> Integer.parseInt(t) + 1).orElse(1);
-        try {
-            redisConnectionService.saveWithExpiry(key, String.valueOf(newCount), 900L);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return incrementWithExpiry(key, INCORRECT_PASSWORD_COUNTER_TIME_TO_LIVE_SECONDS);
     }
 
     public int getIncorrectPasswordCount(String email) {
@@ -101,6 +158,13 @@ public class CodeStorageService {
         return count.map(Integer::parseInt).orElse(0);
     }
 
+    public CompletableFuture<Integer> getIncorrectPasswordCountAsync(String email) {
+        return redisConnectionService
+                .getValueAsync(
+                        MULTIPLE_INCORRECT_PASSWORDS_PREFIX + HashHelper.hashSha256String(email))
+                .thenApply(count -> Optional.ofNullable(count).map(Integer::parseInt).orElse(0));
+    }
+
     public void deleteIncorrectPasswordCount(String email) {
         String encodedHash = HashHelper.hashSha256String(email);
         String key = MULTIPLE_INCORRECT_PASSWORDS_PREFIX + encodedHash;
@@ -122,11 +186,33 @@ public class CodeStorageService {
         }
     }
 
+    public void saveBlockedForEmailAndResetIncorrectMfaCodeAttemptsCount(
+            String email, String prefix, long codeBlockedTime) {
+        String encodedHash = HashHelper.hashSha256String(email);
+        try {
+            redisConnectionService.<Long>executeScript(
+                    BLOCK_AND_RESET_COUNTER_SCRIPT,
+                    ScriptOutputType.INTEGER,
+                    List.of(
+                            prefix + encodedHash,
+                            MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX + encodedHash),
+                    List.of(CODE_BLOCKED_VALUE, String.valueOf(codeBlockedTime)));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public boolean isBlockedForEmail(String emailAddress, String prefix) {
         return redisConnectionService.getValue(prefix + HashHelper.hashSha256String(emailAddress))
                 != null;
     }
 
+    public CompletableFuture<Boolean> isBlockedForEmailAsync(String emailAddress, String prefix) {
+        return redisConnectionService
+                .getValueAsync(prefix + HashHelper.hashSha256String(emailAddress))
+                .thenApply(Objects::nonNull);
+    }
+
     public void saveOtpCode(
             String emailAddress,
             String code,
@@ -162,6 +248,14 @@ public class CodeStorageService {
                         prefix + HashHelper.hashSha256String(emailAddress)));
     }
 
+    public CompletableFuture<Optional<String>> getOtpCodeAsync(
+            String emailAddress, NotificationType notificationType) {
+        String prefix = getPrefixForNotificationType(notificationType);
+        return redisConnectionService
+                .getValueAsync(prefix + HashHelper.hashSha256String(emailAddress))
+                .thenApply(Optional::ofNullable);
+    }
+
     public void deleteOtpCode(String emailAddress, NotificationType notificationType) {
         String prefix = getPrefixForNotificationType(notificationType);
         long numberOfKeysRemoved =
@@ -183,7 +277,25 @@ public class CodeStorageService {
         }
     }
 
-    private String getPrefixForNotificationType(NotificationType notificationType) {
+    private int incrementWithExpiry(String key, long expiry) {
+        try {
+            Long count =
+                    redisConnectionService.executeScript(
+                            INCREMENT_WITH_EXPIRY_SCRIPT,
+                            ScriptOutputType.INTEGER,
+                            List.of(key),
+                            List.of(String.valueOf(expiry)));
+            return count.intValue();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static int parseCount(String count) {
+        return Optional.ofNullable(count).map(Integer::parseInt).orElse(0);
+    }
+
+    private static String getPrefixForNotificationType(NotificationType notificationType) {
         switch (notificationType) {
             case VERIFY_EMAIL:
                 return EMAIL_KEY_PREFIX;
@@ -199,4 +311,38 @@ public class CodeStorageService {
         throw new RuntimeException(
                 String.format("No redis prefix key configured for %s", notificationType));
     }
+
+    public static class EmailSecurityState {
+        private final Set<String> blockedKeyPrefixes;
+        private final Map<NotificationType, String> otpCodes;
+        private final int incorrectMfaCodeAttemptsCount;
+        private final int incorrectPasswordCount;
+
+        public EmailSecurityState(
+                Set<String> blockedKeyPrefixes,
+                Map<NotificationType, String> otpCodes,
+                int incorrectMfaCodeAttemptsCount,
+                int incorrectPasswordCount) {
+            this.blockedKeyPrefixes = blockedKeyPrefixes;
+            this.otpCodes = otpCodes;
+            this.incorrectMfaCodeAttemptsCount = incorrectMfaCodeAttemptsCount;
+            this.incorrectPasswordCount = incorrectPasswordCount;
+        }
+
+        public boolean isBlocked(String prefix) {
+            return blockedKeyPrefixes.contains(prefix);
+        }
+
+        public Optional<String> getOtpCode(NotificationType notificationType) {
+            return Optional.ofNullable(otpCodes.get(notificationType));
+        }
+
+        public int getIncorrectMfaCodeAttemptsCount() {
+            return incorrectMfaCodeAttemptsCount;
+        }
+
+        public int getIncorrectPasswordCount() {
+            return incorrectPasswordCount;
+        }
+    }
 }
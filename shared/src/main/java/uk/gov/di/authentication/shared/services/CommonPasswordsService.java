@@ -5,7 +5,6 @@ import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
 import uk.gov.di.authentication.shared.entity.CommonPassword;
@@ -27,7 +26,7 @@ public class CommonPasswordsService {
         String tableName = configurationService.getEnvironment() + "-" + COMMON_PASSWORDS_TABLE;
         dynamoDbEnhancedClient = createDynamoEnhancedClient(configurationService);
         this.dynamoCommonPasswordTable =
-                dynamoDbEnhancedClient.table(tableName, TableSchema.fromBean(CommonPassword.class));
+                dynamoDbEnhancedClient.table(tableName, CommonPassword.TABLE_SCHEMA);
         warmUp();
     }
 
@@ -0,0 +1,374 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.oauth2.sdk.id.Subject;
+import uk.gov.di.authentication.shared.entity.AccessTokenStore;
+import uk.gov.di.authentication.shared.entity.AuthCodeExchangeData;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.LevelOfConfidence;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.serialization.Json;
+import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encodes the objects we keep in Redis in a compact, versioned binary format.
+ *
+ * <p>Each value starts with a three byte header of magic byte, format version and flags, followed
+ * by a type tag and the fields of that type in a fixed order. Bodies at or above the compression
+ * threshold are deflated. Values that do not start with the magic byte are treated as the legacy
+ * JSON format, so entries written before binary encoding was enabled can still be read.
+ */
+public class CompactSerializationService {
+
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 1;
+    private static final byte FLAG_DEFLATED = 0x01;
+    private static final int HEADER_LENGTH = 3;
+
+    private static final Map<Class<?>, TypeCodec<?>> CODECS =
+            Map.of(
+                    Session.class,
+                    new TypeCodec<Session>(
+                            (byte) 1,
+                            CompactSerializationService::writeSession,
+                            CompactSerializationService::readSession),
+                    ClientSession.class,
+                    new TypeCodec<ClientSession>(
+                            (byte) 2,
+                            CompactSerializationService::writeClientSession,
+                            CompactSerializationService::readClientSession),
+                    AuthCodeExchangeData.class,
+                    new TypeCodec<AuthCodeExchangeData>(
+                            (byte) 3,
+                            CompactSerializationService::writeAuthCodeExchangeData,
+                            CompactSerializationService::readAuthCodeExchangeData),
+                    AccessTokenStore.class,
+                    new TypeCodec<AccessTokenStore>(
+                            (byte) 4,
+                            CompactSerializationService::writeAccessTokenStore,
+                            CompactSerializationService::readAccessTokenStore),
+                    RefreshTokenStore.class,
+                    new TypeCodec<RefreshTokenStore>(
+                            (byte) 5,
+                            CompactSerializationService::writeRefreshTokenStore,
+                            CompactSerializationService::readRefreshTokenStore));
+
+    private final Json legacyJson;
+    private final boolean binaryEncodingEnabled;
+    private final int compressionThreshold;
+
+    public CompactSerializationService(
+            Json legacyJson, boolean binaryEncodingEnabled, int compressionThreshold) {
+        this.legacyJson = legacyJson;
+        this.binaryEncodingEnabled = binaryEncodingEnabled;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public CompactSerializationService(ConfigurationService configurationService) {
+        this(
+                SerializationService.getInstance(),
+                configurationService.isRedisBinaryEncodingEnabled(),
+                configurationService.getRedisCompressionThreshold());
+    }
+
+    public byte[] writeValueAsBytes(Object value) throws JsonException {
+        var codec = CODECS.get(value.getClass());
+        if (!binaryEncodingEnabled || codec == null) {
+            return legacyJson.writeValueAsString(value).getBytes(UTF_8);
+        }
+        try {
+            var body = new ByteArrayOutputStream();
+            var out = new DataOutputStream(body);
+            out.writeByte(codec.tag);
+            codec.writeUnchecked(out, value);
+            out.flush();
+
+            var encoded = new ByteArrayOutputStream(HEADER_LENGTH + body.size());
+            boolean deflate = compressionThreshold > 0 && body.size() >= compressionThreshold;
+            encoded.write(MAGIC);
+            encoded.write(VERSION);
+            encoded.write(deflate ? FLAG_DEFLATED : 0);
+            if (deflate) {
+                var deflater = new Deflater(Deflater.BEST_SPEED);
+                try (var deflated = new DeflaterOutputStream(encoded, deflater)) {
+                    body.writeTo(deflated);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                body.writeTo(encoded);
+            }
+            return encoded.toByteArray();
+        } catch (IOException e) {
+            throw new JsonException(e);
+        }
+    }
+
+    public <T> T readValue(byte[] bytes, Class<T> klass) throws JsonException {
+        if (bytes.length == 0 || bytes[0] != MAGIC) {
+            return legacyJson.readValue(new String(bytes, UTF_8), klass);
+        }
+        if (bytes.length < HEADER_LENGTH + 1) {
+            throw new JsonException("Encoded value is truncated");
+        }
+        if (bytes[1] != VERSION) {
+            throw new JsonException("Unsupported encoding version " + bytes[1]);
+        }
+        var codec = CODECS.get(klass);
+        if (codec == null) {
+            throw new JsonException("No binary encoding registered for " + klass.getName());
+        }
+        InputStream body =
+                new ByteArrayInputStream(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        if ((bytes[2] & FLAG_DEFLATED) != 0) {
+            body = new InflaterInputStream(body);
+        }
+        try (var in = new DataInputStream(body)) {
+            var tag = in.readByte();
+            if (tag != codec.tag) {
+                throw new JsonException(
+                        "Encoded value is not a " + klass.getSimpleName() + " (tag " + tag + ")");
+            }
+            return klass.cast(codec.reader.read(in));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new JsonException(e);
+        }
+    }
+
+    private static void writeSession(DataOutputStream out, Session session) throws IOException {
+        writeString(out, session.getSessionId());
+        writeStringList(out, session.getClientSessions());
+        writeString(out, session.getEmailAddress());
+        out.writeInt(session.getRetryCount());
+        out.writeInt(session.getPasswordResetCount());
+        out.writeInt(session.getCodeRequestCount());
+        writeEnum(out, session.getCurrentCredentialStrength());
+        writeEnum(out, session.isNewAccount());
+        out.writeBoolean(session.isAuthenticated());
+        out.writeInt(session.getProcessingIdentityAttempts());
+        writeEnum(out, session.getVerifiedMfaMethodType());
+        writeString(out, session.getInternalCommonSubjectIdentifier());
+    }
+
+    private static Session readSession(DataInputStream in) throws IOException {
+        var sessionId = readString(in);
+        var clientSessions = readStringList(in);
+        var emailAddress = readString(in);
+        return new Session(sessionId, clientSessions, emailAddress)
+                .setRetryCount(in.readInt())
+                .setPasswordResetCount(in.readInt())
+                .setCodeRequestCount(in.readInt())
+                .setCurrentCredentialStrength(readEnum(in, CredentialTrustLevel.class))
+                .setNewAccount(readEnum(in, Session.AccountState.class))
+                .setAuthenticated(in.readBoolean())
+                .setProcessingIdentityAttempts(in.readInt())
+                .setVerifiedMfaMethodType(readEnum(in, MFAMethodType.class))
+                .setInternalCommonSubjectIdentifier(readString(in));
+    }
+
+    private static void writeClientSession(DataOutputStream out, ClientSession clientSession)
+            throws IOException {
+        var authRequestParams = clientSession.getAuthRequestParams();
+        out.writeBoolean(authRequestParams != null);
+        if (authRequestParams != null) {
+            out.writeInt(authRequestParams.size());
+            for (var entry : authRequestParams.entrySet()) {
+                writeString(out, entry.getKey());
+                writeStringList(out, entry.getValue());
+            }
+        }
+        writeString(out, clientSession.getIdTokenHint());
+        writeDateTime(out, clientSession.getCreationDate());
+        var vectorOfTrust = clientSession.getEffectiveVectorOfTrust();
+        out.writeBoolean(vectorOfTrust != null);
+        if (vectorOfTrust != null) {
+            writeEnum(out, vectorOfTrust.getCredentialTrustLevel());
+            writeEnum(out, vectorOfTrust.getLevelOfConfidence());
+        }
+        var docAppSubjectId = clientSession.getDocAppSubjectId();
+        writeString(out, docAppSubjectId == null ? null : docAppSubjectId.getValue());
+        writeString(out, clientSession.getClientName());
+    }
+
+    private static ClientSession readClientSession(DataInputStream in) throws IOException {
+        Map<String, List<String>> authRequestParams = null;
+        if (in.readBoolean()) {
+            int size = in.readInt();
+            authRequestParams = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                authRequestParams.put(readString(in), readStringList(in));
+            }
+        }
+        var idTokenHint = readString(in);
+        var creationDate = readDateTime(in);
+        VectorOfTrust vectorOfTrust = null;
+        if (in.readBoolean()) {
+            vectorOfTrust =
+                    VectorOfTrust.of(
+                            readEnum(in, CredentialTrustLevel.class),
+                            readEnum(in, LevelOfConfidence.class));
+        }
+        var docAppSubjectId = readString(in);
+        var clientName = readString(in);
+        return new ClientSession(authRequestParams, creationDate, vectorOfTrust, clientName)
+                .setIdTokenHint(idTokenHint)
+                .setDocAppSubjectId(docAppSubjectId == null ? null : new Subject(docAppSubjectId));
+    }
+
+    private static void writeAuthCodeExchangeData(
+            DataOutputStream out, AuthCodeExchangeData exchangeData) throws IOException {
+        writeString(out, exchangeData.getClientSessionId());
+        writeString(out, exchangeData.getEmail());
+        out.writeBoolean(exchangeData.getClientSession() != null);
+        if (exchangeData.getClientSession() != null) {
+            writeClientSession(out, exchangeData.getClientSession());
+        }
+    }
+
+    private static AuthCodeExchangeData readAuthCodeExchangeData(DataInputStream in)
+            throws IOException {
+        return new AuthCodeExchangeData()
+                .setClientSessionId(readString(in))
+                .setEmail(readString(in))
+                .setClientSession(in.readBoolean() ? readClientSession(in) : null);
+    }
+
+    private static void writeAccessTokenStore(DataOutputStream out, AccessTokenStore store)
+            throws IOException {
+        writeString(out, store.getToken());
+        writeString(out, store.getInternalSubjectId());
+    }
+
+    private static AccessTokenStore readAccessTokenStore(DataInputStream in) throws IOException {
+        return new AccessTokenStore(readString(in), readString(in));
+    }
+
+    private static void writeRefreshTokenStore(DataOutputStream out, RefreshTokenStore store)
+            throws IOException {
+        writeString(out, store.getRefreshToken());
+        writeString(out, store.getInternalSubjectId());
+    }
+
+    private static RefreshTokenStore readRefreshTokenStore(DataInputStream in)
+            throws IOException {
+        return new RefreshTokenStore(readString(in), readString(in));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeStringList(DataOutputStream out, List<String> values)
+            throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStringList(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        var values = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type)
+            throws IOException {
+        var name = readString(in);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value)
+            throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(DataOutputStream out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private static class TypeCodec<T> {
+        private final byte tag;
+        private final Writer<T> writer;
+        private final Reader<T> reader;
+
+        private TypeCodec(byte tag, Writer<T> writer, Reader<T> reader) {
+            this.tag = tag;
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeUnchecked(DataOutputStream out, Object value) throws IOException {
+            writer.write(out, (T) value);
+        }
+    }
+}
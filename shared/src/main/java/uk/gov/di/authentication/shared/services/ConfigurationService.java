@@ -2,9 +2,6 @@ package uk.gov.di.authentication.shared.services;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
@@ -76,10 +73,46 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return Long.parseLong(System.getenv().getOrDefault("AUTH_CODE_EXPIRY", "300"));
     }
 
+    public long getAwsHttpConnectionTimeout() {
+        return Long.parseLong(
+                System.getenv().getOrDefault("AWS_HTTP_CONNECTION_TIMEOUT_MS", "2000"));
+    }
+
+    public int getAwsHttpMaxConnections() {
+        return Integer.parseInt(System.getenv().getOrDefault("AWS_HTTP_MAX_CONNECTIONS", "50"));
+    }
+
+    public long getAwsHttpSocketTimeout() {
+        return Long.parseLong(System.getenv().getOrDefault("AWS_HTTP_SOCKET_TIMEOUT_MS", "5000"));
+    }
+
+    public int getAwsSdkMaxRetries() {
+        return Integer.parseInt(System.getenv().getOrDefault("AWS_SDK_MAX_RETRIES", "3"));
+    }
+
     public long getBlockedEmailDuration() {
         return Long.parseLong(System.getenv().getOrDefault("BLOCKED_EMAIL_DURATION", "900"));
     }
 
+    public int getClientRegistryCacheMaxEntries() {
+        return Integer.parseInt(
+                System.getenv().getOrDefault("CLIENT_REGISTRY_CACHE_MAX_ENTRIES", "500"));
+    }
+
+    public long getClientRegistryCacheNegativeTtl() {
+        return Long.parseLong(
+                System.getenv().getOrDefault("CLIENT_REGISTRY_CACHE_NEGATIVE_TTL", "10"));
+    }
+
+    public long getClientRegistryCacheTtl() {
+        return Long.parseLong(System.getenv().getOrDefault("CLIENT_REGISTRY_CACHE_TTL", "300"));
+    }
+
+    public long getClientRegistryVersionCheckInterval() {
+        return Long.parseLong(
+                System.getenv().getOrDefault("CLIENT_REGISTRY_VERSION_CHECK_INTERVAL", "5"));
+    }
+
     public long getDefaultOtpCodeExpiry() {
         return Long.parseLong(System.getenv().getOrDefault("DEFAULT_OTP_CODE_EXPIRY", "900"));
     }
@@ -180,6 +213,31 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return Optional.ofNullable(System.getenv("DYNAMO_ENDPOINT"));
     }
 
+    public int getDynamoHedgeBudgetPercent() {
+        return Integer.parseInt(System.getenv().getOrDefault("DYNAMO_HEDGE_BUDGET_PERCENT", "10"));
+    }
+
+    public int getDynamoHedgeDelayPercentile() {
+        return Integer.parseInt(
+                System.getenv().getOrDefault("DYNAMO_HEDGE_DELAY_PERCENTILE", "95"));
+    }
+
+    public long getDynamoHedgeMinDelay() {
+        return Long.parseLong(System.getenv().getOrDefault("DYNAMO_HEDGE_MIN_DELAY_MS", "20"));
+    }
+
+    public long getDynamoReadDeadline() {
+        return Long.parseLong(System.getenv().getOrDefault("DYNAMO_READ_DEADLINE_MS", "0"));
+    }
+
+    public boolean isDynamoHedgedReadsEnabled() {
+        return System.getenv().getOrDefault("DYNAMO_HEDGED_READS_ENABLED", "false").equals("true");
+    }
+
+    public boolean isDynamoMetricsEnabled() {
+        return System.getenv().getOrDefault("DYNAMO_METRICS_ENABLED", "false").equals("true");
+    }
+
     public String getEmailQueueUri() {
         return System.getenv("EMAIL_QUEUE_URL");
     }
@@ -287,6 +345,14 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return System.getenv("INTERNAl_SECTOR_URI");
     }
 
+    public long getJwksCacheTtl() {
+        return Long.parseLong(System.getenv().getOrDefault("JWKS_CACHE_TTL", "300"));
+    }
+
+    public String getLambdaFunctionName() {
+        return System.getenv().getOrDefault("AWS_LAMBDA_FUNCTION_NAME", "unknown");
+    }
+
     public URI getLoginURI() {
         return URI.create(System.getenv("LOGIN_URI"));
     }
@@ -356,11 +422,39 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return passwordPepper;
     }
 
+    public boolean isRedisBinaryEncodingEnabled() {
+        return System.getenv()
+                .getOrDefault("REDIS_BINARY_ENCODING_ENABLED", "false")
+                .equals("true");
+    }
+
+    public int getRedisCompressionThreshold() {
+        return Integer.parseInt(
+                System.getenv().getOrDefault("REDIS_COMPRESSION_THRESHOLD_BYTES", "1024"));
+    }
+
+    public long getRedisConnectionBorrowTimeout() {
+        return Long.parseLong(
+                System.getenv().getOrDefault("REDIS_CONNECTION_BORROW_TIMEOUT_MS", "1000"));
+    }
+
     public String getRedisHost() {
         return getSsmRedisParameters()
                 .get(format("{0}-{1}-redis-master-host", getEnvironment(), getRedisKey()));
     }
 
+    public int getRedisMaxConnections() {
+        return Integer.parseInt(System.getenv().getOrDefault("REDIS_MAX_CONNECTIONS", "8"));
+    }
+
+    public boolean isRedisMetricsEnabled() {
+        return System.getenv().getOrDefault("REDIS_METRICS_ENABLED", "false").equals("true");
+    }
+
+    public int getRedisMinIdleConnections() {
+        return Integer.parseInt(System.getenv().getOrDefault("REDIS_MIN_IDLE_CONNECTIONS", "1"));
+    }
+
     public Optional<String> getRedisPassword() {
         return Optional.ofNullable(
                 getSsmRedisParameters()
@@ -373,6 +467,12 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
                         .get(format("{0}-{1}-redis-port", getEnvironment(), getRedisKey())));
     }
 
+    public boolean isRedisSessionHashStorageEnabled() {
+        return System.getenv()
+                .getOrDefault("REDIS_SESSION_HASH_STORAGE_ENABLED", "false")
+                .equals("true");
+    }
+
     public boolean getUseRedisTLS() {
         return Boolean.parseBoolean(
                 getSsmRedisParameters()
@@ -406,6 +506,11 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return Long.parseLong(System.getenv().getOrDefault("SESSION_EXPIRY", "7200"));
     }
 
+    public long getSigningKeyMetadataCacheTtl() {
+        return Long.parseLong(
+                System.getenv().getOrDefault("SIGNING_KEY_METADATA_CACHE_TTL", "300"));
+    }
+
     public String getSmoketestBucketName() {
         return System.getenv("SMOKETEST_SMS_BUCKET_NAME");
     }
@@ -446,6 +551,32 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return System.getenv("TOKEN_SIGNING_KEY_RSA_ALIAS");
     }
 
+    public String getTokenSigner() {
+        return System.getenv().getOrDefault("TOKEN_SIGNER", JwsSigner.KMS);
+    }
+
+    public String getTokenSigningKeyStorePath() {
+        return System.getenv("TOKEN_SIGNING_KEYSTORE_PATH");
+    }
+
+    public String getTokenSigningKeyStorePassword() {
+        return System.getenv().getOrDefault("TOKEN_SIGNING_KEYSTORE_PASSWORD", "");
+    }
+
+    public int getTokenSigningThreads() {
+        return Integer.parseInt(System.getenv().getOrDefault("TOKEN_SIGNING_THREADS", "2"));
+    }
+
+    public int getVerifiedAccessTokenCacheMaxEntries() {
+        return Integer.parseInt(
+                System.getenv().getOrDefault("VERIFIED_ACCESS_TOKEN_CACHE_MAX_ENTRIES", "1000"));
+    }
+
+    public long getVerifiedAccessTokenCacheTtl() {
+        return Long.parseLong(
+                System.getenv().getOrDefault("VERIFIED_ACCESS_TOKEN_CACHE_TTL", "60"));
+    }
+
     public boolean isRsaSigningAvailable() {
         return List.of("build", "staging", "integration", "production").contains(getEnvironment());
     }
@@ -496,26 +627,7 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
 
     private SsmClient getSsmClient() {
         if (ssmClient == null) {
-            ssmClient =
-                    getLocalstackEndpointUri()
-                            .map(
-                                    l -> {
-                                        LOG.info("Localstack endpoint URI is present: " + l);
-                                        return SsmClient.builder()
-                                                .region(Region.of(getAwsRegion()))
-                                                .endpointOverride(URI.create(l))
-                                                .credentialsProvider(
-                                                        StaticCredentialsProvider.create(
-                                                                AwsBasicCredentials.create(
-                                                                        "FAKEACCESSKEY",
-                                                                        "FAKESECRETKEY")))
-                                                .build();
-                                    })
-                            .orElseGet(
-                                    () ->
-                                            SsmClient.builder()
-                                                    .region(Region.of(getAwsRegion()))
-                                                    .build());
+            ssmClient = AwsClientFactory.getInstance(this).getSsmClient();
         }
         return ssmClient;
     }
@@ -1,48 +1,136 @@
 package uk.gov.di.authentication.shared.services;
 
 import com.nimbusds.oauth2.sdk.id.ClientID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import uk.gov.di.authentication.shared.dynamodb.DynamoReadHedger;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.UpdateClientConfigRequest;
 import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoClient;
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoEnhancedAsyncClient;
 import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoEnhancedClient;
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.withSdkExceptions;
 import static uk.gov.di.authentication.shared.helpers.TestClientHelper.emailMatchesAllowlist;
 
 public class DynamoClientService implements ClientService {
 
+    private static final Logger LOG = LogManager.getLogger(DynamoClientService.class);
     private static final String CLIENT_REGISTRY_TABLE = "client-registry";
+    private static final String CLIENT_REGISTRY_VERSION_TABLE = "client-registry-version";
+    private static final String VERSION_NAME_FIELD = "Name";
+    private static final String VERSION_NAME = "client-registry";
+    private static final String VERSION_FIELD = "Version";
+    private static ClientRegistryCache sharedCache;
+
+    private final String tableName;
+    private final String versionTableName;
     private final DynamoDbTable<ClientRegistry> dynamoClientRegistryTable;
+    private final DynamoDbClient dynamoDbClient;
+    private final Supplier<DynamoDbEnhancedAsyncClient> dynamoDbEnhancedAsyncClient;
+    private final ClientRegistryCache clientRegistryCache;
+    private final DynamoReadHedger clientReads;
 
     public DynamoClientService(ConfigurationService configurationService) {
-        String tableName = configurationService.getEnvironment() + "-" + CLIENT_REGISTRY_TABLE;
+        this.tableName = configurationService.getEnvironment() + "-" + CLIENT_REGISTRY_TABLE;
+        this.versionTableName =
+                configurationService.getEnvironment() + "-" + CLIENT_REGISTRY_VERSION_TABLE;
         var dynamoDBEnhanced = createDynamoEnhancedClient(configurationService);
         this.dynamoClientRegistryTable =
-                dynamoDBEnhanced.table(tableName, TableSchema.fromBean(ClientRegistry.class));
+                dynamoDBEnhanced.table(tableName, ClientRegistry.TABLE_SCHEMA);
+        this.dynamoDbClient = createDynamoClient(configurationService);
+        this.dynamoDbEnhancedAsyncClient =
+                () -> createDynamoEnhancedAsyncClient(configurationService);
+        this.clientRegistryCache = getSharedCache(configurationService, this);
+        this.clientReads = clientReads(configurationService);
         warmUp();
     }
 
     public DynamoClientService(
             ConfigurationService configurationService,
             DynamoDbEnhancedClient dynamoDbEnhancedClient) {
-        String tableName = configurationService.getEnvironment() + "-" + CLIENT_REGISTRY_TABLE;
+        this(configurationService, dynamoDbEnhancedClient, null, null);
+    }
+
+    public DynamoClientService(
+            ConfigurationService configurationService,
+            DynamoDbEnhancedClient dynamoDbEnhancedClient,
+            DynamoDbClient dynamoDbClient,
+            ClientRegistryCache clientRegistryCache) {
+        this(
+                configurationService,
+                dynamoDbEnhancedClient,
+                dynamoDbClient,
+                clientRegistryCache,
+                () -> createDynamoEnhancedAsyncClient(configurationService));
+    }
+
+    public DynamoClientService(
+            ConfigurationService configurationService,
+            DynamoDbEnhancedClient dynamoDbEnhancedClient,
+            DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient,
+            DynamoDbClient dynamoDbClient,
+            ClientRegistryCache clientRegistryCache) {
+        this(
+                configurationService,
+                dynamoDbEnhancedClient,
+                dynamoDbClient,
+                clientRegistryCache,
+                () -> dynamoDbEnhancedAsyncClient);
+    }
+
+    private DynamoClientService(
+            ConfigurationService configurationService,
+            DynamoDbEnhancedClient dynamoDbEnhancedClient,
+            DynamoDbClient dynamoDbClient,
+            ClientRegistryCache clientRegistryCache,
+            Supplier<DynamoDbEnhancedAsyncClient> dynamoDbEnhancedAsyncClient) {
+        this.tableName = configurationService.getEnvironment() + "-" + CLIENT_REGISTRY_TABLE;
+        this.versionTableName =
+                configurationService.getEnvironment() + "-" + CLIENT_REGISTRY_VERSION_TABLE;
         this.dynamoClientRegistryTable =
-                dynamoDbEnhancedClient.table(tableName, TableSchema.fromBean(ClientRegistry.class));
+                dynamoDbEnhancedClient.table(tableName, ClientRegistry.TABLE_SCHEMA);
+        this.dynamoDbClient = dynamoDbClient;
+        this.dynamoDbEnhancedAsyncClient = dynamoDbEnhancedAsyncClient;
+        this.clientRegistryCache = clientRegistryCache;
+        this.clientReads = clientReads(configurationService);
+    }
+
+    private static DynamoReadHedger clientReads(ConfigurationService configurationService) {
+        var metricsService = new CloudwatchMetricsService(configurationService);
+        return new DynamoReadHedger(configurationService, metricsService, "GetClient");
+    }
+
+    private static synchronized ClientRegistryCache getSharedCache(
+            ConfigurationService configurationService, DynamoClientService clientService) {
+        if (sharedCache == null) {
+            sharedCache = new ClientRegistryCache(configurationService, clientService::getVersion);
+        }
+        return sharedCache;
     }
 
     @Override
     public boolean isValidClient(String clientId) {
-        return dynamoClientRegistryTable.getItem(Key.builder().partitionValue(clientId).build())
-                != null;
+        return getClient(clientId).isPresent();
     }
 
     @Override
@@ -86,6 +174,7 @@ public class DynamoClientService implements ClientService {
             clientRegistry.withClientSecret(Argon2EncoderHelper.argon2Hash(clientSecret));
         }
         dynamoClientRegistryTable.putItem(clientRegistry);
+        clientRegistryChanged(clientID);
     }
 
     @Override
@@ -107,13 +196,24 @@ public class DynamoClientService implements ClientService {
                 .ifPresent(clientRegistry::withSectorIdentifierUri);
         Optional.ofNullable(updateRequest.getClaims()).ifPresent(clientRegistry::withClaims);
         dynamoClientRegistryTable.putItem(clientRegistry);
+        clientRegistryChanged(clientId);
         return clientRegistry;
     }
 
     @Override
     public Optional<ClientRegistry> getClient(String clientId) {
-        return Optional.ofNullable(
-                dynamoClientRegistryTable.getItem(Key.builder().partitionValue(clientId).build()));
+        if (Objects.isNull(clientRegistryCache)) {
+            return loadClient(clientId);
+        }
+        return clientRegistryCache.get(clientId, this::loadClient);
+    }
+
+    @Override
+    public CompletableFuture<Optional<ClientRegistry>> getClientAsync(String clientId) {
+        if (Objects.isNull(clientRegistryCache)) {
+            return withSdkExceptions(loadClientAsync(clientId));
+        }
+        return withSdkExceptions(clientRegistryCache.getAsync(clientId, this::loadClientAsync));
     }
 
     @Override
@@ -131,6 +231,62 @@ public class DynamoClientService implements ClientService {
                 .orElse(false);
     }
 
+    private Optional<ClientRegistry> loadClient(String clientId) {
+        var key = Key.builder().partitionValue(clientId).build();
+        return Optional.ofNullable(
+                clientReads.read(
+                        () -> dynamoClientRegistryTable.getItem(key),
+                        () -> asyncClientRegistryTable().getItem(key)));
+    }
+
+    private CompletableFuture<Optional<ClientRegistry>> loadClientAsync(String clientId) {
+        return asyncClientRegistryTable()
+                .getItem(Key.builder().partitionValue(clientId).build())
+                .thenApply(Optional::ofNullable);
+    }
+
+    private DynamoDbAsyncTable<ClientRegistry> asyncClientRegistryTable() {
+        return dynamoDbEnhancedAsyncClient.get().table(tableName, ClientRegistry.TABLE_SCHEMA);
+    }
+
+    private String getVersion() {
+        var response =
+                dynamoDbClient.getItem(
+                        GetItemRequest.builder()
+                                .tableName(versionTableName)
+                                .key(Map.of(VERSION_NAME_FIELD, AttributeValue.fromS(VERSION_NAME)))
+                                .projectionExpression(VERSION_FIELD)
+                                .consistentRead(true)
+                                .build());
+        return Optional.ofNullable(response.item())
+                .map(item -> item.get(VERSION_FIELD))
+                .map(AttributeValue::s)
+                .orElse("");
+    }
+
+    private void clientRegistryChanged(String clientId) {
+        if (Objects.isNull(clientRegistryCache)) {
+            return;
+        }
+        clientRegistryCache.invalidate(clientId);
+        try {
+            dynamoDbClient.putItem(
+                    PutItemRequest.builder()
+                            .tableName(versionTableName)
+                            .item(
+                                    Map.of(
+                                            VERSION_NAME_FIELD,
+                                            AttributeValue.fromS(VERSION_NAME),
+                                            VERSION_FIELD,
+                                            AttributeValue.fromS(IdGenerator.generate())))
+                            .build());
+        } catch (RuntimeException e) {
+            LOG.error("Unable to update client registry version", e);
+            clientRegistryCache.invalidateAll();
+            throw e;
+        }
+    }
+
     private void warmUp() {
         dynamoClientRegistryTable.describeTable();
     }
@@ -1,8 +1,11 @@
 package uk.gov.di.authentication.shared.services;
 
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import uk.gov.di.authentication.shared.dynamodb.DynamoUpdate;
 import uk.gov.di.authentication.shared.entity.IdentityCredentials;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 
@@ -10,48 +13,65 @@ import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoClient;
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoEnhancedAsyncClient;
 import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoEnhancedClient;
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.withSdkExceptions;
 
 public class DynamoIdentityService {
 
     private static final String IDENTITY_CREDENTIALS_TABLE = "identity-credentials";
     private final long timeToExist;
+    private final String tableName;
     private final DynamoDbTable<IdentityCredentials> dynamoIdentityCredentialsTable;
+    private final DynamoDbClient dynamoDbClient;
+    private final Supplier<DynamoDbEnhancedAsyncClient> dynamoDbEnhancedAsyncClient;
 
     public DynamoIdentityService(ConfigurationService configurationService) {
-        var tableName = configurationService.getEnvironment() + "-" + IDENTITY_CREDENTIALS_TABLE;
+        this.tableName = configurationService.getEnvironment() + "-" + IDENTITY_CREDENTIALS_TABLE;
 
         this.timeToExist = configurationService.getAccessTokenExpiry();
+        this.dynamoDbClient = createDynamoClient(configurationService);
         var dynamoDbEnhancedClient = createDynamoEnhancedClient(configurationService);
         dynamoIdentityCredentialsTable =
-                dynamoDbEnhancedClient.table(
-                        tableName, TableSchema.fromBean(IdentityCredentials.class));
+                dynamoDbEnhancedClient.table(tableName, IdentityCredentials.TABLE_SCHEMA);
+        dynamoDbEnhancedAsyncClient = () -> createDynamoEnhancedAsyncClient(configurationService);
 
         warmUp();
     }
 
     public void addCoreIdentityJWT(String subjectID, String coreIdentityJWT) {
-        var identityCredentials =
-                Optional.ofNullable(
-                                dynamoIdentityCredentialsTable.getItem(
-                                        Key.builder().partitionValue(subjectID).build()))
-                        .orElse(new IdentityCredentials());
-        dynamoIdentityCredentialsTable.updateItem(
-                identityCredentials
-                        .withSubjectID(subjectID)
-                        .withCoreIdentityJWT(coreIdentityJWT)
-                        .withTimeToExist(
+        var update =
+                DynamoUpdate.forKey(IdentityCredentials.ATTRIBUTE_SUBJECT_ID, subjectID)
+                        .upsert()
+                        .set(IdentityCredentials.ATTRIBUTE_CORE_IDENTITY_JWT, coreIdentityJWT)
+                        .set(
+                                IdentityCredentials.ATTRIBUTE_TIME_TO_EXIST,
                                 NowHelper.nowPlus(timeToExist, ChronoUnit.SECONDS)
                                         .toInstant()
-                                        .getEpochSecond()));
+                                        .getEpochSecond());
+        dynamoDbClient.updateItem(update.toRequest(tableName));
     }
 
     public Optional<IdentityCredentials> getIdentityCredentials(String subjectID) {
         return Optional.ofNullable(
                         dynamoIdentityCredentialsTable.getItem(
                                 Key.builder().partitionValue(subjectID).build()))
-                .filter(t -> t.getTimeToExist() > NowHelper.now().toInstant().getEpochSecond());
+                .filter(DynamoIdentityService::hasNotExpired);
+    }
+
+    public CompletableFuture<Optional<IdentityCredentials>> getIdentityCredentialsAsync(
+            String subjectID) {
+        return withSdkExceptions(
+                asyncIdentityCredentialsTable()
+                        .getItem(Key.builder().partitionValue(subjectID).build())
+                        .thenApply(
+                                identityCredentials ->
+                                        Optional.ofNullable(identityCredentials)
+                                                .filter(DynamoIdentityService::hasNotExpired)));
     }
 
     public void deleteIdentityCredentials(String subjectID) {
@@ -82,6 +102,14 @@ public class DynamoIdentityService {
         dynamoIdentityCredentialsTable.putItem(identityCredentials);
     }
 
+    private DynamoDbAsyncTable<IdentityCredentials> asyncIdentityCredentialsTable() {
+        return dynamoDbEnhancedAsyncClient.get().table(tableName, IdentityCredentials.TABLE_SCHEMA);
+    }
+
+    private static boolean hasNotExpired(IdentityCredentials identityCredentials) {
+        return identityCredentials.getTimeToExist() > NowHelper.now().toInstant().getEpochSecond();
+    }
+
     private void warmUp() {
         dynamoIdentityCredentialsTable.describeTable();
     }
@@ -4,18 +4,33 @@ import com.nimbusds.oauth2.sdk.id.Subject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 import uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper;
+import uk.gov.di.authentication.shared.dynamodb.DynamoReadHedger;
+import uk.gov.di.authentication.shared.dynamodb.DynamoUpdate;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
 import uk.gov.di.authentication.shared.entity.MFAMethod;
 import uk.gov.di.authentication.shared.entity.MFAMethodType;
@@ -29,15 +44,22 @@ import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.helpers.PhoneNumberHelper;
 import uk.gov.di.authentication.shared.helpers.SaltHelper;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.nonNull;
@@ -46,32 +68,71 @@ public class DynamoService implements AuthenticationService {
     private final DynamoDbTable<UserProfile> dynamoUserProfileTable;
     private final DynamoDbTable<UserCredentials> dynamoUserCredentialsTable;
     private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
+    private final DynamoDbClient dynamoDbClient;
+    private final Supplier<DynamoDbAsyncClient> dynamoDbAsyncClient;
+    private final Supplier<DynamoDbEnhancedAsyncClient> dynamoDbEnhancedAsyncClient;
+    private final DynamoReadHedger userProfileReads;
+    private final DynamoReadHedger userCredentialsReads;
+    private final DynamoReadHedger userReads;
+    private final DynamoReadHedger userProfileBySubjectReads;
+    private final DynamoReadHedger userCredentialsBySubjectReads;
+    private final String userProfileTableName;
+    private final String userCredentialsTableName;
+    private static final ThreadLocal<UserIdentityMap> REQUEST_SCOPE = new ThreadLocal<>();
     private static final String USER_PROFILE_TABLE = "user-profile";
     private static final String USER_CREDENTIAL_TABLE = "user-credentials";
     private static final String TEST_USER_INDEX_NAME = "TestUserIndex";
+    private static final String SUBJECT_ID_INDEX_NAME = "SubjectIDIndex";
+    private static final int MAX_CONDITIONAL_UPDATE_ATTEMPTS = 3;
+    private static final int MAX_BATCH_GET_ATTEMPTS = 3;
+    private static final List<String> USER_KEY_PROJECTION =
+            List.of(UserCredentials.ATTRIBUTE_EMAIL);
     private static final Logger LOG = LogManager.getLogger(DynamoService.class);
 
     public DynamoService(ConfigurationService configurationService) {
-        String userProfileTableName =
+        this.userProfileTableName =
                 configurationService.getEnvironment() + "-" + USER_PROFILE_TABLE;
-        String userCredentialsTableName =
+        this.userCredentialsTableName =
                 configurationService.getEnvironment() + "-" + USER_CREDENTIAL_TABLE;
         dynamoDbEnhancedClient =
                 DynamoClientHelper.createDynamoEnhancedClient(configurationService);
+        dynamoDbClient = DynamoClientHelper.createDynamoClient(configurationService);
+        dynamoDbAsyncClient =
+                () -> DynamoClientHelper.createDynamoAsyncClient(configurationService);
+        dynamoDbEnhancedAsyncClient =
+                () -> DynamoClientHelper.createDynamoEnhancedAsyncClient(configurationService);
+        var metricsService = new CloudwatchMetricsService(configurationService);
+        userProfileReads =
+                new DynamoReadHedger(configurationService, metricsService, "GetUserProfile");
+        userCredentialsReads =
+                new DynamoReadHedger(configurationService, metricsService, "GetUserCredentials");
+        userReads = new DynamoReadHedger(configurationService, metricsService, "BatchGetUser");
+        userProfileBySubjectReads =
+                new DynamoReadHedger(
+                        configurationService, metricsService, "QueryUserProfileBySubject");
+        userCredentialsBySubjectReads =
+                new DynamoReadHedger(
+                        configurationService, metricsService, "QueryUserCredentialsBySubject");
         this.dynamoUserProfileTable =
-                dynamoDbEnhancedClient.table(
-                        userProfileTableName, TableSchema.fromBean(UserProfile.class));
+                dynamoDbEnhancedClient.table(userProfileTableName, UserProfile.TABLE_SCHEMA);
         this.dynamoUserCredentialsTable =
                 dynamoDbEnhancedClient.table(
-                        userCredentialsTableName, TableSchema.fromBean(UserCredentials.class));
+                        userCredentialsTableName, UserCredentials.TABLE_SCHEMA);
         warmUp();
     }
 
+    @Override
+    public RequestScope openRequestScope() {
+        if (nonNull(REQUEST_SCOPE.get())) {
+            return () -> {};
+        }
+        REQUEST_SCOPE.set(new UserIdentityMap());
+        return REQUEST_SCOPE::remove;
+    }
+
     @Override
     public boolean userExists(String email) {
-        return dynamoUserProfileTable.getItem(
-                        Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build())
-                != null;
+        return getUserProfileAttributes(email, USER_KEY_PROJECTION).isPresent();
     }
 
     @Override
@@ -115,15 +176,14 @@ public class DynamoService implements AuthenticationService {
 
         dynamoUserCredentialsTable.putItem(userCredentials);
         dynamoUserProfileTable.putItem(userProfile);
+        identityMap().rememberCredentials(email, userCredentials);
+        identityMap().rememberProfile(email, userProfile);
         return new User(userProfile, userCredentials);
     }
 
     @Override
     public boolean login(String email, String password) {
-        var userCredentials =
-                dynamoUserCredentialsTable.getItem(
-                        Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build());
-        return login(userCredentials, password);
+        return login(getUserCredentialsFromEmail(email), password);
     }
 
     @Override
@@ -133,42 +193,70 @@ public class DynamoService implements AuthenticationService {
 
     @Override
     public Subject getSubjectFromEmail(String email) {
-        return new Subject(
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .getSubjectID());
+        return new Subject(getUserProfileByEmail(email).getSubjectID());
     }
 
     @Override
     public void updatePhoneNumber(String email, String phoneNumber) {
         var formattedPhoneNumber = PhoneNumberHelper.formatPhoneNumber(phoneNumber);
-        dynamoUserProfileTable.updateItem(
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .withPhoneNumber(formattedPhoneNumber));
+        updateUserProfile(
+                userProfileUpdate(email)
+                        .set(UserProfile.ATTRIBUTE_PHONE_NUMBER, formattedPhoneNumber));
     }
 
     @Override
     public void updateConsent(String email, ClientConsent clientConsent) {
-        dynamoUserProfileTable.updateItem(
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .withClientConsent(clientConsent));
+        updateWithRetry(
+                () -> {
+                    var clientIds =
+                            getListElementValues(
+                                    userProfileTableName,
+                                    UserProfile.ATTRIBUTE_EMAIL,
+                                    email,
+                                    UserProfile.ATTRIBUTE_CLIENT_CONSENT,
+                                    ClientConsent.ATTRIBUTE_CLIENT_ID);
+                    var index = clientIds.indexOf(clientConsent.getClientId());
+                    var update = userProfileUpdate(email);
+                    if (index >= 0) {
+                        update.setListElement(
+                                        UserProfile.ATTRIBUTE_CLIENT_CONSENT,
+                                        index,
+                                        ClientConsent.TABLE_SCHEMA,
+                                        clientConsent)
+                                .whenListElementAttributeEquals(
+                                        UserProfile.ATTRIBUTE_CLIENT_CONSENT,
+                                        index,
+                                        ClientConsent.ATTRIBUTE_CLIENT_ID,
+                                        clientConsent.getClientId());
+                    } else {
+                        update.appendToList(
+                                        UserProfile.ATTRIBUTE_CLIENT_CONSENT,
+                                        ClientConsent.TABLE_SCHEMA,
+                                        clientConsent)
+                                .whenListSize(
+                                        UserProfile.ATTRIBUTE_CLIENT_CONSENT, clientIds.size());
+                    }
+                    return update.toRequest(userProfileTableName);
+                });
     }
 
     @Override
     public UserProfile getUserProfileByEmail(String email) {
-        return dynamoUserProfileTable.getItem(
-                Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build());
+        return identityMap().getProfile(email, this::readUserProfile);
+    }
+
+    @Override
+    public CompletableFuture<Optional<UserProfile>> getUserProfileByEmailAsync(String email) {
+        var identityMap = identityMap();
+        if (identityMap.hasProfile(email)) {
+            return CompletableFuture.completedFuture(
+                    Optional.ofNullable(identityMap.getProfile(email)));
+        }
+        var key = Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build();
+        return DynamoClientHelper.withSdkExceptions(
+                asyncTable(userProfileTableName, UserProfile.TABLE_SCHEMA)
+                        .getItem(key)
+                        .thenApply(Optional::ofNullable));
     }
 
     @Override
@@ -180,13 +268,12 @@ public class DynamoService implements AuthenticationService {
     public void updateTermsAndConditions(String email, String version) {
         var termsAndConditions =
                 new TermsAndConditions(version, LocalDateTime.now(ZoneId.of("UTC")).toString());
-        dynamoUserProfileTable.updateItem(
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .withTermsAndConditions(termsAndConditions));
+        updateUserProfile(
+                userProfileUpdate(email)
+                        .set(
+                                UserProfile.ATTRIBUTE_TERMS_AND_CONDITIONS,
+                                TermsAndConditions.TABLE_SCHEMA,
+                                termsAndConditions));
     }
 
     @Override
@@ -197,19 +284,11 @@ public class DynamoService implements AuthenticationService {
     @Override
     public void updateEmail(String currentEmail, String newEmail, LocalDateTime updatedDateTime) {
         var userProfile =
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(currentEmail.toLowerCase(Locale.ROOT))
-                                        .build())
+                readUserProfile(currentEmail)
                         .withEmail(newEmail.toLowerCase(Locale.ROOT))
                         .withUpdated(updatedDateTime.toString());
         var userCredentials =
-                dynamoUserCredentialsTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(currentEmail.toLowerCase(Locale.ROOT))
-                                        .build())
+                readUserCredentials(currentEmail)
                         .withEmail(newEmail.toLowerCase(Locale.ROOT))
                         .withUpdated(updatedDateTime.toString());
 
@@ -228,18 +307,16 @@ public class DynamoService implements AuthenticationService {
                                         .partitionValue(currentEmail.toLowerCase(Locale.ROOT))
                                         .build())
                         .build());
+        identityMap().forget(currentEmail);
+        identityMap().forget(newEmail);
     }
 
     @Override
     public void updatePassword(String email, String newPassword) {
-        dynamoUserCredentialsTable.updateItem(
-                dynamoUserCredentialsTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .withPassword(hashPassword(newPassword))
-                        .withMigratedPassword(null));
+        updateUserCredentials(
+                userCredentialsUpdate(email)
+                        .set(UserCredentials.ATTRIBUTE_PASSWORD, hashPassword(newPassword))
+                        .remove(UserCredentials.ATTRIBUTE_MIGRATED_PASSWORD));
     }
 
     @Override
@@ -257,21 +334,15 @@ public class DynamoService implements AuthenticationService {
                                         .partitionValue(email.toLowerCase(Locale.ROOT))
                                         .build())
                         .build());
+        identityMap().rememberCredentials(email, null);
+        identityMap().rememberProfile(email, null);
     }
 
     @Override
     public UserCredentials getUserCredentialsFromSubject(String subject) {
-        QueryConditional q =
-                QueryConditional.keyEqualTo(Key.builder().partitionValue(subject).build());
-        DynamoDbIndex<UserCredentials> subjectIDIndex =
-                dynamoUserCredentialsTable.index("SubjectIDIndex");
-        QueryEnhancedRequest queryEnhancedRequest =
-                QueryEnhancedRequest.builder().consistentRead(false).queryConditional(q).build();
         Optional<UserCredentials> userCredentials =
-                subjectIDIndex.query(queryEnhancedRequest).stream()
-                        .limit(1)
-                        .map(t -> t.items().get(0))
-                        .findFirst();
+                querySubjectIDIndex(
+                        userCredentialsBySubjectReads, dynamoUserCredentialsTable, subject);
         if (userCredentials.isEmpty()) {
             throw new RuntimeException("No userCredentials found with query search");
         }
@@ -281,33 +352,97 @@ public class DynamoService implements AuthenticationService {
     @Override
     public Optional<UserProfile> getUserProfileFromEmail(String email) {
         if (nonNull(email) && !email.isBlank()) {
-            var userCredentials =
-                    dynamoUserCredentialsTable.getItem(
-                            Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build());
-
-            if (nonNull(userCredentials)) {
-                return Optional.of(getUserProfileFromSubject(userCredentials.getSubjectID()));
+            var identityMap = identityMap();
+            var user =
+                    loadUser(
+                            email,
+                            projectionUnless(identityMap.hasProfile(email), List.of()),
+                            projectionUnless(
+                                    identityMap.hasCredentials(email), USER_KEY_PROJECTION));
+            if (!identityMap.hasProfile(email)) {
+                identityMap.rememberProfile(email, user.getUserProfile());
+            }
+            var credentialsExist =
+                    identityMap.hasCredentials(email)
+                            ? nonNull(identityMap.getCredentials(email))
+                            : nonNull(user.getUserCredentials());
+            if (credentialsExist) {
+                return Optional.ofNullable(identityMap.getProfile(email));
             }
         }
         return Optional.empty();
     }
 
+    @Override
+    public Optional<User> getUserByEmail(String email, boolean includeCredentials) {
+        var identityMap = identityMap();
+        var user =
+                loadUser(
+                        email,
+                        projectionUnless(identityMap.hasProfile(email), List.of()),
+                        projectionUnless(
+                                !includeCredentials || identityMap.hasCredentials(email),
+                                List.of()));
+        if (!identityMap.hasProfile(email)) {
+            identityMap.rememberProfile(email, user.getUserProfile());
+        }
+        if (includeCredentials && !identityMap.hasCredentials(email)) {
+            identityMap.rememberCredentials(email, user.getUserCredentials());
+        }
+        return userIfExists(
+                identityMap.getProfile(email),
+                includeCredentials ? identityMap.getCredentials(email) : null);
+    }
+
+    @Override
+    public Optional<User> getUserByEmail(
+            String email, List<String> profileAttributes, List<String> credentialsAttributes) {
+        var identityMap = identityMap();
+        var rememberedProfile = !profileAttributes.isEmpty() && identityMap.hasProfile(email);
+        var rememberedCredentials =
+                !credentialsAttributes.isEmpty() && identityMap.hasCredentials(email);
+        var user =
+                loadUser(
+                        email,
+                        projectionUnless(
+                                profileAttributes.isEmpty() || rememberedProfile,
+                                profileAttributes),
+                        projectionUnless(
+                                credentialsAttributes.isEmpty() || rememberedCredentials,
+                                credentialsAttributes));
+        return userIfExists(
+                rememberedProfile ? identityMap.getProfile(email) : user.getUserProfile(),
+                rememberedCredentials
+                        ? identityMap.getCredentials(email)
+                        : user.getUserCredentials());
+    }
+
     @Override
     public UserCredentials getUserCredentialsFromEmail(String email) {
-        return dynamoUserCredentialsTable.getItem(
-                Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build());
+        return identityMap().getCredentials(email, this::readUserCredentials);
+    }
+
+    @Override
+    public CompletableFuture<Optional<UserCredentials>> getUserCredentialsFromEmailAsync(
+            String email) {
+        var identityMap = identityMap();
+        if (identityMap.hasCredentials(email)) {
+            return CompletableFuture.completedFuture(
+                    Optional.ofNullable(identityMap.getCredentials(email)));
+        }
+        var key = Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build();
+        return DynamoClientHelper.withSdkExceptions(
+                asyncTable(userCredentialsTableName, UserCredentials.TABLE_SCHEMA)
+                        .getItem(key)
+                        .thenApply(Optional::ofNullable));
     }
 
     @Override
     public void migrateLegacyPassword(String email, String password) {
-        dynamoUserCredentialsTable.updateItem(
-                dynamoUserCredentialsTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .withPassword(hashPassword(password))
-                        .withMigratedPassword(null));
+        updateUserCredentials(
+                userCredentialsUpdate(email)
+                        .set(UserCredentials.ATTRIBUTE_PASSWORD, hashPassword(password))
+                        .remove(UserCredentials.ATTRIBUTE_MIGRATED_PASSWORD));
     }
 
     @Override
@@ -315,47 +450,41 @@ public class DynamoService implements AuthenticationService {
         if (userProfile.getSalt() == null
                 || SdkBytes.fromByteBuffer(userProfile.getSalt()).asByteArray().length == 0) {
             byte[] salt = SaltHelper.generateNewSalt();
-            userProfile.setSalt(salt);
-            dynamoUserProfileTable.updateItem(
-                    getUserProfileFromSubject(userProfile.getSubjectID())
-                            .withSalt(userProfile.getSalt()));
+            try {
+                updateUserProfile(
+                        userProfileUpdate(userProfile.getEmail())
+                                .set(UserProfile.ATTRIBUTE_SALT, ByteBuffer.wrap(salt))
+                                .whenAttributeMissingOrEmpty(UserProfile.ATTRIBUTE_SALT));
+                userProfile.setSalt(salt);
+            } catch (ConditionalCheckFailedException e) {
+                LOG.info("Salt was generated by a concurrent request, using stored salt");
+                var storedProfile = readUserProfile(userProfile.getEmail());
+                identityMap().rememberProfile(userProfile.getEmail(), storedProfile);
+                userProfile.setSalt(storedProfile.getSalt());
+            }
         }
         return SdkBytes.fromByteBuffer(userProfile.getSalt()).asByteArray();
     }
 
     @Override
     public Optional<List<ClientConsent>> getUserConsents(String email) {
-        return Optional.ofNullable(
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .getClientConsent());
+        return getUserProfileAttributes(email, List.of(UserProfile.ATTRIBUTE_CLIENT_CONSENT))
+                .map(UserProfile::getClientConsent);
     }
 
     @Override
     public void updatePhoneNumberAndAccountVerifiedStatus(String email, boolean verifiedStatus) {
-        var userProfile =
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .withPhoneNumberVerified(verifiedStatus);
-        if (verifiedStatus) userProfile.withAccountVerified(1);
-        dynamoUserProfileTable.updateItem(userProfile);
+        var update =
+                userProfileUpdate(email)
+                        .set(UserProfile.ATTRIBUTE_PHONE_NUMBER_VERIFIED, verifiedStatus);
+        if (verifiedStatus) update.set(UserProfile.ATTRIBUTE_ACCOUNT_VERIFIED, 1);
+        updateUserProfile(update);
     }
 
     @Override
     public Optional<String> getPhoneNumber(String email) {
-        return Optional.ofNullable(
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .getPhoneNumber());
+        return getUserProfileAttributes(email, List.of(UserProfile.ATTRIBUTE_PHONE_NUMBER))
+                .map(UserProfile::getPhoneNumber);
     }
 
     @Override
@@ -373,46 +502,68 @@ public class DynamoService implements AuthenticationService {
                         methodVerified,
                         enabled,
                         dateTime);
-        dynamoUserCredentialsTable.updateItem(
-                dynamoUserCredentialsTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .setMfaMethod(mfaMethod));
+        updateWithRetry(
+                () -> {
+                    var methodTypes = getMfaMethodTypes(email);
+                    var index = methodTypes.indexOf(mfaMethod.getMfaMethodType());
+                    var update = userCredentialsUpdate(email);
+                    if (index >= 0) {
+                        update.setListElement(
+                                        UserCredentials.ATTRIBUTE_MFA_METHODS,
+                                        index,
+                                        MFAMethod.TABLE_SCHEMA,
+                                        mfaMethod)
+                                .whenListElementAttributeEquals(
+                                        UserCredentials.ATTRIBUTE_MFA_METHODS,
+                                        index,
+                                        MFAMethod.ATTRIBUTE_MFA_METHOD_TYPE,
+                                        mfaMethod.getMfaMethodType());
+                    } else {
+                        update.appendToList(
+                                        UserCredentials.ATTRIBUTE_MFA_METHODS,
+                                        MFAMethod.TABLE_SCHEMA,
+                                        mfaMethod)
+                                .whenListSize(
+                                        UserCredentials.ATTRIBUTE_MFA_METHODS, methodTypes.size());
+                    }
+                    return update.toRequest(userCredentialsTableName);
+                });
     }
 
     @Override
     public void setMFAMethodVerifiedTrue(String email, MFAMethodType mfaMethodType) {
         var dateTime = NowHelper.toTimestampString(NowHelper.now());
-        var userCredentials =
-                dynamoUserCredentialsTable.getItem(
-                        Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build());
-        var mfaMethod =
-                userCredentials.getMfaMethods().stream()
-                        .filter(
-                                method ->
-                                        method.getMfaMethodType().equals(mfaMethodType.getValue()))
-                        .findFirst()
-                        .orElseThrow();
-
-        mfaMethod.withMethodVerified(true);
-        mfaMethod.withUpdated(dateTime);
-        dynamoUserCredentialsTable.updateItem(userCredentials);
+        updateWithRetry(
+                () -> {
+                    var index = getMfaMethodTypes(email).indexOf(mfaMethodType.getValue());
+                    if (index < 0) {
+                        throw new NoSuchElementException(
+                                "No MFA method of type " + mfaMethodType.getValue());
+                    }
+                    return userCredentialsUpdate(email)
+                            .setListElementAttribute(
+                                    UserCredentials.ATTRIBUTE_MFA_METHODS,
+                                    index,
+                                    MFAMethod.ATTRIBUTE_METHOD_VERIFIED,
+                                    AttributeValue.fromN("1"))
+                            .setListElementAttribute(
+                                    UserCredentials.ATTRIBUTE_MFA_METHODS,
+                                    index,
+                                    MFAMethod.ATTRIBUTE_UPDATED,
+                                    AttributeValue.fromS(dateTime))
+                            .whenListElementAttributeEquals(
+                                    UserCredentials.ATTRIBUTE_MFA_METHODS,
+                                    index,
+                                    MFAMethod.ATTRIBUTE_MFA_METHOD_TYPE,
+                                    mfaMethodType.getValue())
+                            .toRequest(userCredentialsTableName);
+                });
     }
 
     @Override
     public UserProfile getUserProfileFromSubject(String subject) {
-        QueryConditional q =
-                QueryConditional.keyEqualTo(Key.builder().partitionValue(subject).build());
-        DynamoDbIndex<UserProfile> subjectIDIndex = dynamoUserProfileTable.index("SubjectIDIndex");
-        QueryEnhancedRequest queryEnhancedRequest =
-                QueryEnhancedRequest.builder().consistentRead(false).queryConditional(q).build();
         Optional<UserProfile> userProfile =
-                subjectIDIndex.query(queryEnhancedRequest).stream()
-                        .limit(1)
-                        .map(t -> t.items().get(0))
-                        .findFirst();
+                querySubjectIDIndex(userProfileBySubjectReads, dynamoUserProfileTable, subject);
         if (userProfile.isEmpty()) {
             throw new RuntimeException("No userCredentials found with query search");
         }
@@ -440,13 +591,7 @@ public class DynamoService implements AuthenticationService {
 
     @Override
     public void setAccountVerified(String email) {
-        dynamoUserProfileTable.updateItem(
-                dynamoUserProfileTable
-                        .getItem(
-                                Key.builder()
-                                        .partitionValue(email.toLowerCase(Locale.ROOT))
-                                        .build())
-                        .withAccountVerified(1));
+        updateUserProfile(userProfileUpdate(email).set(UserProfile.ATTRIBUTE_ACCOUNT_VERIFIED, 1));
     }
 
     public List<UserProfile> getAllBulkTestUsers() {
@@ -599,6 +744,237 @@ public class DynamoService implements AuthenticationService {
         }
     }
 
+    private DynamoUpdate userProfileUpdate(String email) {
+        return DynamoUpdate.forKey(UserProfile.ATTRIBUTE_EMAIL, email.toLowerCase(Locale.ROOT));
+    }
+
+    private DynamoUpdate userCredentialsUpdate(String email) {
+        return DynamoUpdate.forKey(UserCredentials.ATTRIBUTE_EMAIL, email.toLowerCase(Locale.ROOT));
+    }
+
+    private void updateUserProfile(DynamoUpdate update) {
+        updateItem(update.toRequest(userProfileTableName));
+    }
+
+    private void updateUserCredentials(DynamoUpdate update) {
+        updateItem(update.toRequest(userCredentialsTableName));
+    }
+
+    private void updateWithRetry(Supplier<UpdateItemRequest> request) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                updateItem(request.get());
+                return;
+            } catch (ConditionalCheckFailedException e) {
+                if (attempt >= MAX_CONDITIONAL_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                LOG.warn("Conditional update failed on attempt {}, retrying", attempt);
+            }
+        }
+    }
+
+    private void updateItem(UpdateItemRequest request) {
+        var identityMap = REQUEST_SCOPE.get();
+        if (Objects.isNull(identityMap)) {
+            dynamoDbClient.updateItem(request);
+            return;
+        }
+        var updatedItem =
+                dynamoDbClient
+                        .updateItem(request.toBuilder().returnValues(ReturnValue.ALL_NEW).build())
+                        .attributes();
+        if (request.tableName().equals(userProfileTableName)) {
+            var userProfile = dynamoUserProfileTable.tableSchema().mapToItem(updatedItem);
+            identityMap.rememberProfile(userProfile.getEmail(), userProfile);
+        } else {
+            var userCredentials = dynamoUserCredentialsTable.tableSchema().mapToItem(updatedItem);
+            identityMap.rememberCredentials(userCredentials.getEmail(), userCredentials);
+        }
+    }
+
+    private UserIdentityMap identityMap() {
+        return Optional.ofNullable(REQUEST_SCOPE.get()).orElseGet(UserIdentityMap::new);
+    }
+
+    private UserProfile readUserProfile(String email) {
+        var key = Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build();
+        return userProfileReads.read(
+                () -> dynamoUserProfileTable.getItem(key),
+                () -> asyncTable(userProfileTableName, UserProfile.TABLE_SCHEMA).getItem(key));
+    }
+
+    private UserCredentials readUserCredentials(String email) {
+        var key = Key.builder().partitionValue(email.toLowerCase(Locale.ROOT)).build();
+        return userCredentialsReads.read(
+                () -> dynamoUserCredentialsTable.getItem(key),
+                () ->
+                        asyncTable(userCredentialsTableName, UserCredentials.TABLE_SCHEMA)
+                                .getItem(key));
+    }
+
+    /**
+     * Returns a view of the user profile holding only the named attributes, or the whole profile if
+     * it has already been loaded in this request scope.
+     */
+    private Optional<UserProfile> getUserProfileAttributes(String email, List<String> attributes) {
+        return getUserByEmail(email, attributes, List.of()).map(User::getUserProfile);
+    }
+
+    /**
+     * Returns the first item on the first page of results from the SubjectIDIndex of the given
+     * table, bounded by the deadline and hedging settings of the given reads.
+     */
+    private <T> Optional<T> querySubjectIDIndex(
+            DynamoReadHedger reads, DynamoDbTable<T> table, String subject) {
+        var queryEnhancedRequest =
+                QueryEnhancedRequest.builder()
+                        .consistentRead(false)
+                        .queryConditional(
+                                QueryConditional.keyEqualTo(
+                                        Key.builder().partitionValue(subject).build()))
+                        .build();
+        DynamoDbIndex<T> subjectIDIndex = table.index(SUBJECT_ID_INDEX_NAME);
+        return reads.read(
+                () ->
+                        subjectIDIndex.query(queryEnhancedRequest).stream()
+                                .limit(1)
+                                .flatMap(page -> page.items().stream())
+                                .findFirst(),
+                () ->
+                        firstItem(
+                                asyncTable(table.tableName(), table.tableSchema())
+                                        .index(SUBJECT_ID_INDEX_NAME)
+                                        .query(queryEnhancedRequest)));
+    }
+
+    private static <T> CompletableFuture<Optional<T>> firstItem(SdkPublisher<Page<T>> pages) {
+        var firstItem = new AtomicReference<Optional<T>>(Optional.empty());
+        return pages.limit(1)
+                .subscribe(page -> firstItem.set(page.items().stream().findFirst()))
+                .thenApply(ignored -> firstItem.get());
+    }
+
+    private <T> DynamoDbAsyncTable<T> asyncTable(String tableName, TableSchema<T> tableSchema) {
+        return dynamoDbEnhancedAsyncClient.get().table(tableName, tableSchema);
+    }
+
+    private static Optional<List<String>> projectionUnless(
+            boolean alreadyLoaded, List<String> attributes) {
+        return alreadyLoaded ? Optional.empty() : Optional.of(attributes);
+    }
+
+    private static Optional<User> userIfExists(
+            UserProfile userProfile, UserCredentials userCredentials) {
+        if (Objects.isNull(userProfile) && Objects.isNull(userCredentials)) {
+            return Optional.empty();
+        }
+        return Optional.of(new User(userProfile, userCredentials));
+    }
+
+    private User loadUser(
+            String email,
+            Optional<List<String>> profileProjection,
+            Optional<List<String>> credentialsProjection) {
+        var key =
+                Map.of(
+                        UserProfile.ATTRIBUTE_EMAIL,
+                        AttributeValue.fromS(email.toLowerCase(Locale.ROOT)));
+        Map<String, KeysAndAttributes> requestItems = new HashMap<>();
+        if (profileProjection.isPresent()) {
+            requestItems.put(userProfileTableName, keysAndAttributes(key, profileProjection.get()));
+        }
+        if (credentialsProjection.isPresent()) {
+            requestItems.put(
+                    userCredentialsTableName, keysAndAttributes(key, credentialsProjection.get()));
+        }
+        if (requestItems.isEmpty()) {
+            return new User(null, null);
+        }
+
+        Map<String, Map<String, AttributeValue>> items = new HashMap<>();
+        for (int attempt = 1; !requestItems.isEmpty(); attempt++) {
+            if (attempt > MAX_BATCH_GET_ATTEMPTS) {
+                throw new RuntimeException("Unable to load user after retrying unprocessed keys");
+            }
+            var response =
+                    batchGetItem(BatchGetItemRequest.builder().requestItems(requestItems).build());
+            response.responses()
+                    .forEach(
+                            (table, tableItems) ->
+                                    tableItems.forEach(item -> items.put(table, item)));
+            requestItems = response.unprocessedKeys();
+        }
+
+        var userProfile =
+                Optional.ofNullable(items.get(userProfileTableName))
+                        .map(dynamoUserProfileTable.tableSchema()::mapToItem)
+                        .orElse(null);
+        var userCredentials =
+                Optional.ofNullable(items.get(userCredentialsTableName))
+                        .map(dynamoUserCredentialsTable.tableSchema()::mapToItem)
+                        .orElse(null);
+        return new User(userProfile, userCredentials);
+    }
+
+    private BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+        return userReads.read(
+                () -> dynamoDbClient.batchGetItem(request),
+                () -> dynamoDbAsyncClient.get().batchGetItem(request));
+    }
+
+    private static KeysAndAttributes keysAndAttributes(
+            Map<String, AttributeValue> key, List<String> attributes) {
+        var builder = KeysAndAttributes.builder().keys(key).consistentRead(true);
+        if (!attributes.isEmpty()) {
+            Map<String, String> names = new LinkedHashMap<>();
+            names.put("#p0", UserProfile.ATTRIBUTE_EMAIL);
+            attributes.stream()
+                    .filter(attribute -> !attribute.equals(UserProfile.ATTRIBUTE_EMAIL))
+                    .forEach(attribute -> names.put("#p" + names.size(), attribute));
+            builder.projectionExpression(String.join(", ", names.keySet()))
+                    .expressionAttributeNames(names);
+        }
+        return builder.build();
+    }
+
+    private List<String> getMfaMethodTypes(String email) {
+        return getListElementValues(
+                userCredentialsTableName,
+                UserCredentials.ATTRIBUTE_EMAIL,
+                email,
+                UserCredentials.ATTRIBUTE_MFA_METHODS,
+                MFAMethod.ATTRIBUTE_MFA_METHOD_TYPE);
+    }
+
+    private List<String> getListElementValues(
+            String tableName,
+            String keyAttribute,
+            String email,
+            String listAttribute,
+            String elementAttribute) {
+        var response =
+                dynamoDbClient.getItem(
+                        GetItemRequest.builder()
+                                .tableName(tableName)
+                                .key(
+                                        Map.of(
+                                                keyAttribute,
+                                                AttributeValue.fromS(
+                                                        email.toLowerCase(Locale.ROOT))))
+                                .projectionExpression("#list")
+                                .expressionAttributeNames(Map.of("#list", listAttribute))
+                                .consistentRead(true)
+                                .build());
+        return Optional.ofNullable(response.item().get(listAttribute))
+                .map(AttributeValue::l)
+                .orElse(List.of())
+                .stream()
+                .map(element -> element.m().get(elementAttribute))
+                .map(value -> Objects.isNull(value) ? null : value.s())
+                .collect(Collectors.toList());
+    }
+
     private static String hashPassword(String password) {
         return Argon2EncoderHelper.argon2Hash(password);
     }
@@ -1,49 +1,75 @@
 package uk.gov.di.authentication.shared.services;
 
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.KeySourceException;
-import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKMatcher;
 import com.nimbusds.jose.jwk.JWKSelector;
-import com.nimbusds.jose.jwk.KeyUse;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
 import com.nimbusds.jose.proc.SecurityContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
-import org.bouncycastle.openssl.PEMException;
-import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
-import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
-import software.amazon.awssdk.services.kms.model.GetPublicKeyResponse;
-import uk.gov.di.authentication.shared.helpers.CryptoProviderHelper;
 
 import java.net.URL;
-import java.security.PublicKey;
-import java.security.interfaces.ECPublicKey;
-import java.security.interfaces.RSAPublicKey;
-import java.util.HashMap;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static com.nimbusds.jose.JWSAlgorithm.ES256;
-import static com.nimbusds.jose.JWSAlgorithm.RS256;
-import static com.nimbusds.jose.jwk.Curve.P_256;
-import static software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec.ECDSA_SHA_256;
-import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 
 public class JwksService {
 
     private final ConfigurationService configurationService;
-    private final KmsConnectionService kmsConnectionService;
-    private static final Map<String, JWK> KEY_CACHE = new HashMap<>();
+    private final JwsSigner signer;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long retiredKeyRetentionMillis;
+    private static final long UNKNOWN_KEY_ID_REFRESH_INTERVAL_MILLIS = 10_000;
+    private static final Map<String, CachedKey> KEY_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, CachedVerifier> VERIFIER_CACHE = new ConcurrentHashMap<>();
     private static final Logger LOG = LogManager.getLogger(JwksService.class);
 
     public JwksService(
             ConfigurationService configurationService, KmsConnectionService kmsConnectionService) {
+        this(configurationService, kmsConnectionService, Clock.systemUTC());
+    }
+
+    public JwksService(
+            ConfigurationService configurationService,
+            KmsConnectionService kmsConnectionService,
+            Clock clock) {
+        this(
+                configurationService,
+                JwsSigner.create(configurationService, kmsConnectionService),
+                clock);
+    }
+
+    /**
+     * Public keys are read through the same signer that tokens are signed with, so a JWK always
+     * carries the kid of the tokens signed by its key.
+     */
+    public JwksService(ConfigurationService configurationService, JwsSigner signer, Clock clock) {
         this.configurationService = configurationService;
-        this.kmsConnectionService = kmsConnectionService;
+        this.signer = signer;
+        this.clock = clock;
+        this.ttlMillis = configurationService.getJwksCacheTtl() * 1000;
+        var longestTokenLifetime =
+                Math.max(
+                        configurationService.getSessionExpiry(),
+                        Math.max(
+                                configurationService.getAccessTokenExpiry(),
+                                configurationService.getIDTokenExpiry()));
+        this.retiredKeyRetentionMillis =
+                (longestTokenLifetime + configurationService.getSigningKeyMetadataCacheTtl())
+                        * 1000;
     }
 
     public JWK getPublicTokenJwkWithOpaqueId() {
@@ -58,6 +84,37 @@ public class JwksService {
         return getPublicJWKWithKeyId(configurationService.getDocAppTokenSigningKeyAlias());
     }
 
+    public JWSVerifier getPublicTokenVerifier() {
+        return getVerifier(configurationService.getTokenSigningKeyAlias());
+    }
+
+    public JWSVerifier getPublicTokenRsaVerifier() {
+        return getVerifier(configurationService.getTokenSigningKeyRsaAlias());
+    }
+
+    /**
+     * Returns the verifier for the token signing key with the given {@code kid}. Verifiers for keys
+     * that have been rotated out stay available for the longest token lifetime plus the time a
+     * signer may keep using a cached key, so tokens signed before a rotation can still be checked.
+     * An unknown {@code kid} triggers a reload of the signing keys, at most once every ten seconds,
+     * in case the signer has picked up a new key before this cache has expired.
+     */
+    public Optional<JWSVerifier> getTokenVerifierWithKeyId(String kid) {
+        var verifier = findTokenVerifier(kid);
+        if (verifier.isEmpty() && refreshTokenSigningKeys()) {
+            verifier = findTokenVerifier(kid);
+        }
+        return verifier;
+    }
+
+    public void warmUp() {
+        try {
+            tokenSigningKeyAliases().forEach(this::getVerifier);
+        } catch (Exception e) {
+            LOG.info("Unable to load token verifiers whilst warming up");
+        }
+    }
+
     public JWK retrieveJwkFromURLWithKeyId(URL url, String keyId) {
         JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
         JWKSource<SecurityContext> jwkSource =
@@ -78,55 +135,129 @@ public class JwksService {
         }
     }
 
+    private List<String> tokenSigningKeyAliases() {
+        var aliases = new ArrayList<String>();
+        aliases.add(configurationService.getTokenSigningKeyAlias());
+        if (configurationService.isRsaSigningAvailable()) {
+            aliases.add(configurationService.getTokenSigningKeyRsaAlias());
+        }
+        return aliases;
+    }
+
+    private Optional<JWSVerifier> findTokenVerifier(String kid) {
+        tokenSigningKeyAliases().forEach(this::getVerifier);
+        var cached = VERIFIER_CACHE.get(kid);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (cached.hasExpired(clock.millis(), retiredKeyRetentionMillis)) {
+            VERIFIER_CACHE.remove(kid, cached);
+            return Optional.empty();
+        }
+        return Optional.of(cached.verifier);
+    }
+
+    private boolean refreshTokenSigningKeys() {
+        var refreshed = false;
+        for (var alias : tokenSigningKeyAliases()) {
+            var cached = KEY_CACHE.get(alias);
+            if (cached == null
+                    || clock.millis() >= cached.loadedAt + UNKNOWN_KEY_ID_REFRESH_INTERVAL_MILLIS) {
+                LOG.info("Token signed with unknown key id, reloading token signing keys");
+                reloadPublicJWK(alias, cached);
+                refreshed = true;
+            }
+        }
+        return refreshed;
+    }
+
     private JWK getPublicJWKWithKeyId(String keyId) {
-        var jwk =
-                segmentedFunctionCall(
-                        "createJwk", () -> KEY_CACHE.computeIfAbsent(keyId, this::createJwk));
-
-        return segmentedFunctionCall(
-                "parseJwk",
-                () -> {
-                    try {
-                        return JWK.parse(jwk.toString());
-                    } catch (java.text.ParseException e) {
-                        LOG.error("Error parsing the public key to JWK", e);
-                        throw new RuntimeException(e);
-                    }
-                });
-    }
-
-    private JWK createJwk(String keyId) {
-        var getPublicKeyRequest = GetPublicKeyRequest.builder().keyId(keyId).build();
-        var publicKeyResponse = kmsConnectionService.getPublicKey(getPublicKeyRequest);
-
-        PublicKey publicKey = createPublicKey(publicKeyResponse);
-
-        if (publicKeyResponse.signingAlgorithms().contains(ECDSA_SHA_256)) {
-            return new ECKey.Builder(P_256, (ECPublicKey) publicKey)
-                    .keyID(hashSha256String(publicKeyResponse.keyId()))
-                    .keyUse(KeyUse.SIGNATURE)
-                    .algorithm(ES256)
-                    .build();
-        } else {
-            return new RSAKey.Builder((RSAPublicKey) publicKey)
-                    .keyID(hashSha256String(publicKeyResponse.keyId()))
-                    .keyUse(KeyUse.SIGNATURE)
-                    .algorithm(RS256)
-                    .build();
-        }
-    }
-
-    private PublicKey createPublicKey(GetPublicKeyResponse publicKeyResponse) {
-        SubjectPublicKeyInfo subjectKeyInfo =
-                SubjectPublicKeyInfo.getInstance(publicKeyResponse.publicKey().asByteArray());
+        var cached = KEY_CACHE.get(keyId);
+        if (cached != null && (ttlMillis <= 0 || clock.millis() < cached.loadedAt + ttlMillis)) {
+            return cached.jwk;
+        }
+        return reloadPublicJWK(keyId, cached);
+    }
 
+    private JWK reloadPublicJWK(String keyId, CachedKey cached) {
+        JWK jwk;
         try {
-            return new JcaPEMKeyConverter()
-                    .setProvider(CryptoProviderHelper.bouncyCastle())
-                    .getPublicKey(subjectKeyInfo);
-        } catch (PEMException e) {
-            LOG.error("Error getting the PublicKey using the JcaPEMKeyConverter", e);
-            throw new RuntimeException();
+            jwk = segmentedFunctionCall("createJwk", () -> signer.getPublicJwk(keyId));
+        } catch (RuntimeException e) {
+            if (cached == null) {
+                throw e;
+            }
+            LOG.warn("Unable to refresh public key, continuing with cached key", e);
+            KEY_CACHE.put(keyId, new CachedKey(cached.jwk, clock.millis()));
+            return cached.jwk;
+        }
+        var now = clock.millis();
+        KEY_CACHE.put(keyId, new CachedKey(jwk, now));
+        if (cached != null && !cached.jwk.getKeyID().equals(jwk.getKeyID())) {
+            LOG.info("Public key has rotated, retaining verifier for previous key");
+            VERIFIER_CACHE.computeIfPresent(
+                    cached.jwk.getKeyID(), (kid, verifier) -> verifier.retire(now));
+            VERIFIER_CACHE
+                    .values()
+                    .removeIf(verifier -> verifier.hasExpired(now, retiredKeyRetentionMillis));
+        }
+        return jwk;
+    }
+
+    private JWSVerifier getVerifier(String keyId) {
+        var jwk = getPublicJWKWithKeyId(keyId);
+        return VERIFIER_CACHE.compute(jwk.getKeyID(), (kid, cached) -> markCurrent(jwk, cached))
+                .verifier;
+    }
+
+    private CachedVerifier markCurrent(JWK jwk, CachedVerifier cached) {
+        if (cached == null) {
+            return new CachedVerifier(createVerifier(jwk), Long.MAX_VALUE);
+        }
+        return cached.isRetired() ? new CachedVerifier(cached.verifier, Long.MAX_VALUE) : cached;
+    }
+
+    private JWSVerifier createVerifier(JWK jwk) {
+        try {
+            if (jwk instanceof RSAKey) {
+                return new RSASSAVerifier(jwk.toRSAKey());
+            }
+            return new ECDSAVerifier(jwk.toECKey());
+        } catch (JOSEException e) {
+            LOG.error("Error creating a verifier for the public key", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class CachedKey {
+        private final JWK jwk;
+        private final long loadedAt;
+
+        private CachedKey(JWK jwk, long loadedAt) {
+            this.jwk = jwk;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class CachedVerifier {
+        private final JWSVerifier verifier;
+        private final long retiredAt;
+
+        private CachedVerifier(JWSVerifier verifier, long retiredAt) {
+            this.verifier = verifier;
+            this.retiredAt = retiredAt;
+        }
+
+        private boolean isRetired() {
+            return retiredAt != Long.MAX_VALUE;
+        }
+
+        private CachedVerifier retire(long now) {
+            return isRetired() ? this : new CachedVerifier(verifier, now);
+        }
+
+        private boolean hasExpired(long now, long retentionMillis) {
+            return isRetired() && now >= retiredAt + retentionMillis;
         }
     }
 }
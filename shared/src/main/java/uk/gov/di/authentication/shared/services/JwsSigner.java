@@ -0,0 +1,44 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.util.List;
+
+/**
+ * Produces JWS signatures for the signing keys named in configuration. Signatures are returned in
+ * their JWS encoding, so ECDSA signatures are the concatenated R and S values rather than DER.
+ */
+public interface JwsSigner {
+
+    String KMS = "kms";
+    String KEYSTORE = "keystore";
+    List<String> KMS_ONLY_ENVIRONMENTS = List.of("build", "staging", "integration", "production");
+
+    /** Returns the identifier of the key that the given alias currently refers to. */
+    String getKeyId(String keyAlias);
+
+    /**
+     * Returns the public half of the key that the given alias currently refers to, identified by
+     * the same kid that tokens signed with it carry in their header.
+     */
+    JWK getPublicJwk(String keyAlias);
+
+    Base64URL sign(String keyId, JWSAlgorithm algorithm, byte[] signingInput);
+
+    static JwsSigner create(
+            ConfigurationService configurationService, KmsConnectionService kmsConnectionService) {
+        if (KEYSTORE.equals(configurationService.getTokenSigner())) {
+            if (KMS_ONLY_ENVIRONMENTS.contains(configurationService.getEnvironment())) {
+                throw new IllegalStateException(
+                        "Keystore token signer cannot be used in "
+                                + configurationService.getEnvironment());
+            }
+            return new KeyStoreJwsSigner(
+                    configurationService.getTokenSigningKeyStorePath(),
+                    configurationService.getTokenSigningKeyStorePassword());
+        }
+        return new KmsJwsSigner(kmsConnectionService);
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+import static com.nimbusds.jose.JWSAlgorithm.ES256;
+import static com.nimbusds.jose.JWSAlgorithm.RS256;
+import static com.nimbusds.jose.jwk.Curve.P_256;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
+
+/**
+ * Signs in process with private keys held in a local keystore, for running the token endpoints
+ * and performance tests without KMS. Keys are looked up by the configured signing key alias, which
+ * also serves as their key ID. Public keys are read from the certificate stored with each key.
+ */
+public class KeyStoreJwsSigner implements JwsSigner {
+
+    private static final Logger LOG = LogManager.getLogger(KeyStoreJwsSigner.class);
+
+    private final KeyStore keyStore;
+    private final char[] password;
+
+    public KeyStoreJwsSigner(String keyStorePath, String password) {
+        this.password = password.toCharArray();
+        try (var inputStream = new FileInputStream(keyStorePath)) {
+            this.keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            this.keyStore.load(inputStream, this.password);
+        } catch (IOException | GeneralSecurityException e) {
+            LOG.error("Unable to load signing keystore", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    public KeyStoreJwsSigner(KeyStore keyStore, String password) {
+        this.keyStore = keyStore;
+        this.password = password.toCharArray();
+    }
+
+    @Override
+    public String getKeyId(String keyAlias) {
+        return keyAlias;
+    }
+
+    @Override
+    public JWK getPublicJwk(String keyAlias) {
+        var publicKey = publicKey(keyAlias);
+        var kid = hashSha256String(getKeyId(keyAlias));
+        if (publicKey instanceof ECPublicKey) {
+            return new ECKey.Builder(P_256, (ECPublicKey) publicKey)
+                    .keyID(kid)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(ES256)
+                    .build();
+        }
+        return new RSAKey.Builder((RSAPublicKey) publicKey)
+                .keyID(kid)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(RS256)
+                .build();
+    }
+
+    @Override
+    public Base64URL sign(String keyId, JWSAlgorithm algorithm, byte[] signingInput) {
+        var privateKey = privateKey(keyId);
+        var header = new JWSHeader(algorithm);
+        try {
+            if (JWSAlgorithm.Family.RSA.contains(algorithm)) {
+                return new RSASSASigner(privateKey).sign(header, signingInput);
+            }
+            return new ECDSASigner((ECPrivateKey) privateKey).sign(header, signingInput);
+        } catch (JOSEException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private PrivateKey privateKey(String keyId) {
+        try {
+            var key = keyStore.getKey(keyId, password);
+            if (!(key instanceof PrivateKey)) {
+                throw new IllegalArgumentException("No private key in keystore for " + keyId);
+            }
+            return (PrivateKey) key;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private PublicKey publicKey(String keyAlias) {
+        try {
+            var certificate = keyStore.getCertificate(keyAlias);
+            if (certificate == null) {
+                throw new IllegalArgumentException("No certificate in keystore for " + keyAlias);
+            }
+            return certificate.getPublicKey();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -2,15 +2,12 @@ package uk.gov.di.authentication.shared.services;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.kms.KmsClient;
 import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
 import software.amazon.awssdk.services.kms.model.GetPublicKeyResponse;
 import software.amazon.awssdk.services.kms.model.SignRequest;
 import software.amazon.awssdk.services.kms.model.SignResponse;
 
-import java.net.URI;
 import java.util.Optional;
 
 public class KmsConnectionService {
@@ -20,28 +17,23 @@ public class KmsConnectionService {
 
     public KmsConnectionService(ConfigurationService configurationService) {
         this(
-                configurationService.getLocalstackEndpointUri(),
-                configurationService.getAwsRegion(),
+                AwsClientFactory.getInstance(configurationService).getKmsClient(),
                 configurationService.getTokenSigningKeyAlias());
     }
 
     public KmsConnectionService(
-            Optional<String> localstackEndpointUri, String awsRegion, String tokenSigningKeyId) {
-        if (localstackEndpointUri.isPresent()) {
-            LOG.info("Localstack endpoint URI is present: " + localstackEndpointUri.get());
-            this.kmsClient =
-                    KmsClient.builder()
-                            .endpointOverride(URI.create(localstackEndpointUri.get()))
-                            .credentialsProvider(DefaultCredentialsProvider.create())
-                            .region(Region.of(awsRegion))
-                            .build();
-        } else {
-            this.kmsClient =
-                    KmsClient.builder()
-                            .region(Region.of(awsRegion))
-                            .credentialsProvider(DefaultCredentialsProvider.create())
-                            .build();
-        }
+            ConfigurationService configurationService,
+            Optional<String> localstackEndpointUri,
+            String awsRegion,
+            String tokenSigningKeyId) {
+        this(
+                AwsClientFactory.getInstance(configurationService)
+                        .getKmsClient(awsRegion, localstackEndpointUri),
+                tokenSigningKeyId);
+    }
+
+    private KmsConnectionService(KmsClient kmsClient, String tokenSigningKeyId) {
+        this.kmsClient = kmsClient;
         warmUp(tokenSigningKeyId);
     }
 
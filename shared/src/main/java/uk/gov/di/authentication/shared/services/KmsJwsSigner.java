@@ -0,0 +1,115 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.impl.ECDSA;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.openssl.PEMException;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
+import software.amazon.awssdk.services.kms.model.GetPublicKeyResponse;
+import software.amazon.awssdk.services.kms.model.SignRequest;
+import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
+import uk.gov.di.authentication.shared.helpers.CryptoProviderHelper;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+import static com.nimbusds.jose.JWSAlgorithm.ES256;
+import static com.nimbusds.jose.JWSAlgorithm.RS256;
+import static com.nimbusds.jose.jwk.Curve.P_256;
+import static software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec.ECDSA_SHA_256;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
+
+public class KmsJwsSigner implements JwsSigner {
+
+    private static final Logger LOG = LogManager.getLogger(KmsJwsSigner.class);
+
+    private final KmsConnectionService kmsConnectionService;
+
+    public KmsJwsSigner(KmsConnectionService kmsConnectionService) {
+        this.kmsConnectionService = kmsConnectionService;
+    }
+
+    @Override
+    public String getKeyId(String keyAlias) {
+        return kmsConnectionService
+                .getPublicKey(GetPublicKeyRequest.builder().keyId(keyAlias).build())
+                .keyId();
+    }
+
+    @Override
+    public JWK getPublicJwk(String keyAlias) {
+        var getPublicKeyRequest = GetPublicKeyRequest.builder().keyId(keyAlias).build();
+        var publicKeyResponse = kmsConnectionService.getPublicKey(getPublicKeyRequest);
+
+        PublicKey publicKey = createPublicKey(publicKeyResponse);
+
+        if (publicKeyResponse.signingAlgorithms().contains(ECDSA_SHA_256)) {
+            return new ECKey.Builder(P_256, (ECPublicKey) publicKey)
+                    .keyID(hashSha256String(publicKeyResponse.keyId()))
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(ES256)
+                    .build();
+        } else {
+            return new RSAKey.Builder((RSAPublicKey) publicKey)
+                    .keyID(hashSha256String(publicKeyResponse.keyId()))
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(RS256)
+                    .build();
+        }
+    }
+
+    @Override
+    public Base64URL sign(String keyId, JWSAlgorithm algorithm, byte[] signingInput) {
+        var signRequest =
+                SignRequest.builder()
+                        .message(SdkBytes.fromByteArray(signingInput))
+                        .keyId(keyId)
+                        .signingAlgorithm(signingAlgorithm(algorithm))
+                        .build();
+        var signature = kmsConnectionService.sign(signRequest).signature().asByteArray();
+        if (JWSAlgorithm.Family.RSA.contains(algorithm)) {
+            return Base64URL.encode(signature);
+        }
+        try {
+            return Base64URL.encode(
+                    ECDSA.transcodeSignatureToConcat(
+                            signature, ECDSA.getSignatureByteArrayLength(algorithm)));
+        } catch (JOSEException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private PublicKey createPublicKey(GetPublicKeyResponse publicKeyResponse) {
+        SubjectPublicKeyInfo subjectKeyInfo =
+                SubjectPublicKeyInfo.getInstance(publicKeyResponse.publicKey().asByteArray());
+
+        try {
+            return new JcaPEMKeyConverter()
+                    .setProvider(CryptoProviderHelper.bouncyCastle())
+                    .getPublicKey(subjectKeyInfo);
+        } catch (PEMException e) {
+            LOG.error("Error getting the PublicKey using the JcaPEMKeyConverter", e);
+            throw new RuntimeException();
+        }
+    }
+
+    private static SigningAlgorithmSpec signingAlgorithm(JWSAlgorithm algorithm) {
+        if (JWSAlgorithm.ES256.equals(algorithm)) {
+            return SigningAlgorithmSpec.ECDSA_SHA_256;
+        } else if (JWSAlgorithm.RS256.equals(algorithm)) {
+            return SigningAlgorithmSpec.RSASSA_PKCS1_V1_5_SHA_256;
+        }
+        throw new IllegalArgumentException("Unsupported signing algorithm " + algorithm);
+    }
+}
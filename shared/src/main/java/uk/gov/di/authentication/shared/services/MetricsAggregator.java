@@ -0,0 +1,122 @@
+package uk.gov.di.authentication.shared.services;
+
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects metric values in memory, grouped by dimension set, and writes each group as one EMF
+ * log line holding every value recorded for it. Recording does no I/O, so it is safe from Redis
+ * and SDK I/O threads; values are only written by {@link #flushIfDue()} and {@link #flush()},
+ * which callers invoke from the request thread.
+ */
+class MetricsAggregator {
+
+    static final int MAX_VALUES_PER_METRIC = 100;
+    static final int MAX_PENDING_VALUES = 10_000;
+    private static final String NAMESPACE = "Authentication";
+
+    private final Clock clock;
+    private final long flushIntervalMillis;
+    private final Supplier<MetricsLogger> metricsLoggers;
+    private Map<Map<String, String>, Map<String, Values>> pending = new LinkedHashMap<>();
+    private int pendingValues = 0;
+    private long firstRecordedAt = 0;
+    private boolean full = false;
+
+    MetricsAggregator(
+            Clock clock, long flushIntervalMillis, Supplier<MetricsLogger> metricsLoggers) {
+        this.clock = clock;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.metricsLoggers = metricsLoggers;
+    }
+
+    synchronized void put(Map<String, String> dimensions, String name, double value, Unit unit) {
+        if (pendingValues >= MAX_PENDING_VALUES) {
+            return;
+        }
+        if (pendingValues == 0) {
+            firstRecordedAt = clock.millis();
+        }
+        var values =
+                pending.computeIfAbsent(dimensions, key -> new LinkedHashMap<>())
+                        .computeIfAbsent(name, key -> new Values(unit));
+        values.values.add(value);
+        pendingValues++;
+        full = full || values.values.size() >= MAX_VALUES_PER_METRIC;
+    }
+
+    void flushIfDue() {
+        Map<Map<String, String>, Map<String, Values>> batch;
+        synchronized (this) {
+            if (pendingValues == 0
+                    || !full && clock.millis() - firstRecordedAt < flushIntervalMillis) {
+                return;
+            }
+            batch = drain();
+        }
+        write(batch);
+    }
+
+    void flush() {
+        Map<Map<String, String>, Map<String, Values>> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        write(batch);
+    }
+
+    private Map<Map<String, String>, Map<String, Values>> drain() {
+        var batch = pending;
+        pending = new LinkedHashMap<>();
+        pendingValues = 0;
+        full = false;
+        return batch;
+    }
+
+    private void write(Map<Map<String, String>, Map<String, Values>> batch) {
+        batch.forEach(
+                (dimensions, metrics) -> {
+                    var largest =
+                            metrics.values().stream()
+                                    .mapToInt(values -> values.values.size())
+                                    .max()
+                                    .orElse(0);
+                    for (int from = 0; from < largest; from += MAX_VALUES_PER_METRIC) {
+                        write(dimensions, metrics, from);
+                    }
+                });
+    }
+
+    private void write(Map<String, String> dimensions, Map<String, Values> metrics, int from) {
+        var metricsLogger = metricsLoggers.get();
+        var dimensionSet = new DimensionSet();
+        dimensions.forEach(dimensionSet::addDimension);
+        metricsLogger.setNamespace(NAMESPACE);
+        metricsLogger.putDimensions(dimensionSet);
+        metrics.forEach(
+                (name, values) -> {
+                    var to = Math.min(values.values.size(), from + MAX_VALUES_PER_METRIC);
+                    for (int i = from; i < to; i++) {
+                        metricsLogger.putMetric(name, values.values.get(i), values.unit);
+                    }
+                });
+        metricsLogger.flush();
+    }
+
+    private static class Values {
+        private final Unit unit;
+        private final List<Double> values = new ArrayList<>();
+
+        private Values(Unit unit) {
+            this.unit = unit;
+        }
+    }
+}
@@ -1,36 +1,108 @@
 package uk.gov.di.authentication.shared.services;
 
+import io.lettuce.core.LettuceFutures;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
 import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.TransactionResult;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import io.lettuce.core.api.sync.RedisCommands;
 import io.lettuce.core.api.sync.RedisServerCommands;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.serialization.StringKeyByteArrayValueCodec;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static io.lettuce.core.support.ConnectionPoolSupport.createGenericObjectPool;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 
 public class RedisConnectionService implements AutoCloseable {
 
+    private static final Logger LOG = LogManager.getLogger(RedisConnectionService.class);
     public static final String REDIS_CONNECTION_ERROR = "Error getting Redis connection";
+    private static final Map<List<Object>, RedisConnectionService> SHARED_INSTANCES =
+            new ConcurrentHashMap<>();
+    private static final String UNPREFIXED_KEY_METRIC_NAME = "session";
+    private static final List<String> METRIC_KEY_PREFIXES =
+            List.of(
+                    ClientSessionService.CLIENT_SESSION_PREFIX,
+                    AuthorisationCodeService.AUTH_CODE_PREFIX,
+                    NoSessionOrchestrationService.STATE_STORAGE_PREFIX,
+                    TokenService.ACCESS_TOKEN_PREFIX,
+                    TokenService.REFRESH_TOKEN_PREFIX,
+                    CodeStorageService.CODE_REQUEST_BLOCKED_KEY_PREFIX,
+                    CodeStorageService.CODE_BLOCKED_KEY_PREFIX,
+                    CodeStorageService.PASSWORD_RESET_BLOCKED_KEY_PREFIX,
+                    CodeStorageService.EMAIL_KEY_PREFIX,
+                    CodeStorageService.PHONE_NUMBER_KEY_PREFIX,
+                    CodeStorageService.MFA_KEY_PREFIX,
+                    CodeStorageService.RESET_PASSWORD_KEY_PREFIX,
+                    CodeStorageService.VERIFY_CHANGE_HOW_GET_SECURITY_CODES_KEY_PREFIX,
+                    CodeStorageService.MULTIPLE_INCORRECT_MFA_CODES_KEY_PREFIX,
+                    CodeStorageService.MULTIPLE_INCORRECT_PASSWORDS_PREFIX);
+
     private final RedisClient client;
+    private final Duration commandTimeout;
 
-    private final GenericObjectPool<StatefulRedisConnection<String, String>> pool;
+    private final GenericObjectPool<StatefulRedisConnection<String, byte[]>> pool;
+    private final Optional<CloudwatchMetricsService> metricsService;
+    private final Map<String, String> scriptDigests = new ConcurrentHashMap<>();
 
     public RedisConnectionService(
-            String host, int port, boolean useSsl, Optional<String> password, boolean warmup) {
+            String host,
+            int port,
+            boolean useSsl,
+            Optional<String> password,
+            boolean warmup,
+            GenericObjectPoolConfig<StatefulRedisConnection<String, byte[]>> poolConfig) {
+        this(host, port, useSsl, password, warmup, poolConfig, Optional.empty());
+    }
+
+    private RedisConnectionService(
+            String host,
+            int port,
+            boolean useSsl,
+            Optional<String> password,
+            boolean warmup,
+            GenericObjectPoolConfig<StatefulRedisConnection<String, byte[]>> poolConfig,
+            Optional<CloudwatchMetricsService> metricsService) {
         RedisURI.Builder builder = RedisURI.builder().withHost(host).withPort(port).withSsl(useSsl);
         password.ifPresent(s -> builder.withPassword(s.toCharArray()));
         RedisURI redisURI = builder.build();
         this.client = RedisClient.create(redisURI);
-        this.pool = createGenericObjectPool(client::connect, new GenericObjectPoolConfig<>());
+        this.commandTimeout = redisURI.getTimeout();
+        this.pool =
+                createGenericObjectPool(
+                        () -> client.connect(StringKeyByteArrayValueCodec.INSTANCE), poolConfig);
+        this.metricsService = metricsService;
         if (warmup) warmUp();
     }
 
+    public RedisConnectionService(
+            String host, int port, boolean useSsl, Optional<String> password, boolean warmup) {
+        this(host, port, useSsl, password, warmup, new GenericObjectPoolConfig<>());
+    }
+
     public RedisConnectionService(
             String host, int port, boolean useSsl, Optional<String> password) {
         this(host, port, useSsl, password, true);
@@ -41,42 +113,335 @@ public class RedisConnectionService implements AutoCloseable {
                 configurationService.getRedisHost(),
                 configurationService.getRedisPort(),
                 configurationService.getUseRedisTLS(),
-                configurationService.getRedisPassword());
+                configurationService.getRedisPassword(),
+                true,
+                poolConfig(configurationService),
+                configurationService.isRedisMetricsEnabled()
+                        ? Optional.of(new CloudwatchMetricsService(configurationService))
+                        : Optional.empty());
+    }
+
+    /**
+     * Returns the connection service shared by every caller in this JVM whose configuration has
+     * the same Redis endpoint, credentials, pool and metrics settings, so callers configured for a
+     * different Redis get their own pool rather than whichever one happened to be created first.
+     */
+    public static RedisConnectionService getInstance(ConfigurationService configurationService) {
+        return SHARED_INSTANCES.computeIfAbsent(
+                settingsOf(configurationService),
+                key -> new RedisConnectionService(configurationService));
+    }
+
+    static List<Object> settingsOf(ConfigurationService configurationService) {
+        return Arrays.asList(
+                configurationService.getRedisHost(),
+                configurationService.getRedisPort(),
+                configurationService.getUseRedisTLS(),
+                configurationService.getRedisPassword(),
+                configurationService.getRedisMaxConnections(),
+                configurationService.getRedisMinIdleConnections(),
+                configurationService.getRedisConnectionBorrowTimeout(),
+                configurationService.isRedisMetricsEnabled(),
+                configurationService.getEnvironment());
+    }
+
+    private static GenericObjectPoolConfig<StatefulRedisConnection<String, byte[]>> poolConfig(
+            ConfigurationService configurationService) {
+        var poolConfig = new GenericObjectPoolConfig<StatefulRedisConnection<String, byte[]>>();
+        poolConfig.setMaxTotal(configurationService.getRedisMaxConnections());
+        poolConfig.setMaxIdle(configurationService.getRedisMaxConnections());
+        poolConfig.setMinIdle(configurationService.getRedisMinIdleConnections());
+        poolConfig.setMaxWait(
+                Duration.ofMillis(configurationService.getRedisConnectionBorrowTimeout()));
+        return poolConfig;
     }
 
     @FunctionalInterface
     private interface RedisFunction<T> {
-        T getResult(RedisCommands<String, String> commands);
+        T getResult(RedisCommands<String, byte[]> commands);
     }
 
-    private <T> T executeCommand(RedisFunction<T> callable) {
-        try (StatefulRedisConnection<String, String> connection =
+    @FunctionalInterface
+    private interface RedisAsyncFunction<T> {
+        RedisFuture<T> getResult(RedisAsyncCommands<String, byte[]> commands);
+    }
+
+    @FunctionalInterface
+    private interface RedisPipeline<T> {
+        List<? extends RedisFuture<? extends T>> queueCommands(
+                RedisAsyncCommands<String, byte[]> commands);
+    }
+
+    private <T> T executeCommand(String operation, String key, RedisFunction<T> callable) {
+        long start = System.nanoTime();
+        long borrowed = -1;
+        boolean timedOut = false;
+        try (StatefulRedisConnection<String, byte[]> connection =
                 segmentedFunctionCall("Redis: getConnection", () -> pool.borrowObject())) {
+            borrowed = System.nanoTime();
             return callable.getResult(connection.sync());
         } catch (Exception e) {
+            timedOut = isCommandTimeout(e);
             throw new RedisConnectionException(REDIS_CONNECTION_ERROR, e);
+        } finally {
+            recordMetrics(operation, key, start, borrowed, timedOut);
+            flushMetricsIfDue();
+        }
+    }
+
+    private <T> CompletableFuture<T> executeAsyncCommand(
+            String operation, String key, RedisAsyncFunction<T> callable) {
+        long start = System.nanoTime();
+        StatefulRedisConnection<String, byte[]> connection;
+        try {
+            connection = segmentedFunctionCall("Redis: getConnection", () -> pool.borrowObject());
+        } catch (Exception e) {
+            recordMetrics(operation, key, start, -1, false);
+            return CompletableFuture.failedFuture(
+                    new RedisConnectionException(REDIS_CONNECTION_ERROR, e));
         }
+        long borrowed = System.nanoTime();
+        var future = new CompletableFuture<T>();
+        try {
+            callable.getResult(connection.async())
+                    .whenComplete(
+                            (result, error) -> {
+                                connection.close();
+                                recordMetrics(
+                                        operation,
+                                        key,
+                                        start,
+                                        borrowed,
+                                        error != null && isCommandTimeout(error));
+                                if (error != null) {
+                                    future.completeExceptionally(
+                                            new RedisConnectionException(
+                                                    REDIS_CONNECTION_ERROR, error));
+                                } else {
+                                    future.complete(result);
+                                }
+                            });
+        } catch (Exception e) {
+            connection.close();
+            recordMetrics(operation, key, start, borrowed, false);
+            future.completeExceptionally(new RedisConnectionException(REDIS_CONNECTION_ERROR, e));
+        }
+        return future;
+    }
+
+    private <T> List<T> executePipeline(String operation, String key, RedisPipeline<T> pipeline) {
+        long start = System.nanoTime();
+        long borrowed = -1;
+        boolean timedOut = false;
+        try (StatefulRedisConnection<String, byte[]> connection =
+                segmentedFunctionCall("Redis: getConnection", () -> pool.borrowObject())) {
+            borrowed = System.nanoTime();
+            connection.setAutoFlushCommands(false);
+            try {
+                var futures = pipeline.queueCommands(connection.async());
+                connection.flushCommands();
+                if (!LettuceFutures.awaitAll(commandTimeout, futures.toArray(new Future<?>[0]))) {
+                    throw new RedisCommandTimeoutException("Redis pipeline timed out");
+                }
+                var results = new ArrayList<T>(futures.size());
+                for (RedisFuture<? extends T> future : futures) {
+                    results.add(future.get());
+                }
+                return results;
+            } finally {
+                connection.setAutoFlushCommands(true);
+            }
+        } catch (Exception e) {
+            timedOut = isCommandTimeout(e);
+            throw new RedisConnectionException(REDIS_CONNECTION_ERROR, e);
+        } finally {
+            recordMetrics(operation, key, start, borrowed, timedOut);
+            flushMetricsIfDue();
+        }
+    }
+
+    private void flushMetricsIfDue() {
+        try {
+            metricsService.ifPresent(CloudwatchMetricsService::flushAggregatedMetricsIfDue);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to write Redis metrics", e);
+        }
+    }
+
+    private void recordMetrics(
+            String operation, String key, long start, long borrowed, boolean timedOut) {
+        if (metricsService.isEmpty()) {
+            return;
+        }
+        long end = System.nanoTime();
+        double connectionWaitMillis = ((borrowed < 0 ? end : borrowed) - start) / 1_000_000.0;
+        double commandMillis = (borrowed < 0 ? 0 : end - borrowed) / 1_000_000.0;
+        metricsService
+                .get()
+                .putRedisCommandMetrics(
+                        operation,
+                        keyPrefixForMetrics(key),
+                        connectionWaitMillis,
+                        commandMillis,
+                        timedOut,
+                        pool.getNumActive(),
+                        pool.getNumIdle());
+    }
+
+    static String keyPrefixForMetrics(String key) {
+        return METRIC_KEY_PREFIXES.stream()
+                .filter(key::startsWith)
+                .findFirst()
+                .orElse(UNPREFIXED_KEY_METRIC_NAME);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decode(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, byte[]> encodeFields(Map<String, String> fields) {
+        var encoded = new LinkedHashMap<String, byte[]>();
+        fields.forEach((field, value) -> encoded.put(field, encode(value)));
+        return encoded;
+    }
+
+    private static Map<String, String> decodeFields(Map<String, byte[]> fields) {
+        var decoded = new LinkedHashMap<String, String>();
+        fields.forEach((field, value) -> decoded.put(field, decode(value)));
+        return decoded;
+    }
+
+    private static String firstKey(String... keys) {
+        return keys.length == 0 ? "" : keys[0];
+    }
+
+    public static boolean isWrongTypeError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisCommandExecutionException
+                    && String.valueOf(cause.getMessage()).startsWith("WRONGTYPE")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCommandTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisCommandTimeoutException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public void saveWithExpiry(final String key, final String value, final long expiry) {
         segmentedFunctionCall(
                 "Redis: saveWithExpiry",
-                () -> executeCommand(commands -> commands.setex(key, expiry, value)));
+                () ->
+                        executeCommand(
+                                "saveWithExpiry",
+                                key,
+                                commands -> commands.setex(key, expiry, encode(value))));
     }
 
     public boolean keyExists(final String key) {
         return segmentedFunctionCall(
-                "Redis: keyExists", () -> executeCommand(commands -> commands.exists(key) == 1));
+                "Redis: keyExists",
+                () -> executeCommand("keyExists", key, commands -> commands.exists(key) == 1));
     }
 
     public String getValue(final String key) {
         return segmentedFunctionCall(
-                "Redis: getValue", () -> executeCommand(commands -> commands.get(key)));
+                "Redis: getValue",
+                () -> executeCommand("getValue", key, commands -> decode(commands.get(key))));
+    }
+
+    public List<String> getValues(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        return getValues(keys.toArray(String[]::new));
+    }
+
+    public List<String> getValues(final String... keys) {
+        return segmentedFunctionCall(
+                "Redis: getValues",
+                () ->
+                        executeCommand(
+                                "getValues",
+                                firstKey(keys),
+                                commands ->
+                                        commands.mget(keys).stream()
+                                                .map(value -> decode(value.getValueOrElse(null)))
+                                                .collect(Collectors.toList())));
+    }
+
+    public CompletableFuture<String> getValueAsync(final String key) {
+        return segmentedFunctionCall(
+                        "Redis: getValueAsync",
+                        () ->
+                                executeAsyncCommand(
+                                        "getValueAsync", key, commands -> commands.get(key)))
+                .thenApply(RedisConnectionService::decode);
+    }
+
+    public CompletableFuture<List<String>> getValuesAsync(final String... keys) {
+        return segmentedFunctionCall(
+                        "Redis: getValuesAsync",
+                        () ->
+                                executeAsyncCommand(
+                                        "getValuesAsync",
+                                        firstKey(keys),
+                                        commands -> commands.mget(keys)))
+                .thenApply(
+                        values ->
+                                values.stream()
+                                        .map(value -> decode(value.getValueOrElse(null)))
+                                        .collect(Collectors.toList()));
+    }
+
+    public void saveAllWithExpiry(final Map<String, String> values, final long expiry) {
+        if (values.isEmpty()) {
+            return;
+        }
+        segmentedFunctionCall(
+                "Redis: saveAllWithExpiry",
+                () ->
+                        executePipeline(
+                                "saveAllWithExpiry",
+                                values.keySet().iterator().next(),
+                                commands -> {
+                                    var futures = new ArrayList<RedisFuture<String>>();
+                                    values.forEach(
+                                            (key, value) ->
+                                                    futures.add(
+                                                            commands.setex(
+                                                                    key, expiry, encode(value))));
+                                    return futures;
+                                }));
     }
 
     public long deleteValue(final String key) {
         return segmentedFunctionCall(
-                "Redis: deleteValue", () -> executeCommand(commands -> commands.del(key)));
+                "Redis: deleteValue",
+                () -> executeCommand("deleteValue", key, commands -> commands.del(key)));
+    }
+
+    public long deleteValues(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        return segmentedFunctionCall(
+                "Redis: deleteValues",
+                () ->
+                        executeCommand(
+                                "deleteValues",
+                                keys.iterator().next(),
+                                commands -> commands.del(keys.toArray(String[]::new))));
     }
 
     public String popValue(final String key) {
@@ -84,26 +449,259 @@ public class RedisConnectionService implements AutoCloseable {
                 "Redis: popValue",
                 () ->
                         executeCommand(
+                                "popValue",
+                                key,
+                                commands -> {
+                                    commands.multi();
+                                    commands.get(key);
+                                    commands.del(key);
+                                    TransactionResult result = commands.exec();
+                                    return decode(result.get(0));
+                                }));
+    }
+
+    public CompletableFuture<String> popValueAsync(final String key) {
+        return segmentedFunctionCall(
+                        "Redis: popValueAsync",
+                        () ->
+                                executeAsyncCommand(
+                                        "popValueAsync",
+                                        key,
+                                        commands -> {
+                                            commands.multi();
+                                            commands.get(key);
+                                            commands.del(key);
+                                            return commands.exec();
+                                        }))
+                .thenApply(result -> decode(result.get(0)));
+    }
+
+    public void saveHashWithExpiry(
+            final String key, final Map<String, String> fields, final long expiry) {
+        segmentedFunctionCall(
+                "Redis: saveHashWithExpiry",
+                () ->
+                        executeCommand(
+                                "saveHashWithExpiry",
+                                key,
+                                commands -> {
+                                    commands.multi();
+                                    commands.del(key);
+                                    commands.hset(key, encodeFields(fields));
+                                    commands.expire(key, expiry);
+                                    return commands.exec();
+                                }));
+    }
+
+    public Map<String, String> getHash(final String key) {
+        return segmentedFunctionCall(
+                "Redis: getHash",
+                () ->
+                        executeCommand(
+                                "getHash", key, commands -> decodeFields(commands.hgetall(key))));
+    }
+
+    public CompletableFuture<Map<String, String>> getHashAsync(final String key) {
+        return segmentedFunctionCall(
+                        "Redis: getHashAsync",
+                        () ->
+                                executeAsyncCommand(
+                                        "getHashAsync", key, commands -> commands.hgetall(key)))
+                .thenApply(RedisConnectionService::decodeFields);
+    }
+
+    public boolean expire(final String key, final long expiry) {
+        return segmentedFunctionCall(
+                "Redis: expire",
+                () -> executeCommand("expire", key, commands -> commands.expire(key, expiry)));
+    }
+
+    public <T> T executeScript(
+            final String script,
+            final ScriptOutputType outputType,
+            final List<String> keys,
+            final List<String> args) {
+        return segmentedFunctionCall(
+                "Redis: executeScript",
+                () ->
+                        executeCommand(
+                                "executeScript",
+                                keys.isEmpty() ? "" : keys.get(0),
+                                commands -> {
+                                    var digest =
+                                            scriptDigests.computeIfAbsent(
+                                                    script, commands::digest);
+                                    var keyArray = keys.toArray(String[]::new);
+                                    var argArray =
+                                            args.stream()
+                                                    .map(RedisConnectionService::encode)
+                                                    .toArray(byte[][]::new);
+                                    try {
+                                        return commands.<T>evalsha(
+                                                digest, outputType, keyArray, argArray);
+                                    } catch (RedisNoScriptException e) {
+                                        return commands.<T>eval(
+                                                script, outputType, keyArray, argArray);
+                                    }
+                                }));
+    }
+
+    public void saveBinaryWithExpiry(final String key, final byte[] value, final long expiry) {
+        segmentedFunctionCall(
+                "Redis: saveBinaryWithExpiry",
+                () ->
+                        executeCommand(
+                                "saveBinaryWithExpiry",
+                                key,
+                                commands -> commands.setex(key, expiry, value)));
+    }
+
+    public byte[] getBinaryValue(final String key) {
+        return segmentedFunctionCall(
+                "Redis: getBinaryValue",
+                () ->
+                        executeCommand(
+                                "getBinaryValue", key, commands -> commands.get(key)));
+    }
+
+    public List<byte[]> getBinaryValues(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        return getBinaryValues(keys.toArray(String[]::new));
+    }
+
+    public List<byte[]> getBinaryValues(final String... keys) {
+        return segmentedFunctionCall(
+                "Redis: getBinaryValues",
+                () ->
+                        executeCommand(
+                                "getBinaryValues",
+                                firstKey(keys),
+                                commands ->
+                                        commands.mget(keys).stream()
+                                                .map(value -> value.getValueOrElse(null))
+                                                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Reads each key with its own GET, pipelined into a single round trip. Unlike {@link
+     * #getBinaryValues(String...)}, a key holding a hash fails with a WRONGTYPE error rather than
+     * reading as missing.
+     */
+    public List<byte[]> getBinaryValuesPipelined(final String... keys) {
+        return segmentedFunctionCall(
+                "Redis: getBinaryValuesPipelined",
+                () ->
+                        executePipeline(
+                                "getBinaryValuesPipelined",
+                                firstKey(keys),
+                                commands ->
+                                        Arrays.stream(keys)
+                                                .map(commands::get)
+                                                .collect(Collectors.toList())));
+    }
+
+    /** Reads a hash and a value with HGETALL and GET pipelined into a single round trip. */
+    @SuppressWarnings("unchecked")
+    public HashAndBinaryValue getHashAndBinaryValue(final String hashKey, final String valueKey) {
+        return segmentedFunctionCall(
+                "Redis: getHashAndBinaryValue",
+                () -> {
+                    List<Object> results =
+                            executePipeline(
+                                    "getHashAndBinaryValue",
+                                    hashKey,
+                                    commands ->
+                                            List.of(
+                                                    commands.hgetall(hashKey),
+                                                    commands.get(valueKey)));
+                    return new HashAndBinaryValue(
+                            decodeFields((Map<String, byte[]>) results.get(0)),
+                            (byte[]) results.get(1));
+                });
+    }
+
+    public CompletableFuture<byte[]> getBinaryValueAsync(final String key) {
+        return segmentedFunctionCall(
+                "Redis: getBinaryValueAsync",
+                () ->
+                        executeAsyncCommand(
+                                "getBinaryValueAsync",
+                                key,
+                                commands -> commands.get(key)));
+    }
+
+    public byte[] popBinaryValue(final String key) {
+        return segmentedFunctionCall(
+                "Redis: popBinaryValue",
+                () ->
+                        executeCommand(
+                                "popBinaryValue",
+                                key,
                                 commands -> {
                                     commands.multi();
                                     commands.get(key);
                                     commands.del(key);
                                     TransactionResult result = commands.exec();
-                                    return result.get(0);
+                                    return result.<byte[]>get(0);
                                 }));
     }
 
+    public CompletableFuture<byte[]> popBinaryValueAsync(final String key) {
+        return segmentedFunctionCall(
+                        "Redis: popBinaryValueAsync",
+                        () ->
+                                executeAsyncCommand(
+                                        "popBinaryValueAsync",
+                                        key,
+                                        commands -> {
+                                            commands.multi();
+                                            commands.get(key);
+                                            commands.del(key);
+                                            return commands.exec();
+                                        }))
+                .thenApply(result -> result.<byte[]>get(0));
+    }
+
     private void warmUp() {
         segmentedFunctionCall(
-                "Redis: warmUp", () -> executeCommand(RedisServerCommands::clientGetname));
+                "Redis: warmUp",
+                () -> {
+                    try {
+                        pool.preparePool();
+                    } catch (Exception e) {
+                        throw new RedisConnectionException(REDIS_CONNECTION_ERROR, e);
+                    }
+                    executeCommand("warmUp", "", RedisServerCommands::clientGetname);
+                });
     }
 
     @Override
     public void close() {
+        metricsService.ifPresent(CloudwatchMetricsService::flushAggregatedMetrics);
         pool.close();
         client.shutdown();
     }
 
+    public static class HashAndBinaryValue {
+        private final Map<String, String> hash;
+        private final byte[] value;
+
+        public HashAndBinaryValue(Map<String, String> hash, byte[] value) {
+            this.hash = hash;
+            this.value = value;
+        }
+
+        public Map<String, String> getHash() {
+            return hash;
+        }
+
+        public byte[] getValue() {
+            return value;
+        }
+    }
+
     public static class RedisConnectionException extends RuntimeException {
         public RedisConnectionException(String message, Throwable cause) {
             super(message, cause);
@@ -1,30 +1,134 @@
 package uk.gov.di.authentication.shared.services;
 
+import io.lettuce.core.ScriptOutputType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
-import uk.gov.di.authentication.shared.serialization.Json;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
+import static uk.gov.di.authentication.shared.domain.RequestHeaders.CLIENT_SESSION_ID_HEADER;
 import static uk.gov.di.authentication.shared.domain.RequestHeaders.SESSION_ID_HEADER;
 import static uk.gov.di.authentication.shared.helpers.InputSanitiser.sanitiseBase64;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.CLIENT_SESSION_ID;
+import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.GOVUK_SIGNIN_JOURNEY_ID;
+import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachLogFieldToLogs;
 import static uk.gov.di.authentication.shared.helpers.RequestHeaderHelper.getHeaderValueFromHeaders;
 import static uk.gov.di.authentication.shared.helpers.RequestHeaderHelper.headersContainValidHeader;
+import static uk.gov.di.authentication.shared.services.ClientSessionService.CLIENT_SESSION_PREFIX;
 
 public class SessionService {
 
     private static final Logger LOG = LogManager.getLogger(SessionService.class);
 
-    private static final Json OBJECT_MAPPER = SerializationService.getInstance();
+    private static final String SET_FIELDS_SCRIPT =
+            "if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then return 0 end "
+                    + "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+                    + "return 1";
+    private static final String INCREMENT_FIELD_SCRIPT =
+            "if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then return -1 end "
+                    + "local count = redis.call('HINCRBY', KEYS[1], ARGV[2], 1) "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+                    + "return count";
+    private static final String APPEND_CLIENT_SESSION_SCRIPT =
+            "if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then return 0 end "
+                    + "local existing = redis.call('HGET', KEYS[1], ARGV[2]) "
+                    + "if existing and existing ~= '' then "
+                    + "redis.call('HSET', KEYS[1], ARGV[2], existing .. ',' .. ARGV[3]) "
+                    + "else redis.call('HSET', KEYS[1], ARGV[2], ARGV[3]) end "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+                    + "return 1";
+
+    public enum SessionField {
+        SESSION_ID("session_id", Session::getSessionId, Session::setSessionId),
+        CLIENT_SESSIONS(
+                "client_sessions",
+                session ->
+                        session.getClientSessions() == null
+                                ? null
+                                : String.join(",", session.getClientSessions()),
+                (session, value) ->
+                        Arrays.stream(value.split(",")).forEach(session::addClientSession)),
+        EMAIL_ADDRESS("email_address", Session::getEmailAddress, Session::setEmailAddress),
+        RETRY_COUNT(
+                "retry_count",
+                session -> String.valueOf(session.getRetryCount()),
+                (session, value) -> session.setRetryCount(Integer.parseInt(value))),
+        PASSWORD_RESET_COUNT(
+                "password_reset_count",
+                session -> String.valueOf(session.getPasswordResetCount()),
+                (session, value) -> session.setPasswordResetCount(Integer.parseInt(value))),
+        CODE_REQUEST_COUNT(
+                "code_request_count",
+                session -> String.valueOf(session.getCodeRequestCount()),
+                (session, value) -> session.setCodeRequestCount(Integer.parseInt(value))),
+        CURRENT_CREDENTIAL_STRENGTH(
+                "current_credential_strength",
+                session -> nameOf(session.getCurrentCredentialStrength()),
+                (session, value) ->
+                        session.setCurrentCredentialStrength(CredentialTrustLevel.valueOf(value))),
+        IS_NEW_ACCOUNT(
+                "is_new_account",
+                session -> nameOf(session.isNewAccount()),
+                (session, value) -> session.setNewAccount(Session.AccountState.valueOf(value))),
+        AUTHENTICATED(
+                "authenticated",
+                session -> String.valueOf(session.isAuthenticated()),
+                (session, value) -> session.setAuthenticated(Boolean.parseBoolean(value))),
+        PROCESSING_IDENTITY_ATTEMPTS(
+                "processing_identity_attempts",
+                session -> String.valueOf(session.getProcessingIdentityAttempts()),
+                (session, value) -> session.setProcessingIdentityAttempts(Integer.parseInt(value))),
+        VERIFIED_MFA_METHOD_TYPE(
+                "verified_mfa_method_type",
+                session -> nameOf(session.getVerifiedMfaMethodType()),
+                (session, value) -> session.setVerifiedMfaMethodType(MFAMethodType.valueOf(value))),
+        INTERNAL_COMMON_SUBJECT_IDENTIFIER(
+                "internal_common_subject_identifier",
+                Session::getInternalCommonSubjectIdentifier,
+                Session::setInternalCommonSubjectIdentifier);
+
+        private final String fieldName;
+        private final Function<Session, String> getter;
+        private final BiConsumer<Session, String> setter;
+
+        SessionField(
+                String fieldName,
+                Function<Session, String> getter,
+                BiConsumer<Session, String> setter) {
+            this.fieldName = fieldName;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        private static String nameOf(Enum<?> value) {
+            return value == null ? null : value.name();
+        }
+    }
 
     private final ConfigurationService configurationService;
     private final RedisConnectionService redisConnectionService;
     private final CookieHelper cookieHelper;
+    private final CompactSerializationService compactSerializer;
 
     public SessionService(
             ConfigurationService configurationService,
@@ -32,16 +136,11 @@ public class SessionService {
         this.configurationService = configurationService;
         this.redisConnectionService = redisConnectionService;
         this.cookieHelper = new CookieHelper();
+        this.compactSerializer = new CompactSerializationService(configurationService);
     }
 
     public SessionService(ConfigurationService configurationService) {
-        this(
-                configurationService,
-                new RedisConnectionService(
-                        configurationService.getRedisHost(),
-                        configurationService.getRedisPort(),
-                        configurationService.getUseRedisTLS(),
-                        configurationService.getRedisPassword()));
+        this(configurationService, RedisConnectionService.getInstance(configurationService));
     }
 
     public Session createSession() {
@@ -50,15 +149,109 @@ public class SessionService {
 
     public void save(Session session) {
         try {
-            redisConnectionService.saveWithExpiry(
+            if (configurationService.isRedisSessionHashStorageEnabled()) {
+                redisConnectionService.saveHashWithExpiry(
+                        session.getSessionId(),
+                        toHash(session),
+                        configurationService.getSessionExpiry());
+                return;
+            }
+            redisConnectionService.saveBinaryWithExpiry(
                     session.getSessionId(),
-                    OBJECT_MAPPER.writeValueAsString(session),
+                    compactSerializer.writeValueAsBytes(session),
                     configurationService.getSessionExpiry());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    public void saveFields(Session session, SessionField... fields) {
+        if (!configurationService.isRedisSessionHashStorageEnabled()) {
+            save(session);
+            return;
+        }
+        var args = new ArrayList<String>();
+        args.add(String.valueOf(configurationService.getSessionExpiry()));
+        for (SessionField field : fields) {
+            var value = field.getter.apply(session);
+            args.add(field.fieldName);
+            args.add(value == null ? "" : value);
+        }
+        Long updated =
+                redisConnectionService.executeScript(
+                        SET_FIELDS_SCRIPT,
+                        ScriptOutputType.INTEGER,
+                        List.of(session.getSessionId()),
+                        args);
+        if (updated == null || updated == 0) {
+            LOG.info("Session not stored as a hash, saving whole session");
+            save(session);
+        }
+    }
+
+    public Session incrementCodeRequestCount(Session session) {
+        return incrementField(session, SessionField.CODE_REQUEST_COUNT);
+    }
+
+    public Session incrementPasswordResetCount(Session session) {
+        return incrementField(session, SessionField.PASSWORD_RESET_COUNT);
+    }
+
+    public Session addClientSession(Session session, String clientSessionId) {
+        session.addClientSession(clientSessionId);
+        if (!configurationService.isRedisSessionHashStorageEnabled()) {
+            save(session);
+            return session;
+        }
+        Long updated =
+                redisConnectionService.executeScript(
+                        APPEND_CLIENT_SESSION_SCRIPT,
+                        ScriptOutputType.INTEGER,
+                        List.of(session.getSessionId()),
+                        List.of(
+                                String.valueOf(configurationService.getSessionExpiry()),
+                                SessionField.CLIENT_SESSIONS.fieldName,
+                                clientSessionId));
+        if (updated == null || updated == 0) {
+            LOG.info("Session not stored as a hash, saving whole session");
+            save(session);
+        }
+        return session;
+    }
+
+    public void refreshExpiry(String sessionId) {
+        redisConnectionService.expire(sessionId, configurationService.getSessionExpiry());
+    }
+
+    private Session incrementField(Session session, SessionField field) {
+        if (!configurationService.isRedisSessionHashStorageEnabled()) {
+            incrementLocally(session, field);
+            save(session);
+            return session;
+        }
+        Long count =
+                redisConnectionService.executeScript(
+                        INCREMENT_FIELD_SCRIPT,
+                        ScriptOutputType.INTEGER,
+                        List.of(session.getSessionId()),
+                        List.of(
+                                String.valueOf(configurationService.getSessionExpiry()),
+                                field.fieldName));
+        if (count == null || count < 0) {
+            LOG.info("Session not stored as a hash, saving whole session");
+            incrementLocally(session, field);
+            save(session);
+        } else {
+            field.setter.accept(session, String.valueOf(count));
+        }
+        return session;
+    }
+
+    private static void incrementLocally(Session session, SessionField field) {
+        var current = Integer.parseInt(field.getter.apply(session));
+        field.setter.accept(session, String.valueOf(current + 1));
+    }
+
     public void updateSessionId(Session session) {
         try {
             String oldSessionId = session.getSessionId();
@@ -72,6 +265,41 @@ public class SessionService {
     }
 
     public Optional<Session> getSessionFromRequestHeaders(Map<String, String> headers) {
+        return getSessionIdFromRequestHeaders(headers)
+                .flatMap(
+                        id -> {
+                            try {
+                                return readSessionFromRedis(id);
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+    }
+
+    public SessionAndClientSession getSessionAndClientSessionFromRequestHeaders(
+            Map<String, String> headers) {
+        var sessionId = getSessionIdFromRequestHeaders(headers);
+        if (sessionId.isEmpty()) {
+            return new SessionAndClientSession(Optional.empty(), Optional.empty());
+        }
+        var clientSessionId =
+                headersContainValidHeader(
+                                headers,
+                                CLIENT_SESSION_ID_HEADER,
+                                configurationService.getHeadersCaseInsensitive())
+                        ? getHeaderValueFromHeaders(
+                                headers,
+                                CLIENT_SESSION_ID_HEADER,
+                                configurationService.getHeadersCaseInsensitive())
+                        : null;
+        if (clientSessionId == null) {
+            return new SessionAndClientSession(
+                    readSessionFromRedis(sessionId.get()), Optional.empty());
+        }
+        return readSessionAndClientSessionFromRedis(sessionId.get(), clientSessionId);
+    }
+
+    private Optional<String> getSessionIdFromRequestHeaders(Map<String, String> headers) {
         if (!headersContainValidHeader(
                 headers, SESSION_ID_HEADER, configurationService.getHeadersCaseInsensitive())) {
             LOG.warn("Headers are missing Session-Id header");
@@ -86,16 +314,7 @@ public class SessionService {
             LOG.warn("Value not found for Session-Id header");
             return Optional.empty();
         }
-
-        return sanitiseBase64(sessionId)
-                .flatMap(
-                        id -> {
-                            try {
-                                return readSessionFromRedis(id);
-                            } catch (Exception e) {
-                                throw new RuntimeException(e);
-                            }
-                        });
+        return sanitiseBase64(sessionId);
     }
 
     public Optional<Session> getSessionFromSessionCookie(Map<String, String> headers) {
@@ -112,20 +331,161 @@ public class SessionService {
     }
 
     public Optional<Session> readSessionFromRedis(String sessionId) {
+        var hashStorage = configurationService.isRedisSessionHashStorageEnabled();
         try {
-            if (redisConnectionService.keyExists(sessionId)) {
-                return Optional.of(
-                        segmentedFunctionCall(
-                                "Deserialise session",
-                                () ->
-                                        OBJECT_MAPPER.readValue(
-                                                redisConnectionService.getValue(sessionId),
-                                                Session.class)));
-            } else {
-                return Optional.empty();
+            return hashStorage ? readHash(sessionId) : readSerialised(sessionId);
+        } catch (RuntimeException e) {
+            if (!RedisConnectionService.isWrongTypeError(e)) {
+                throw e;
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            LOG.info("Session stored in previous format, reading with fallback");
+            return hashStorage ? readSerialised(sessionId) : readHash(sessionId);
+        }
+    }
+
+    public CompletableFuture<Optional<Session>> readSessionFromRedisAsync(String sessionId) {
+        var hashStorage = configurationService.isRedisSessionHashStorageEnabled();
+        CompletableFuture<Optional<Session>> primary =
+                hashStorage
+                        ? redisConnectionService
+                                .getHashAsync(sessionId)
+                                .thenApply(hash -> fromHash(sessionId, hash))
+                        : redisConnectionService
+                                .getBinaryValueAsync(sessionId)
+                                .thenApply(
+                                        value ->
+                                                Optional.ofNullable(value)
+                                                        .map(this::deserialiseSession));
+        return primary.handle(
+                        (session, error) -> {
+                            if (error == null) {
+                                return CompletableFuture.completedFuture(session);
+                            }
+                            if (!RedisConnectionService.isWrongTypeError(error)) {
+                                return CompletableFuture.<Optional<Session>>failedFuture(error);
+                            }
+                            LOG.info("Session stored in previous format, reading with fallback");
+                            return hashStorage
+                                    ? redisConnectionService
+                                            .getBinaryValueAsync(sessionId)
+                                            .thenApply(
+                                                    value ->
+                                                            Optional.ofNullable(value)
+                                                                    .map(this::deserialiseSession))
+                                    : redisConnectionService
+                                            .getHashAsync(sessionId)
+                                            .thenApply(hash -> fromHash(sessionId, hash));
+                        })
+                .thenCompose(Function.identity());
+    }
+
+    public SessionAndClientSession readSessionAndClientSessionFromRedis(
+            String sessionId, String clientSessionId) {
+        attachLogFieldToLogs(CLIENT_SESSION_ID, clientSessionId);
+        attachLogFieldToLogs(GOVUK_SIGNIN_JOURNEY_ID, clientSessionId);
+
+        var hashStorage = configurationService.isRedisSessionHashStorageEnabled();
+        var clientSessionKey = CLIENT_SESSION_PREFIX.concat(clientSessionId);
+        SessionAndClientSession sessions;
+        try {
+            sessions =
+                    hashStorage
+                            ? readHashAndClientSession(sessionId, clientSessionKey)
+                            : readSerialisedAndClientSession(sessionId, clientSessionKey);
+        } catch (RuntimeException e) {
+            if (!RedisConnectionService.isWrongTypeError(e)) {
+                throw e;
+            }
+            LOG.info("Session stored in previous format, reading with fallback");
+            sessions =
+                    hashStorage
+                            ? readSerialisedAndClientSession(sessionId, clientSessionKey)
+                            : readHashAndClientSession(sessionId, clientSessionKey);
+        }
+        if (sessions.getClientSession().isEmpty()) {
+            LOG.warn("Client session with given key is not present in redis");
+        }
+        return sessions;
+    }
+
+    private SessionAndClientSession readHashAndClientSession(
+            String sessionId, String clientSessionKey) {
+        var values = redisConnectionService.getHashAndBinaryValue(sessionId, clientSessionKey);
+        return new SessionAndClientSession(
+                fromHash(sessionId, values.getHash()),
+                Optional.ofNullable(values.getValue()).map(this::deserialiseClientSession));
+    }
+
+    private SessionAndClientSession readSerialisedAndClientSession(
+            String sessionId, String clientSessionKey) {
+        var values = redisConnectionService.getBinaryValuesPipelined(sessionId, clientSessionKey);
+        return new SessionAndClientSession(
+                Optional.ofNullable(values.get(0)).map(this::deserialiseSession),
+                Optional.ofNullable(values.get(1)).map(this::deserialiseClientSession));
+    }
+
+    private Optional<Session> readSerialised(String sessionId) {
+        return Optional.ofNullable(redisConnectionService.getBinaryValue(sessionId))
+                .map(this::deserialiseSession);
+    }
+
+    private Optional<Session> readHash(String sessionId) {
+        return fromHash(sessionId, redisConnectionService.getHash(sessionId));
+    }
+
+    private static Map<String, String> toHash(Session session) {
+        var hash = new LinkedHashMap<String, String>();
+        for (SessionField field : SessionField.values()) {
+            var value = field.getter.apply(session);
+            if (value != null) {
+                hash.put(field.fieldName, value);
+            }
+        }
+        return hash;
+    }
+
+    private static Optional<Session> fromHash(String sessionId, Map<String, String> hash) {
+        if (hash == null || hash.isEmpty()) {
+            return Optional.empty();
+        }
+        var session = new Session(sessionId);
+        for (SessionField field : SessionField.values()) {
+            var value = hash.get(field.fieldName);
+            if (value != null && !value.isEmpty()) {
+                field.setter.accept(session, value);
+            }
+        }
+        return Optional.of(session);
+    }
+
+    private Session deserialiseSession(byte[] serialisedSession) {
+        return segmentedFunctionCall(
+                "Deserialise session",
+                () -> compactSerializer.readValue(serialisedSession, Session.class));
+    }
+
+    private ClientSession deserialiseClientSession(byte[] serialisedClientSession) {
+        return segmentedFunctionCall(
+                "Deserialise client session",
+                () -> compactSerializer.readValue(serialisedClientSession, ClientSession.class));
+    }
+
+    public static class SessionAndClientSession {
+        private final Optional<Session> session;
+        private final Optional<ClientSession> clientSession;
+
+        public SessionAndClientSession(
+                Optional<Session> session, Optional<ClientSession> clientSession) {
+            this.session = session;
+            this.clientSession = clientSession;
+        }
+
+        public Optional<Session> getSession() {
+            return session;
+        }
+
+        public Optional<ClientSession> getClientSession() {
+            return clientSession;
         }
     }
 }
@@ -0,0 +1,151 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
+
+/**
+ * Caches the key a signing alias resolves to, along with the JWS header derived from it, so that
+ * signing a token needs only the call to sign it. Entries are refreshed in the background once
+ * they are half way through the configured TTL and are reloaded before use once the TTL has
+ * passed, so a rotated alias is picked up within one TTL. JwksService keeps the verifier for a
+ * rotated out key for that long on top of the token lifetimes. The key ID, kid and header of an
+ * entry always describe the same key, so a rotated alias cannot produce a header for one key and a
+ * signature from another.
+ */
+public class SigningKeyMetadataCache {
+
+    private static final Logger LOG = LogManager.getLogger(SigningKeyMetadataCache.class);
+
+    private final JwsSigner signer;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+    private final long ttlMillis;
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public SigningKeyMetadataCache(ConfigurationService configurationService, JwsSigner signer) {
+        this(configurationService, signer, Clock.systemUTC(), ForkJoinPool.commonPool());
+    }
+
+    public SigningKeyMetadataCache(
+            ConfigurationService configurationService,
+            JwsSigner signer,
+            Clock clock,
+            Executor refreshExecutor) {
+        this.signer = signer;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.ttlMillis = configurationService.getSigningKeyMetadataCacheTtl() * 1000;
+    }
+
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    public SigningKeyMetadata get(String keyAlias, JWSAlgorithm algorithm) {
+        if (!isEnabled()) {
+            return load(keyAlias, algorithm);
+        }
+        var now = clock.millis();
+        var entry = entries.get(keyAlias);
+        if (entry != null && entry.metadata.getAlgorithm().equals(algorithm)) {
+            if (now < entry.loadedAt + ttlMillis) {
+                if (now >= entry.loadedAt + ttlMillis / 2) {
+                    refreshInBackground(keyAlias, algorithm);
+                }
+                return entry.metadata;
+            }
+        }
+        var metadata = load(keyAlias, algorithm);
+        entries.put(keyAlias, new CacheEntry(metadata, now));
+        return metadata;
+    }
+
+    public void invalidate(String keyAlias) {
+        entries.remove(keyAlias);
+    }
+
+    private void refreshInBackground(String keyAlias, JWSAlgorithm algorithm) {
+        if (!refreshing.add(keyAlias)) {
+            return;
+        }
+        CompletableFuture.runAsync(
+                        () -> {
+                            var metadata = load(keyAlias, algorithm);
+                            entries.put(keyAlias, new CacheEntry(metadata, clock.millis()));
+                        },
+                        refreshExecutor)
+                .whenComplete(
+                        (result, error) -> {
+                            refreshing.remove(keyAlias);
+                            if (error != null) {
+                                LOG.warn("Unable to refresh signing key metadata", error);
+                            }
+                        });
+    }
+
+    private SigningKeyMetadata load(String keyAlias, JWSAlgorithm algorithm) {
+        return new SigningKeyMetadata(signer.getKeyId(keyAlias), algorithm);
+    }
+
+    public static class SigningKeyMetadata {
+        private final String keyId;
+        private final String kid;
+        private final JWSAlgorithm algorithm;
+        private final Base64URL encodedHeader;
+
+        SigningKeyMetadata(String keyId, JWSAlgorithm algorithm) {
+            this.keyId = keyId;
+            this.kid = hashSha256String(keyId);
+            this.algorithm = algorithm;
+            this.encodedHeader = header(Optional.empty());
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public JWSAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public Base64URL getEncodedHeader(Optional<String> type) {
+            return type.isEmpty() ? encodedHeader : header(type);
+        }
+
+        private Base64URL header(Optional<String> type) {
+            var jwsHeader = new JWSHeader.Builder(algorithm).keyID(kid);
+            type.map(JOSEObjectType::new).ifPresent(jwsHeader::type);
+            return jwsHeader.build().toBase64URL();
+        }
+    }
+
+    private static class CacheEntry {
+        private final SigningKeyMetadata metadata;
+        private final long loadedAt;
+
+        private CacheEntry(SigningKeyMetadata metadata, long loadedAt) {
+            this.metadata = metadata;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,10 +1,6 @@
 package uk.gov.di.authentication.shared.services;
 
-import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.crypto.impl.ECDSA;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
@@ -28,11 +24,9 @@ import com.nimbusds.openid.connect.sdk.claims.SessionID;
 import com.nimbusds.openid.connect.sdk.token.OIDCTokens;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.core.SdkBytes;
-import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
-import software.amazon.awssdk.services.kms.model.SignRequest;
-import software.amazon.awssdk.services.kms.model.SignResponse;
-import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
+import software.amazon.awssdk.services.kms.model.DisabledException;
+import software.amazon.awssdk.services.kms.model.KmsInvalidStateException;
+import software.amazon.awssdk.services.kms.model.NotFoundException;
 import uk.gov.di.authentication.shared.entity.AccessTokenStore;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
 import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
@@ -40,8 +34,8 @@ import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.helpers.RequestBodyHelper;
-import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+import uk.gov.di.authentication.shared.services.SigningKeyMetadataCache.SigningKeyMetadata;
 
 import java.net.URI;
 import java.time.temporal.ChronoUnit;
@@ -52,25 +46,37 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static uk.gov.di.authentication.shared.helpers.ConstructUriHelper.buildURI;
-import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCallAsync;
 
 public class TokenService {
 
     private final ConfigurationService configService;
     private final RedisConnectionService redisConnectionService;
-    private final KmsConnectionService kmsConnectionService;
+    private final JwsSigner signer;
+    private final SigningKeyMetadataCache signingKeyMetadataCache;
     private static final JWSAlgorithm TOKEN_ALGORITHM = JWSAlgorithm.ES256;
     private static final Logger LOG = LogManager.getLogger(TokenService.class);
-    private static final String REFRESH_TOKEN_PREFIX = "REFRESH_TOKEN:";
-    private static final String ACCESS_TOKEN_PREFIX = "ACCESS_TOKEN:";
+    static final String REFRESH_TOKEN_PREFIX = "REFRESH_TOKEN:";
+    static final String ACCESS_TOKEN_PREFIX = "ACCESS_TOKEN:";
     private static final List<String> ALLOWED_GRANTS =
             List.of(GrantType.AUTHORIZATION_CODE.getValue(), GrantType.REFRESH_TOKEN.getValue());
 
-    private final Json objectMapper = SerializationService.getInstance();
+    private static Executor sharedSigningExecutor;
+
+    private final CompactSerializationService compactSerializer;
+    private final Executor signingExecutor;
 
     public TokenService(
             ConfigurationService configService,
@@ -78,7 +84,11 @@ public class TokenService {
             KmsConnectionService kmsConnectionService) {
         this.configService = configService;
         this.redisConnectionService = redisConnectionService;
-        this.kmsConnectionService = kmsConnectionService;
+        this.signer = JwsSigner.create(configService, kmsConnectionService);
+        this.signingKeyMetadataCache = new SigningKeyMetadataCache(configService, signer);
+        this.compactSerializer = new CompactSerializationService(configService);
+        var signingThreads = configService.getTokenSigningThreads();
+        this.signingExecutor = signingThreads > 0 ? getSigningExecutor(signingThreads) : null;
     }
 
     public OIDCTokenResponse generateTokenResponse(
@@ -100,50 +110,61 @@ public class TokenService {
         } else {
             scopesForToken = authRequestScopes.toStringList();
         }
-        AccessToken accessToken =
-                segmentedFunctionCall(
-                        "generateAndStoreAccessToken",
-                        () ->
-                                generateAndStoreAccessToken(
-                                        clientID,
-                                        internalSubject,
-                                        scopesForToken,
-                                        subject,
-                                        claimsRequest,
-                                        signingAlgorithm));
-        AccessTokenHash accessTokenHash =
-                segmentedFunctionCall(
-                        "AccessTokenHash.compute",
-                        () -> AccessTokenHash.compute(accessToken, TOKEN_ALGORITHM, null));
-
-        SignedJWT idToken =
-                segmentedFunctionCall(
-                        "generateIDToken",
-                        () ->
-                                generateIDToken(
-                                        clientID,
-                                        subject,
-                                        additionalTokenClaims,
-                                        accessTokenHash,
-                                        vot,
-                                        isDocAppJourney,
-                                        signingAlgorithm,
-                                        journeyId));
-        if (scopesForToken.contains(OIDCScopeValue.OFFLINE_ACCESS.getValue())) {
-            RefreshToken refreshToken =
+        var includeRefreshToken = scopesForToken.contains(OIDCScopeValue.OFFLINE_ACCESS.getValue());
+        Callable<RefreshToken> refreshTokenCall =
+                () ->
+                        generateAndStoreRefreshToken(
+                                clientID,
+                                internalSubject,
+                                scopesForToken,
+                                subject,
+                                signingAlgorithm);
+        Optional<CompletableFuture<RefreshToken>> pendingRefreshToken =
+                includeRefreshToken
+                        ? signInBackground("generateAndStoreRefreshToken", refreshTokenCall)
+                        : Optional.empty();
+        AccessToken accessToken;
+        SignedJWT idToken;
+        try {
+            accessToken =
                     segmentedFunctionCall(
-                            "generateAndStoreRefreshToken",
+                            "generateAndStoreAccessToken",
                             () ->
-                                    generateAndStoreRefreshToken(
+                                    generateAndStoreAccessToken(
                                             clientID,
                                             internalSubject,
                                             scopesForToken,
                                             subject,
+                                            claimsRequest,
                                             signingAlgorithm));
-            return new OIDCTokenResponse(new OIDCTokens(idToken, accessToken, refreshToken));
-        } else {
+            AccessTokenHash accessTokenHash =
+                    segmentedFunctionCall(
+                            "AccessTokenHash.compute",
+                            () -> AccessTokenHash.compute(accessToken, TOKEN_ALGORITHM, null));
+
+            idToken =
+                    segmentedFunctionCall(
+                            "generateIDToken",
+                            () ->
+                                    generateIDToken(
+                                            clientID,
+                                            subject,
+                                            additionalTokenClaims,
+                                            accessTokenHash,
+                                            vot,
+                                            isDocAppJourney,
+                                            signingAlgorithm,
+                                            journeyId));
+        } catch (RuntimeException e) {
+            pendingRefreshToken.ifPresent(pending -> awaitAfterFailure(pending, e));
+            throw e;
+        }
+        if (!includeRefreshToken) {
             return new OIDCTokenResponse(new OIDCTokens(idToken, accessToken, null));
         }
+        RefreshToken refreshToken =
+                awaitOrSign(pendingRefreshToken, "generateAndStoreRefreshToken", refreshTokenCall);
+        return new OIDCTokenResponse(new OIDCTokens(idToken, accessToken, refreshToken));
     }
 
     public OIDCTokenResponse generateRefreshTokenResponse(
@@ -152,12 +173,23 @@ public class TokenService {
             List<String> scopes,
             Subject subject,
             JWSAlgorithm signingAlgorithm) {
-        AccessToken accessToken =
-                generateAndStoreAccessToken(
-                        clientID, internalSubject, scopes, subject, null, signingAlgorithm);
+        Callable<RefreshToken> refreshTokenCall =
+                () ->
+                        generateAndStoreRefreshToken(
+                                clientID, internalSubject, scopes, subject, signingAlgorithm);
+        var pendingRefreshToken =
+                signInBackground("generateAndStoreRefreshToken", refreshTokenCall);
+        AccessToken accessToken;
+        try {
+            accessToken =
+                    generateAndStoreAccessToken(
+                            clientID, internalSubject, scopes, subject, null, signingAlgorithm);
+        } catch (RuntimeException e) {
+            pendingRefreshToken.ifPresent(pending -> awaitAfterFailure(pending, e));
+            throw e;
+        }
         RefreshToken refreshToken =
-                generateAndStoreRefreshToken(
-                        clientID, internalSubject, scopes, subject, signingAlgorithm);
+                awaitOrSign(pendingRefreshToken, "generateAndStoreRefreshToken", refreshTokenCall);
         return new OIDCTokenResponse(new OIDCTokens(accessToken, refreshToken));
     }
 
@@ -315,9 +347,9 @@ public class TokenService {
                         signedJWT.serialize(), configService.getAccessTokenExpiry(), null);
 
         try {
-            redisConnectionService.saveWithExpiry(
+            redisConnectionService.saveBinaryWithExpiry(
                     ACCESS_TOKEN_PREFIX + clientId + "." + subject.getValue(),
-                    objectMapper.writeValueAsString(
+                    compactSerializer.writeValueAsBytes(
                             new AccessTokenStore(
                                     accessToken.getValue(), internalSubject.getValue())),
                     configService.getAccessTokenExpiry());
@@ -353,9 +385,9 @@ public class TokenService {
         String redisKey = REFRESH_TOKEN_PREFIX + jwtId;
         var store = new RefreshTokenStore(refreshToken.getValue(), internalSubject.toString());
         try {
-            redisConnectionService.saveWithExpiry(
+            redisConnectionService.saveBinaryWithExpiry(
                     redisKey,
-                    objectMapper.writeValueAsString(store),
+                    compactSerializer.writeValueAsBytes(store),
                     configService.getSessionExpiry());
         } catch (JsonException e) {
             throw new RuntimeException("Error serializing refresh token store", e);
@@ -364,6 +396,64 @@ public class TokenService {
         return refreshToken;
     }
 
+    private <T> Optional<CompletableFuture<T>> signInBackground(
+            String segmentName, Callable<T> callable) {
+        if (signingExecutor == null) {
+            return Optional.empty();
+        }
+        return Optional.of(segmentedFunctionCallAsync(segmentName, callable, signingExecutor));
+    }
+
+    private <T> T awaitOrSign(
+            Optional<CompletableFuture<T>> pending, String segmentName, Callable<T> callable) {
+        if (pending.isEmpty()) {
+            return segmentedFunctionCall(segmentName, callable);
+        }
+        return await(pending.get());
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void awaitAfterFailure(CompletableFuture<?> future, RuntimeException failure) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            failure.addSuppressed(e.getCause());
+        }
+    }
+
+    private static synchronized Executor getSigningExecutor(int threads) {
+        if (sharedSigningExecutor == null) {
+            var threadCount = new AtomicInteger();
+            sharedSigningExecutor =
+                    new ThreadPoolExecutor(
+                            threads,
+                            threads,
+                            60,
+                            TimeUnit.SECONDS,
+                            new SynchronousQueue<>(),
+                            runnable -> {
+                                var thread =
+                                        new Thread(
+                                                runnable,
+                                                "token-signing-" + threadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            },
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return sharedSigningExecutor;
+    }
+
     public SignedJWT generateSignedJWT(
             JWTClaimsSet claimsSet, Optional<String> type, JWSAlgorithm algorithm) {
 
@@ -372,46 +462,31 @@ public class TokenService {
                         ? configService.getTokenSigningKeyAlias()
                         : configService.getTokenSigningKeyRsaAlias();
 
-        var signingKeyId =
-                kmsConnectionService
-                        .getPublicKey(GetPublicKeyRequest.builder().keyId(signingKey).build())
-                        .keyId();
-
+        var signingKeyMetadata = signingKeyMetadataCache.get(signingKey, algorithm);
         try {
-            var jwsHeader = new JWSHeader.Builder(algorithm).keyID(hashSha256String(signingKeyId));
-
-            type.map(JOSEObjectType::new).ifPresent(jwsHeader::type);
-
-            var signingAlgorithm =
-                    algorithm == JWSAlgorithm.ES256
-                            ? SigningAlgorithmSpec.ECDSA_SHA_256
-                            : SigningAlgorithmSpec.RSASSA_PKCS1_V1_5_SHA_256;
+            return signJWT(claimsSet, type, signingKeyMetadata);
+        } catch (DisabledException | KmsInvalidStateException | NotFoundException e) {
+            if (!signingKeyMetadataCache.isEnabled()) {
+                throw e;
+            }
+            LOG.warn("Cached signing key is no longer usable, reloading signing key metadata");
+            signingKeyMetadataCache.invalidate(signingKey);
+            return signJWT(claimsSet, type, signingKeyMetadataCache.get(signingKey, algorithm));
+        }
+    }
 
-            Base64URL encodedHeader = jwsHeader.build().toBase64URL();
+    private SignedJWT signJWT(
+            JWTClaimsSet claimsSet, Optional<String> type, SigningKeyMetadata signingKeyMetadata) {
+        var algorithm = signingKeyMetadata.getAlgorithm();
+        try {
+            Base64URL encodedHeader = signingKeyMetadata.getEncodedHeader(type);
             Base64URL encodedClaims = Base64URL.encode(claimsSet.toString());
             String message = encodedHeader + "." + encodedClaims;
-            SignRequest signRequest =
-                    SignRequest.builder()
-                            .message(SdkBytes.fromByteArray(message.getBytes()))
-                            .keyId(signingKeyId)
-                            .signingAlgorithm(signingAlgorithm)
-                            .build();
-            SignResponse signResult = kmsConnectionService.sign(signRequest);
+            Base64URL signature =
+                    signer.sign(signingKeyMetadata.getKeyId(), algorithm, message.getBytes());
             LOG.info("Token has been signed successfully using {}", algorithm.getName());
-
-            if (algorithm == JWSAlgorithm.RS256) {
-                return SignedJWT.parse(
-                        message + "." + Base64URL.encode(signResult.signature().asByteArray()));
-            }
-
-            String signature =
-                    Base64URL.encode(
-                                    ECDSA.transcodeSignatureToConcat(
-                                            signResult.signature().asByteArray(),
-                                            ECDSA.getSignatureByteArrayLength(algorithm)))
-                            .toString();
             return SignedJWT.parse(message + "." + signature);
-        } catch (java.text.ParseException | JOSEException e) {
+        } catch (java.text.ParseException e) {
             LOG.error("Exception thrown when trying to parse SignedJWT or JWTClaimSet", e);
             throw new RuntimeException(e);
         }
@@ -2,8 +2,6 @@ package uk.gov.di.authentication.shared.services;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.crypto.ECDSAVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.util.DateUtils;
@@ -26,6 +24,7 @@ public class TokenValidationService {
     public TokenValidationService(JwksService jwksService, ConfigurationService configuration) {
         this.jwksService = jwksService;
         this.configuration = configuration;
+        jwksService.warmUp();
     }
 
     public boolean validateAccessTokenSignature(AccessToken accessToken) {
@@ -61,15 +60,20 @@ public class TokenValidationService {
     public boolean isTokenSignatureValid(String tokenValue) {
         try {
             var jwt = SignedJWT.parse(tokenValue);
+            var kid = jwt.getHeader().getKeyID();
 
-            if (JWSAlgorithm.RS256 == jwt.getHeader().getAlgorithm()
+            if (kid != null) {
+                var verifier = jwksService.getTokenVerifierWithKeyId(kid);
+                if (verifier.isEmpty()) {
+                    LOG.warn("Token signed with unknown or expired key id");
+                    return false;
+                }
+                return jwt.verify(verifier.get());
+            } else if (JWSAlgorithm.RS256 == jwt.getHeader().getAlgorithm()
                     && configuration.isRsaSigningAvailable()) {
-                return jwt.verify(
-                        new RSASSAVerifier(
-                                jwksService.getPublicTokenRsaJwkWithOpaqueId().toRSAKey()));
+                return jwt.verify(jwksService.getPublicTokenRsaVerifier());
             } else {
-                return jwt.verify(
-                        new ECDSAVerifier(jwksService.getPublicTokenJwkWithOpaqueId().toECKey()));
+                return jwt.verify(jwksService.getPublicTokenVerifier());
             }
 
         } catch (JOSEException | java.text.ParseException e) {
@@ -0,0 +1,76 @@
+package uk.gov.di.authentication.shared.services;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import uk.gov.di.authentication.shared.entity.UserCredentials;
+import uk.gov.di.authentication.shared.entity.UserProfile;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the user profile and credentials items loaded by email so that each item is read at
+ * most once while a request scope is open. A remembered null means the item is known not to
+ * exist. Items are copied on the way in and out, so a caller that changes an item it was given
+ * cannot alter what later callers in the same request see.
+ */
+class UserIdentityMap {
+
+    private final Map<String, UserProfile> profiles = new HashMap<>();
+    private final Map<String, UserCredentials> credentials = new HashMap<>();
+
+    boolean hasProfile(String email) {
+        return profiles.containsKey(key(email));
+    }
+
+    UserProfile getProfile(String email) {
+        return copy(UserProfile.TABLE_SCHEMA, profiles.get(key(email)));
+    }
+
+    UserProfile getProfile(String email, Function<String, UserProfile> loader) {
+        if (!hasProfile(email)) {
+            rememberProfile(email, loader.apply(email));
+        }
+        return getProfile(email);
+    }
+
+    void rememberProfile(String email, UserProfile userProfile) {
+        profiles.put(key(email), copy(UserProfile.TABLE_SCHEMA, userProfile));
+    }
+
+    boolean hasCredentials(String email) {
+        return credentials.containsKey(key(email));
+    }
+
+    UserCredentials getCredentials(String email) {
+        return copy(UserCredentials.TABLE_SCHEMA, credentials.get(key(email)));
+    }
+
+    UserCredentials getCredentials(String email, Function<String, UserCredentials> loader) {
+        if (!hasCredentials(email)) {
+            rememberCredentials(email, loader.apply(email));
+        }
+        return getCredentials(email);
+    }
+
+    void rememberCredentials(String email, UserCredentials userCredentials) {
+        credentials.put(key(email), copy(UserCredentials.TABLE_SCHEMA, userCredentials));
+    }
+
+    void forget(String email) {
+        profiles.remove(key(email));
+        credentials.remove(key(email));
+    }
+
+    private static <T> T copy(TableSchema<T> tableSchema, T item) {
+        if (item == null) {
+            return null;
+        }
+        return tableSchema.mapToItem(tableSchema.itemToMap(item, false));
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,95 @@
+package uk.gov.di.authentication.shared.services;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
+
+/**
+ * Remembers the outcome of verifying an access token, keyed by a digest of the token, so that a
+ * client presenting the same token again does not repeat the signature and client checks. Entries
+ * expire after the configured TTL or at the token's expiry time, whichever comes first, and the
+ * least recently used entries are evicted once the cache is full. A cached result only stands in
+ * for the signature and client checks: callers must still consult the revocation store on every
+ * request and invalidate the entry as soon as they find the token has been revoked.
+ */
+public class VerifiedAccessTokenCache<T> {
+
+    private final Clock clock;
+    private final long ttlMillis;
+    private final Map<String, CacheEntry<T>> entries;
+
+    public VerifiedAccessTokenCache(ConfigurationService configurationService) {
+        this(configurationService, Clock.systemUTC());
+    }
+
+    public VerifiedAccessTokenCache(ConfigurationService configurationService, Clock clock) {
+        this.clock = clock;
+        this.ttlMillis = configurationService.getVerifiedAccessTokenCacheTtl() * 1000;
+        var maxEntries = Math.max(1, configurationService.getVerifiedAccessTokenCacheMaxEntries());
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<T>> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+    }
+
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    public Optional<T> get(String accessToken) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        var key = hashSha256String(accessToken);
+        synchronized (entries) {
+            var entry = entries.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (entry.expiresAt > clock.millis()) {
+                return Optional.of(entry.value);
+            }
+            entries.remove(key);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String accessToken, Date expirationTime, T value) {
+        if (!isEnabled() || expirationTime == null) {
+            return;
+        }
+        var now = clock.millis();
+        var expiresAt = Math.min(now + ttlMillis, expirationTime.getTime());
+        if (expiresAt <= now) {
+            return;
+        }
+        var key = hashSha256String(accessToken);
+        synchronized (entries) {
+            entries.put(key, new CacheEntry<>(value, expiresAt));
+        }
+    }
+
+    public void invalidate(String accessToken) {
+        var key = hashSha256String(accessToken);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    private static class CacheEntry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private CacheEntry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
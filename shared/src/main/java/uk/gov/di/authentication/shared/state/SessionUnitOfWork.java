@@ -0,0 +1,89 @@
+package uk.gov.di.authentication.shared.state;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.services.ClientSessionService;
+import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionService.SessionField;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+public class SessionUnitOfWork {
+
+    private static final Logger LOG = LogManager.getLogger(SessionUnitOfWork.class);
+
+    private final SessionService sessionService;
+    private final ClientSessionService clientSessionService;
+    private final Session session;
+    private final String clientSessionId;
+    private final ClientSession clientSession;
+    private final EnumSet<SessionField> dirtySessionFields = EnumSet.noneOf(SessionField.class);
+    private boolean sessionTouched = false;
+    private boolean clientSessionDirty = false;
+
+    public SessionUnitOfWork(
+            SessionService sessionService,
+            ClientSessionService clientSessionService,
+            Session session,
+            String clientSessionId,
+            ClientSession clientSession) {
+        this.sessionService = sessionService;
+        this.clientSessionService = clientSessionService;
+        this.session = session;
+        this.clientSessionId = clientSessionId;
+        this.clientSession = clientSession;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public ClientSession getClientSession() {
+        return clientSession;
+    }
+
+    public SessionUnitOfWork updateSession(SessionField... fields) {
+        dirtySessionFields.addAll(Arrays.asList(fields));
+        return this;
+    }
+
+    public SessionUnitOfWork touchSession() {
+        sessionTouched = true;
+        return this;
+    }
+
+    public SessionUnitOfWork updateClientSession() {
+        if (clientSession == null || clientSessionId == null) {
+            throw new IllegalStateException("No client session loaded for this request");
+        }
+        clientSessionDirty = true;
+        return this;
+    }
+
+    public boolean isDirty() {
+        return !dirtySessionFields.isEmpty() || sessionTouched || clientSessionDirty;
+    }
+
+    public int flush() {
+        int writes = 0;
+        if (!dirtySessionFields.isEmpty()) {
+            sessionService.saveFields(session, dirtySessionFields.toArray(SessionField[]::new));
+            writes++;
+        } else if (sessionTouched) {
+            sessionService.refreshExpiry(session.getSessionId());
+            writes++;
+        }
+        if (clientSessionDirty) {
+            clientSessionService.saveClientSession(clientSessionId, clientSession);
+            writes++;
+        }
+        dirtySessionFields.clear();
+        sessionTouched = false;
+        clientSessionDirty = false;
+        LOG.info("Flushed {} session writes", writes);
+        return writes;
+    }
+}
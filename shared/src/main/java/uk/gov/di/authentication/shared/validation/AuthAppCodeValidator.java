@@ -45,9 +45,9 @@ public class AuthAppCodeValidator extends MfaCodeValidator {
             return Optional.of(ErrorResponse.ERROR_1042);
         }
 
-        incrementRetryCount();
+        var retryCount = incrementRetryCount();
 
-        if (hasExceededRetryLimit()) {
+        if (hasExceededRetryLimit(retryCount)) {
             LOG.info("Exceeded code retry limit");
             return Optional.of(ErrorResponse.ERROR_1042);
         }
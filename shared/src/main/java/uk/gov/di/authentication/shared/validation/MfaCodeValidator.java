@@ -25,13 +25,13 @@ public abstract class MfaCodeValidator {
         return codeStorageService.isBlockedForEmail(emailAddress, CODE_BLOCKED_KEY_PREFIX);
     }
 
-    boolean hasExceededRetryLimit() {
+    boolean hasExceededRetryLimit(int retryCount) {
         LOG.info("Max retries: {}", maxRetries);
-        return codeStorageService.getIncorrectMfaCodeAttemptsCount(emailAddress) > maxRetries;
+        return retryCount > maxRetries;
     }
 
-    void incrementRetryCount() {
-        codeStorageService.increaseIncorrectMfaCodeAttemptsCount(emailAddress);
+    int incrementRetryCount() {
+        return codeStorageService.increaseIncorrectMfaCodeAttemptsCount(emailAddress);
     }
 
     void resetCodeRequestCount() {
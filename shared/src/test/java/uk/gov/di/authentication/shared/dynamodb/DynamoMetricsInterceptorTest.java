@@ -0,0 +1,159 @@
+package uk.gov.di.authentication.shared.dynamodb;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ClientType;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DynamoMetricsInterceptorTest {
+
+    private static final String HANDLER = "test-handler";
+    private static final String TABLE = "test-user-profile";
+    private final CloudwatchMetricsService metricsService = mock(CloudwatchMetricsService.class);
+    private final DynamoMetricsInterceptor interceptor =
+            new DynamoMetricsInterceptor(metricsService, HANDLER);
+
+    @Test
+    void shouldRequestConsumedCapacityByIndex() {
+        var getItem =
+                (GetItemRequest)
+                        DynamoMetricsInterceptor.withConsumedCapacity(
+                                GetItemRequest.builder().tableName(TABLE).build());
+        var batchGetItem =
+                (BatchGetItemRequest)
+                        DynamoMetricsInterceptor.withConsumedCapacity(
+                                BatchGetItemRequest.builder().build());
+
+        assertThat(getItem.returnConsumedCapacity(), equalTo(ReturnConsumedCapacity.INDEXES));
+        assertThat(batchGetItem.returnConsumedCapacity(), equalTo(ReturnConsumedCapacity.INDEXES));
+    }
+
+    @Test
+    void shouldEmitCapacityForTableAndEachIndexAttributedToHandler() {
+        var request = QueryRequest.builder().tableName(TABLE).indexName("SubjectIDIndex").build();
+        var response =
+                QueryResponse.builder()
+                        .items(Map.of("Email", AttributeValue.fromS("joe.bloggs@test.com")))
+                        .consumedCapacity(
+                                ConsumedCapacity.builder()
+                                        .tableName(TABLE)
+                                        .capacityUnits(1.5)
+                                        .table(Capacity.builder().capacityUnits(0.0).build())
+                                        .globalSecondaryIndexes(
+                                                Map.of(
+                                                        "SubjectIDIndex",
+                                                        Capacity.builder()
+                                                                .capacityUnits(1.5)
+                                                                .readCapacityUnits(1.5)
+                                                                .build()))
+                                        .build())
+                        .build();
+        var context = mock(Context.AfterExecution.class);
+        when(context.request()).thenReturn(request);
+        when(context.response()).thenReturn(response);
+
+        interceptor.afterExecution(context, executionAttributes("Query"));
+
+        verify(metricsService)
+                .putDynamoCapacityMetrics(
+                        HANDLER, "Query", TABLE, DynamoMetricsInterceptor.BASE_TABLE, 0, 0, 0);
+        verify(metricsService)
+                .putDynamoCapacityMetrics(HANDLER, "Query", TABLE, "SubjectIDIndex", 1.5, 1.5, 0);
+        verify(metricsService)
+                .putDynamoOperationMetrics(
+                        eq(HANDLER), eq("Query"), eq(TABLE), anyDouble(), eq(24L), eq(false));
+    }
+
+    @Test
+    void shouldRecordFailedOperations() {
+        var context = mock(Context.FailedExecution.class);
+        when(context.request())
+                .thenReturn(
+                        BatchGetItemRequest.builder()
+                                .requestItems(
+                                        Map.of(
+                                                TABLE,
+                                                KeysAndAttributes.builder().build(),
+                                                "test-user-credentials",
+                                                KeysAndAttributes.builder().build()))
+                                .build());
+
+        interceptor.onExecutionFailure(context, executionAttributes("BatchGetItem"));
+
+        verify(metricsService)
+                .putDynamoOperationMetrics(
+                        eq(HANDLER),
+                        eq("BatchGetItem"),
+                        eq(DynamoMetricsInterceptor.MULTIPLE_TABLES),
+                        anyDouble(),
+                        anyLong(),
+                        eq(true));
+    }
+
+    @Test
+    void shouldOnlyRecordMetricsAndLeaveWritingThemToTheHandler() {
+        var context = mock(Context.FailedExecution.class);
+        when(context.request()).thenReturn(GetItemRequest.builder().tableName(TABLE).build());
+        var syncAttributes = executionAttributes("GetItem");
+        syncAttributes.putAttribute(SdkExecutionAttribute.CLIENT_TYPE, ClientType.SYNC);
+        var asyncAttributes = executionAttributes("GetItem");
+        asyncAttributes.putAttribute(SdkExecutionAttribute.CLIENT_TYPE, ClientType.ASYNC);
+
+        interceptor.onExecutionFailure(context, syncAttributes);
+        interceptor.onExecutionFailure(context, asyncAttributes);
+
+        verify(metricsService, times(2))
+                .putDynamoOperationMetrics(
+                        eq(HANDLER), eq("GetItem"), eq(TABLE), anyDouble(), eq(0L), eq(true));
+        verify(metricsService, never()).flushAggregatedMetricsIfDue();
+        verify(metricsService, never()).flushAggregatedMetrics();
+    }
+
+    @Test
+    void shouldEstimateItemSizeFromAttributeNamesAndValues() {
+        var response =
+                GetItemResponse.builder()
+                        .item(
+                                Map.of(
+                                        "Email",
+                                        AttributeValue.fromS("a@b.com"),
+                                        "testUser",
+                                        AttributeValue.fromN("1")))
+                        .build();
+
+        assertThat(
+                DynamoMetricsInterceptor.itemBytes(GetItemRequest.builder().build(), response),
+                equalTo(21L));
+    }
+
+    private static ExecutionAttributes executionAttributes(String operation) {
+        var executionAttributes = new ExecutionAttributes();
+        executionAttributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, operation);
+        return executionAttributes;
+    }
+}
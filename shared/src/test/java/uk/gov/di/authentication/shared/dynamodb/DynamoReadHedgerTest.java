@@ -0,0 +1,138 @@
+package uk.gov.di.authentication.shared.dynamodb;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_HEDGE_BUDGET_EXHAUSTED;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_HEDGE_SENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_HEDGE_WON;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.DYNAMO_READ_DEADLINE_EXCEEDED;
+
+class DynamoReadHedgerTest {
+
+    private static final String OPERATION = "GetUserProfile";
+    private static final Map<String, String> DIMENSIONS =
+            Map.of("Environment", "test", "DynamoOperation", OPERATION);
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final CloudwatchMetricsService metricsService = mock(CloudwatchMetricsService.class);
+
+    @Test
+    void shouldReadThroughSyncClientWhenHedgingAndDeadlineAreDisabled() {
+        var hedger = new DynamoReadHedger(configurationService, metricsService, OPERATION);
+
+        var result =
+                hedger.read(
+                        () -> "item",
+                        () -> {
+                            throw new AssertionError("async client should not be used");
+                        });
+
+        assertThat(result, equalTo("item"));
+        verify(metricsService, never()).incrementCounter(any(), anyMap());
+    }
+
+    @Test
+    void shouldThrowWhenReadExceedsDeadline() {
+        when(configurationService.getEnvironment()).thenReturn("test");
+        when(configurationService.getDynamoReadDeadline()).thenReturn(50L);
+        var hedger = new DynamoReadHedger(configurationService, metricsService, OPERATION);
+        var read = new CompletableFuture<String>();
+
+        assertThrows(ApiCallTimeoutException.class, () -> hedger.read(() -> "item", () -> read));
+
+        verify(metricsService)
+                .incrementCounter(DYNAMO_READ_DEADLINE_EXCEEDED.getValue(), DIMENSIONS);
+    }
+
+    @Test
+    void shouldReturnHedgedReadWhenFirstReadIsSlow() {
+        when(configurationService.getEnvironment()).thenReturn("test");
+        when(configurationService.isDynamoHedgedReadsEnabled()).thenReturn(true);
+        when(configurationService.getDynamoHedgeDelayPercentile()).thenReturn(95);
+        when(configurationService.getDynamoHedgeMinDelay()).thenReturn(5L);
+        when(configurationService.getDynamoHedgeBudgetPercent()).thenReturn(10);
+        var hedger = new DynamoReadHedger(configurationService, metricsService, OPERATION);
+        var slowRead = new CompletableFuture<String>();
+        var attempts = new AtomicInteger();
+
+        var result =
+                hedger.read(
+                        () -> "item",
+                        () ->
+                                attempts.getAndIncrement() == 0
+                                        ? slowRead
+                                        : CompletableFuture.completedFuture("hedged-item"));
+
+        assertThat(result, equalTo("hedged-item"));
+        assertThat(attempts.get(), equalTo(2));
+        verify(metricsService).incrementCounter(DYNAMO_HEDGE_SENT.getValue(), DIMENSIONS);
+        verify(metricsService).incrementCounter(DYNAMO_HEDGE_WON.getValue(), DIMENSIONS);
+    }
+
+    @Test
+    void shouldNotSendMoreHedgesThanBudgetAllows() {
+        when(configurationService.getEnvironment()).thenReturn("test");
+        when(configurationService.isDynamoHedgedReadsEnabled()).thenReturn(true);
+        when(configurationService.getDynamoHedgeDelayPercentile()).thenReturn(95);
+        when(configurationService.getDynamoHedgeMinDelay()).thenReturn(5L);
+        when(configurationService.getDynamoHedgeBudgetPercent()).thenReturn(10);
+        var hedger = new DynamoReadHedger(configurationService, metricsService, OPERATION);
+        var attempts = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            var result =
+                    hedger.read(
+                            () -> "item",
+                            () -> {
+                                attempts.incrementAndGet();
+                                return CompletableFuture.supplyAsync(
+                                        () -> "item",
+                                        CompletableFuture.delayedExecutor(
+                                                100, TimeUnit.MILLISECONDS));
+                            });
+            assertThat(result, equalTo("item"));
+        }
+
+        assertThat(attempts.get(), equalTo(3));
+        verify(metricsService).incrementCounter(DYNAMO_HEDGE_SENT.getValue(), DIMENSIONS);
+        verify(metricsService)
+                .incrementCounter(DYNAMO_HEDGE_BUDGET_EXHAUSTED.getValue(), DIMENSIONS);
+    }
+
+    @Test
+    void shouldNotSendHedgeWhenFirstReadCompletesInTime() {
+        when(configurationService.isDynamoHedgedReadsEnabled()).thenReturn(true);
+        when(configurationService.getDynamoHedgeMinDelay()).thenReturn(1000L);
+        var hedger = new DynamoReadHedger(configurationService, metricsService, OPERATION);
+        var attempts = new AtomicInteger();
+
+        var result =
+                hedger.read(
+                        () -> "item",
+                        () -> {
+                            attempts.incrementAndGet();
+                            return CompletableFuture.completedFuture("item");
+                        });
+
+        assertThat(result, equalTo("item"));
+        assertThat(attempts.get(), equalTo(1));
+        verify(metricsService, never()).incrementCounter(eq(DYNAMO_HEDGE_SENT.getValue()), any());
+    }
+}
@@ -0,0 +1,104 @@
+package uk.gov.di.authentication.shared.dynamodb;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import uk.gov.di.authentication.shared.entity.ClientConsent;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DynamoUpdateTest {
+
+    private static final String TABLE_NAME = "local-user-profile";
+    private static final String EMAIL = "joe.bloggs@digital.cabinet-office.gov.uk";
+
+    @Test
+    void shouldBuildConditionalSetAndRemoveExpression() {
+        var request =
+                DynamoUpdate.forKey("Email", EMAIL)
+                        .set("Password", "hashed-password")
+                        .set("accountVerified", 1)
+                        .remove("MigratedPassword")
+                        .toRequest(TABLE_NAME);
+
+        assertThat(request.tableName(), equalTo(TABLE_NAME));
+        assertThat(request.key(), equalTo(Map.of("Email", AttributeValue.fromS(EMAIL))));
+        assertThat(request.updateExpression(), equalTo("SET #a0 = :v0, #a1 = :v1 REMOVE #a2"));
+        assertThat(request.conditionExpression(), equalTo("attribute_exists(#a3)"));
+        assertThat(
+                request.expressionAttributeNames(),
+                equalTo(
+                        Map.of(
+                                "#a0", "Password",
+                                "#a1", "accountVerified",
+                                "#a2", "MigratedPassword",
+                                "#a3", "Email")));
+        assertThat(
+                request.expressionAttributeValues(),
+                equalTo(
+                        Map.of(
+                                ":v0", AttributeValue.fromS("hashed-password"),
+                                ":v1", AttributeValue.fromN("1"))));
+    }
+
+    @Test
+    void shouldNotRequireExistingItemForUpsert() {
+        var request =
+                DynamoUpdate.forKey("SubjectID", "subject-id")
+                        .upsert()
+                        .set("CoreIdentityJWT", "jwt")
+                        .toRequest(TABLE_NAME);
+
+        assertThat(request.conditionExpression(), nullValue());
+    }
+
+    @Test
+    void shouldAppendBeanToListWhenListSizeIsUnchanged() {
+        var consent = new ClientConsent("client-id", Set.of("email"), "2022-01-01T00:00:00");
+
+        var request =
+                DynamoUpdate.forKey("Email", EMAIL)
+                        .appendToList("ClientConsent", ClientConsent.TABLE_SCHEMA, consent)
+                        .whenListSize("ClientConsent", 2)
+                        .toRequest(TABLE_NAME);
+
+        assertThat(
+                request.updateExpression(),
+                equalTo("SET #a0 = list_append(if_not_exists(#a0, :v0), :v1)"));
+        assertThat(
+                request.conditionExpression(),
+                equalTo("attribute_exists(#a1) AND size(#a0) = :v2"));
+        var appended = request.expressionAttributeValues().get(":v1").l().get(0).m();
+        assertThat(appended, hasEntry("ClientId", AttributeValue.fromS("client-id")));
+        assertThat(appended, hasKey("Claims"));
+    }
+
+    @Test
+    void shouldGuardListElementUpdatesOnElementKey() {
+        var request =
+                DynamoUpdate.forKey("Email", EMAIL)
+                        .setListElementAttribute(
+                                "MfaMethods", 1, "MethodVerified", AttributeValue.fromN("1"))
+                        .whenListElementAttributeEquals("MfaMethods", 1, "MfaMethodType", "SMS")
+                        .toRequest(TABLE_NAME);
+
+        assertThat(request.updateExpression(), equalTo("SET #a0[1].#a1 = :v0"));
+        assertThat(
+                request.conditionExpression(),
+                equalTo("attribute_exists(#a3) AND #a0[1].#a2 = :v1"));
+    }
+
+    @Test
+    void shouldRejectUpdateWithoutActions() {
+        var update = DynamoUpdate.forKey("Email", EMAIL).whenListSize("ClientConsent", 0);
+
+        assertThrows(IllegalStateException.class, () -> update.toRequest(TABLE_NAME));
+    }
+}
@@ -0,0 +1,145 @@
+package uk.gov.di.authentication.shared.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static uk.gov.di.authentication.sharedtest.helper.TableSchemaAssertions.assertMatchesBeanSchema;
+import static uk.gov.di.authentication.sharedtest.helper.TableSchemaAssertions.assertMatchesBeanSchemaIndex;
+
+class TableSchemaTest {
+
+    private static final String EMAIL = "joe.bloggs@digital.cabinet-office.gov.uk";
+    private static final String TIMESTAMP = "2022-01-01T00:00:00";
+
+    @Test
+    void userProfileSchemaShouldMatchBeanSchema() {
+        var userProfile =
+                new UserProfile()
+                        .withEmail(EMAIL)
+                        .withSubjectID("subject-id")
+                        .withEmailVerified(true)
+                        .withPhoneNumber("+447700900000")
+                        .withPhoneNumberVerified(true)
+                        .withCreated(TIMESTAMP)
+                        .withUpdated(TIMESTAMP)
+                        .withTermsAndConditions(new TermsAndConditions("1.0", TIMESTAMP))
+                        .withPublicSubjectID("public-subject-id")
+                        .withLegacySubjectID("legacy-subject-id")
+                        .withSalt(ByteBuffer.wrap("salt".getBytes(StandardCharsets.UTF_8)))
+                        .withAccountVerified(1);
+        userProfile.setClientConsent(
+                List.of(new ClientConsent("client-id", Set.of("email", "phone"), TIMESTAMP)));
+        userProfile.setTestUser(1);
+
+        assertMatchesBeanSchema(UserProfile.TABLE_SCHEMA, UserProfile.class, userProfile);
+        assertMatchesBeanSchema(UserProfile.TABLE_SCHEMA, UserProfile.class, new UserProfile());
+        for (var index : List.of("SubjectIDIndex", "PublicSubjectIDIndex", "TestUserIndex")) {
+            assertMatchesBeanSchemaIndex(UserProfile.TABLE_SCHEMA, UserProfile.class, index);
+        }
+    }
+
+    @Test
+    void userCredentialsSchemaShouldMatchBeanSchema() {
+        var userCredentials =
+                new UserCredentials()
+                        .withEmail(EMAIL)
+                        .withSubjectID("subject-id")
+                        .withPassword("hashed-password")
+                        .withMigratedPassword("migrated-password")
+                        .withCreated(TIMESTAMP)
+                        .withUpdated(TIMESTAMP);
+        userCredentials.setMfaMethods(
+                List.of(new MFAMethod("AUTH_APP", "credential-value", true, false, TIMESTAMP)));
+        userCredentials.setTestUser(1);
+
+        assertMatchesBeanSchema(
+                UserCredentials.TABLE_SCHEMA, UserCredentials.class, userCredentials);
+        assertMatchesBeanSchema(
+                UserCredentials.TABLE_SCHEMA, UserCredentials.class, new UserCredentials());
+        for (var index : List.of("SubjectIDIndex", "TestUserIndex")) {
+            assertMatchesBeanSchemaIndex(
+                    UserCredentials.TABLE_SCHEMA, UserCredentials.class, index);
+        }
+    }
+
+    @Test
+    void nestedDocumentSchemasShouldMatchBeanSchemas() {
+        assertMatchesBeanSchema(
+                TermsAndConditions.TABLE_SCHEMA,
+                TermsAndConditions.class,
+                new TermsAndConditions("1.0", TIMESTAMP));
+        assertMatchesBeanSchema(
+                ClientConsent.TABLE_SCHEMA,
+                ClientConsent.class,
+                new ClientConsent("client-id", Set.of("email"), TIMESTAMP));
+        assertMatchesBeanSchema(
+                MFAMethod.TABLE_SCHEMA,
+                MFAMethod.class,
+                new MFAMethod("SMS", "credential-value", false, true, TIMESTAMP));
+    }
+
+    @Test
+    void clientRegistrySchemaShouldMatchBeanSchema() {
+        var clientRegistry =
+                new ClientRegistry()
+                        .withClientID("client-id")
+                        .withClientName("client-name")
+                        .withPublicKey("public-key")
+                        .withScopes(List.of("openid", "email"))
+                        .withRedirectUrls(List.of("https://example.com/redirect"))
+                        .withContacts(List.of(EMAIL))
+                        .withPostLogoutRedirectUrls(List.of("https://example.com/logout"))
+                        .withBackChannelLogoutUri("https://example.com/back-channel")
+                        .withServiceType("MANDATORY")
+                        .withSectorIdentifierUri("https://example.com")
+                        .withSubjectType("pairwise")
+                        .withCookieConsentShared(true)
+                        .withTestClient(true)
+                        .withTestClientEmailAllowlist(new ArrayList<>(List.of(EMAIL)))
+                        .withConsentRequired(true)
+                        .withClaims(List.of("https://vocab.account.gov.uk/v1/coreIdentityJWT"))
+                        .withClientType("web")
+                        .withIdentityVerificationSupported(true)
+                        .withOneLoginService(true)
+                        .withIdTokenSigningAlgorithm("RSA256")
+                        .withTokenAuthMethod("client_secret_post")
+                        .withClientSecret("client-secret")
+                        .withSmokeTest(true)
+                        .withLandingPageUrl("https://example.com/landing");
+
+        assertMatchesBeanSchema(ClientRegistry.TABLE_SCHEMA, ClientRegistry.class, clientRegistry);
+        assertMatchesBeanSchema(
+                ClientRegistry.TABLE_SCHEMA, ClientRegistry.class, new ClientRegistry());
+        assertMatchesBeanSchemaIndex(
+                ClientRegistry.TABLE_SCHEMA, ClientRegistry.class, "ClientNameIndex");
+    }
+
+    @Test
+    void identityCredentialsSchemaShouldMatchBeanSchema() {
+        var identityCredentials =
+                new IdentityCredentials()
+                        .withSubjectID("subject-id")
+                        .withCoreIdentityJWT("core-identity-jwt")
+                        .withTimeToExist(1700000000L)
+                        .withAdditionalClaims(Map.of("claim", "value"))
+                        .withIpvVot("P2")
+                        .withIpvCoreIdentity("core-identity");
+
+        assertMatchesBeanSchema(
+                IdentityCredentials.TABLE_SCHEMA, IdentityCredentials.class, identityCredentials);
+    }
+
+    @Test
+    void commonPasswordSchemaShouldMatchBeanSchema() {
+        assertMatchesBeanSchema(
+                CommonPassword.TABLE_SCHEMA,
+                CommonPassword.class,
+                new CommonPassword().withPassword("password123"));
+    }
+}
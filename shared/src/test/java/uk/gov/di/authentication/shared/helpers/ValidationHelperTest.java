@@ -387,11 +387,8 @@ class ValidationHelperTest {
 
         var codeStorageService = mock(CodeStorageService.class);
 
-        // This simulates the Redis increment counter's side effect which isn't captured
-        previousAttempts++;
-
-        when(codeStorageService.getIncorrectMfaCodeAttemptsCount(EMAIL_ADDRESS))
-                .thenReturn(previousAttempts);
+        when(codeStorageService.increaseIncorrectMfaCodeAttemptsCount(EMAIL_ADDRESS))
+                .thenReturn(previousAttempts + 1);
 
         assertEquals(
                 expectedResult,
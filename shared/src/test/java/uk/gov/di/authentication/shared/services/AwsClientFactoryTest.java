@@ -0,0 +1,39 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AwsClientFactoryTest {
+
+    @Test
+    void shouldShareFactoryBetweenConfigurationsWithTheSameSettings() {
+        var configurationService = configurationWithRegion("eu-west-2");
+        var otherConfigurationService = configurationWithRegion("eu-west-2");
+
+        assertThat(
+                AwsClientFactory.getInstance(configurationService),
+                sameInstance(AwsClientFactory.getInstance(otherConfigurationService)));
+    }
+
+    @Test
+    void shouldNotShareFactoryBetweenConfigurationsWithDifferentSettings() {
+        var configurationService = configurationWithRegion("eu-west-2");
+        var otherConfigurationService = configurationWithRegion("eu-west-1");
+
+        assertThat(
+                AwsClientFactory.getInstance(configurationService),
+                not(sameInstance(AwsClientFactory.getInstance(otherConfigurationService))));
+    }
+
+    private static ConfigurationService configurationWithRegion(String region) {
+        var configurationService = mock(ConfigurationService.class);
+        when(configurationService.getAwsRegion()).thenReturn(region);
+        when(configurationService.getEnvironment()).thenReturn("test");
+        return configurationService;
+    }
+}
@@ -0,0 +1,136 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.ClientRegistry;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientRegistryCacheTest {
+
+    private static final String CLIENT_ID = "client-id";
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final Clock clock = mock(Clock.class);
+
+    @SuppressWarnings("unchecked")
+    private final Supplier<String> versionLookup = mock(Supplier.class);
+
+    @SuppressWarnings("unchecked")
+    private final Function<String, Optional<ClientRegistry>> loader = mock(Function.class);
+
+    private final ClientRegistry client = new ClientRegistry().withClientID(CLIENT_ID);
+    private ClientRegistryCache cache;
+
+    @BeforeEach
+    void setup() {
+        when(configurationService.getClientRegistryCacheTtl()).thenReturn(300L);
+        when(configurationService.getClientRegistryCacheNegativeTtl()).thenReturn(10L);
+        when(configurationService.getClientRegistryVersionCheckInterval()).thenReturn(5L);
+        when(configurationService.getClientRegistryCacheMaxEntries()).thenReturn(2);
+        when(clock.millis()).thenReturn(0L);
+        when(versionLookup.get()).thenReturn("version-1");
+        when(loader.apply(CLIENT_ID)).thenReturn(Optional.of(client));
+        cache = new ClientRegistryCache(configurationService, versionLookup, clock);
+    }
+
+    @Test
+    void shouldOnlyLoadClientOnceWithinTtl() {
+        assertThat(cache.get(CLIENT_ID, loader), equalTo(Optional.of(client)));
+        when(clock.millis()).thenReturn(299_000L);
+        assertThat(cache.get(CLIENT_ID, loader), equalTo(Optional.of(client)));
+
+        verify(loader).apply(CLIENT_ID);
+    }
+
+    @Test
+    void shouldReloadClientWhenTtlExpires() {
+        cache.get(CLIENT_ID, loader);
+        when(clock.millis()).thenReturn(300_000L);
+        cache.get(CLIENT_ID, loader);
+
+        verify(loader, times(2)).apply(CLIENT_ID);
+    }
+
+    @Test
+    void shouldCacheMissingClientForNegativeTtl() {
+        when(loader.apply("unknown")).thenReturn(Optional.empty());
+
+        assertThat(cache.get("unknown", loader), equalTo(Optional.empty()));
+        when(clock.millis()).thenReturn(9_000L);
+        cache.get("unknown", loader);
+        when(clock.millis()).thenReturn(10_000L);
+        cache.get("unknown", loader);
+
+        verify(loader, times(2)).apply("unknown");
+    }
+
+    @Test
+    void shouldClearCacheWhenVersionChanges() {
+        cache.get(CLIENT_ID, loader);
+        when(versionLookup.get()).thenReturn("version-2");
+        when(clock.millis()).thenReturn(4_000L);
+        cache.get(CLIENT_ID, loader);
+        when(clock.millis()).thenReturn(5_000L);
+        cache.get(CLIENT_ID, loader);
+
+        verify(versionLookup, times(2)).get();
+        verify(loader, times(2)).apply(CLIENT_ID);
+    }
+
+    @Test
+    void shouldClearCacheWhenVersionCannotBeRead() {
+        cache.get(CLIENT_ID, loader);
+        when(versionLookup.get()).thenThrow(new RuntimeException("dynamo unavailable"));
+        when(clock.millis()).thenReturn(5_000L);
+        cache.get(CLIENT_ID, loader);
+
+        verify(loader, times(2)).apply(CLIENT_ID);
+    }
+
+    @Test
+    void shouldReloadClientAfterInvalidation() {
+        cache.get(CLIENT_ID, loader);
+        cache.invalidate(CLIENT_ID);
+        cache.get(CLIENT_ID, loader);
+
+        verify(loader, times(2)).apply(CLIENT_ID);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedClientWhenFull() {
+        when(loader.apply("client-2")).thenReturn(Optional.empty());
+        when(loader.apply("client-3")).thenReturn(Optional.empty());
+
+        cache.get(CLIENT_ID, loader);
+        cache.get("client-2", loader);
+        cache.get(CLIENT_ID, loader);
+        cache.get("client-3", loader);
+        cache.get(CLIENT_ID, loader);
+        cache.get("client-2", loader);
+
+        verify(loader).apply(CLIENT_ID);
+        verify(loader, times(2)).apply("client-2");
+    }
+
+    @Test
+    void shouldBypassCacheWhenTtlIsZero() {
+        when(configurationService.getClientRegistryCacheTtl()).thenReturn(0L);
+        var disabledCache = new ClientRegistryCache(configurationService, versionLookup, clock);
+
+        disabledCache.get(CLIENT_ID, loader);
+        disabledCache.get(CLIENT_ID, loader);
+
+        verify(loader, times(2)).apply(CLIENT_ID);
+        verify(versionLookup, times(0)).get();
+    }
+}
@@ -10,11 +10,14 @@ import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
@@ -23,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.withMessageContaining;
 
@@ -50,9 +54,8 @@ class ClientSessionServiceTest {
 
     @Test
     void shouldRetrieveClientSessionUsingRequestHeaders() throws Json.JsonException {
-        when(redis.getValue("client-session-" + clientSessionId))
+        when(redis.getBinaryValue("client-session-" + clientSessionId))
                 .thenReturn(generateSerialisedClientSession());
-        when(redis.keyExists("client-session-" + clientSessionId)).thenReturn(true);
 
         Optional<ClientSession> clientSessionInRedis =
                 clientSessionService.getClientSessionFromRequestHeaders(
@@ -68,7 +71,7 @@ class ClientSessionServiceTest {
 
     @Test
     void shouldNotRetrieveClientSessionUsingNullRequestHeaders() throws Json.JsonException {
-        when(redis.getValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
+        when(redis.getBinaryValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
 
         Optional<ClientSession> clientSessionInRedis =
                 clientSessionService.getClientSessionFromRequestHeaders(null);
@@ -78,7 +81,7 @@ class ClientSessionServiceTest {
 
     @Test
     void shouldNotRetrieveClientSessionForLowerCaseHeaderName() throws Json.JsonException {
-        when(redis.getValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
+        when(redis.getBinaryValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
 
         Optional<ClientSession> clientSessionInRedis =
                 clientSessionService.getClientSessionFromRequestHeaders(
@@ -89,7 +92,7 @@ class ClientSessionServiceTest {
 
     @Test
     void shouldNotRetrieveClientSessionWithNoHeaders() throws Json.JsonException {
-        when(redis.getValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
+        when(redis.getBinaryValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
 
         Optional<ClientSession> clientSessionInRedis =
                 clientSessionService.getClientSessionFromRequestHeaders(Collections.emptyMap());
@@ -99,7 +102,7 @@ class ClientSessionServiceTest {
 
     @Test
     void shouldNotRetrieveClientSessionWithMissingHeader() throws Json.JsonException {
-        when(redis.getValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
+        when(redis.getBinaryValue(clientSessionId)).thenReturn(generateSerialisedClientSession());
 
         Optional<ClientSession> clientSessionInRedis =
                 clientSessionService.getClientSessionFromRequestHeaders(
@@ -110,11 +113,62 @@ class ClientSessionServiceTest {
 
     @Test
     void shouldReturnOptionalEmptyIfClientSessionIsNotPresentInRedis() {
-        when(redis.keyExists(clientSessionId)).thenReturn(false);
+        when(redis.getBinaryValue("client-session-" + clientSessionId)).thenReturn(null);
 
         assertTrue(clientSessionService.getClientSession(clientSessionId).isEmpty());
     }
 
+    @Test
+    void shouldRetrieveClientSessionAsynchronously() throws Exception {
+        when(redis.getBinaryValueAsync("client-session-" + clientSessionId))
+                .thenReturn(CompletableFuture.completedFuture(generateSerialisedClientSession()));
+
+        var clientSession = clientSessionService.getClientSessionAsync(clientSessionId).get();
+
+        assertTrue(clientSession.isPresent());
+        assertThat(clientSession.get().getClientName(), is("client-name"));
+    }
+
+    @Test
+    void shouldReturnOptionalEmptyAsynchronouslyIfClientSessionIsNotPresentInRedis()
+            throws Exception {
+        when(redis.getBinaryValueAsync("client-session-" + clientSessionId))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertTrue(clientSessionService.getClientSessionAsync(clientSessionId).get().isEmpty());
+    }
+
+    @Test
+    void shouldRetrieveMultipleClientSessionsInSingleRedisCall() throws Json.JsonException {
+        var otherClientSessionId = IdGenerator.generate();
+        when(redis.getBinaryValues(
+                        List.of(
+                                "client-session-" + clientSessionId,
+                                "client-session-" + otherClientSessionId)))
+                .thenReturn(Arrays.asList(generateSerialisedClientSession(), null));
+
+        var clientSessions =
+                clientSessionService.getClientSessions(
+                        List.of(clientSessionId, otherClientSessionId));
+
+        assertThat(clientSessions.size(), is(1));
+        assertThat(clientSessions.get(0).getClientName(), is("client-name"));
+    }
+
+    @Test
+    void shouldDeleteMultipleClientSessionsInSingleRedisCall() {
+        var otherClientSessionId = IdGenerator.generate();
+
+        clientSessionService.deleteClientSessionsFromRedis(
+                List.of(clientSessionId, otherClientSessionId));
+
+        verify(redis)
+                .deleteValues(
+                        List.of(
+                                "client-session-" + clientSessionId,
+                                "client-session-" + otherClientSessionId));
+    }
+
     @Test
     void shouldGenerateClientSession() {
         ClientSession clientSession =
@@ -132,12 +186,14 @@ class ClientSessionServiceTest {
         assertEquals("client-name", clientSession.getClientName());
     }
 
-    private String generateSerialisedClientSession() throws Json.JsonException {
-        return objectMapper.writeValueAsString(
-                new ClientSession(
-                        Map.of("authparam", List.of("v1", "v2")),
-                        LocalDateTime.now(),
-                        VectorOfTrust.getDefaults(),
-                        "client-name"));
+    private byte[] generateSerialisedClientSession() throws Json.JsonException {
+        return objectMapper
+                .writeValueAsString(
+                        new ClientSession(
+                                Map.of("authparam", List.of("v1", "v2")),
+                                LocalDateTime.now(),
+                                VectorOfTrust.getDefaults(),
+                                "client-name"))
+                .getBytes(UTF_8);
     }
 }
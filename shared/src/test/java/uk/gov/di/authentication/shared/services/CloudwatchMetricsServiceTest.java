@@ -0,0 +1,62 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CloudwatchMetricsServiceTest {
+
+    private static final Map<String, String> REDIS_DIMENSIONS =
+            Map.of("Environment", "test", "RedisOperation", "getValue", "RedisKeyPrefix", "state:");
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final MetricsAggregator aggregatedMetrics = mock(MetricsAggregator.class);
+    private final CloudwatchMetricsService metricsService =
+            new CloudwatchMetricsService(configurationService, aggregatedMetrics);
+
+    @Test
+    void shouldRecordRedisCommandMetricsWithoutWritingThem() {
+        when(configurationService.getEnvironment()).thenReturn("test");
+
+        metricsService.putRedisCommandMetrics("getValue", "state:", 0.5, 1.5, true, 3, 7);
+
+        verify(aggregatedMetrics)
+                .put(REDIS_DIMENSIONS, "RedisConnectionWaitTime", 0.5, Unit.MILLISECONDS);
+        verify(aggregatedMetrics)
+                .put(REDIS_DIMENSIONS, "RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+        verify(aggregatedMetrics).put(REDIS_DIMENSIONS, "RedisCommandTimeout", 1, Unit.COUNT);
+        verify(aggregatedMetrics).put(REDIS_DIMENSIONS, "RedisActiveConnections", 3, Unit.COUNT);
+        verify(aggregatedMetrics).put(REDIS_DIMENSIONS, "RedisIdleConnections", 7, Unit.COUNT);
+        verify(aggregatedMetrics, never()).flushIfDue();
+        verify(aggregatedMetrics, never()).flush();
+    }
+
+    @Test
+    void shouldRecordDynamoMetricsWithoutWritingThem() {
+        when(configurationService.getEnvironment()).thenReturn("test");
+        var dimensions =
+                Map.of(
+                        "Environment",
+                        "test",
+                        "Handler",
+                        "handler",
+                        "DynamoOperation",
+                        "GetItem",
+                        "DynamoTable",
+                        "test-user-profile");
+
+        metricsService.putDynamoOperationMetrics(
+                "handler", "GetItem", "test-user-profile", 2.5, 64, false);
+
+        verify(aggregatedMetrics).put(dimensions, "DynamoOperationLatency", 2.5, Unit.MILLISECONDS);
+        verify(aggregatedMetrics).put(dimensions, "DynamoItemSize", 64, Unit.BYTES);
+        verify(aggregatedMetrics).put(dimensions, "DynamoOperationFailure", 0, Unit.COUNT);
+        verify(aggregatedMetrics, never()).flushIfDue();
+        verify(aggregatedMetrics, never()).flush();
+    }
+}
@@ -1,16 +1,26 @@
 package uk.gov.di.authentication.shared.services;
 
 import com.nimbusds.oauth2.sdk.AuthorizationCode;
+import io.lettuce.core.ScriptOutputType;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.authentication.shared.entity.NotificationType;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_EMAIL;
@@ -80,6 +90,16 @@ class CodeStorageServiceTest {
         assertThat(codeForEmail, is(CODE));
     }
 
+    @Test
+    void shouldRetrieveEmailCodeAsynchronously() throws Exception {
+        when(redisConnectionService.getValueAsync(REDIS_EMAIL_KEY))
+                .thenReturn(CompletableFuture.completedFuture(CODE));
+
+        var codeForEmail = codeStorageService.getOtpCodeAsync(TEST_EMAIL, VERIFY_EMAIL).get();
+
+        assertThat(codeForEmail, equalTo(Optional.of(CODE)));
+    }
+
     @Test
     void shouldReturnEmptyOptionalIfEmailCodeDoesNotExist() {
         when(redisConnectionService.getValue(REDIS_EMAIL_KEY)).thenReturn(null);
@@ -186,6 +206,28 @@ class CodeStorageServiceTest {
                         TEST_EMAIL, PASSWORD_RESET_BLOCKED_KEY_PREFIX));
     }
 
+    @Test
+    void shouldRetrieveEmailWhenCodeIsBlockedAsynchronously() throws Exception {
+        when(redisConnectionService.getValueAsync(REDIS_BLOCKED_KEY))
+                .thenReturn(CompletableFuture.completedFuture(CODE_BLOCKED_VALUE));
+
+        assertTrue(
+                codeStorageService
+                        .isBlockedForEmailAsync(TEST_EMAIL, CODE_BLOCKED_KEY_PREFIX)
+                        .get());
+    }
+
+    @Test
+    void shouldReturnFalseAsynchronouslyWhenCodeIsNotBlocked() throws Exception {
+        when(redisConnectionService.getValueAsync(REDIS_BLOCKED_KEY))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertFalse(
+                codeStorageService
+                        .isBlockedForEmailAsync(TEST_EMAIL, CODE_BLOCKED_KEY_PREFIX)
+                        .get());
+    }
+
     @Test
     void shouldReturnEmptyOptionalWhenCodeIsNotBlockedForSession() {
         when(redisConnectionService.getValue(REDIS_BLOCKED_KEY)).thenReturn(null);
@@ -229,6 +271,37 @@ class CodeStorageServiceTest {
                 .saveWithExpiry(authorizationCode, clientSessionId, AUTH_CODE_EXPIRY_TIME);
     }
 
+    @Test
+    void shouldRetrieveEmailSecurityStateInSingleRedisCall() {
+        var hashedEmail = "f660ab912ec121d1b1e928a0bb4bc61b15f5ad44d5efdc4e1c92a25e99b8e44a";
+        when(redisConnectionService.getValues(
+                        List.of(
+                                REDIS_BLOCKED_REQUEST_KEY,
+                                REDIS_BLOCKED_KEY,
+                                REDIS_BLOCKED_PASSWORD_RESET_KEY,
+                                REDIS_EMAIL_KEY,
+                                REDIS_PHONE_NUMBER_KEY,
+                                REDIS_MFA_KEY,
+                                "reset-password-code:" + hashedEmail,
+                                "change-how-get-security-codes" + hashedEmail,
+                                REDIS_INCORRECT_MFA_CODES_KEY,
+                                REDIS_INCORRECT_PASSWORDS_KEY)))
+                .thenReturn(
+                        Arrays.asList(
+                                null, CODE_BLOCKED_VALUE, null, CODE, null, null, null, null, "2",
+                                null));
+
+        var emailSecurityState = codeStorageService.getEmailSecurityState(TEST_EMAIL);
+
+        assertFalse(emailSecurityState.isBlocked(CODE_REQUEST_BLOCKED_KEY_PREFIX));
+        assertTrue(emailSecurityState.isBlocked(CODE_BLOCKED_KEY_PREFIX));
+        assertFalse(emailSecurityState.isBlocked(PASSWORD_RESET_BLOCKED_KEY_PREFIX));
+        assertThat(emailSecurityState.getOtpCode(VERIFY_EMAIL), equalTo(Optional.of(CODE)));
+        assertTrue(emailSecurityState.getOtpCode(NotificationType.MFA_SMS).isEmpty());
+        assertThat(emailSecurityState.getIncorrectMfaCodeAttemptsCount(), equalTo(2));
+        assertThat(emailSecurityState.getIncorrectPasswordCount(), equalTo(0));
+    }
+
     @Test
     void shouldReturn0WhenThereHaveBeenNoIncorrectMfaCodeAttempts() {
         when(redisConnectionService.getValue(REDIS_INCORRECT_MFA_CODES_KEY)).thenReturn(null);
@@ -243,22 +316,51 @@ class CodeStorageServiceTest {
     }
 
     @Test
-    void shouldCreateCountInRedisWhenThereHasBeenNoPreviousIncorrectMfaCodeAttempt() {
-        when(redisConnectionService.getValue(REDIS_INCORRECT_MFA_CODES_KEY)).thenReturn(null);
-        codeStorageService.increaseIncorrectMfaCodeAttemptsCount(TEST_EMAIL);
+    void shouldReturnNumberOfIncorrectMfaCodeAttemptsAsynchronously() throws Exception {
+        when(redisConnectionService.getValueAsync(REDIS_INCORRECT_MFA_CODES_KEY))
+                .thenReturn(CompletableFuture.completedFuture(String.valueOf(4)));
 
-        verify(redisConnectionService)
-                .saveWithExpiry(REDIS_INCORRECT_MFA_CODES_KEY, String.valueOf(1), CODE_EXPIRY_TIME);
+        assertThat(
+                codeStorageService.getIncorrectMfaCodeAttemptsCountAsync(TEST_EMAIL).get(),
+                equalTo(4));
     }
 
     @Test
-    void shouldIncrementCountWhenThereHasBeenPreviousIncorrectMfaCodeAttempt() {
-        when(redisConnectionService.getValue(REDIS_INCORRECT_MFA_CODES_KEY))
-                .thenReturn(String.valueOf(3));
-        codeStorageService.increaseIncorrectMfaCodeAttemptsCount(TEST_EMAIL);
+    void shouldReturn0AsynchronouslyWhenThereHaveBeenNoInvalidPasswordAttempts()
+            throws Exception {
+        when(redisConnectionService.getValueAsync(REDIS_INCORRECT_PASSWORDS_KEY))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(codeStorageService.getIncorrectPasswordCountAsync(TEST_EMAIL).get(), equalTo(0));
+    }
+
+    @Test
+    void shouldIncrementIncorrectMfaCodeAttemptsCountInSingleRedisCall() {
+        when(redisConnectionService.executeScript(
+                        anyString(),
+                        eq(ScriptOutputType.INTEGER),
+                        eq(List.of(REDIS_INCORRECT_MFA_CODES_KEY)),
+                        eq(List.of(String.valueOf(CODE_EXPIRY_TIME)))))
+                .thenReturn(4L);
+
+        assertThat(
+                codeStorageService.increaseIncorrectMfaCodeAttemptsCount(TEST_EMAIL), equalTo(4));
+        verify(redisConnectionService, never()).getValue(REDIS_INCORRECT_MFA_CODES_KEY);
+        verify(redisConnectionService, never())
+                .saveWithExpiry(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void shouldBlockEmailAndResetIncorrectMfaCodeAttemptsCountInSingleRedisCall() {
+        codeStorageService.saveBlockedForEmailAndResetIncorrectMfaCodeAttemptsCount(
+                TEST_EMAIL, CODE_BLOCKED_KEY_PREFIX, CODE_EXPIRY_TIME);
 
         verify(redisConnectionService)
-                .saveWithExpiry(REDIS_INCORRECT_MFA_CODES_KEY, String.valueOf(4), CODE_EXPIRY_TIME);
+                .executeScript(
+                        anyString(),
+                        eq(ScriptOutputType.INTEGER),
+                        eq(List.of(REDIS_BLOCKED_KEY, REDIS_INCORRECT_MFA_CODES_KEY)),
+                        eq(List.of(CODE_BLOCKED_VALUE, String.valueOf(CODE_EXPIRY_TIME))));
     }
 
     @Test
@@ -282,22 +384,18 @@ class CodeStorageServiceTest {
     }
 
     @Test
-    void shouldCreateCountInRedisWhenThereHasBeenNoPreviousIncorrectPasswordAttempt() {
-        when(redisConnectionService.getValue(REDIS_INCORRECT_PASSWORDS_KEY)).thenReturn(null);
-        codeStorageService.increaseIncorrectPasswordCount(TEST_EMAIL);
-
-        verify(redisConnectionService)
-                .saveWithExpiry(REDIS_INCORRECT_PASSWORDS_KEY, String.valueOf(1), CODE_EXPIRY_TIME);
-    }
-
-    @Test
-    void shouldIncrementCountWhenThereHasBeenPreviousIncorrectPasswordAttempts() {
-        when(redisConnectionService.getValue(REDIS_INCORRECT_PASSWORDS_KEY))
-                .thenReturn(String.valueOf(3));
-        codeStorageService.increaseIncorrectPasswordCount(TEST_EMAIL);
-
-        verify(redisConnectionService)
-                .saveWithExpiry(REDIS_INCORRECT_PASSWORDS_KEY, String.valueOf(4), CODE_EXPIRY_TIME);
+    void shouldIncrementIncorrectPasswordCountInSingleRedisCall() {
+        when(redisConnectionService.executeScript(
+                        anyString(),
+                        eq(ScriptOutputType.INTEGER),
+                        eq(List.of(REDIS_INCORRECT_PASSWORDS_KEY)),
+                        eq(List.of(String.valueOf(CODE_EXPIRY_TIME)))))
+                .thenReturn(1L);
+
+        assertThat(codeStorageService.increaseIncorrectPasswordCount(TEST_EMAIL), equalTo(1));
+        verify(redisConnectionService, never()).getValue(REDIS_INCORRECT_PASSWORDS_KEY);
+        verify(redisConnectionService, never())
+                .saveWithExpiry(anyString(), anyString(), anyLong());
     }
 
     @Test
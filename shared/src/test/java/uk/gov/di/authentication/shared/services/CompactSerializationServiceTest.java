@@ -0,0 +1,194 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.oauth2.sdk.id.Subject;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.AccessTokenStore;
+import uk.gov.di.authentication.shared.entity.AuthCodeExchangeData;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.LevelOfConfidence;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.serialization.Json;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactSerializationServiceTest {
+
+    private final Json objectMapper = SerializationService.getInstance();
+    private final CompactSerializationService binarySerializer =
+            new CompactSerializationService(objectMapper, true, 0);
+    private final CompactSerializationService compressingSerializer =
+            new CompactSerializationService(objectMapper, true, 64);
+    private final CompactSerializationService legacySerializer =
+            new CompactSerializationService(objectMapper, false, 0);
+
+    @Test
+    void shouldRoundTripSession() throws Json.JsonException {
+        var session =
+                new Session("session-id")
+                        .addClientSession("client-session-id")
+                        .setEmailAddress("joe.bloggs@digital.cabinet-office.gov.uk")
+                        .setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL)
+                        .setNewAccount(Session.AccountState.EXISTING)
+                        .setAuthenticated(true)
+                        .setVerifiedMfaMethodType(MFAMethodType.SMS)
+                        .setInternalCommonSubjectIdentifier("internal-subject")
+                        .incrementCodeRequestCount()
+                        .incrementPasswordResetCount();
+        session.incrementProcessingIdentityAttempts();
+
+        var bytes = binarySerializer.writeValueAsBytes(session);
+        var result = binarySerializer.readValue(bytes, Session.class);
+
+        assertThat(bytes[0], is(CompactSerializationService.MAGIC));
+        assertThat(objectMapper.writeValueAsString(result), is(equalTo(json(session))));
+    }
+
+    @Test
+    void shouldRoundTripClientSession() throws Json.JsonException {
+        var clientSession = clientSession();
+
+        var result =
+                binarySerializer.readValue(
+                        binarySerializer.writeValueAsBytes(clientSession), ClientSession.class);
+
+        assertThat(objectMapper.writeValueAsString(result), is(equalTo(json(clientSession))));
+        assertThat(
+                result.getEffectiveVectorOfTrust(),
+                is(equalTo(clientSession.getEffectiveVectorOfTrust())));
+    }
+
+    @Test
+    void shouldRoundTripAuthCodeExchangeData() throws Json.JsonException {
+        var exchangeData =
+                new AuthCodeExchangeData()
+                        .setClientSessionId("client-session-id")
+                        .setEmail("joe.bloggs@digital.cabinet-office.gov.uk")
+                        .setClientSession(clientSession());
+
+        var result =
+                binarySerializer.readValue(
+                        binarySerializer.writeValueAsBytes(exchangeData),
+                        AuthCodeExchangeData.class);
+
+        assertThat(objectMapper.writeValueAsString(result), is(equalTo(json(exchangeData))));
+    }
+
+    @Test
+    void shouldRoundTripTokenStores() throws Json.JsonException {
+        var accessTokenStore = new AccessTokenStore("access-token", "internal-subject");
+        var refreshTokenStore = new RefreshTokenStore("refresh-token", "internal-subject");
+
+        var accessResult =
+                binarySerializer.readValue(
+                        binarySerializer.writeValueAsBytes(accessTokenStore),
+                        AccessTokenStore.class);
+        var refreshResult =
+                binarySerializer.readValue(
+                        binarySerializer.writeValueAsBytes(refreshTokenStore),
+                        RefreshTokenStore.class);
+
+        assertThat(accessResult.getToken(), is("access-token"));
+        assertThat(accessResult.getInternalSubjectId(), is("internal-subject"));
+        assertThat(refreshResult.getRefreshToken(), is("refresh-token"));
+        assertThat(refreshResult.getInternalSubjectId(), is("internal-subject"));
+    }
+
+    @Test
+    void shouldCompressLargeValues() throws Json.JsonException {
+        var clientSession = clientSession();
+
+        var compressed = compressingSerializer.writeValueAsBytes(clientSession);
+        var uncompressed = binarySerializer.writeValueAsBytes(clientSession);
+        var result = binarySerializer.readValue(compressed, ClientSession.class);
+
+        assertThat(compressed.length, is(lessThan(uncompressed.length)));
+        assertThat(objectMapper.writeValueAsString(result), is(equalTo(json(clientSession))));
+    }
+
+    @Test
+    void shouldWriteLegacyJsonWhenBinaryEncodingIsDisabled() throws Json.JsonException {
+        var session = new Session("session-id").addClientSession("client-session-id");
+
+        var bytes = legacySerializer.writeValueAsBytes(session);
+
+        assertThat(new String(bytes, UTF_8), is(equalTo(json(session))));
+    }
+
+    @Test
+    void shouldReadLegacyJson() throws Json.JsonException {
+        var clientSession = clientSession();
+
+        var result =
+                binarySerializer.readValue(
+                        json(clientSession).getBytes(UTF_8), ClientSession.class);
+
+        assertThat(objectMapper.writeValueAsString(result), is(equalTo(json(clientSession))));
+    }
+
+    @Test
+    void shouldPreserveNullFields() throws Json.JsonException {
+        var clientSession = new ClientSession(null, null, null, null);
+
+        var result =
+                binarySerializer.readValue(
+                        binarySerializer.writeValueAsBytes(clientSession), ClientSession.class);
+
+        assertThat(result.getAuthRequestParams(), is(nullValue()));
+        assertThat(result.getCreationDate(), is(nullValue()));
+        assertThat(result.getEffectiveVectorOfTrust(), is(nullValue()));
+        assertThat(result.getDocAppSubjectId(), is(nullValue()));
+    }
+
+    @Test
+    void shouldRejectValueEncodedForAnotherType() throws Json.JsonException {
+        var bytes = binarySerializer.writeValueAsBytes(new AccessTokenStore("token", "subject"));
+
+        assertThrows(
+                Json.JsonException.class,
+                () -> binarySerializer.readValue(bytes, RefreshTokenStore.class));
+    }
+
+    @Test
+    void shouldRejectUnknownVersion() throws Json.JsonException {
+        var bytes = binarySerializer.writeValueAsBytes(new AccessTokenStore("token", "subject"));
+        bytes[1] = (byte) (CompactSerializationService.VERSION + 1);
+
+        assertThrows(
+                Json.JsonException.class,
+                () -> binarySerializer.readValue(bytes, AccessTokenStore.class));
+    }
+
+    private ClientSession clientSession() {
+        return new ClientSession(
+                        Map.of(
+                                "client_id", List.of("client-id"),
+                                "scope", List.of("openid email phone"),
+                                "redirect_uri", List.of("https://rp.example.com/callback"),
+                                "vtr", List.of("[\"Cl.Cm.P2\"]"),
+                                "claims", List.of("{\"userinfo\":{\"email\":null}}".repeat(10))),
+                        LocalDateTime.of(2022, 11, 3, 10, 15, 30, 123456789),
+                        VectorOfTrust.of(
+                                CredentialTrustLevel.MEDIUM_LEVEL, LevelOfConfidence.MEDIUM_LEVEL),
+                        "client-name")
+                .setIdTokenHint("id-token-hint")
+                .setDocAppSubjectId(new Subject("doc-app-subject"));
+    }
+
+    private String json(Object value) throws Json.JsonException {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +30,59 @@ class ConfigurationServiceTest {
         assertEquals("Secure; HttpOnly;", configurationService.getSessionCookieAttributes());
     }
 
+    @Test
+    void redisPoolSettingsShouldEqualDefaultsWhenEnvVarsUnset() {
+        ConfigurationService configurationService = new ConfigurationService();
+        assertEquals(8, configurationService.getRedisMaxConnections());
+        assertEquals(1, configurationService.getRedisMinIdleConnections());
+        assertEquals(1000, configurationService.getRedisConnectionBorrowTimeout());
+        assertFalse(configurationService.isRedisMetricsEnabled());
+        assertFalse(configurationService.isRedisBinaryEncodingEnabled());
+        assertEquals(1024, configurationService.getRedisCompressionThreshold());
+        assertFalse(configurationService.isRedisSessionHashStorageEnabled());
+    }
+
+    @Test
+    void awsClientSettingsShouldEqualDefaultsWhenEnvVarsUnset() {
+        ConfigurationService configurationService = new ConfigurationService();
+        assertEquals(50, configurationService.getAwsHttpMaxConnections());
+        assertEquals(2000, configurationService.getAwsHttpConnectionTimeout());
+        assertEquals(5000, configurationService.getAwsHttpSocketTimeout());
+        assertEquals(3, configurationService.getAwsSdkMaxRetries());
+        assertFalse(configurationService.isDynamoMetricsEnabled());
+        assertEquals("unknown", configurationService.getLambdaFunctionName());
+        assertFalse(configurationService.isDynamoHedgedReadsEnabled());
+        assertEquals(10, configurationService.getDynamoHedgeBudgetPercent());
+        assertEquals(95, configurationService.getDynamoHedgeDelayPercentile());
+        assertEquals(20, configurationService.getDynamoHedgeMinDelay());
+        assertEquals(0, configurationService.getDynamoReadDeadline());
+    }
+
+    @Test
+    void clientRegistryCacheSettingsShouldEqualDefaultsWhenEnvVarsUnset() {
+        ConfigurationService configurationService = new ConfigurationService();
+        assertEquals(500, configurationService.getClientRegistryCacheMaxEntries());
+        assertEquals(10, configurationService.getClientRegistryCacheNegativeTtl());
+        assertEquals(300, configurationService.getClientRegistryCacheTtl());
+        assertEquals(5, configurationService.getClientRegistryVersionCheckInterval());
+    }
+
+    @Test
+    void tokenSigningSettingsShouldEqualDefaultsWhenEnvVarsUnset() {
+        ConfigurationService configurationService = new ConfigurationService();
+        assertEquals(300, configurationService.getSigningKeyMetadataCacheTtl());
+        assertEquals(2, configurationService.getTokenSigningThreads());
+        assertEquals("kms", configurationService.getTokenSigner());
+        assertEquals(300, configurationService.getJwksCacheTtl());
+    }
+
+    @Test
+    void verifiedAccessTokenCacheSettingsShouldEqualDefaultsWhenEnvVarsUnset() {
+        ConfigurationService configurationService = new ConfigurationService();
+        assertEquals(1000, configurationService.getVerifiedAccessTokenCacheMaxEntries());
+        assertEquals(60, configurationService.getVerifiedAccessTokenCacheTtl());
+    }
+
     private static Stream<Arguments> commaSeparatedStringContains() {
         return Stream.of(
                 Arguments.of("1234", null, false),
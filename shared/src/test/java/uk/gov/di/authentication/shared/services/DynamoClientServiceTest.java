@@ -3,17 +3,37 @@ package uk.gov.di.authentication.shared.services;
 import com.nimbusds.oauth2.sdk.id.ClientID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
+import uk.gov.di.authentication.shared.entity.UpdateClientConfigRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DynamoClientServiceTest {
@@ -78,6 +98,125 @@ class DynamoClientServiceTest {
         assertFalse(dynamoClientService.isTestJourney(CLIENT_ID.toString(), "test@test.com"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldServeRepeatedLookupsFromCacheUntilClientIsUpdated() {
+        DynamoDbTable<ClientRegistry> table = mock(DynamoDbTable.class);
+        var dynamoDbClient = mock(DynamoDbClient.class);
+        when(dynamoDbEnhancedClient.table(anyString(), any(TableSchema.class))).thenReturn(table);
+        when(table.getItem(any(Key.class)))
+                .thenReturn(generateClientRegistry(CLIENT_ID.toString()));
+        when(configurationService.getClientRegistryCacheTtl()).thenReturn(300L);
+        when(configurationService.getClientRegistryCacheNegativeTtl()).thenReturn(10L);
+        when(configurationService.getClientRegistryVersionCheckInterval()).thenReturn(5L);
+        when(configurationService.getClientRegistryCacheMaxEntries()).thenReturn(10);
+        var cachingClientService =
+                new DynamoClientService(
+                        configurationService,
+                        dynamoDbEnhancedClient,
+                        dynamoDbClient,
+                        new ClientRegistryCache(configurationService, () -> "version"));
+
+        assertTrue(cachingClientService.isValidClient(CLIENT_ID.toString()));
+        assertTrue(cachingClientService.getClient(CLIENT_ID.toString()).isPresent());
+        cachingClientService.updateClient(
+                CLIENT_ID.toString(), new UpdateClientConfigRequest().setClientName("new-name"));
+        assertTrue(cachingClientService.getClient(CLIENT_ID.toString()).isPresent());
+
+        verify(table, times(3)).getItem(any(Key.class));
+        verify(dynamoDbClient).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldServeAsyncLookupsFromTheSameCache() {
+        DynamoDbTable<ClientRegistry> table = mock(DynamoDbTable.class);
+        DynamoDbAsyncTable<ClientRegistry> asyncTable = mock(DynamoDbAsyncTable.class);
+        var dynamoDbEnhancedAsyncClient = mock(DynamoDbEnhancedAsyncClient.class);
+        when(dynamoDbEnhancedClient.table(anyString(), any(TableSchema.class))).thenReturn(table);
+        when(dynamoDbEnhancedAsyncClient.table(anyString(), any(TableSchema.class)))
+                .thenReturn(asyncTable);
+        when(asyncTable.getItem(any(Key.class)))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                generateClientRegistry(CLIENT_ID.toString())));
+        when(configurationService.getClientRegistryCacheTtl()).thenReturn(300L);
+        when(configurationService.getClientRegistryCacheMaxEntries()).thenReturn(10);
+        var cachingClientService =
+                new DynamoClientService(
+                        configurationService,
+                        dynamoDbEnhancedClient,
+                        dynamoDbEnhancedAsyncClient,
+                        mock(DynamoDbClient.class),
+                        new ClientRegistryCache(configurationService, () -> "version"));
+
+        assertTrue(cachingClientService.getClientAsync(CLIENT_ID.toString()).join().isPresent());
+        assertTrue(cachingClientService.getClient(CLIENT_ID.toString()).isPresent());
+
+        verify(asyncTable).getItem(any(Key.class));
+        verify(table, never()).getItem(any(Key.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCompleteAsyncLookupWithTheSdkException() {
+        DynamoDbAsyncTable<ClientRegistry> asyncTable = mock(DynamoDbAsyncTable.class);
+        var dynamoDbEnhancedAsyncClient = mock(DynamoDbEnhancedAsyncClient.class);
+        when(dynamoDbEnhancedAsyncClient.table(anyString(), any(TableSchema.class)))
+                .thenReturn(asyncTable);
+        var exception = DynamoDbException.builder().message("unavailable").build();
+        when(asyncTable.getItem(any(Key.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(exception)));
+        var asyncClientService =
+                new DynamoClientService(
+                        configurationService,
+                        dynamoDbEnhancedClient,
+                        dynamoDbEnhancedAsyncClient,
+                        mock(DynamoDbClient.class),
+                        null);
+
+        var result = asyncClientService.getClientAsync(CLIENT_ID.toString());
+
+        assertThat(
+                assertThrows(DynamoDbException.class, () -> DynamoClientHelper.join(result)),
+                sameInstance(exception));
+        assertThat(result.handle((client, error) -> error).join(), sameInstance(exception));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldClearCacheAndFailUpdateWhenVersionCannotBeWritten() {
+        DynamoDbTable<ClientRegistry> table = mock(DynamoDbTable.class);
+        var dynamoDbClient = mock(DynamoDbClient.class);
+        when(dynamoDbEnhancedClient.table(anyString(), any(TableSchema.class))).thenReturn(table);
+        when(table.getItem(any(Key.class)))
+                .thenReturn(generateClientRegistry(CLIENT_ID.toString()));
+        var exception = DynamoDbException.builder().message("unavailable").build();
+        when(dynamoDbClient.putItem(any(PutItemRequest.class))).thenThrow(exception);
+        when(configurationService.getClientRegistryCacheTtl()).thenReturn(300L);
+        when(configurationService.getClientRegistryCacheMaxEntries()).thenReturn(10);
+        var otherClientId = new ClientID().toString();
+        var cachingClientService =
+                new DynamoClientService(
+                        configurationService,
+                        dynamoDbEnhancedClient,
+                        dynamoDbClient,
+                        new ClientRegistryCache(configurationService, () -> "version"));
+        cachingClientService.getClient(otherClientId);
+
+        assertThat(
+                assertThrows(
+                        DynamoDbException.class,
+                        () ->
+                                cachingClientService.updateClient(
+                                        CLIENT_ID.toString(),
+                                        new UpdateClientConfigRequest().setClientName("new-name"))),
+                sameInstance(exception));
+        cachingClientService.getClient(otherClientId);
+
+        verify(table, times(2)).getItem(Key.builder().partitionValue(otherClientId).build());
+    }
+
     private ClientRegistry generateClientRegistry(String clientId) {
         return new ClientRegistry().withClientID(clientId);
     }
@@ -10,17 +10,25 @@ import software.amazon.awssdk.services.kms.model.GetPublicKeyResponse;
 import software.amazon.awssdk.services.kms.model.KeyUsageType;
 import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 
+import java.time.Clock;
 import java.util.Base64;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 
 class JwksServiceTest {
 
+    private static final String EC_PUBLIC_KEY =
+            "MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEpRm+QZsh2IkUWcqXUhBI9ulOzO8dz0Z8HIS6m77tI4eWoZgKYUcbByshDtN4gWPql7E5mN4uCLsg5+6SDXlQcA==";
     private final ConfigurationService configurationService = mock(ConfigurationService.class);
     private final KmsConnectionService kmsConnectionService = mock(KmsConnectionService.class);
     private final JwksService jwksService =
@@ -81,4 +89,105 @@ class JwksServiceTest {
         assertThat(publicKeyJwk.getAlgorithm(), equalTo(JWSAlgorithm.RS256));
         assertThat(publicKeyJwk.getKeyUse(), equalTo(KeyUse.SIGNATURE));
     }
+
+    @Test
+    void shouldReuseVerifierForKeyUntilCacheExpires() {
+        var clock = mock(Clock.class);
+        when(configurationService.getJwksCacheTtl()).thenReturn(300L);
+        when(configurationService.getTokenSigningKeyAlias()).thenReturn("verifier-reuse-alias");
+        when(kmsConnectionService.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenReturn(ecPublicKeyResponse("key-1"));
+        var cachingJwksService =
+                new JwksService(configurationService, kmsConnectionService, clock);
+
+        var verifier = cachingJwksService.getPublicTokenVerifier();
+        when(clock.millis()).thenReturn(299_000L);
+
+        assertThat(cachingJwksService.getPublicTokenVerifier(), sameInstance(verifier));
+        verify(kmsConnectionService).getPublicKey(any(GetPublicKeyRequest.class));
+    }
+
+    @Test
+    void shouldKeepVerifierForPreviousKeyUntilTokensSignedWithItHaveExpired() {
+        var clock = mock(Clock.class);
+        when(configurationService.getJwksCacheTtl()).thenReturn(300L);
+        when(configurationService.getAccessTokenExpiry()).thenReturn(180L);
+        when(configurationService.getIDTokenExpiry()).thenReturn(120L);
+        when(configurationService.getSessionExpiry()).thenReturn(7200L);
+        when(configurationService.getSigningKeyMetadataCacheTtl()).thenReturn(300L);
+        when(configurationService.getTokenSigningKeyAlias()).thenReturn("verifier-rotate-alias");
+        when(kmsConnectionService.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenReturn(ecPublicKeyResponse("rotate-key-1"));
+        var cachingJwksService =
+                new JwksService(configurationService, kmsConnectionService, clock);
+
+        var verifier = cachingJwksService.getPublicTokenVerifier();
+        when(kmsConnectionService.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenReturn(ecPublicKeyResponse("rotate-key-2"));
+        when(clock.millis()).thenReturn(300_000L);
+
+        assertThat(cachingJwksService.getPublicTokenVerifier(), not(sameInstance(verifier)));
+        assertThat(
+                cachingJwksService.getPublicTokenJwkWithOpaqueId().getKeyID(),
+                equalTo(hashSha256String("rotate-key-2")));
+        assertThat(
+                cachingJwksService.getTokenVerifierWithKeyId(hashSha256String("rotate-key-1")),
+                equalTo(Optional.of(verifier)));
+
+        when(clock.millis()).thenReturn(7_799_000L);
+
+        assertThat(
+                cachingJwksService.getTokenVerifierWithKeyId(hashSha256String("rotate-key-1")),
+                equalTo(Optional.of(verifier)));
+
+        when(clock.millis()).thenReturn(7_800_000L);
+
+        assertThat(
+                cachingJwksService.getTokenVerifierWithKeyId(hashSha256String("rotate-key-1")),
+                equalTo(Optional.empty()));
+        assertThat(
+                cachingJwksService
+                        .getTokenVerifierWithKeyId(hashSha256String("rotate-key-2"))
+                        .isPresent(),
+                equalTo(true));
+    }
+
+    @Test
+    void shouldReloadSigningKeysWhenTokenHasUnknownKeyId() {
+        var clock = mock(Clock.class);
+        when(configurationService.getJwksCacheTtl()).thenReturn(300L);
+        when(configurationService.getTokenSigningKeyAlias()).thenReturn("verifier-refresh-alias");
+        when(kmsConnectionService.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenReturn(ecPublicKeyResponse("refresh-key-1"));
+        var cachingJwksService =
+                new JwksService(configurationService, kmsConnectionService, clock);
+
+        cachingJwksService.getPublicTokenVerifier();
+        when(kmsConnectionService.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenReturn(ecPublicKeyResponse("refresh-key-2"));
+        when(clock.millis()).thenReturn(5_000L);
+
+        assertThat(
+                cachingJwksService.getTokenVerifierWithKeyId(hashSha256String("refresh-key-2")),
+                equalTo(Optional.empty()));
+        verify(kmsConnectionService).getPublicKey(any(GetPublicKeyRequest.class));
+
+        when(clock.millis()).thenReturn(10_000L);
+
+        assertThat(
+                cachingJwksService
+                        .getTokenVerifierWithKeyId(hashSha256String("refresh-key-2"))
+                        .isPresent(),
+                equalTo(true));
+        verify(kmsConnectionService, times(2)).getPublicKey(any(GetPublicKeyRequest.class));
+    }
+
+    private static GetPublicKeyResponse ecPublicKeyResponse(String keyId) {
+        return GetPublicKeyResponse.builder()
+                .keyUsage(KeyUsageType.SIGN_VERIFY)
+                .keyId(keyId)
+                .signingAlgorithms(SigningAlgorithmSpec.ECDSA_SHA_256)
+                .publicKey(SdkBytes.fromByteArray(Base64.getDecoder().decode(EC_PUBLIC_KEY)))
+                .build();
+    }
 }
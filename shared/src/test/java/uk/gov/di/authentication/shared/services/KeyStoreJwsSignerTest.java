@@ -0,0 +1,157 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.text.ParseException;
+import java.time.Clock;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KeyStoreJwsSignerTest {
+
+    private static final String PASSWORD = "password";
+    private static final String EC_KEY_ALIAS = "token-signing-key";
+    private static final String RSA_KEY_ALIAS = "token-signing-key-rsa";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"build", "staging", "integration", "production"})
+    void shouldRefuseKeyStoreSignerInDeployedEnvironments(String environment) {
+        var configurationService = mock(ConfigurationService.class);
+        when(configurationService.getTokenSigner()).thenReturn(JwsSigner.KEYSTORE);
+        when(configurationService.getEnvironment()).thenReturn(environment);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> JwsSigner.create(configurationService, mock(KmsConnectionService.class)));
+    }
+
+    @Test
+    void shouldSignWithEcKeyFromKeyStore() throws Exception {
+        var keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        var keyPair = keyPairGenerator.generateKeyPair();
+        var signer = new KeyStoreJwsSigner(keyStore(EC_KEY_ALIAS, keyPair), PASSWORD);
+
+        var signedJWT = sign(signer, EC_KEY_ALIAS, JWSAlgorithm.ES256);
+
+        assertThat(
+                signedJWT.verify(new ECDSAVerifier((ECPublicKey) keyPair.getPublic())),
+                equalTo(true));
+    }
+
+    @Test
+    void shouldSignWithRsaKeyFromKeyStore() throws Exception {
+        var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        var keyPair = keyPairGenerator.generateKeyPair();
+        var signer = new KeyStoreJwsSigner(keyStore(RSA_KEY_ALIAS, keyPair), PASSWORD);
+
+        var signedJWT = sign(signer, RSA_KEY_ALIAS, JWSAlgorithm.RS256);
+
+        assertThat(
+                signedJWT.verify(new RSASSAVerifier((RSAPublicKey) keyPair.getPublic())),
+                equalTo(true));
+    }
+
+    @Test
+    void shouldUseKeyAliasAsKeyId() throws Exception {
+        var signer = new KeyStoreJwsSigner(KeyStore.getInstance("PKCS12"), PASSWORD);
+
+        assertThat(signer.getKeyId(EC_KEY_ALIAS), equalTo(EC_KEY_ALIAS));
+    }
+
+    @Test
+    void shouldSignTokensThatValidateAgainstItsPublicKey() throws Exception {
+        var keyAlias = "round-trip-token-signing-key";
+        var keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        var keyPair = keyPairGenerator.generateKeyPair();
+        var signer = new KeyStoreJwsSigner(keyStore(keyAlias, keyPair), PASSWORD);
+        var configurationService = mock(ConfigurationService.class);
+        when(configurationService.getTokenSigningKeyAlias()).thenReturn(keyAlias);
+        var tokenValidationService =
+                new TokenValidationService(
+                        new JwksService(configurationService, signer, Clock.systemUTC()),
+                        configurationService);
+
+        var signingKeyMetadata =
+                new SigningKeyMetadataCache(configurationService, signer)
+                        .get(keyAlias, JWSAlgorithm.ES256);
+        var claims = new JWTClaimsSet.Builder().subject("subject").build();
+        var message =
+                signingKeyMetadata.getEncodedHeader(Optional.empty())
+                        + "."
+                        + Base64URL.encode(claims.toString());
+        var signature =
+                signer.sign(signingKeyMetadata.getKeyId(), JWSAlgorithm.ES256, message.getBytes());
+
+        assertThat(
+                tokenValidationService.isTokenSignatureValid(message + "." + signature),
+                equalTo(true));
+    }
+
+    private static SignedJWT sign(JwsSigner signer, String keyAlias, JWSAlgorithm algorithm)
+            throws ParseException {
+        var header = new JWSHeader.Builder(algorithm).keyID(signer.getKeyId(keyAlias)).build();
+        var claims = new JWTClaimsSet.Builder().subject("subject").build();
+        var message = header.toBase64URL() + "." + Base64URL.encode(claims.toString());
+        var signature = signer.sign(signer.getKeyId(keyAlias), algorithm, message.getBytes());
+        return SignedJWT.parse(message + "." + signature);
+    }
+
+    private static KeyStore keyStore(String alias, KeyPair keyPair) throws Exception {
+        var signatureAlgorithm =
+                keyPair.getPrivate().getAlgorithm().equals("EC")
+                        ? "SHA256withECDSA"
+                        : "SHA256withRSA";
+        var name = new X500Name("CN=" + alias);
+        var certificate =
+                new JcaX509CertificateConverter()
+                        .getCertificate(
+                                new JcaX509v3CertificateBuilder(
+                                                name,
+                                                BigInteger.ONE,
+                                                new Date(),
+                                                new Date(System.currentTimeMillis() + 60_000),
+                                                name,
+                                                keyPair.getPublic())
+                                        .build(
+                                                new JcaContentSignerBuilder(signatureAlgorithm)
+                                                        .build(keyPair.getPrivate())));
+        var keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry(
+                alias,
+                keyPair.getPrivate(),
+                PASSWORD.toCharArray(),
+                new Certificate[] {certificate});
+        return keyStore;
+    }
+}
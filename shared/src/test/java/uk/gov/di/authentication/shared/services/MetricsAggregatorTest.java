@@ -0,0 +1,131 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MetricsAggregatorTest {
+
+    private static final Map<String, String> DIMENSIONS = Map.of("Environment", "test");
+    private static final Map<String, String> OTHER_DIMENSIONS = Map.of("Environment", "other");
+    private final Clock clock = mock(Clock.class);
+    private final List<MetricsLogger> metricsLoggers = new ArrayList<>();
+    private MetricsAggregator aggregator;
+
+    @BeforeEach
+    void setup() {
+        when(clock.millis()).thenReturn(0L);
+        aggregator =
+                new MetricsAggregator(
+                        clock,
+                        1000,
+                        () -> {
+                            var metricsLogger = mock(MetricsLogger.class);
+                            metricsLoggers.add(metricsLogger);
+                            return metricsLogger;
+                        });
+    }
+
+    @Test
+    void shouldNotWriteBeforeFlushIntervalHasPassed() {
+        aggregator.put(DIMENSIONS, "RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+        when(clock.millis()).thenReturn(999L);
+
+        aggregator.flushIfDue();
+
+        assertThat(metricsLoggers, hasSize(0));
+    }
+
+    @Test
+    void shouldWriteAllValuesForADimensionSetInOneLogLine() {
+        aggregator.put(DIMENSIONS, "RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+        aggregator.put(DIMENSIONS, "RedisCommandLatency", 2.5, Unit.MILLISECONDS);
+        aggregator.put(DIMENSIONS, "RedisCommandTimeout", 0, Unit.COUNT);
+        when(clock.millis()).thenReturn(1000L);
+
+        aggregator.flushIfDue();
+
+        assertThat(metricsLoggers, hasSize(1));
+        var metricsLogger = metricsLoggers.get(0);
+        verify(metricsLogger).setNamespace("Authentication");
+        verify(metricsLogger).putDimensions(any(DimensionSet.class));
+        verify(metricsLogger).putMetric("RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+        verify(metricsLogger).putMetric("RedisCommandLatency", 2.5, Unit.MILLISECONDS);
+        verify(metricsLogger).putMetric("RedisCommandTimeout", 0, Unit.COUNT);
+        verify(metricsLogger).flush();
+    }
+
+    @Test
+    void shouldWriteOneLogLinePerDimensionSet() {
+        aggregator.put(DIMENSIONS, "RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+        aggregator.put(OTHER_DIMENSIONS, "RedisCommandLatency", 2.5, Unit.MILLISECONDS);
+
+        aggregator.flush();
+
+        assertThat(metricsLoggers, hasSize(2));
+        verify(metricsLoggers.get(0)).putMetric("RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+        verify(metricsLoggers.get(1)).putMetric("RedisCommandLatency", 2.5, Unit.MILLISECONDS);
+    }
+
+    @Test
+    void shouldNotWriteValuesTwice() {
+        aggregator.put(DIMENSIONS, "RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+        aggregator.flush();
+        when(clock.millis()).thenReturn(5000L);
+
+        aggregator.flushIfDue();
+        aggregator.flush();
+
+        assertThat(metricsLoggers, hasSize(1));
+    }
+
+    @Test
+    void shouldWriteEarlyAndSplitLogLinesOnceAMetricHasTheMaximumNumberOfValues() {
+        for (int i = 0; i <= MetricsAggregator.MAX_VALUES_PER_METRIC; i++) {
+            aggregator.put(DIMENSIONS, "RedisCommandLatency", i, Unit.MILLISECONDS);
+        }
+
+        aggregator.flushIfDue();
+
+        assertThat(metricsLoggers, hasSize(2));
+        verify(metricsLoggers.get(0), times(MetricsAggregator.MAX_VALUES_PER_METRIC))
+                .putMetric(eq("RedisCommandLatency"), anyDouble(), eq(Unit.MILLISECONDS));
+        verify(metricsLoggers.get(1))
+                .putMetric(
+                        "RedisCommandLatency",
+                        MetricsAggregator.MAX_VALUES_PER_METRIC,
+                        Unit.MILLISECONDS);
+    }
+
+    @Test
+    void shouldDropValuesOnceTheMaximumNumberArePending() {
+        for (int i = 0; i < MetricsAggregator.MAX_PENDING_VALUES; i++) {
+            aggregator.put(DIMENSIONS, "Metric" + i % 100, 1, Unit.COUNT);
+        }
+        aggregator.put(OTHER_DIMENSIONS, "RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+
+        aggregator.flush();
+
+        assertThat(metricsLoggers, hasSize(1));
+        verify(metricsLoggers.get(0), never())
+                .putMetric("RedisCommandLatency", 1.5, Unit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,70 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisConnectionServiceTest {
+
+    @Test
+    void shouldUseKeyPrefixAsMetricDimension() {
+        assertThat(
+                RedisConnectionService.keyPrefixForMetrics(
+                        ClientSessionService.CLIENT_SESSION_PREFIX + "client-session-id"),
+                equalTo(ClientSessionService.CLIENT_SESSION_PREFIX));
+        assertThat(
+                RedisConnectionService.keyPrefixForMetrics(
+                        CodeStorageService.EMAIL_KEY_PREFIX + "email-hash"),
+                equalTo(CodeStorageService.EMAIL_KEY_PREFIX));
+        assertThat(
+                RedisConnectionService.keyPrefixForMetrics(
+                        TokenService.ACCESS_TOKEN_PREFIX + "client-id.subject"),
+                equalTo(TokenService.ACCESS_TOKEN_PREFIX));
+    }
+
+    @Test
+    void shouldTreatUnprefixedKeysAsSessions() {
+        assertThat(RedisConnectionService.keyPrefixForMetrics("session-id"), equalTo("session"));
+    }
+
+    @Test
+    void shouldShareConnectionsBetweenConfigurationsWithTheSameRedisSettings() {
+        var settings = RedisConnectionService.settingsOf(configurationWithRedis("redis-1", 6379));
+
+        assertThat(
+                RedisConnectionService.settingsOf(configurationWithRedis("redis-1", 6379)),
+                equalTo(settings));
+    }
+
+    @Test
+    void shouldNotShareConnectionsBetweenConfigurationsWithDifferentRedisSettings() {
+        var settings = RedisConnectionService.settingsOf(configurationWithRedis("redis-1", 6379));
+        var configurationWithPassword = configurationWithRedis("redis-1", 6379);
+        when(configurationWithPassword.getRedisPassword()).thenReturn(Optional.of("password"));
+
+        assertThat(
+                RedisConnectionService.settingsOf(configurationWithRedis("redis-2", 6379)),
+                not(equalTo(settings)));
+        assertThat(
+                RedisConnectionService.settingsOf(configurationWithRedis("redis-1", 6380)),
+                not(equalTo(settings)));
+        assertThat(
+                RedisConnectionService.settingsOf(configurationWithPassword),
+                not(equalTo(settings)));
+    }
+
+    private static ConfigurationService configurationWithRedis(String host, int port) {
+        var configurationService = mock(ConfigurationService.class);
+        when(configurationService.getRedisHost()).thenReturn(host);
+        when(configurationService.getRedisPort()).thenReturn(port);
+        when(configurationService.getRedisPassword()).thenReturn(Optional.empty());
+        when(configurationService.getEnvironment()).thenReturn("test");
+        return configurationService;
+    }
+}
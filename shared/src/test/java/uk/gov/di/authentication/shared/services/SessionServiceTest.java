@@ -1,24 +1,43 @@
 package uk.gov.di.authentication.shared.services;
 
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.ScriptOutputType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
 import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
+import uk.gov.di.authentication.shared.services.SessionService.SessionField;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,13 +59,15 @@ class SessionServiceTest {
         sessionService.save(session);
 
         verify(redis, times(1))
-                .saveWithExpiry("session-id", objectMapper.writeValueAsString(session), 1234L);
+                .saveBinaryWithExpiry(
+                        eq("session-id"),
+                        aryEq(objectMapper.writeValueAsString(session).getBytes(UTF_8)),
+                        eq(1234L));
     }
 
     @Test
     void shouldRetrieveSessionUsingRequestHeaders() throws Json.JsonException {
-        when(redis.keyExists("session-id")).thenReturn(true);
-        when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
+        when(redis.getBinaryValue("session-id")).thenReturn(generateSearlizedSession());
 
         var sessionInRedis =
                 sessionService.getSessionFromRequestHeaders(Map.of("Session-Id", "session-id"));
@@ -58,8 +79,7 @@ class SessionServiceTest {
 
     @Test
     void shouldNotRetrieveSessionForLowerCaseHeaderName() throws Json.JsonException {
-        when(redis.keyExists("session-id")).thenReturn(true);
-        when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
+        when(redis.getBinaryValue("session-id")).thenReturn(generateSearlizedSession());
 
         var sessionInRedis =
                 sessionService.getSessionFromRequestHeaders(Map.of("session-id", "session-id"));
@@ -86,7 +106,7 @@ class SessionServiceTest {
 
     @Test
     void shouldNotRetrieveSessionIfNotPresentInRedis() {
-        when(redis.keyExists("session-id")).thenReturn(false);
+        when(redis.getBinaryValue("session-id")).thenReturn(null);
 
         var session =
                 sessionService.getSessionFromRequestHeaders(Map.of("Session-Id", "session-id"));
@@ -107,8 +127,7 @@ class SessionServiceTest {
     @Test
     void shouldReturnSessionFromSessionCookieCalledWithValidCookieHeaderValues()
             throws Json.JsonException {
-        when(redis.keyExists("session-id")).thenReturn(true);
-        when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
+        when(redis.getBinaryValue("session-id")).thenReturn(generateSearlizedSession());
 
         Optional<Session> sessionFromSessionCookie =
                 sessionService.getSessionFromSessionCookie(
@@ -122,7 +141,7 @@ class SessionServiceTest {
 
     @Test
     void shouldNotReturnSessionFromSessionCookieCalledWithMissingSessionId() {
-        when(redis.keyExists("session-id")).thenReturn(false);
+        when(redis.getBinaryValue("session-id")).thenReturn(null);
         Optional<Session> session =
                 sessionService.getSessionFromSessionCookie(
                         Map.ofEntries(
@@ -132,6 +151,133 @@ class SessionServiceTest {
         assertFalse(session.isPresent());
     }
 
+    @Test
+    void shouldRetrieveSessionAsynchronously() throws Exception {
+        when(redis.getBinaryValueAsync("session-id"))
+                .thenReturn(CompletableFuture.completedFuture(generateSearlizedSession()));
+
+        var session = sessionService.readSessionFromRedisAsync("session-id").get();
+
+        assertTrue(session.isPresent());
+        assertThat(session.get().getSessionId(), is("session-id"));
+    }
+
+    @Test
+    void shouldReturnOptionalEmptyAsynchronouslyIfSessionIsNotPresentInRedis()
+            throws Exception {
+        when(redis.getBinaryValueAsync("session-id"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertTrue(sessionService.readSessionFromRedisAsync("session-id").get().isEmpty());
+    }
+
+    @Test
+    void shouldRetrieveSessionAndClientSessionInSingleRedisCall() throws Json.JsonException {
+        when(redis.getBinaryValuesPipelined("session-id", "client-session-client-session-id"))
+                .thenReturn(
+                        List.of(generateSearlizedSession(), generateSerialisedClientSession()));
+
+        var sessions =
+                sessionService.getSessionAndClientSessionFromRequestHeaders(
+                        Map.of(
+                                "Session-Id",
+                                "session-id",
+                                "Client-Session-Id",
+                                "client-session-id"));
+
+        assertThat(sessions.getSession().map(Session::getSessionId), is(Optional.of("session-id")));
+        assertThat(
+                sessions.getClientSession().map(ClientSession::getClientName),
+                is(Optional.of("client-name")));
+        verify(redis, never()).getBinaryValue(anyString());
+    }
+
+    @Test
+    void shouldReturnSessionWhenClientSessionIsNotPresentInRedis() throws Json.JsonException {
+        when(redis.getBinaryValuesPipelined("session-id", "client-session-client-session-id"))
+                .thenReturn(Arrays.asList(generateSearlizedSession(), null));
+
+        var sessions =
+                sessionService.getSessionAndClientSessionFromRequestHeaders(
+                        Map.of(
+                                "Session-Id",
+                                "session-id",
+                                "Client-Session-Id",
+                                "client-session-id"));
+
+        assertTrue(sessions.getSession().isPresent());
+        assertTrue(sessions.getClientSession().isEmpty());
+    }
+
+    @Test
+    void shouldRetrieveSessionHashAndClientSessionInSingleRedisCall() throws Json.JsonException {
+        when(configuration.isRedisSessionHashStorageEnabled()).thenReturn(true);
+        when(redis.getHashAndBinaryValue("session-id", "client-session-client-session-id"))
+                .thenReturn(
+                        new RedisConnectionService.HashAndBinaryValue(
+                                Map.of("session_id", "session-id"),
+                                generateSerialisedClientSession()));
+
+        var sessions =
+                sessionService.readSessionAndClientSessionFromRedis(
+                        "session-id", "client-session-id");
+
+        assertThat(sessions.getSession().map(Session::getSessionId), is(Optional.of("session-id")));
+        assertThat(
+                sessions.getClientSession().map(ClientSession::getClientName),
+                is(Optional.of("client-name")));
+        verify(redis, never()).getHash(anyString());
+        verify(redis, never()).getBinaryValue(anyString());
+    }
+
+    @Test
+    void shouldNotReadSessionAsHashWhenSerialisedSessionIsMissing() {
+        when(redis.getBinaryValuesPipelined("session-id", "client-session-client-session-id"))
+                .thenReturn(Arrays.asList((byte[]) null, null));
+
+        var sessions =
+                sessionService.readSessionAndClientSessionFromRedis(
+                        "session-id", "client-session-id");
+
+        assertTrue(sessions.getSession().isEmpty());
+        assertTrue(sessions.getClientSession().isEmpty());
+        verify(redis, never()).getHashAndBinaryValue(anyString(), anyString());
+    }
+
+    @Test
+    void shouldReadSessionHashAndClientSessionWhenSessionKeyIsAHash() throws Json.JsonException {
+        when(redis.getBinaryValuesPipelined("session-id", "client-session-client-session-id"))
+                .thenThrow(
+                        new RuntimeException(
+                                new RedisCommandExecutionException(
+                                        "WRONGTYPE Operation against a key")));
+        when(redis.getHashAndBinaryValue("session-id", "client-session-client-session-id"))
+                .thenReturn(
+                        new RedisConnectionService.HashAndBinaryValue(
+                                Map.of("session_id", "session-id"),
+                                generateSerialisedClientSession()));
+
+        var sessions =
+                sessionService.readSessionAndClientSessionFromRedis(
+                        "session-id", "client-session-id");
+
+        assertThat(sessions.getSession().map(Session::getSessionId), is(Optional.of("session-id")));
+        assertTrue(sessions.getClientSession().isPresent());
+    }
+
+    @Test
+    void shouldOnlyRetrieveSessionWhenClientSessionHeaderIsMissing() throws Json.JsonException {
+        when(redis.getBinaryValue("session-id")).thenReturn(generateSearlizedSession());
+
+        var sessions =
+                sessionService.getSessionAndClientSessionFromRequestHeaders(
+                        Map.of("Session-Id", "session-id"));
+
+        assertTrue(sessions.getSession().isPresent());
+        assertTrue(sessions.getClientSession().isEmpty());
+        verify(redis, never()).getBinaryValuesPipelined(any(String[].class));
+    }
+
     @Test
     void shouldUpdateSessionIdInRedisAndDeleteOldKey() {
         var session = new Session("session-id").addClientSession("client-session-id");
@@ -139,7 +285,7 @@ class SessionServiceTest {
         sessionService.save(session);
         sessionService.updateSessionId(session);
 
-        verify(redis, times(2)).saveWithExpiry(anyString(), anyString(), anyLong());
+        verify(redis, times(2)).saveBinaryWithExpiry(anyString(), any(byte[].class), anyLong());
         verify(redis).deleteValue("session-id");
     }
 
@@ -153,9 +299,149 @@ class SessionServiceTest {
         verify(redis).deleteValue("session-id");
     }
 
-    private String generateSearlizedSession() throws Json.JsonException {
+    @Test
+    void shouldPersistSessionAsHashWhenHashStorageIsEnabled() {
+        when(configuration.isRedisSessionHashStorageEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+        var session =
+                new Session("session-id")
+                        .addClientSession("client-session-1")
+                        .addClientSession("client-session-2")
+                        .setEmailAddress("joe.bloggs@digital.cabinet-office.gov.uk")
+                        .setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL);
+
+        sessionService.save(session);
+
+        verify(redis)
+                .saveHashWithExpiry(
+                        eq("session-id"),
+                        argThat(
+                                hash ->
+                                        hash.get("client_sessions")
+                                                        .equals("client-session-1,client-session-2")
+                                                && hash.get("current_credential_strength")
+                                                        .equals("MEDIUM_LEVEL")
+                                                && hash.get("code_request_count").equals("0")
+                                                && !hash.containsKey("verified_mfa_method_type")),
+                        eq(1234L));
+        verify(redis, never()).saveBinaryWithExpiry(anyString(), any(byte[].class), anyLong());
+    }
+
+    @Test
+    void shouldReadSessionFromHashWhenHashStorageIsEnabled() {
+        when(configuration.isRedisSessionHashStorageEnabled()).thenReturn(true);
+        when(redis.getHash("session-id"))
+                .thenReturn(
+                        Map.of(
+                                "session_id", "session-id",
+                                "client_sessions", "client-session-1,client-session-2",
+                                "is_new_account", "EXISTING",
+                                "authenticated", "true",
+                                "code_request_count", "2",
+                                "internal_common_subject_identifier", ""));
+
+        var session = sessionService.readSessionFromRedis("session-id").orElseThrow();
+
+        assertThat(
+                session.getClientSessions(),
+                is(List.of("client-session-1", "client-session-2")));
+        assertThat(session.isNewAccount(), is(Session.AccountState.EXISTING));
+        assertTrue(session.isAuthenticated());
+        assertThat(session.getCodeRequestCount(), is(2));
+        assertThat(session.getInternalCommonSubjectIdentifier(), is(nullValue()));
+    }
+
+    @Test
+    void shouldFallBackToSerialisedSessionWhenKeyIsNotAHash() throws Json.JsonException {
+        when(configuration.isRedisSessionHashStorageEnabled()).thenReturn(true);
+        when(redis.getHash("session-id"))
+                .thenThrow(
+                        new RuntimeException(
+                                new RedisCommandExecutionException(
+                                        "WRONGTYPE Operation against a key")));
+        when(redis.getBinaryValue("session-id")).thenReturn(generateSearlizedSession());
+
+        var session = sessionService.readSessionFromRedis("session-id");
+
+        assertThat(session.map(Session::getSessionId), is(Optional.of("session-id")));
+    }
+
+    @Test
+    void shouldUpdateOnlyGivenFieldsWhenHashStorageIsEnabled() {
+        when(configuration.isRedisSessionHashStorageEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+        when(redis.<Long>executeScript(anyString(), any(), anyList(), anyList())).thenReturn(1L);
+        var session = new Session("session-id").setNewAccount(Session.AccountState.EXISTING);
+
+        sessionService.saveFields(session, SessionField.IS_NEW_ACCOUNT);
+
+        verify(redis)
+                .executeScript(
+                        anyString(),
+                        eq(ScriptOutputType.INTEGER),
+                        eq(List.of("session-id")),
+                        eq(List.of("1234", "is_new_account", "EXISTING")));
+        verify(redis, never()).saveHashWithExpiry(anyString(), anyMap(), anyLong());
+    }
+
+    @Test
+    void shouldSaveWholeSessionWhenFieldUpdateFindsNoHash() {
+        when(configuration.isRedisSessionHashStorageEnabled()).thenReturn(true);
+        when(redis.<Long>executeScript(anyString(), any(), anyList(), anyList())).thenReturn(0L);
+        var session = new Session("session-id").setNewAccount(Session.AccountState.EXISTING);
+
+        sessionService.saveFields(session, SessionField.IS_NEW_ACCOUNT);
+
+        verify(redis).saveHashWithExpiry(eq("session-id"), anyMap(), anyLong());
+    }
+
+    @Test
+    void shouldIncrementCodeRequestCountInRedisWhenHashStorageIsEnabled() {
+        when(configuration.isRedisSessionHashStorageEnabled()).thenReturn(true);
+        when(redis.<Long>executeScript(anyString(), any(), anyList(), anyList())).thenReturn(3L);
+        var session = new Session("session-id");
+
+        sessionService.incrementCodeRequestCount(session);
+
+        assertThat(session.getCodeRequestCount(), is(3));
+        verify(redis, never()).saveHashWithExpiry(anyString(), anyMap(), anyLong());
+    }
+
+    @Test
+    void shouldSaveWholeSessionWhenIncrementingWithoutHashStorage() {
+        var session = new Session("session-id");
+
+        sessionService.incrementPasswordResetCount(session);
+
+        assertThat(session.getPasswordResetCount(), is(1));
+        verify(redis).saveBinaryWithExpiry(eq("session-id"), any(byte[].class), anyLong());
+        verify(redis, never()).executeScript(anyString(), any(), anyList(), anyList());
+    }
+
+    @Test
+    void shouldRefreshSessionExpiryWithoutRewritingSession() {
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+
+        sessionService.refreshExpiry("session-id");
+
+        verify(redis).expire("session-id", 1234L);
+        verify(redis, never()).saveBinaryWithExpiry(anyString(), any(byte[].class), anyLong());
+    }
+
+    private byte[] generateSerialisedClientSession() throws Json.JsonException {
+        return objectMapper
+                .writeValueAsString(
+                        new ClientSession(
+                                Map.of("authparam", List.of("v1", "v2")),
+                                LocalDateTime.now(),
+                                VectorOfTrust.getDefaults(),
+                                "client-name"))
+                .getBytes(UTF_8);
+    }
+
+    private byte[] generateSearlizedSession() throws Json.JsonException {
         var session = new Session("session-id").addClientSession("client-session-id");
 
-        return objectMapper.writeValueAsString(session);
+        return objectMapper.writeValueAsString(session).getBytes(UTF_8);
     }
 }
@@ -0,0 +1,94 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
+
+class SigningKeyMetadataCacheTest {
+
+    private static final String KEY_ALIAS = "alias/token-signing-key";
+    private static final String KEY_ID = "key-1";
+    private static final String ROTATED_KEY_ID = "key-2";
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final JwsSigner signer = mock(JwsSigner.class);
+    private final Clock clock = mock(Clock.class);
+    private SigningKeyMetadataCache cache;
+
+    @BeforeEach
+    void setup() {
+        when(configurationService.getSigningKeyMetadataCacheTtl()).thenReturn(300L);
+        when(clock.millis()).thenReturn(0L);
+        when(signer.getKeyId(KEY_ALIAS)).thenReturn(KEY_ID);
+        cache = new SigningKeyMetadataCache(configurationService, signer, clock, Runnable::run);
+    }
+
+    @Test
+    void shouldDeriveKidAndHeaderFromResolvedKey() throws ParseException {
+        var metadata = cache.get(KEY_ALIAS, JWSAlgorithm.ES256);
+
+        assertThat(metadata.getKeyId(), equalTo(KEY_ID));
+        assertThat(metadata.getKid(), equalTo(hashSha256String(KEY_ID)));
+        var header = JWSHeader.parse(metadata.getEncodedHeader(Optional.empty()));
+        assertThat(header.getAlgorithm(), equalTo(JWSAlgorithm.ES256));
+        assertThat(header.getKeyID(), equalTo(hashSha256String(KEY_ID)));
+        var typedHeader = JWSHeader.parse(metadata.getEncodedHeader(Optional.of("JWT")));
+        assertThat(typedHeader.getType().getType(), equalTo("JWT"));
+    }
+
+    @Test
+    void shouldOnlyResolveKeyOnceWithinTtl() {
+        cache.get(KEY_ALIAS, JWSAlgorithm.ES256);
+        when(clock.millis()).thenReturn(149_000L);
+        cache.get(KEY_ALIAS, JWSAlgorithm.ES256);
+
+        verify(signer).getKeyId(KEY_ALIAS);
+    }
+
+    @Test
+    void shouldRefreshInBackgroundOnceHalfWayThroughTtl() {
+        cache.get(KEY_ALIAS, JWSAlgorithm.ES256);
+        when(signer.getKeyId(KEY_ALIAS)).thenReturn(ROTATED_KEY_ID);
+        when(clock.millis()).thenReturn(150_000L);
+
+        assertThat(cache.get(KEY_ALIAS, JWSAlgorithm.ES256).getKeyId(), equalTo(KEY_ID));
+        assertThat(cache.get(KEY_ALIAS, JWSAlgorithm.ES256).getKeyId(), equalTo(ROTATED_KEY_ID));
+        verify(signer, times(2)).getKeyId(KEY_ALIAS);
+    }
+
+    @Test
+    void shouldNotServeEntryOlderThanTtlWhenBackgroundRefreshFails() {
+        cache.get(KEY_ALIAS, JWSAlgorithm.ES256);
+        when(signer.getKeyId(KEY_ALIAS)).thenThrow(new RuntimeException("unavailable"));
+        when(clock.millis()).thenReturn(150_000L);
+
+        assertThat(cache.get(KEY_ALIAS, JWSAlgorithm.ES256).getKeyId(), equalTo(KEY_ID));
+
+        doReturn(ROTATED_KEY_ID).when(signer).getKeyId(KEY_ALIAS);
+        when(clock.millis()).thenReturn(300_000L);
+
+        assertThat(cache.get(KEY_ALIAS, JWSAlgorithm.ES256).getKeyId(), equalTo(ROTATED_KEY_ID));
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        cache.get(KEY_ALIAS, JWSAlgorithm.ES256);
+        cache.invalidate(KEY_ALIAS);
+        cache.get(KEY_ALIAS, JWSAlgorithm.ES256);
+
+        verify(signer, times(2)).getKeyId(KEY_ALIAS);
+    }
+}
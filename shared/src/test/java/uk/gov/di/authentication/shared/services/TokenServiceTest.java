@@ -9,6 +9,7 @@ import com.nimbusds.jose.crypto.impl.ECDSA;
 import com.nimbusds.jose.jwk.Curve;
 import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.oauth2.sdk.AuthorizationCode;
 import com.nimbusds.oauth2.sdk.ErrorObject;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.model.DisabledException;
 import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
 import software.amazon.awssdk.services.kms.model.GetPublicKeyResponse;
 import software.amazon.awssdk.services.kms.model.SignRequest;
@@ -59,7 +61,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
@@ -69,12 +73,18 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.shared.helpers.ConstructUriHelper.buildURI;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.withMessageContaining;
 
 public class TokenServiceTest {
@@ -167,9 +177,9 @@ public class TokenServiceTest {
                         INTERNAL_SUBJECT.getValue());
         ArgumentCaptor<String> redisKey = ArgumentCaptor.forClass(String.class);
         verify(redisConnectionService)
-                .saveWithExpiry(
+                .saveBinaryWithExpiry(
                         redisKey.capture(),
-                        eq(objectMapper.writeValueAsString(refreshTokenStore)),
+                        aryEq(objectMapper.writeValueAsString(refreshTokenStore).getBytes(UTF_8)),
                         eq(300L));
 
         var refreshToken =
@@ -179,6 +189,54 @@ public class TokenServiceTest {
         assertThat(redisKey.getValue().split(":")[1], equalTo(jti));
     }
 
+    @Test
+    void shouldGenerateRefreshTokenOnSigningExecutorWhenConfigured()
+            throws ParseException, JOSEException, Json.JsonException {
+        when(configurationService.getTokenSigningKeyAlias()).thenReturn(KEY_ID);
+        when(configurationService.getTokenSigningThreads()).thenReturn(2);
+        createSignedIdToken();
+        createSignedAccessToken();
+        var refreshTokenThread = new AtomicReference<String>();
+        doAnswer(
+                        invocation -> {
+                            String key = invocation.getArgument(0);
+                            if (key.startsWith(REFRESH_TOKEN_PREFIX)) {
+                                refreshTokenThread.set(Thread.currentThread().getName());
+                            }
+                            return null;
+                        })
+                .when(redisConnectionService)
+                .saveBinaryWithExpiry(anyString(), any(byte[].class), anyLong());
+        var concurrentTokenService =
+                new TokenService(
+                        configurationService, redisConnectionService, kmsConnectionService);
+        Set<String> claimsForListOfScopes =
+                ValidScopes.getClaimsForListOfScopes(SCOPES_OFFLINE_ACCESS.toStringList());
+
+        OIDCTokenResponse tokenResponse =
+                concurrentTokenService.generateTokenResponse(
+                        CLIENT_ID,
+                        INTERNAL_SUBJECT,
+                        SCOPES_OFFLINE_ACCESS,
+                        Map.of("nonce", nonce),
+                        PUBLIC_SUBJECT,
+                        VOT,
+                        Collections.singletonList(
+                                new ClientConsent(
+                                        CLIENT_ID,
+                                        claimsForListOfScopes,
+                                        LocalDateTime.now(ZoneId.of("UTC")).toString())),
+                        false,
+                        null,
+                        false,
+                        JWSAlgorithm.ES256,
+                        "client-session-id");
+
+        assertSuccessfulTokenResponse(tokenResponse);
+        assertNotNull(tokenResponse.getOIDCTokens().getRefreshToken());
+        assertThat(refreshTokenThread.get(), startsWith("token-signing-"));
+    }
+
     @Test
     void shouldOnlyIncludeIdentityClaimsInAccessTokenWhenRequested()
             throws ParseException, JOSEException, Json.JsonException,
@@ -242,9 +300,9 @@ public class TokenServiceTest {
 
         ArgumentCaptor<String> redisKey = ArgumentCaptor.forClass(String.class);
         verify(redisConnectionService)
-                .saveWithExpiry(
+                .saveBinaryWithExpiry(
                         redisKey.capture(),
-                        eq(objectMapper.writeValueAsString(refreshTokenStore)),
+                        aryEq(objectMapper.writeValueAsString(refreshTokenStore).getBytes(UTF_8)),
                         eq(300L));
 
         var refreshToken =
@@ -405,6 +463,39 @@ public class TokenServiceTest {
         assertTrue(errorObject.isPresent());
     }
 
+    @Test
+    void shouldReloadSigningKeyAndRetryWhenCachedKeyIsDisabled() throws JOSEException {
+        when(configurationService.getSigningKeyMetadataCacheTtl()).thenReturn(300L);
+        when(configurationService.getTokenSigningKeyAlias()).thenReturn(KEY_ID);
+        when(kmsConnectionService.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenReturn(GetPublicKeyResponse.builder().keyId("old-key-id").build())
+                .thenReturn(GetPublicKeyResponse.builder().keyId("new-key-id").build());
+        var signature = createSignedIdToken(new ECKeyGenerator(Curve.P_256).generate());
+        when(kmsConnectionService.sign(any(SignRequest.class)))
+                .thenThrow(DisabledException.builder().message("Key is disabled").build())
+                .thenReturn(
+                        SignResponse.builder()
+                                .signature(
+                                        SdkBytes.fromByteArray(
+                                                ECDSA.transcodeSignatureToDER(
+                                                        signature.getSignature().decode())))
+                                .build());
+        var cachingTokenService =
+                new TokenService(
+                        configurationService, redisConnectionService, kmsConnectionService);
+
+        var signedJWT =
+                cachingTokenService.generateSignedJWT(
+                        new JWTClaimsSet.Builder().subject(PUBLIC_SUBJECT.getValue()).build(),
+                        Optional.empty(),
+                        JWSAlgorithm.ES256);
+
+        assertThat(signedJWT.getHeader().getKeyID(), equalTo(hashSha256String("new-key-id")));
+        var signRequests = ArgumentCaptor.forClass(SignRequest.class);
+        verify(kmsConnectionService, times(2)).sign(signRequests.capture());
+        assertThat(signRequests.getValue().keyId(), equalTo("new-key-id"));
+    }
+
     private void createSignedIdToken() throws JOSEException {
         ECKey ecSigningKey =
                 new ECKeyGenerator(Curve.P_256)
@@ -466,8 +557,10 @@ public class TokenServiceTest {
                         tokenResponse.getOIDCTokens().getAccessToken().getValue(),
                         INTERNAL_SUBJECT.getValue());
         verify(redisConnectionService)
-                .saveWithExpiry(
-                        accessTokenKey, objectMapper.writeValueAsString(accessTokenStore), 300L);
+                .saveBinaryWithExpiry(
+                        eq(accessTokenKey),
+                        aryEq(objectMapper.writeValueAsString(accessTokenStore).getBytes(UTF_8)),
+                        eq(300L));
 
         var header = (JWSHeader) tokenResponse.getOIDCTokens().getIDToken().getHeader();
 
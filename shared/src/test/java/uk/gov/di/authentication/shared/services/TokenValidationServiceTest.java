@@ -1,13 +1,18 @@
 package uk.gov.di.authentication.shared.services;
 
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
 import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jose.jwk.Curve;
 import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.oauth2.sdk.id.Subject;
 import com.nimbusds.oauth2.sdk.token.BearerAccessToken;
@@ -20,6 +25,7 @@ import uk.gov.di.authentication.sharedtest.helper.TokenGeneratorHelper;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -45,7 +51,8 @@ class TokenValidationServiceTest {
     void setUp() throws JOSEException {
         ecJWK = generateECKeyPair();
         signer = new ECDSASigner(ecJWK);
-        when(jwksService.getPublicTokenJwkWithOpaqueId()).thenReturn(ecJWK.toPublicJWK());
+        when(jwksService.getTokenVerifierWithKeyId(KEY_ID))
+                .thenReturn(Optional.of(new ECDSAVerifier(ecJWK.toPublicJWK())));
     }
 
     @Test
@@ -76,7 +83,8 @@ class TokenValidationServiceTest {
         var rsaSigner = new RSASSASigner(rsaKey);
 
         when(configurationService.isRsaSigningAvailable()).thenReturn(true);
-        when(jwksService.getPublicTokenRsaJwkWithOpaqueId()).thenReturn(rsaKey);
+        when(jwksService.getTokenVerifierWithKeyId(KEY_ID))
+                .thenReturn(Optional.of(new RSASSAVerifier(rsaKey.toPublicJWK())));
 
         SignedJWT signedAccessToken = createSignedAccessToken(rsaSigner);
         assertTrue(
@@ -84,6 +92,29 @@ class TokenValidationServiceTest {
                         new BearerAccessToken(signedAccessToken.serialize())));
     }
 
+    @Test
+    void shouldFailToValidateTokenSignedWithUnknownKeyId() {
+        when(jwksService.getTokenVerifierWithKeyId(KEY_ID)).thenReturn(Optional.empty());
+
+        SignedJWT signedAccessToken = createSignedAccessToken(signer);
+        assertFalse(
+                tokenValidationService.validateAccessTokenSignature(
+                        new BearerAccessToken(signedAccessToken.serialize())));
+    }
+
+    @Test
+    void shouldValidateTokenWithoutKeyIdUsingCurrentSigningKey() throws JOSEException {
+        when(jwksService.getPublicTokenVerifier())
+                .thenReturn(new ECDSAVerifier(ecJWK.toPublicJWK()));
+        var signedJWT =
+                new SignedJWT(
+                        new JWSHeader(JWSAlgorithm.ES256),
+                        new JWTClaimsSet.Builder().subject(SUBJECT.getValue()).build());
+        signedJWT.sign(signer);
+
+        assertTrue(tokenValidationService.isTokenSignatureValid(signedJWT.serialize()));
+    }
+
     @Test
     void shouldSuccessfullyValidateRefreshToken() {
         Date expiryDate = NowHelper.nowPlus(2, ChronoUnit.MINUTES);
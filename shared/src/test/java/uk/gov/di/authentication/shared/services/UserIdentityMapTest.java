@@ -0,0 +1,94 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.UserCredentials;
+import uk.gov.di.authentication.shared.entity.UserProfile;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserIdentityMapTest {
+
+    private static final String EMAIL = "joe.bloggs@digital.cabinet-office.gov.uk";
+    private final UserIdentityMap identityMap = new UserIdentityMap();
+
+    @SuppressWarnings("unchecked")
+    private final Function<String, UserProfile> profileLoader = mock(Function.class);
+
+    @SuppressWarnings("unchecked")
+    private final Function<String, UserCredentials> credentialsLoader = mock(Function.class);
+
+    @Test
+    void shouldOnlyLoadProfileOnceRegardlessOfEmailCase() {
+        var userProfile = new UserProfile().withEmail(EMAIL);
+        when(profileLoader.apply(EMAIL)).thenReturn(userProfile);
+
+        assertThat(identityMap.getProfile(EMAIL, profileLoader).getEmail(), equalTo(EMAIL));
+        assertThat(
+                identityMap.getProfile(EMAIL.toUpperCase(Locale.ROOT), profileLoader).getEmail(),
+                equalTo(EMAIL));
+
+        verify(profileLoader).apply(EMAIL);
+    }
+
+    @Test
+    void shouldRememberThatCredentialsDoNotExist() {
+        assertThat(identityMap.getCredentials(EMAIL, credentialsLoader), nullValue());
+        assertThat(identityMap.getCredentials(EMAIL, credentialsLoader), nullValue());
+
+        assertThat(identityMap.hasCredentials(EMAIL), equalTo(true));
+        verify(credentialsLoader).apply(EMAIL);
+    }
+
+    @Test
+    void shouldReplaceRememberedProfileAfterWrite() {
+        when(profileLoader.apply(EMAIL)).thenReturn(new UserProfile().withEmail(EMAIL));
+        identityMap.getProfile(EMAIL, profileLoader);
+
+        var updatedProfile = new UserProfile().withEmail(EMAIL).withPhoneNumber("+447700900000");
+        identityMap.rememberProfile(EMAIL, updatedProfile);
+
+        assertThat(
+                identityMap.getProfile(EMAIL, profileLoader).getPhoneNumber(),
+                equalTo("+447700900000"));
+        verify(profileLoader).apply(EMAIL);
+    }
+
+    @Test
+    void shouldNotLetCallersChangeRememberedProfile() {
+        var userProfile = new UserProfile().withEmail(EMAIL).withPhoneNumber("+447700900000");
+        identityMap.rememberProfile(EMAIL, userProfile);
+        userProfile.setPhoneNumber("+447700900111");
+
+        var rememberedProfile = identityMap.getProfile(EMAIL);
+        rememberedProfile.setPhoneNumber("+447700900222");
+
+        assertThat(rememberedProfile, not(sameInstance(identityMap.getProfile(EMAIL))));
+        assertThat(identityMap.getProfile(EMAIL).getPhoneNumber(), equalTo("+447700900000"));
+    }
+
+    @Test
+    void shouldReloadBothItemsAfterForgettingEmail() {
+        when(profileLoader.apply(EMAIL)).thenReturn(new UserProfile().withEmail(EMAIL));
+        when(credentialsLoader.apply(EMAIL)).thenReturn(new UserCredentials().withEmail(EMAIL));
+        identityMap.getProfile(EMAIL, profileLoader);
+        identityMap.getCredentials(EMAIL, credentialsLoader);
+
+        identityMap.forget(EMAIL);
+        identityMap.getProfile(EMAIL, profileLoader);
+        identityMap.getCredentials(EMAIL, credentialsLoader);
+
+        verify(profileLoader, times(2)).apply(EMAIL);
+        verify(credentialsLoader, times(2)).apply(EMAIL);
+    }
+}
@@ -0,0 +1,82 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VerifiedAccessTokenCacheTest {
+
+    private static final String ACCESS_TOKEN = "access-token";
+    private static final String OTHER_ACCESS_TOKEN = "other-access-token";
+    private static final Date TOKEN_EXPIRY = new Date(180_000L);
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final Clock clock = mock(Clock.class);
+    private VerifiedAccessTokenCache<String> cache;
+
+    @BeforeEach
+    void setup() {
+        when(configurationService.getVerifiedAccessTokenCacheTtl()).thenReturn(60L);
+        when(configurationService.getVerifiedAccessTokenCacheMaxEntries()).thenReturn(1);
+        when(clock.millis()).thenReturn(0L);
+        cache = new VerifiedAccessTokenCache<>(configurationService, clock);
+    }
+
+    @Test
+    void shouldReturnVerifiedValueWithinTtl() {
+        cache.put(ACCESS_TOKEN, TOKEN_EXPIRY, "subject");
+        when(clock.millis()).thenReturn(59_000L);
+
+        assertThat(cache.get(ACCESS_TOKEN), equalTo(Optional.of("subject")));
+    }
+
+    @Test
+    void shouldExpireEntryAfterTtl() {
+        cache.put(ACCESS_TOKEN, TOKEN_EXPIRY, "subject");
+        when(clock.millis()).thenReturn(60_000L);
+
+        assertThat(cache.get(ACCESS_TOKEN), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void shouldExpireEntryWhenTokenExpiresBeforeTtl() {
+        cache.put(ACCESS_TOKEN, new Date(30_000L), "subject");
+        when(clock.millis()).thenReturn(30_000L);
+
+        assertThat(cache.get(ACCESS_TOKEN), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void shouldNotReturnEntryAfterInvalidation() {
+        cache.put(ACCESS_TOKEN, TOKEN_EXPIRY, "subject");
+        cache.invalidate(ACCESS_TOKEN);
+
+        assertThat(cache.get(ACCESS_TOKEN), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        cache.put(ACCESS_TOKEN, TOKEN_EXPIRY, "subject");
+        cache.put(OTHER_ACCESS_TOKEN, TOKEN_EXPIRY, "other-subject");
+
+        assertThat(cache.get(ACCESS_TOKEN), equalTo(Optional.empty()));
+        assertThat(cache.get(OTHER_ACCESS_TOKEN), equalTo(Optional.of("other-subject")));
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        when(configurationService.getVerifiedAccessTokenCacheTtl()).thenReturn(0L);
+        var disabledCache = new VerifiedAccessTokenCache<String>(configurationService, clock);
+
+        disabledCache.put(ACCESS_TOKEN, TOKEN_EXPIRY, "subject");
+
+        assertThat(disabledCache.get(ACCESS_TOKEN), equalTo(Optional.empty()));
+    }
+}
@@ -0,0 +1,98 @@
+package uk.gov.di.authentication.shared.state;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.services.ClientSessionService;
+import uk.gov.di.authentication.shared.services.SessionService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.AUTHENTICATED;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.CODE_REQUEST_COUNT;
+import static uk.gov.di.authentication.shared.services.SessionService.SessionField.IS_NEW_ACCOUNT;
+
+class SessionUnitOfWorkTest {
+
+    private static final String CLIENT_SESSION_ID = "client-session-id";
+    private final SessionService sessionService = mock(SessionService.class);
+    private final ClientSessionService clientSessionService = mock(ClientSessionService.class);
+    private final Session session = new Session("session-id");
+    private final ClientSession clientSession = mock(ClientSession.class);
+
+    private final SessionUnitOfWork unitOfWork =
+            new SessionUnitOfWork(
+                    sessionService,
+                    clientSessionService,
+                    session,
+                    CLIENT_SESSION_ID,
+                    clientSession);
+
+    @Test
+    void shouldNotWriteAnythingWhenNothingChanged() {
+        assertFalse(unitOfWork.isDirty());
+        assertThat(unitOfWork.flush(), equalTo(0));
+
+        verifyNoInteractions(sessionService, clientSessionService);
+    }
+
+    @Test
+    void shouldCoalesceSessionUpdatesIntoSingleWrite() {
+        unitOfWork.touchSession();
+        unitOfWork.updateSession(IS_NEW_ACCOUNT);
+        unitOfWork.updateSession(AUTHENTICATED, IS_NEW_ACCOUNT);
+        unitOfWork.updateSession(CODE_REQUEST_COUNT);
+
+        assertTrue(unitOfWork.isDirty());
+        assertThat(unitOfWork.flush(), equalTo(1));
+
+        verify(sessionService)
+                .saveFields(session, CODE_REQUEST_COUNT, IS_NEW_ACCOUNT, AUTHENTICATED);
+        verify(sessionService, never()).refreshExpiry("session-id");
+        verifyNoInteractions(clientSessionService);
+    }
+
+    @Test
+    void shouldOnlyRefreshExpiryWhenSessionIsTouched() {
+        unitOfWork.touchSession();
+
+        assertThat(unitOfWork.flush(), equalTo(1));
+
+        verify(sessionService).refreshExpiry("session-id");
+    }
+
+    @Test
+    void shouldWriteClientSessionOnceWhenUpdated() {
+        unitOfWork.updateClientSession().updateClientSession();
+
+        assertThat(unitOfWork.flush(), equalTo(1));
+
+        verify(clientSessionService).saveClientSession(CLIENT_SESSION_ID, clientSession);
+        verifyNoInteractions(sessionService);
+    }
+
+    @Test
+    void shouldBeCleanAfterFlush() {
+        unitOfWork.updateSession(IS_NEW_ACCOUNT).updateClientSession();
+
+        assertThat(unitOfWork.flush(), equalTo(2));
+
+        assertFalse(unitOfWork.isDirty());
+        assertThat(unitOfWork.flush(), equalTo(0));
+    }
+
+    @Test
+    void shouldRejectClientSessionUpdateWhenNoClientSessionWasLoaded() {
+        var withoutClientSession =
+                new SessionUnitOfWork(sessionService, clientSessionService, session, null, null);
+
+        assertThrows(IllegalStateException.class, withoutClientSession::updateClientSession);
+    }
+}
@@ -16,6 +16,7 @@ import uk.gov.di.authentication.testservices.domain.TestServicesAuditableEvent;
 
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 
 public class DeleteSyntheticsUserHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -48,6 +49,13 @@ public class DeleteSyntheticsUserHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return segmentedHandlerCall(
+                "test-services-api::" + getClass().getSimpleName(),
+                () -> deleteSyntheticsUserRequestHandler(input, context));
+    }
+
+    public APIGatewayProxyResponseEvent deleteSyntheticsUserRequestHandler(
+            APIGatewayProxyRequestEvent input, Context context) {
 
         LOG.info("Request received to DeleteSyntheticsUserHandler");
 
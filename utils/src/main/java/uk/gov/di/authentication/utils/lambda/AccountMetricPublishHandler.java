@@ -12,6 +12,7 @@ import java.util.Map;
 
 import static java.text.MessageFormat.format;
 import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoClient;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 
 public class AccountMetricPublishHandler implements RequestHandler<ScheduledEvent, Long> {
 
@@ -36,6 +37,12 @@ public class AccountMetricPublishHandler implements RequestHandler<ScheduledEven
 
     @Override
     public Long handleRequest(ScheduledEvent input, Context context) {
+        return segmentedHandlerCall(
+                "utils::" + getClass().getSimpleName(),
+                () -> accountMetricPublishRequestHandler(input, context));
+    }
+
+    public Long accountMetricPublishRequestHandler(ScheduledEvent input, Context context) {
         var result =
                 client.describeTable(
                         DescribeTableRequest.builder()
@@ -18,6 +18,7 @@ import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
 import uk.gov.di.authentication.shared.helpers.SaltHelper;
+import uk.gov.di.authentication.shared.services.AwsClientFactory;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoService;
 
@@ -30,8 +31,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 
 public class BulkTestUserCreateHandler implements RequestHandler<S3Event, Void> {
     private static final Logger LOG = LogManager.getLogger(BulkTestUserCreateHandler.class);
@@ -56,11 +59,18 @@ public class BulkTestUserCreateHandler implements RequestHandler<S3Event, Void>
     public BulkTestUserCreateHandler() {
         this(
                 ConfigurationService.getInstance(),
-                S3Client.builder().region((Region.EU_WEST_2)).build());
+                AwsClientFactory.getInstance(ConfigurationService.getInstance())
+                        .getS3Client(Region.EU_WEST_2.id(), Optional.empty()));
     }
 
     @Override
     public Void handleRequest(S3Event input, Context context) {
+        return segmentedHandlerCall(
+                "utils::" + getClass().getSimpleName(),
+                () -> bulkTestUserCreateRequestHandler(input, context));
+    }
+
+    public Void bulkTestUserCreateRequestHandler(S3Event input, Context context) {
         LOG.info(
                 "Inserting test users from S3 bucket CSV into Dynamo UserProfile and UserCredentials tables");
 
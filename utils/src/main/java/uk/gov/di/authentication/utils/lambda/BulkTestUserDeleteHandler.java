@@ -11,6 +11,8 @@ import uk.gov.di.authentication.shared.services.DynamoService;
 import java.util.ArrayList;
 import java.util.List;
 
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
+
 public class BulkTestUserDeleteHandler implements RequestHandler<String, Void> {
     private static final Logger LOG = LogManager.getLogger(BulkTestUserDeleteHandler.class);
     private final DynamoService dynamoService;
@@ -25,6 +27,12 @@ public class BulkTestUserDeleteHandler implements RequestHandler<String, Void> {
 
     @Override
     public Void handleRequest(String input, Context context) {
+        return segmentedHandlerCall(
+                "utils::" + getClass().getSimpleName(),
+                () -> bulkTestUserDeleteRequestHandler(input, context));
+    }
+
+    public Void bulkTestUserDeleteRequestHandler(String input, Context context) {
         LOG.info("Commencing deletion of all test users");
 
         long startTime = System.nanoTime();
@@ -8,6 +8,7 @@ import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import uk.gov.di.authentication.shared.services.AwsClientFactory;
 import uk.gov.di.authentication.shared.services.CommonPasswordsService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
@@ -16,6 +17,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedHandlerCall;
 
 public class S3ToDynamoDbHandler implements RequestHandler<S3Event, Void> {
     private static final Logger LOG = LogManager.getLogger(S3ToDynamoDbHandler.class);
@@ -35,11 +39,18 @@ public class S3ToDynamoDbHandler implements RequestHandler<S3Event, Void> {
     public S3ToDynamoDbHandler() {
         this(
                 ConfigurationService.getInstance(),
-                S3Client.builder().region((Region.EU_WEST_2)).build());
+                AwsClientFactory.getInstance(ConfigurationService.getInstance())
+                        .getS3Client(Region.EU_WEST_2.id(), Optional.empty()));
     }
 
     @Override
     public Void handleRequest(S3Event input, Context context) {
+        return segmentedHandlerCall(
+                "utils::" + getClass().getSimpleName(),
+                () -> s3ToDynamoDbRequestHandler(input, context));
+    }
+
+    public Void s3ToDynamoDbRequestHandler(S3Event input, Context context) {
 
         var bucket = input.getRecords().get(0).getS3().getBucket().getName();
         var fileKey = input.getRecords().get(0).getS3().getObject().getKey();